@@ -0,0 +1,38 @@
+package com.zzaptalk.backend.config;
+
+import com.amazonaws.client.builder.AwsClientBuilder;
+import com.amazonaws.services.dynamodbv2.AmazonDynamoDB;
+import com.amazonaws.services.dynamodbv2.AmazonDynamoDBClientBuilder;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+// -------------------------------------------------------------------------
+// DynamoDB 클라이언트 (chat.message-store.type=DYNAMODB일 때만 생성)
+// 자격 증명은 기본 공급자 체인(환경 변수, 인스턴스 프로파일 등) 사용
+// endpoint를 지정하면 해당 주소로 접속 (DynamoDB Local 등 로컬 대체 서버)
+// -------------------------------------------------------------------------
+
+@Configuration
+@ConditionalOnProperty(name = "chat.message-store.type", havingValue = "DYNAMODB")
+public class DynamoDbConfig {
+
+    @Value("${chat.dynamodb.region:ap-northeast-2}")
+    private String region;
+
+    @Value("${chat.dynamodb.endpoint:}")
+    private String endpoint;
+
+    @Bean(destroyMethod = "shutdown")
+    public AmazonDynamoDB amazonDynamoDB() {
+        AmazonDynamoDBClientBuilder builder = AmazonDynamoDBClientBuilder.standard();
+        if (endpoint.isBlank()) {
+            builder.withRegion(region);
+        } else {
+            builder.withEndpointConfiguration(new AwsClientBuilder.EndpointConfiguration(endpoint, region));
+        }
+        return builder.build();
+    }
+
+}
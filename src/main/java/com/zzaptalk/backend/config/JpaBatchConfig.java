@@ -0,0 +1,33 @@
+package com.zzaptalk.backend.config;
+
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+// -------------------------------------------------------------------------
+// Hibernate JDBC batch 설정
+// @SnowflakeId 엔티티(ChatMessage, ChatRoomUser, ChatInbox, Friendship, FriendGroupMapping)는
+// INSERT 전에 ID가 정해지므로 여러 행을 한 번의 batch로 전송
+// (MySQL에서 여러 행 INSERT 한 문장으로 합치려면 JDBC URL에 rewriteBatchedStatements=true 필요)
+// -------------------------------------------------------------------------
+
+@Configuration
+public class JpaBatchConfig {
+
+    // 한 번에 전송할 최대 문장 수
+    @Value("${chat.jpa.batch-size:100}")
+    private int batchSize;
+
+    @Bean
+    public HibernatePropertiesCustomizer jpaBatchCustomizer() {
+        return properties -> {
+            properties.put(AvailableSettings.STATEMENT_BATCH_SIZE, batchSize);
+            // 같은 테이블 INSERT/UPDATE를 모아서 batch가 끊기지 않도록 정렬
+            properties.put(AvailableSettings.ORDER_INSERTS, true);
+            properties.put(AvailableSettings.ORDER_UPDATES, true);
+        };
+    }
+
+}
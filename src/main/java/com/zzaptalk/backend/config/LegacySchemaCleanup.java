@@ -0,0 +1,63 @@
+package com.zzaptalk.backend.config;
+
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+// -------------------------------------------------------------------------
+// 더 이상 매핑하지 않는 기존 컬럼 호환 처리 (시작 시 한 번)
+// ddl-auto=update는 엔티티에서 빠진 컬럼을 지우지 않으므로,
+// NOT NULL + 기본값 없는 컬럼이 남아 있으면 MySQL strict 모드에서 INSERT가 실패함
+// → 컬럼은 그대로 두고 기본값만 추가 (이전 버전 서버가 아직 읽고 쓰는 롤링 배포 중에도 안전)
+// - chat_room_user.unread_count: 읽음 워터마크(lastReadSeq)로 대체
+//
+// 컬럼 삭제는 애플리케이션에서 하지 않음: 모든 서버가 새 버전으로 바뀐 뒤 운영자가 직접 실행
+//   ALTER TABLE chat_room_user DROP COLUMN unread_count;
+// -------------------------------------------------------------------------
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class LegacySchemaCleanup {
+
+    // (테이블, 컬럼, 컬럼 정의)
+    private static final List<String[]> LEGACY_COLUMNS = List.of(
+            new String[]{"chat_room_user", "unread_count", "INT NOT NULL DEFAULT 0"}
+    );
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Value("${chat.schema.legacy-cleanup.enabled:true}")
+    private boolean enabled;
+
+    @PostConstruct
+    public void relaxLegacyColumns() {
+        if (!enabled) {
+            return;
+        }
+        for (String[] column : LEGACY_COLUMNS) {
+            try {
+                // 기본값이 없는 경우에만 변경 (이미 처리했거나 삭제된 경우 건너뜀)
+                Integer count = jdbcTemplate.queryForObject(
+                        "SELECT COUNT(*) FROM information_schema.columns " +
+                                "WHERE table_schema = DATABASE() AND table_name = ? AND column_name = ? " +
+                                "AND column_default IS NULL",
+                        Integer.class, column[0], column[1]);
+                if (count != null && count > 0) {
+                    jdbcTemplate.execute("ALTER TABLE " + column[0] + " MODIFY " + column[1] + " " + column[2]);
+                    log.info("사용하지 않는 컬럼에 기본값 추가: {}.{} (모든 서버 배포 후 수동으로 삭제)", column[0], column[1]);
+                }
+            } catch (Exception e) {
+                // 권한이 없는 등: 운영자가 직접 처리하도록 안내만 남김
+                log.warn("사용하지 않는 컬럼 기본값 추가 실패: {}.{} - 직접 실행 필요: ALTER TABLE {} MODIFY {} {}",
+                        column[0], column[1], column[0], column[1], column[2], e);
+            }
+        }
+    }
+
+}
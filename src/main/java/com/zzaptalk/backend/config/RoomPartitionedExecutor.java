@@ -0,0 +1,199 @@
+package com.zzaptalk.backend.config;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.thread.Threading;
+import org.springframework.core.env.Environment;
+import org.springframework.core.task.VirtualThreadTaskExecutor;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.SimpMessageType;
+import org.springframework.messaging.support.MessageHandlingRunnable;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// -------------------------------------------------------------------------
+// 채팅방 단위 순서 보장 실행기 (STOMP inbound 채널용)
+// roomId를 해시하여 N개의 단일 스레드 레인 중 하나에서 처리
+// - 같은 채팅방의 메시지는 항상 같은 레인에서 순서대로 저장/전송
+// - 특정 채팅방에 메시지가 몰려도 하나의 레인만 점유하므로 다른 방은 영향 없음
+// - CONNECT / SUBSCRIBE / UNSUBSCRIBE / DISCONNECT 등 제어 프레임은 세션 단위 레인에서 순서대로 처리
+// 레인 대기열은 laneCapacity개로 제한
+// - 가득 차면 채팅 메시지(SEND)는 거절 (클라이언트에 STOMP ERROR 프레임 전송)
+// - 제어 프레임은 버리면 구독/세션 상태가 어긋나므로 자리가 날 때까지 대기 (수신 스레드에 배압)
+// 레인별 대기열 길이, 대기 시간, 거절 수는 메트릭으로 노출
+// -------------------------------------------------------------------------
+
+@Slf4j
+@Component
+public class RoomPartitionedExecutor implements Executor {
+
+    private final ObjectMapper objectMapper;
+    private final ThreadPoolExecutor[] lanes;
+    private final Timer[] waitTimers;
+    private final Counter rejectedCounter;
+
+    public RoomPartitionedExecutor(ObjectMapper objectMapper,
+                                   MeterRegistry meterRegistry,
+                                   Environment environment,
+                                   @Value("${chat.inbound.lanes:0}") int laneCount,
+                                   @Value("${chat.inbound.lane-capacity:10000}") int laneCapacity) {
+        this.objectMapper = objectMapper;
+
+        // 가상 스레드 모드(spring.threads.virtual.enabled, Java 21 이상)에서는 레인 스레드도 가상 스레드로 생성
+        // -> JDBC 대기 중에도 캐리어 스레드를 점유하지 않으므로 레인을 더 많이 둘 수 있음
+        boolean virtual = Threading.VIRTUAL.isActive(environment);
+        ThreadFactory threadFactory = virtual
+                ? new VirtualThreadTaskExecutor("chat-inbound-lane-").getVirtualThreadFactory()
+                : platformThreadFactory();
+
+        // 0 이하면 코어 수 기준 (JDBC 대기 시간을 고려해 코어당 2개, 가상 스레드는 코어당 16개)
+        int lanesPerCore = virtual ? 16 : 2;
+        int count = laneCount > 0 ? laneCount : Runtime.getRuntime().availableProcessors() * lanesPerCore;
+        this.lanes = new ThreadPoolExecutor[count];
+
+        for (int i = 0; i < count; i++) {
+            ThreadPoolExecutor lane = new ThreadPoolExecutor(
+                    1, 1, 0L, TimeUnit.MILLISECONDS, new LinkedBlockingQueue<>(laneCapacity), threadFactory);
+            lanes[i] = lane;
+
+            Gauge.builder("chat.inbound.lane.queue.depth", lane, executor -> executor.getQueue().size())
+                    .description("레인 대기열에 쌓인 inbound 메시지 수")
+                    .tag("lane", String.valueOf(i))
+                    .register(meterRegistry);
+        }
+
+        this.waitTimers = new Timer[count];
+        for (int i = 0; i < count; i++) {
+            waitTimers[i] = Timer.builder("chat.inbound.lane.wait")
+                    .description("inbound 메시지가 레인 대기열에서 기다린 시간")
+                    .tag("lane", String.valueOf(i))
+                    .register(meterRegistry);
+        }
+
+        this.rejectedCounter = Counter.builder("chat.inbound.lane.rejected")
+                .description("레인 대기열이 가득 차 거절된 inbound 메시지 수")
+                .register(meterRegistry);
+
+        log.info("채팅방 단위 inbound 레인 {}개 생성 (가상 스레드: {}, 대기열 {})", count, virtual, laneCapacity);
+    }
+
+    private static ThreadFactory platformThreadFactory() {
+        AtomicInteger threadCount = new AtomicInteger();
+        return task -> {
+            Thread thread = new Thread(task, "chat-inbound-lane-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    @Override
+    public void execute(Runnable task) {
+        int lane = Math.floorMod(routingKey(task).hashCode(), lanes.length);
+        long enqueuedAt = System.nanoTime();
+
+        Runnable timed = () -> {
+            waitTimers[lane].record(System.nanoTime() - enqueuedAt, TimeUnit.NANOSECONDS);
+            task.run();
+        };
+
+        try {
+            lanes[lane].execute(timed);
+        } catch (RejectedExecutionException e) {
+            if (isSend(task) || lanes[lane].isShutdown()) {
+                rejectedCounter.increment();
+                throw e;
+            }
+            // 제어 프레임: 자리가 날 때까지 대기
+            try {
+                lanes[lane].getQueue().put(timed);
+            } catch (InterruptedException interrupted) {
+                Thread.currentThread().interrupt();
+                rejectedCounter.increment();
+                throw e;
+            }
+        }
+    }
+
+    public int getLaneCount() {
+        return lanes.length;
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        for (ThreadPoolExecutor lane : lanes) {
+            lane.shutdown();
+        }
+        for (ThreadPoolExecutor lane : lanes) {
+            lane.awaitTermination(10, TimeUnit.SECONDS);
+        }
+    }
+
+    // -------------------------------------------------------------------------
+    // 레인 선택 기준
+    // - 채팅 메시지 SEND: payload의 roomId
+    // - 그 외(CONNECT, SUBSCRIBE, UNSUBSCRIBE, DISCONNECT 등): 세션 ID
+    //   (같은 세션의 제어 프레임이 서로 다른 레인으로 나뉘면 SUBSCRIBE보다 UNSUBSCRIBE가 먼저 처리되는 등 순서가 어긋남)
+    // -------------------------------------------------------------------------
+
+    private Object routingKey(Runnable task) {
+        if (!(task instanceof MessageHandlingRunnable handlingRunnable)) {
+            return task;
+        }
+
+        Message<?> message = handlingRunnable.getMessage();
+        if (isSend(task)) {
+            Long roomId = extractRoomId(message.getPayload());
+            if (roomId != null) {
+                return roomId;
+            }
+        }
+
+        String sessionId = SimpMessageHeaderAccessor.getSessionId(message.getHeaders());
+        return sessionId != null ? sessionId : task;
+    }
+
+    // 애플리케이션으로 보내는 채팅 메시지(SEND /app/...) 여부
+    private static boolean isSend(Runnable task) {
+        if (!(task instanceof MessageHandlingRunnable handlingRunnable)) {
+            return false;
+        }
+        Message<?> message = handlingRunnable.getMessage();
+        String destination = SimpMessageHeaderAccessor.getDestination(message.getHeaders());
+        return SimpMessageHeaderAccessor.getMessageType(message.getHeaders()) == SimpMessageType.MESSAGE
+                && destination != null && destination.startsWith("/app/");
+    }
+
+    // SEND payload(JSON)에서 roomId 추출
+    private Long extractRoomId(Object payload) {
+        if (!(payload instanceof byte[] bytes) || bytes.length == 0) {
+            return null;
+        }
+        try {
+            JsonNode roomId = objectMapper.readTree(bytes).get("roomId");
+            if (roomId == null) {
+                return null;
+            }
+            long value = roomId.asLong();
+            return value != 0 ? value : null;
+        } catch (Exception e) {
+            // 형식이 잘못된 메시지는 세션 기준으로 처리 (핸들러에서 오류 처리됨)
+            return null;
+        }
+    }
+
+}
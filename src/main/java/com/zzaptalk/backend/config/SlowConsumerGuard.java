@@ -0,0 +1,359 @@
+package com.zzaptalk.backend.config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.lang.Nullable;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.MessageHandler;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.SimpMessageType;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.messaging.support.ExecutorChannelInterceptor;
+import org.springframework.stereotype.Component;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.WebSocketHandler;
+import org.springframework.web.socket.WebSocketMessage;
+import org.springframework.web.socket.WebSocketSession;
+import org.springframework.web.socket.handler.WebSocketHandlerDecorator;
+import org.springframework.web.socket.handler.WebSocketSessionDecorator;
+
+import java.io.IOException;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+// -------------------------------------------------------------------------
+// 느린 클라이언트 보호 (세션별 outbound backpressure)
+// 세션별로 아직 소켓에 쓰이지 못하고 쌓인 바이트 수와 현재 소켓 쓰기가 막혀 있는 시간을 추적
+// - 채널 대기: clientOutboundChannel을 통과해 핸들러 실행을 기다리는 프레임 (메시지별로 기록,
+//   핸들러 실행 후(afterMessageHandled) 또는 전송 실패 시(afterSendCompletion) 제거)
+// - 세션 버퍼: 핸들러가 세션에 넘겼지만 아직 소켓에 쓰이지 않은 바이트
+//   (넘긴 바이트 - 실제로 쓰인 바이트, Spring 세션 데코레이터의 버퍼)
+//   채널을 거치지 않고 쓰이는 프레임(STOMP ERROR 등)이나 넘긴 뒤 쓰이지 않은 프레임으로 값이 어긋날 수 있으므로
+//   쓰기가 진행 중이 아니고 잠시 아무것도 넘기지 않았으면 버퍼가 비어 있는 것으로 보고 0으로 맞춤
+//   (Spring 세션 데코레이터는 쓰기를 잡은 스레드가 버퍼가 빌 때까지 이어서 씀)
+// 한도를 넘으면 정책(chat.websocket.slow-consumer.policy)에 따라 처리
+// - DROP: 혼잡이 풀릴 때까지 새 채팅 메시지 프레임을 버림
+// - RESYNC: 메시지 프레임을 버리고, 혼잡이 풀리면 "재동기화 필요" 신호 한 번만 전송
+//           (클라이언트는 /user/queue/resync 구독 후 신호를 받으면 seq 기반 동기화 API 호출)
+// - DISCONNECT: 세션 종료
+// Spring의 세션 전송 한도(send-time-limit, send-buffer-size-limit)는 최후 방어선으로 별도 적용
+// -------------------------------------------------------------------------
+
+@Slf4j
+@Component
+public class SlowConsumerGuard implements ExecutorChannelInterceptor {
+
+    public static final String RESYNC_DESTINATION = "/queue/resync";
+
+    // 쓰기가 없고 넘긴 프레임도 없으면 세션 버퍼가 빈 것으로 보는 시간
+    private static final long IDLE_RECONCILE_NANOS = TimeUnit.MILLISECONDS.toNanos(500);
+
+    public enum Policy {
+        DROP,
+        RESYNC,
+        DISCONNECT
+    }
+
+    private final ObjectProvider<SimpMessagingTemplate> messagingTemplateProvider;
+    private final Map<String, SessionState> sessions = new ConcurrentHashMap<>();
+
+    // 혼잡 시 처리 정책
+    private final Policy policy;
+
+    // 세션별 전송 대기 바이트 한도
+    private final long bufferSizeLimit;
+
+    // 세션별 소켓 쓰기 대기 시간 한도(ns, 진행 중인 쓰기가 막혀 있는 시간)
+    private final long sendTimeLimitNanos;
+
+    private final Counter congestedSessions;
+    private final Counter droppedFrames;
+    private final Counter resyncSignals;
+    private final Counter disconnectedSessions;
+
+    public SlowConsumerGuard(ObjectProvider<SimpMessagingTemplate> messagingTemplateProvider,
+                             MeterRegistry meterRegistry,
+                             @Value("${chat.websocket.slow-consumer.policy:RESYNC}") Policy policy,
+                             @Value("${chat.websocket.slow-consumer.buffer-size-limit:262144}") long bufferSizeLimit,
+                             @Value("${chat.websocket.slow-consumer.send-time-limit-ms:5000}") long sendTimeLimitMs) {
+        this.messagingTemplateProvider = messagingTemplateProvider;
+        this.policy = policy;
+        this.bufferSizeLimit = bufferSizeLimit;
+        this.sendTimeLimitNanos = TimeUnit.MILLISECONDS.toNanos(sendTimeLimitMs);
+
+        this.congestedSessions = Counter.builder("chat.websocket.backpressure.sessions")
+                .description("전송 한도를 넘어 혼잡 상태가 된 세션 수")
+                .tag("policy", policy.name())
+                .register(meterRegistry);
+        this.droppedFrames = Counter.builder("chat.websocket.backpressure.dropped")
+                .description("혼잡으로 버려진 메시지 프레임 수")
+                .register(meterRegistry);
+        this.resyncSignals = Counter.builder("chat.websocket.backpressure.resync")
+                .description("재동기화 신호를 보낸 횟수")
+                .register(meterRegistry);
+        this.disconnectedSessions = Counter.builder("chat.websocket.backpressure.disconnected")
+                .description("혼잡으로 종료된 세션 수")
+                .register(meterRegistry);
+        Gauge.builder("chat.websocket.backpressure.congested", sessions,
+                        map -> map.values().stream().filter(state -> state.congested.get()).count())
+                .description("현재 혼잡 상태인 세션 수")
+                .register(meterRegistry);
+    }
+
+    // -------------------------------------------------------------------------
+    // WebSocket 핸들러 데코레이터 (실제로 소켓에 쓰인 프레임 추적용)
+    // -------------------------------------------------------------------------
+
+    public WebSocketHandler decorate(WebSocketHandler handler) {
+        return new WebSocketHandlerDecorator(handler) {
+
+            @Override
+            public void afterConnectionEstablished(WebSocketSession session) throws Exception {
+                TrackingSession trackingSession = new TrackingSession(session);
+                sessions.put(session.getId(), new SessionState(trackingSession));
+                super.afterConnectionEstablished(trackingSession);
+            }
+
+            @Override
+            public void afterConnectionClosed(WebSocketSession session, CloseStatus closeStatus) throws Exception {
+                sessions.remove(session.getId());
+                super.afterConnectionClosed(session, closeStatus);
+            }
+        };
+    }
+
+    // -------------------------------------------------------------------------
+    // outbound 프레임 전송 전 검사
+    // -------------------------------------------------------------------------
+
+    @Override
+    public Message<?> preSend(Message<?> message, MessageChannel channel) {
+        String sessionId = SimpMessageHeaderAccessor.getSessionId(message.getHeaders());
+        SessionState state = sessionId != null ? sessions.get(sessionId) : null;
+        if (state == null) {
+            return message;
+        }
+
+        boolean isChatMessage =
+                SimpMessageHeaderAccessor.getMessageType(message.getHeaders()) == SimpMessageType.MESSAGE;
+
+        // 혼잡 상태에서 그 사이 대기 프레임이 모두 쓰였다면 먼저 해제
+        if (isChatMessage && state.congested.get()) {
+            releaseIfDrained(sessionId, state);
+        }
+        if (isChatMessage && state.checkCongested(System.nanoTime())) {
+            return onCongested(sessionId, state) ? message : null;
+        }
+
+        state.enqueue(message);
+        return message;
+    }
+
+    // 핸들러가 프레임을 세션에 넘김 (예외가 나면 세션에 넘기지 못한 것으로 봄)
+    @Override
+    public void afterMessageHandled(Message<?> message, MessageChannel channel, MessageHandler handler,
+                                    @Nullable Exception ex) {
+        SessionState state = findState(message);
+        if (state != null) {
+            state.handed(message, ex == null);
+        }
+    }
+
+    // 실행기에 넘기지 못한 경우 (sent = false): 채널 대기에서 제거
+    @Override
+    public void afterSendCompletion(Message<?> message, MessageChannel channel, boolean sent,
+                                    @Nullable Exception ex) {
+        if (sent) {
+            return;
+        }
+        SessionState state = findState(message);
+        if (state != null) {
+            state.handed(message, false);
+        }
+    }
+
+    private SessionState findState(Message<?> message) {
+        String sessionId = SimpMessageHeaderAccessor.getSessionId(message.getHeaders());
+        return sessionId != null ? sessions.get(sessionId) : null;
+    }
+
+    // 혼잡한 세션에 대한 정책 적용 (true면 프레임 전송 허용)
+    private boolean onCongested(String sessionId, SessionState state) {
+        if (state.congested.compareAndSet(false, true)) {
+            congestedSessions.increment();
+            log.warn("느린 클라이언트 감지: sessionId={}, 대기 바이트={}, 정책={}",
+                    sessionId, state.pendingBytes(), policy);
+        }
+
+        switch (policy) {
+            case DISCONNECT -> {
+                if (state.closing.compareAndSet(false, true)) {
+                    disconnectedSessions.increment();
+                    try {
+                        state.session.close(CloseStatus.SESSION_NOT_RELIABLE);
+                    } catch (IOException e) {
+                        log.debug("느린 세션 종료 실패: sessionId={}", sessionId, e);
+                    }
+                }
+                return false;
+            }
+            case RESYNC -> state.resyncNeeded.set(true);
+            case DROP -> { }
+        }
+        droppedFrames.increment();
+
+        // 판정 직후 대기열이 이미 비었다면 바로 혼잡 해제
+        releaseIfDrained(sessionId, state);
+        return false;
+    }
+
+    // 프레임이 실제로 소켓에 쓰인 뒤 호출
+    private void onWritten(String sessionId, int size) {
+        SessionState state = sessions.get(sessionId);
+        if (state == null) {
+            return;
+        }
+
+        state.written(size);
+        releaseIfDrained(sessionId, state);
+    }
+
+    // 대기 중인 프레임이 없으면 혼잡 해제, RESYNC 정책으로 버린 프레임이 있으면 재동기화 신호 전송
+    private void releaseIfDrained(String sessionId, SessionState state) {
+        if (!state.isDrained(System.nanoTime()) || !state.congested.compareAndSet(true, false)) {
+            return;
+        }
+        if (state.resyncNeeded.compareAndSet(true, false)) {
+            sendResyncSignal(sessionId);
+        }
+    }
+
+    private void sendResyncSignal(String sessionId) {
+        SimpMessageHeaderAccessor headers = SimpMessageHeaderAccessor.create(SimpMessageType.MESSAGE);
+        headers.setSessionId(sessionId);
+        headers.setLeaveMutable(true);
+
+        messagingTemplateProvider.getObject().convertAndSendToUser(
+                sessionId, RESYNC_DESTINATION, Map.of("reason", "SLOW_CONSUMER"), headers.getMessageHeaders());
+        resyncSignals.increment();
+    }
+
+    // -------------------------------------------------------------------------
+    // 세션별 전송 대기 상태
+    // -------------------------------------------------------------------------
+
+    private class SessionState {
+
+        private final WebSocketSession session;
+        // 채널을 통과해 핸들러 실행을 기다리는 프레임 (메시지 객체 기준) -> 크기
+        private final Map<Message<?>, Integer> queued = Collections.synchronizedMap(new IdentityHashMap<>());
+        private final AtomicLong queuedBytes = new AtomicLong();
+        // 세션에 넘겼지만 아직 소켓에 쓰이지 않은 바이트
+        private final AtomicLong unwrittenBytes = new AtomicLong();
+        // 진행 중인 소켓 쓰기 시작 시각 (nanoTime, 쓰기 중이 아니면 0)
+        private volatile long writeStartedAt;
+        // 마지막으로 세션에 넘기거나 소켓 쓰기를 마친 시각 (nanoTime)
+        private volatile long lastActivityAt = System.nanoTime();
+        private final AtomicBoolean congested = new AtomicBoolean();
+        private final AtomicBoolean resyncNeeded = new AtomicBoolean();
+        private final AtomicBoolean closing = new AtomicBoolean();
+
+        SessionState(WebSocketSession session) {
+            this.session = session;
+        }
+
+        void enqueue(Message<?> message) {
+            int size = message.getPayload() instanceof byte[] bytes ? bytes.length : 0;
+            if (queued.put(message, size) == null) {
+                queuedBytes.addAndGet(size);
+            }
+        }
+
+        // 핸들러 실행이 끝남 (toSession이면 세션 버퍼로 넘어감)
+        void handed(Message<?> message, boolean toSession) {
+            Integer size = queued.remove(message);
+            if (size == null) {
+                return;
+            }
+            queuedBytes.addAndGet(-size);
+            if (toSession) {
+                unwrittenBytes.addAndGet(size);
+                lastActivityAt = System.nanoTime();
+            }
+        }
+
+        void writeStarted() {
+            writeStartedAt = System.nanoTime();
+        }
+
+        // 채널을 거치지 않은 프레임도 쓰이므로 0 아래로 내려가지 않게 함
+        void written(int size) {
+            unwrittenBytes.updateAndGet(bytes -> Math.max(0, bytes - size));
+            writeStartedAt = 0;
+            lastActivityAt = System.nanoTime();
+        }
+
+        long pendingBytes() {
+            return queuedBytes.get() + unwrittenBytes.get();
+        }
+
+        // 대기 중인 프레임이 없는지 (소켓이 한동안 쉬고 있으면 세션 버퍼 값을 0으로 맞춤)
+        boolean isDrained(long now) {
+            if (!queued.isEmpty() || writeStartedAt != 0) {
+                return false;
+            }
+            if (unwrittenBytes.get() == 0) {
+                return true;
+            }
+            if (now - lastActivityAt > IDLE_RECONCILE_NANOS) {
+                unwrittenBytes.set(0);
+                return true;
+            }
+            return false;
+        }
+
+        // 이미 혼잡 상태이거나, 대기 바이트/소켓 쓰기 대기 시간 한도를 넘었는지
+        boolean checkCongested(long now) {
+            if (congested.get()) {
+                return true;
+            }
+            if (pendingBytes() > bufferSizeLimit && !isDrained(now)) {
+                return true;
+            }
+            long startedAt = writeStartedAt;
+            return startedAt != 0 && now - startedAt > sendTimeLimitNanos;
+        }
+    }
+
+    // 소켓에 실제로 쓰일 때마다 알려주는 세션 래퍼
+    private class TrackingSession extends WebSocketSessionDecorator {
+
+        TrackingSession(WebSocketSession delegate) {
+            super(delegate);
+        }
+
+        @Override
+        public void sendMessage(WebSocketMessage<?> message) throws IOException {
+            SessionState state = sessions.get(getId());
+            if (state != null) {
+                state.writeStarted();
+            }
+            try {
+                super.sendMessage(message);
+            } finally {
+                onWritten(getId(), message.getPayloadLength());
+            }
+        }
+    }
+
+}
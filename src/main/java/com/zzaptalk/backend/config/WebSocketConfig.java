@@ -2,12 +2,18 @@ package com.zzaptalk.backend.config;
 
 import com.zzaptalk.backend.jwt.JwtChannelInterceptor;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.thread.Threading;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.core.task.VirtualThreadTaskExecutor;
 import org.springframework.messaging.simp.config.ChannelRegistration;
 import org.springframework.messaging.simp.config.MessageBrokerRegistry;
+import org.springframework.messaging.simp.config.StompBrokerRelayRegistration;
 import org.springframework.web.socket.config.annotation.EnableWebSocketMessageBroker;
 import org.springframework.web.socket.config.annotation.StompEndpointRegistry;
 import org.springframework.web.socket.config.annotation.WebSocketMessageBrokerConfigurer;
+import org.springframework.web.socket.config.annotation.WebSocketTransportRegistration;
 
 @Configuration
 @EnableWebSocketMessageBroker
@@ -15,6 +21,46 @@ import org.springframework.web.socket.config.annotation.WebSocketMessageBrokerCo
 public class WebSocketConfig implements WebSocketMessageBrokerConfigurer {
 
     private final JwtChannelInterceptor jwtChannelInterceptor;
+    private final RoomPartitionedExecutor roomPartitionedExecutor;
+    private final SlowConsumerGuard slowConsumerGuard;
+    private final Environment environment;
+
+    // 세션별 전송 한도 (초과 시 Spring이 세션을 종료하는 최후 방어선)
+    // SlowConsumerGuard의 한도보다 크게 설정해야 정책(DROP/RESYNC)이 먼저 적용됨
+    @Value("${chat.websocket.send-time-limit-ms:10000}")
+    private int sendTimeLimitMs;
+
+    @Value("${chat.websocket.send-buffer-size-limit:524288}")
+    private int sendBufferSizeLimit;
+
+    // -------------------------------------------------------------------------
+    // 외부 STOMP 브로커(RabbitMQ, ActiveMQ 등) 연결 설정
+    // 여러 채팅 서버를 띄울 때 사용 (기본값: 서버 내장 simple broker)
+    // -------------------------------------------------------------------------
+
+    @Value("${chat.broker.relay.enabled:false}")
+    private boolean relayEnabled;
+
+    @Value("${chat.broker.relay.host:localhost}")
+    private String relayHost;
+
+    @Value("${chat.broker.relay.port:61613}")
+    private int relayPort;
+
+    @Value("${chat.broker.relay.virtual-host:}")
+    private String relayVirtualHost;
+
+    @Value("${chat.broker.relay.client-login:guest}")
+    private String relayClientLogin;
+
+    @Value("${chat.broker.relay.client-passcode:guest}")
+    private String relayClientPasscode;
+
+    @Value("${chat.broker.relay.system-login:guest}")
+    private String relaySystemLogin;
+
+    @Value("${chat.broker.relay.system-passcode:guest}")
+    private String relaySystemPasscode;
 
     @Override
     public void registerStompEndpoints(StompEndpointRegistry registry) {
@@ -29,13 +75,80 @@ public class WebSocketConfig implements WebSocketMessageBrokerConfigurer {
 
     @Override
     public void configureMessageBroker(MessageBrokerRegistry registry) {
-        registry.enableSimpleBroker("/topic");
+        // /queue: 사용자(세션)별 개인 메시지 (/user/queue/...)
+        if (relayEnabled) {
+            configureBrokerRelay(registry);
+        } else {
+            registry.enableSimpleBroker("/topic", "/queue");
+        }
         registry.setApplicationDestinationPrefixes("/app");
+
+        // 가상 스레드 모드: broker 채널도 가상 스레드에서 처리
+        // (스레드 풀을 쓰면 세션별 전송 순서가 섞일 수 있으므로 순서 보존 설정)
+        if (isVirtualThreadsEnabled()) {
+            registry.configureBrokerChannel().executor(new VirtualThreadTaskExecutor("ws-broker-"));
+            registry.setPreservePublishOrder(true);
+        }
+    }
+
+    // -------------------------------------------------------------------------
+    // 외부 브로커 릴레이 설정
+    // - 메시지가 브로커를 거쳐 모든 서버의 구독자에게 전달됨
+    // - 사용자 레지스트리를 서버 간에 공유하여 /user/... 목적지를 다른 서버의 세션으로도 전달
+    //   (userRegistryBroadcast 설정 시 MultiServerUserRegistry 사용)
+    // -------------------------------------------------------------------------
+
+    private void configureBrokerRelay(MessageBrokerRegistry registry) {
+        StompBrokerRelayRegistration relay = registry.enableStompBrokerRelay("/topic", "/queue")
+                .setRelayHost(relayHost)
+                .setRelayPort(relayPort)
+                .setClientLogin(relayClientLogin)
+                .setClientPasscode(relayClientPasscode)
+                .setSystemLogin(relaySystemLogin)
+                .setSystemPasscode(relaySystemPasscode)
+                .setUserDestinationBroadcast("/topic/unresolved-user-destination")
+                .setUserRegistryBroadcast("/topic/simp-user-registry");
+
+        if (!relayVirtualHost.isBlank()) {
+            relay.setVirtualHost(relayVirtualHost);
+        }
     }
 
     @Override
     public void configureClientInboundChannel(ChannelRegistration registration) {
         registration.interceptors(jwtChannelInterceptor);
+
+        // 같은 채팅방의 메시지는 같은 레인에서 순서대로 처리
+        registration.executor(roomPartitionedExecutor);
+    }
+
+    @Override
+    public void configureWebSocketTransport(WebSocketTransportRegistration registration) {
+        registration.setSendTimeLimit(sendTimeLimitMs)
+                .setSendBufferSizeLimit(sendBufferSizeLimit)
+                // 세션별로 실제 소켓에 쓰인 프레임을 추적
+                .addDecoratorFactory(slowConsumerGuard::decorate);
+    }
+
+    @Override
+    public void configureClientOutboundChannel(ChannelRegistration registration) {
+        // 느린 클라이언트 보호 (세션별 전송 대기량 검사)
+        registration.interceptors(slowConsumerGuard);
+
+        // 가상 스레드 모드: 느린 클라이언트로의 전송 대기가 플랫폼 스레드를 점유하지 않도록 함
+        if (isVirtualThreadsEnabled()) {
+            registration.executor(new VirtualThreadTaskExecutor("ws-outbound-"));
+        }
+    }
+
+    // -------------------------------------------------------------------------
+    // 가상 스레드 모드 여부
+    // spring.threads.virtual.enabled=true 이고 Java 21 이상에서 실행 중일 때 활성화
+    // (Tomcat 요청 처리와 @Async/@Scheduled 실행기는 Spring Boot가 같은 설정으로 전환)
+    // -------------------------------------------------------------------------
+
+    private boolean isVirtualThreadsEnabled() {
+        return Threading.VIRTUAL.isActive(environment);
     }
 
 }
\ No newline at end of file
@@ -1,15 +1,14 @@
 package com.zzaptalk.backend.controller;
 
 import com.zzaptalk.backend.dto.ChatMessageRequest;
-import com.zzaptalk.backend.dto.ChatMessageResponse;
-import com.zzaptalk.backend.entity.ChatMessage;
-import com.zzaptalk.backend.entity.User;
-import com.zzaptalk.backend.service.ChatMessageService;
-import com.zzaptalk.backend.service.UserService;
+import com.zzaptalk.backend.dto.ReadMarkRequest;
+import com.zzaptalk.backend.dto.SenderProfile;
+import com.zzaptalk.backend.service.ChatMessageDispatcher;
+import com.zzaptalk.backend.service.ReadMarkCoalescer;
+import com.zzaptalk.backend.service.SenderProfileCache;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.messaging.handler.annotation.MessageMapping;
-import org.springframework.messaging.simp.SimpMessagingTemplate;
 import org.springframework.stereotype.Controller;
 
 import java.security.Principal;
@@ -19,9 +18,9 @@ import java.security.Principal;
 @RequiredArgsConstructor
 public class ChatController {
 
-    private final ChatMessageService chatMessageService;
-    private final SimpMessagingTemplate messagingTemplate;
-    private final UserService userService;
+    private final ChatMessageDispatcher chatMessageDispatcher;
+    private final SenderProfileCache senderProfileCache;
+    private final ReadMarkCoalescer readMarkCoalescer;
 
     @MessageMapping("/chat/message")
     public void sendMessage(ChatMessageRequest request, Principal principal) {
@@ -30,35 +29,52 @@ public class ChatController {
         log.info("Principal: {}", principal);
         log.info("Principal name: {}", principal != null ? principal.getName() : "null");
 
-        if (principal == null) {
-            throw new SecurityException("인증되지 않은 사용자입니다.");
-        }
-
-        Long senderId;
-        try {
-            senderId = Long.parseLong(principal.getName());
-        } catch (NumberFormatException e) {
-            log.error("Principal name이 유효한 ID 형태가 아닙니다: {}", principal.getName());
-            throw new SecurityException("유효하지 않은 사용자 인증 정보입니다.", e);
-        }
+        Long senderId = getUserId(principal);
 
         log.info("발신자 사용자 ID: {}", senderId);
 
-        // User 조회 (전화번호로 찾기)
-        User sender = userService.findUserById(senderId);
+        // 발신자 프로필 조회 (캐시, User 전체 조회/복호화 없음)
+        SenderProfile sender = senderProfileCache.get(senderId);
 
-        // 메시지 저장
-        ChatMessage savedMessage = chatMessageService.saveAndPublishMessage(
+        // 메시지 저장 및 전송
+        // (묶음 저장 모드에서는 대기열에 넣고 바로 반환, 커밋 후 전송됨)
+        chatMessageDispatcher.dispatch(
                 request.getRoomId(),
                 sender,
                 request.getContent()
         );
 
-        ChatMessageResponse response = ChatMessageResponse.fromEntity(savedMessage, sender.getNickname());
+        log.info("메시지 전송 요청 완료!");
+    }
+
+    // -------------------------------------------------------------------------
+    // 읽음 처리 (해당 seq까지 읽음)
+    // -------------------------------------------------------------------------
+
+    @MessageMapping("/chat/read")
+    public void markRead(ReadMarkRequest request, Principal principal) {
 
-        String destination = "/topic/chat/room/" + request.getRoomId();
-        messagingTemplate.convertAndSend(destination, response);
+        Long userId = getUserId(principal);
 
-        log.info("메시지 전송 완료!");
+        // 연속된 요청은 병합되어 주기적으로 한 번만 DB에 반영됨
+        readMarkCoalescer.markRead(request.getRoomId(), userId, request.getSeq());
+    }
+
+    // -------------------------------------------------------------------------
+    // Principal에서 사용자 ID 추출
+    // -------------------------------------------------------------------------
+
+    private Long getUserId(Principal principal) {
+
+        if (principal == null) {
+            throw new SecurityException("인증되지 않은 사용자입니다.");
+        }
+
+        try {
+            return Long.parseLong(principal.getName());
+        } catch (NumberFormatException e) {
+            log.error("Principal name이 유효한 ID 형태가 아닙니다: {}", principal.getName());
+            throw new SecurityException("유효하지 않은 사용자 인증 정보입니다.", e);
+        }
     }
 }
\ No newline at end of file
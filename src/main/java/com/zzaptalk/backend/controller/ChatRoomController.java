@@ -2,9 +2,14 @@ package com.zzaptalk.backend.controller;
 
 import com.zzaptalk.backend.dto.*;
 import com.zzaptalk.backend.entity.ChatRoom;
+import com.zzaptalk.backend.service.ChatInboxService;
 import com.zzaptalk.backend.service.ChatMessageService;
+import com.zzaptalk.backend.service.ChatRoomMemberService;
 import com.zzaptalk.backend.service.ChatRoomService;
 import com.zzaptalk.backend.service.CustomUserDetails;
+import com.zzaptalk.backend.service.MessageSearchService;
+import com.zzaptalk.backend.service.ReadMarkCoalescer;
+import com.zzaptalk.backend.service.RoomSummaryUpdater;
 import com.zzaptalk.backend.repository.UserRepository;
 import com.zzaptalk.backend.entity.User;
 import lombok.RequiredArgsConstructor;
@@ -13,7 +18,7 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.Optional;
 
 @RestController
 @RequiredArgsConstructor
@@ -23,6 +28,11 @@ public class ChatRoomController {
     private final ChatRoomService chatRoomService;
     private final ChatMessageService chatMessageService;
     private final UserRepository userRepository;
+    private final ReadMarkCoalescer readMarkCoalescer;
+    private final ChatInboxService chatInboxService;
+    private final ChatRoomMemberService chatRoomMemberService;
+    private final RoomSummaryUpdater roomSummaryUpdater;
+    private final MessageSearchService messageSearchService;
 
     // -------------------------------------------------------------------------
     // 단톡
@@ -76,13 +86,18 @@ public class ChatRoomController {
 
         List<String> memberNicknames = List.of(userA.getNickname(), userB.getNickname());
 
+        // 아직 DB에 반영되지 않은 마지막 메시지 요약이 있으면 메모리 값 사용
+        Optional<RoomSummaryUpdater.RoomSummary> pendingSummary = roomSummaryUpdater.getPending(chatRoom.getId());
+
         ChatRoomResponse response = ChatRoomResponse.builder()
                 .roomId(chatRoom.getId())
                 .roomName(chatRoom.getName())
                 .memberNicknames(memberNicknames)
                 .unreadCount(0)
-                .lastMessageTime(chatRoom.getLastMessageTime())
-                .lastMessageContent(chatRoom.getLastMessageContent())
+                .lastMessageTime(pendingSummary.map(RoomSummaryUpdater.RoomSummary::sentAt)
+                        .orElse(chatRoom.getLastMessageTime()))
+                .lastMessageContent(pendingSummary.map(RoomSummaryUpdater.RoomSummary::content)
+                        .orElse(chatRoom.getLastMessageContent()))
                 .build();
 
         if (result.isNew()) {
@@ -108,41 +123,170 @@ public class ChatRoomController {
     // 채팅방 목록 조회
     // -------------------------------------------------------------------------
 
+    // GET /api/chat/rooms/list?cursor=&size=
     @GetMapping("/list")
-    public ResponseEntity<List<ChatRoomResponse>> getChatRoomList(
+    public ResponseEntity<ChatInboxPageResponse> getChatRoomList(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "30") int size,
             @AuthenticationPrincipal CustomUserDetails userDetails) {
 
         // 1. 현재 로그인된 사용자 ID 획득
         Long currentUserId = userDetails.getUserId();
 
-        // 2. 서비스 호출: 해당 사용자가 참여하고 있는 모든 채팅방 목록 조회
-        List<ChatRoomResponse> chatRoomList = chatRoomService.getChatRoomsByUserId(currentUserId);
+        // 2. 서비스 호출: 사용자별 채팅방 목록(읽기 모델)에서 커서 기준 한 페이지 조회
+        // (ChatRoomUser + ChatRoom 조인 없이 (userId, sortKey, roomId) 인덱스 범위 스캔 한 번)
+        ChatInboxPageResponse page = chatInboxService.getInbox(currentUserId, cursor, size);
 
         // 3. 200 OK와 함께 목록 반환
-        return ResponseEntity.ok(chatRoomList);
+        return ResponseEntity.ok(page);
+    }
+
+    // -------------------------------------------------------------------------
+    // 그룹 채팅방 참여자 일괄 초대
+    // POST /api/chat/rooms/{roomId}/members
+    // -------------------------------------------------------------------------
+
+    @PostMapping("/{roomId}/members")
+    public ResponseEntity<RoomMemberChangeResponse> inviteMembers(
+            @PathVariable Long roomId,
+            @RequestBody RoomMemberChangeRequest request,
+            @AuthenticationPrincipal CustomUserDetails userDetails) {
+
+        RoomMemberChangeResponse response = chatRoomMemberService.inviteMembers(
+                roomId, userDetails.getUserId(), request.getUserIds());
+
+        return ResponseEntity.ok(response);
+
+    }
+
+    // -------------------------------------------------------------------------
+    // 그룹 채팅방 참여자 일괄 내보내기 / 나가기
+    // POST /api/chat/rooms/{roomId}/members/remove
+    // -------------------------------------------------------------------------
+
+    @PostMapping("/{roomId}/members/remove")
+    public ResponseEntity<RoomMemberChangeResponse> removeMembers(
+            @PathVariable Long roomId,
+            @RequestBody RoomMemberChangeRequest request,
+            @AuthenticationPrincipal CustomUserDetails userDetails) {
+
+        RoomMemberChangeResponse response = chatRoomMemberService.removeMembers(
+                roomId, userDetails.getUserId(), request.getUserIds());
+
+        return ResponseEntity.ok(response);
+
     }
 
     // -------------------------------------------------------------------------
-    // 채팅방 이전 메시지 조회
+    // 채팅방 이전 메시지 조회 (커서 기반 페이지네이션)
+    // GET /api/chat/rooms/{roomId}/messages?beforeId=&afterId=&size=
     // -------------------------------------------------------------------------
 
     @GetMapping("/{roomId}/messages")
-    public ResponseEntity<List<ChatMessageResponse>> getChatMessages(
+    public ResponseEntity<ChatMessagePageResponse> getChatMessages(
+            @PathVariable Long roomId,
+            @RequestParam(required = false) Long beforeId,
+            @RequestParam(required = false) Long afterId,
+            @RequestParam(defaultValue = "30") int size,
+            @AuthenticationPrincipal CustomUserDetails userDetails) {
+
+        // 서비스 호출: 커서 기준으로 한 페이지 분량의 메시지만 최신순으로 가져옴
+        // (방 전체 메시지를 메모리에 올리지 않도록 (roomId, id) 인덱스 기반 keyset 조회)
+        ChatMessagePageResponse page = chatMessageService.getChatMessages(roomId, beforeId, afterId, size);
+
+        return ResponseEntity.ok(page);
+
+    }
+
+    // -------------------------------------------------------------------------
+    // 특정 메시지 주변 메시지 조회 (메시지로 이동)
+    // GET /api/chat/rooms/{roomId}/messages/{messageId}/around?size=
+    // -------------------------------------------------------------------------
+
+    @GetMapping("/{roomId}/messages/{messageId}/around")
+    public ResponseEntity<ChatMessagePageResponse> getChatMessagesAround(
+            @PathVariable Long roomId,
+            @PathVariable Long messageId,
+            @RequestParam(defaultValue = "30") int size,
+            @AuthenticationPrincipal CustomUserDetails userDetails) {
+
+        ChatMessagePageResponse page = chatMessageService.getChatMessagesAround(roomId, messageId, size);
+
+        return ResponseEntity.ok(page);
+
+    }
+
+    // -------------------------------------------------------------------------
+    // 누락 메시지 동기화 (재접속 시)
+    // GET /api/chat/rooms/{roomId}/messages/sync?afterSeq=
+    // -------------------------------------------------------------------------
+
+    @GetMapping("/{roomId}/messages/sync")
+    public ResponseEntity<ChatMessageSyncResponse> syncMessages(
+            @PathVariable Long roomId,
+            @RequestParam(defaultValue = "0") long afterSeq,
+            @AuthenticationPrincipal CustomUserDetails userDetails) {
+
+        // 클라이언트가 마지막으로 받은 seq 이후 메시지만 한 번에 조회
+        ChatMessageSyncResponse response = chatMessageService.syncMessages(roomId, afterSeq);
+
+        return ResponseEntity.ok(response);
+
+    }
+
+    // -------------------------------------------------------------------------
+    // 채팅방 메시지 검색
+    // GET /api/chat/rooms/{roomId}/messages/search?q=&beforeId=&size=
+    // -------------------------------------------------------------------------
+
+    @GetMapping("/{roomId}/messages/search")
+    public ResponseEntity<MessageSearchPageResponse> searchMessages(
             @PathVariable Long roomId,
+            @RequestParam String q,
+            @RequestParam(required = false) Long beforeId,
+            @RequestParam(defaultValue = "20") int size,
             @AuthenticationPrincipal CustomUserDetails userDetails) {
 
-        // 서비스 호출: 해당 방의 모든 메시지 목록을 오래된 순으로 가져옴
-        // (ChatMessageService는 List<ChatMessage>를 반환하고, DTO 변환 과정에서 N+1을 피하기 위해 User 엔티티가 필요)
+        // 참여 중인 채팅방만 검색 가능 (서비스에서 확인)
+        MessageSearchPageResponse page = messageSearchService.searchRoom(userDetails.getUserId(), roomId, q, beforeId, size);
 
-        // ChatMessageService.getChatMessages(Long roomId)는 List<ChatMessage>를 반환하며,
-        // DTO 변환을 위해 Service 계층에서 닉네임을 조회하여 DTO로 변환하여 반환하도록 변경해야 함
-        // -> ChatMessageService가 List<ChatMessage>를 반환하고, Stream을 사용하여 DTO로 변환
+        return ResponseEntity.ok(page);
+
+    }
+
+    // -------------------------------------------------------------------------
+    // 내 채팅방 전체 메시지 검색
+    // GET /api/chat/rooms/search?q=&beforeId=&size=
+    // -------------------------------------------------------------------------
+
+    @GetMapping("/search")
+    public ResponseEntity<MessageSearchPageResponse> searchMyMessages(
+            @RequestParam String q,
+            @RequestParam(required = false) Long beforeId,
+            @RequestParam(defaultValue = "20") int size,
+            @AuthenticationPrincipal CustomUserDetails userDetails) {
+
+        MessageSearchPageResponse page = messageSearchService.searchMyRooms(userDetails.getUserId(), q, beforeId, size);
+
+        return ResponseEntity.ok(page);
+
+    }
+
+    // -------------------------------------------------------------------------
+    // 읽음 처리 (해당 seq까지 읽음)
+    // POST /api/chat/rooms/{roomId}/read
+    // -------------------------------------------------------------------------
+
+    @PostMapping("/{roomId}/read")
+    public ResponseEntity<Void> markRead(
+            @PathVariable Long roomId,
+            @RequestBody ReadMarkRequest request,
+            @AuthenticationPrincipal CustomUserDetails userDetails) {
 
-        List<ChatMessageResponse> messages = chatMessageService.getChatMessages(roomId).stream()
-                .map(message -> ChatMessageResponse.fromEntity(message, message.getSender().getNickname()))
-                .collect(Collectors.toList());
+        // 읽음 워터마크는 병합 후 주기적으로 반영되므로 바로 응답
+        readMarkCoalescer.markRead(roomId, userDetails.getUserId(), request.getSeq());
 
-        return ResponseEntity.ok(messages);
+        return ResponseEntity.accepted().build();
 
     }
 
@@ -0,0 +1,21 @@
+package com.zzaptalk.backend.dto;
+
+import lombok.Builder;
+import lombok.Getter;
+import java.util.List;
+
+@Getter
+@Builder
+public class ChatInboxPageResponse {
+
+    // 채팅방 목록 (마지막 메시지 최신순)
+    private List<ChatRoomResponse> rooms;
+
+    // 다음 페이지 요청 시 사용할 커서 ("정렬키_채팅방ID")
+    // 더 이상 조회할 채팅방이 없으면 null
+    private String nextCursor;
+
+    // 다음 페이지 존재 여부
+    private boolean hasNext;
+
+}
@@ -0,0 +1,23 @@
+package com.zzaptalk.backend.dto;
+
+import lombok.Builder;
+import lombok.Getter;
+import java.util.List;
+
+@Getter
+@Builder
+public class ChatMessagePageResponse {
+
+    // 메시지 목록 (최신순)
+    private List<ChatMessageResponse> messages;
+
+    // 다음 페이지 요청 시 사용할 커서(메시지 ID)
+    // - 이전 메시지 조회(beforeId): 이번 페이지에서 가장 오래된 메시지 ID
+    // - 이후 메시지 조회(afterId): 이번 페이지에서 가장 최신 메시지 ID
+    // 더 이상 조회할 메시지가 없으면 null
+    private Long nextCursor;
+
+    // 다음 페이지 존재 여부
+    private boolean hasNext;
+
+}
@@ -4,27 +4,36 @@ import com.zzaptalk.backend.entity.ChatMessage;
 import com.zzaptalk.backend.entity.MessageType;
 import lombok.Builder;
 import lombok.Getter;
+import lombok.extern.jackson.Jacksonized;
 import java.time.LocalDateTime;
 
 @Getter
-@Builder
+@Builder(toBuilder = true)
+// outbox payload(JSON)를 다시 읽을 수 있도록 builder로 역직렬화
+@Jacksonized
 public class ChatMessageResponse {
 
     private Long messageId;
     private Long roomId;
+    // 채팅방 내 메시지 순번 (재접속 동기화 기준)
+    private Long seq;
     private Long senderId;
     // 클라이언트 화면 표시용 닉네임
     private String senderName;
+    // 클라이언트 화면 표시용 프로필 사진 URL
+    private String senderProfilePhotoUrl;
     private String content;
     private MessageType type;
     private LocalDateTime sentAt;
 
-    public static ChatMessageResponse fromEntity(ChatMessage message, String senderNickname) {
+    public static ChatMessageResponse fromEntity(ChatMessage message, SenderProfile sender) {
         return ChatMessageResponse.builder()
                 .messageId(message.getId())
                 .roomId(message.getChatRoom().getId())
-                .senderId(message.getSender().getId())
-                .senderName(senderNickname)
+                .seq(message.getSeq())
+                .senderId(sender.userId())
+                .senderName(sender.nickname())
+                .senderProfilePhotoUrl(sender.profilePhotoUrl())
                 .content(message.getContent())
                 .type(message.getType())
                 .sentAt(message.getSentAt())
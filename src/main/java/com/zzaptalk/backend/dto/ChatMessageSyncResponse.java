@@ -0,0 +1,21 @@
+package com.zzaptalk.backend.dto;
+
+import lombok.Builder;
+import lombok.Getter;
+import java.util.List;
+
+@Getter
+@Builder
+public class ChatMessageSyncResponse {
+
+    // 요청한 시퀀스 이후의 메시지 목록 (오래된 순)
+    private List<ChatMessageResponse> messages;
+
+    // 채팅방의 현재 마지막 시퀀스
+    private long lastSeq;
+
+    // 한 번에 반환할 수 있는 개수를 넘어 남은 메시지가 있는지 여부
+    // (true면 마지막으로 받은 seq로 다시 요청)
+    private boolean hasMore;
+
+}
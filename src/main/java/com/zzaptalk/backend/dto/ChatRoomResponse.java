@@ -17,5 +17,6 @@ public class ChatRoomResponse {
     private int unreadCount;                  // 안 읽은 메시지 수
     private String lastMessageContent;        // 마지막 메시지 내용
     private LocalDateTime lastMessageTime;    // 마지막 메시지 시간
+    private long lastSeq;                     // 마지막 메시지 seq (재접속 동기화 기준)
 
 }
\ No newline at end of file
@@ -0,0 +1,35 @@
+package com.zzaptalk.backend.dto;
+
+import com.zzaptalk.backend.entity.MessageType;
+import lombok.Builder;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+
+// 대형 채팅방(LARGE 모드) 전송용 축약 메시지
+// 채팅방 ID는 구독 경로로, 발신자 닉네임/프로필 사진은 클라이언트가 가진 참여자 정보로 대신함
+// 축약 형식을 지원하는 클라이언트가 /topic/chat/room/{id}/compact를 구독한 경우에만 받음
+// (STOMP 헤더 payload-format: compact 로 구분, 기본 구독 경로는 항상 전체 메시지)
+@Getter
+@Builder
+public class CompactChatMessageResponse {
+
+    private Long messageId;
+    private Long seq;
+    private Long senderId;
+    private String content;
+    private MessageType type;
+    private LocalDateTime sentAt;
+
+    public static CompactChatMessageResponse from(ChatMessageResponse response) {
+        return CompactChatMessageResponse.builder()
+                .messageId(response.getMessageId())
+                .seq(response.getSeq())
+                .senderId(response.getSenderId())
+                .content(response.getContent())
+                .type(response.getType())
+                .sentAt(response.getSentAt())
+                .build();
+    }
+
+}
@@ -8,6 +8,7 @@ import lombok.Getter;
 import lombok.NoArgsConstructor;
 
 import java.time.LocalDate;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.stream.Collectors;
 
@@ -61,7 +62,8 @@ public class FriendSummaryDto {
                 .statusMessage(friend.getStatusMessage())
                 .birthday(friend.getBirthday())
                 .isFavorite(friendship.isFavorite())
-                .groups(friendship.getGroupMappings().stream()
+                // 방금 저장한 친구 관계는 그룹 매핑 컬렉션이 비어 있음(null)
+                .groups(friendship.getGroupMappings() == null ? new ArrayList<>() : friendship.getGroupMappings().stream()
                         .map(mapping -> GroupSimpleDto.builder()
                                 .groupName(mapping.getFriendGroup().getGroupName())
                                 .groupId(mapping.getFriendGroup().getId())
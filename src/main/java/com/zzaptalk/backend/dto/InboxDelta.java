@@ -0,0 +1,23 @@
+package com.zzaptalk.backend.dto;
+
+import lombok.Builder;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+
+// 채팅방 목록 변경분 (/user/queue/inbox 로 전송)
+// 클라이언트는 roomId에 해당하는 목록 항목만 교체하고 sortKey 기준으로 재정렬
+@Getter
+@Builder
+public class InboxDelta {
+
+    private Long roomId;                      // 채팅방 ID
+    private String roomName;                  // 표시 이름 (새로 참여한 방을 목록에 추가할 때 사용)
+    private String lastMessageContent;        // 마지막 메시지 내용 (미리보기)
+    private LocalDateTime lastMessageTime;    // 마지막 메시지 시간
+    private long lastSeq;                     // 마지막 메시지 seq
+    private int unreadCount;                  // 안 읽은 메시지 수
+    private long sortKey;                     // 목록 정렬 키 (목록 조회 커서와 동일 기준)
+    private boolean removed;                  // 목록에서 제거 (채팅방에서 나감 / 내보내짐)
+
+}
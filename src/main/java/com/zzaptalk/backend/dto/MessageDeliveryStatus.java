@@ -0,0 +1,23 @@
+package com.zzaptalk.backend.dto;
+
+import lombok.Builder;
+import lombok.Getter;
+
+// 선전송(OPTIMISTIC) 메시지의 저장 결과
+// - COMMITTED: 보낸 사람에게만 전송 (/user/queue/chat/status), 전송 완료 표시용
+// - FAILED: 채팅방 전체에 전송 (/topic/chat/room/{roomId}/status), 이미 받은 메시지를 화면에서 제거
+@Getter
+@Builder
+public class MessageDeliveryStatus {
+
+    private Long messageId;     // 메시지 ID
+    private Long roomId;        // 채팅방 ID
+    private Long seq;           // 채팅방 내 메시지 순번
+    private Status status;      // 저장 결과
+
+    public enum Status {
+        COMMITTED,
+        FAILED
+    }
+
+}
@@ -0,0 +1,20 @@
+package com.zzaptalk.backend.dto;
+
+import lombok.Builder;
+import lombok.Getter;
+import java.util.List;
+
+@Getter
+@Builder
+public class MessageSearchHit {
+
+    // 검색어가 포함된 메시지
+    private ChatMessageResponse message;
+
+    // 메시지 내용(content)에서 검색어가 나타나는 위치 (시작 오프셋 순)
+    private List<Highlight> highlights;
+
+    // 강조 표시 구간 [start, end) (content의 문자 오프셋)
+    public record Highlight(int start, int end) {}
+
+}
@@ -0,0 +1,21 @@
+package com.zzaptalk.backend.dto;
+
+import lombok.Builder;
+import lombok.Getter;
+import java.util.List;
+
+@Getter
+@Builder
+public class MessageSearchPageResponse {
+
+    // 검색 결과 (최신순)
+    private List<MessageSearchHit> hits;
+
+    // 다음 페이지 요청 시 사용할 커서(beforeId) = 이번 페이지에서 가장 오래된 메시지 ID
+    // 더 이상 결과가 없으면 null
+    private Long nextCursor;
+
+    // 다음 페이지 존재 여부
+    private boolean hasNext;
+
+}
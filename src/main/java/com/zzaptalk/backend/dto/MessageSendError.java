@@ -0,0 +1,16 @@
+package com.zzaptalk.backend.dto;
+
+import lombok.Builder;
+import lombok.Getter;
+
+// 저장(커밋) 전에 실패한 메시지 전송 요청 (보낸 사람에게만 전송, /user/queue/chat/errors)
+// 저장 후 전송(DURABLE) 메시지는 ID/seq가 발급되기 전에 실패하므로 채팅방과 내용으로 식별
+@Getter
+@Builder
+public class MessageSendError {
+
+    private Long roomId;        // 채팅방 ID
+    private String content;     // 전송하지 못한 메시지 내용 (재전송용)
+    private String reason;      // 실패 사유
+
+}
@@ -0,0 +1,19 @@
+package com.zzaptalk.backend.dto;
+
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Getter
+@Setter
+@NoArgsConstructor
+public class ReadMarkRequest {
+
+    // 읽음 처리할 채팅방 ID
+    // (REST 요청에서는 경로 변수 사용)
+    private Long roomId;
+
+    // 이 메시지 seq까지 읽음
+    private long seq;
+
+}
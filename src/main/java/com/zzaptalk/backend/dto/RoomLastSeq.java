@@ -0,0 +1,10 @@
+package com.zzaptalk.backend.dto;
+
+// 채팅방의 현재 마지막 시퀀스 (roomId, lastSeq)
+// 읽음 요청 반영 시 여러 채팅방을 한 번에 조회
+public record RoomLastSeq(
+
+    Long roomId,
+    long lastSeq
+
+){}
@@ -0,0 +1,16 @@
+package com.zzaptalk.backend.dto;
+
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import java.util.List;
+
+@Getter
+@Setter
+@NoArgsConstructor
+public class RoomMemberChangeRequest {
+
+    // 초대하거나 내보낼 사용자 ID 목록 (중복 허용, 서버에서 제거)
+    private List<Long> userIds;
+
+}
@@ -0,0 +1,15 @@
+package com.zzaptalk.backend.dto;
+
+import lombok.Builder;
+import lombok.Getter;
+
+@Getter
+@Builder
+public class RoomMemberChangeResponse {
+
+    private Long roomId;          // 채팅방 ID
+    private int requestedCount;   // 요청된 사용자 수 (중복 제거 후)
+    private int changedCount;     // 실제로 추가/삭제된 사용자 수
+    private int skippedCount;     // 이미 참여 중(초대) / 참여하지 않음(내보내기)으로 건너뛴 사용자 수
+
+}
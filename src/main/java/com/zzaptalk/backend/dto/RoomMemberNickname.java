@@ -0,0 +1,11 @@
+package com.zzaptalk.backend.dto;
+
+// 채팅방 목록 구성용 멤버 닉네임 (roomId, userId, nickname)
+// User 엔티티를 로딩하지 않고 필요한 컬럼만 조회 (암호화 필드 복호화 없음)
+public record RoomMemberNickname(
+
+    Long roomId,
+    Long userId,
+    String nickname
+
+){}
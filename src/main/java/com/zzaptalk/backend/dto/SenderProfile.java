@@ -0,0 +1,19 @@
+package com.zzaptalk.backend.dto;
+
+import com.zzaptalk.backend.entity.User;
+
+// 메시지 발신자 표시 정보 (발신자 캐시 / 메시지 응답용)
+// User 전체를 로딩하지 않고 필요한 컬럼만 조회 (암호화 필드 복호화 없음)
+public record SenderProfile(
+
+    Long userId,
+    String nickname,
+    String profilePhotoUrl
+
+){
+
+    public static SenderProfile from(User user) {
+        return new SenderProfile(user.getId(), user.getNickname(), user.getProfilePhotoUrl());
+    }
+
+}
@@ -0,0 +1,66 @@
+package com.zzaptalk.backend.entity;
+
+import com.zzaptalk.backend.util.SnowflakeId;
+import jakarta.persistence.*;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+// -------------------------------------------------------------------------
+// 저장하지 못한 메시지 보관 (dead letter)
+// 저널 재생(MessageJournalReplayer) 중 seq 중복 등으로 한 건씩 다시 시도해도 저장할 수 없는 메시지를 남겨 두고
+// 재생은 다음 레코드로 진행 -> 운영자가 원인을 확인한 뒤 수동으로 복구하거나 삭제
+// -------------------------------------------------------------------------
+
+@Entity
+@Getter
+@NoArgsConstructor
+@Table(
+        indexes = {
+                // 같은 메시지 중복 보관 방지 (재생 재시도 시)
+                @Index(name = "idx_chat_dead_letter_message", columnList = "messageId"),
+                // 채팅방별 조회
+                @Index(name = "idx_chat_dead_letter_room", columnList = "roomId, seq")
+        }
+)
+public class ChatDeadLetter {
+
+    @Id
+    @SnowflakeId
+    private Long id;
+
+    // 저장하지 못한 메시지의 ID / 채팅방 ID / 시퀀스
+    @Column(nullable = false)
+    private Long messageId;
+
+    @Column(nullable = false)
+    private Long roomId;
+
+    @Column(nullable = false)
+    private Long seq;
+
+    // 메시지 원본 (ChatMessageResponse JSON)
+    @Column(columnDefinition = "TEXT", nullable = false)
+    private String payload;
+
+    // 저장 실패 사유 (예외 메시지)
+    @Column(length = 1000)
+    private String reason;
+
+    @Column(nullable = false)
+    private LocalDateTime createdAt;
+
+    @Builder
+    public ChatDeadLetter(Long messageId, Long roomId, Long seq, String payload, String reason,
+                          LocalDateTime createdAt) {
+        this.messageId = messageId;
+        this.roomId = roomId;
+        this.seq = seq;
+        this.payload = payload;
+        this.reason = reason;
+        this.createdAt = createdAt;
+    }
+
+}
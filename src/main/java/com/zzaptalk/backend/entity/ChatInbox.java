@@ -0,0 +1,107 @@
+package com.zzaptalk.backend.entity;
+
+import com.zzaptalk.backend.util.SnowflakeId;
+import com.zzaptalk.backend.util.StringListConverter;
+import jakarta.persistence.*;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+// -------------------------------------------------------------------------
+// 사용자별 채팅방 목록(받은편지함) 읽기 모델
+// 채팅방 목록 화면을 ChatRoomUser + ChatRoom 조인 없이
+// (userId, sortKey, roomId) 인덱스 범위 스캔 한 번으로 조회하기 위한 비정규화 테이블
+// - 메시지 전송 시: 해당 방 참여자 전원의 행에 마지막 메시지/seq/정렬 키 반영
+// - 읽음 처리 시: lastReadSeq 반영
+// - 참여자 변경 시: 행 추가/삭제 및 표시 이름 갱신
+// -------------------------------------------------------------------------
+
+@Entity
+@Getter
+@NoArgsConstructor
+@Table(
+        // 사용자별 목록 커서 조회용 복합 인덱스 (정렬 키 내림차순 범위 스캔)
+        indexes = {
+                @Index(name = "idx_chat_inbox_user_sort", columnList = "userId, sortKey, roomId")
+        },
+        // 한 사용자에게 채팅방당 한 행
+        uniqueConstraints = {
+                @UniqueConstraint(name = "uk_chat_inbox_user_room", columnNames = {"userId", "roomId"})
+        }
+)
+public class ChatInbox {
+
+    @Id
+    @SnowflakeId
+    private Long id;
+
+    // 목록 소유자 (사용자 ID)
+    @Column(nullable = false)
+    private Long userId;
+
+    // 채팅방 ID
+    @Column(nullable = false)
+    private Long roomId;
+
+    // 채팅방 유형(갠챗/단톡)
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private ChatRoomType roomType;
+
+    // 목록에 표시할 방 이름 (1:1 채팅방은 상대방 닉네임)
+    private String displayName;
+
+    // 참여 사용자 닉네임 목록
+    @Convert(converter = StringListConverter.class)
+    @Column(length = 4000)
+    private List<String> memberNicknames;
+
+    // 마지막 메시지 내용 (미리보기)
+    private String lastMessageContent;
+
+    // 마지막 메시지 시간
+    private LocalDateTime lastMessageTime;
+
+    // 채팅방 마지막 메시지 seq
+    @Column(nullable = false)
+    private long lastSeq;
+
+    // 이 사용자의 읽음 워터마크
+    @Column(nullable = false)
+    private long lastReadSeq;
+
+    // 목록 정렬 키 (마지막 메시지 시간, epoch ms)
+    @Column(nullable = false)
+    private long sortKey;
+
+    @Builder
+    public ChatInbox(Long userId, Long roomId, ChatRoomType roomType, String displayName,
+                     List<String> memberNicknames, String lastMessageContent, LocalDateTime lastMessageTime,
+                     long lastSeq, long lastReadSeq, long sortKey) {
+        this.userId = userId;
+        this.roomId = roomId;
+        this.roomType = roomType;
+        this.displayName = displayName;
+        this.memberNicknames = memberNicknames;
+        this.lastMessageContent = lastMessageContent;
+        this.lastMessageTime = lastMessageTime;
+        this.lastSeq = lastSeq;
+        this.lastReadSeq = lastReadSeq;
+        this.sortKey = sortKey;
+    }
+
+    // 참여자 변경 / 닉네임 변경 반영
+    public void updateMembers(String displayName, List<String> memberNicknames) {
+        this.displayName = displayName;
+        this.memberNicknames = memberNicknames;
+    }
+
+    // 읽지 않은 메시지 수 계산
+    public int getUnreadCount() {
+        return (int) Math.max(0, lastSeq - lastReadSeq);
+    }
+
+}
@@ -1,5 +1,6 @@
 package com.zzaptalk.backend.entity;
 
+import com.zzaptalk.backend.util.SnowflakeId;
 import jakarta.persistence.*;
 import lombok.Builder;
 import lombok.Getter;
@@ -9,10 +10,20 @@ import java.time.LocalDateTime;
 @Entity
 @Getter
 @NoArgsConstructor
+@Table(
+        // 채팅방별 커서(keyset) 페이지 조회용 복합 인덱스
+        indexes = {
+                @Index(name = "idx_chat_message_room_id", columnList = "roomId, id")
+        },
+        // 채팅방 내 시퀀스 번호는 유일 (재접속 동기화 조회에도 사용)
+        uniqueConstraints = {
+                @UniqueConstraint(name = "uk_chat_message_room_seq", columnNames = {"roomId", "seq"})
+        }
+)
 public class ChatMessage {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @SnowflakeId
     private Long id;
 
     // FK: 이 메시지가 속한 채팅방
@@ -25,6 +36,9 @@ public class ChatMessage {
     @JoinColumn(name = "senderId", nullable = false)
     private User sender;
 
+    // 채팅방 내 메시지 순번 (1부터 빈 번호 없이 증가)
+    private Long seq;
+
     // 메시지 내용(최대 길이 고려)
     @Column(columnDefinition = "TEXT", nullable = false)
     private String content;
@@ -38,10 +52,14 @@ public class ChatMessage {
     @Column(nullable = false)
     private MessageType type;
 
+    // id를 지정하지 않으면 저장 시 발급 (지정하면 그대로 사용: 저널 재생 등 이미 ID가 발급된 메시지)
     @Builder
-    public ChatMessage(ChatRoom chatRoom, User sender, String content, MessageType type, LocalDateTime sentAt) {
+    public ChatMessage(Long id, ChatRoom chatRoom, User sender, Long seq, String content, MessageType type,
+                       LocalDateTime sentAt) {
+        this.id = id;
         this.chatRoom = chatRoom;
         this.sender = sender;
+        this.seq = seq;
         this.content = content;
         this.type = type;
         this.sentAt = sentAt != null ? sentAt : LocalDateTime.now();
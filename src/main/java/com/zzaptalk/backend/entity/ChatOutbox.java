@@ -0,0 +1,71 @@
+package com.zzaptalk.backend.entity;
+
+import com.zzaptalk.backend.util.SnowflakeId;
+import jakarta.persistence.*;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+// -------------------------------------------------------------------------
+// 메시지 전송 대기열 (transactional outbox)
+// 메시지 저장 트랜잭션에서 함께 INSERT하고, 커밋 이후 ChatOutboxRelay가 읽어 브로커로 전송
+// -> 저장은 됐는데 전송 전에 서버가 죽어도 재기동 후 다시 전송됨 (at-least-once)
+// 릴레이는 행을 임대(leaseNodeId, leaseUntil)로 가져간 뒤 트랜잭션 밖에서 전송하고 publishedAt을 기록
+// 전송이 끝난 행은 보관 기간이 지나면 삭제
+// -------------------------------------------------------------------------
+
+@Entity
+@Getter
+@NoArgsConstructor
+@Table(
+        indexes = {
+                // 노드별 미전송 행 조회 (publishedAt IS NULL ORDER BY id) / 전송 완료 행 정리
+                @Index(name = "idx_chat_outbox_pending", columnList = "nodeId, publishedAt, id"),
+                // 기록한 노드가 전송하지 못한 오래된 행 조회 / 전송 완료 행 정리 (노드 무관)
+                @Index(name = "idx_chat_outbox_unpublished", columnList = "publishedAt, createdAt")
+        }
+)
+public class ChatOutbox {
+
+    @Id
+    @SnowflakeId
+    private Long id;
+
+    // 행을 기록한 서버의 노드 ID (chat.id.node-id), 같은 노드의 릴레이가 전송
+    @Column(nullable = false)
+    private long nodeId;
+
+    // 채팅방 ID
+    @Column(nullable = false)
+    private Long roomId;
+
+    // 채팅방 내 메시지 시퀀스 (같은 방 안에서의 전송 순서)
+    @Column(nullable = false)
+    private Long seq;
+
+    // 전송할 메시지 (ChatMessageResponse JSON)
+    @Column(columnDefinition = "TEXT", nullable = false)
+    private String payload;
+
+    @Column(nullable = false)
+    private LocalDateTime createdAt;
+
+    // 전송 완료 시간 (null이면 미전송)
+    private LocalDateTime publishedAt;
+
+    // 전송 중인 릴레이의 노드 ID와 임대 만료 시간 (만료되면 다른 릴레이가 다시 가져감)
+    private Long leaseNodeId;
+    private LocalDateTime leaseUntil;
+
+    @Builder
+    public ChatOutbox(long nodeId, Long roomId, Long seq, String payload, LocalDateTime createdAt) {
+        this.nodeId = nodeId;
+        this.roomId = roomId;
+        this.seq = seq;
+        this.payload = payload;
+        this.createdAt = createdAt;
+    }
+
+}
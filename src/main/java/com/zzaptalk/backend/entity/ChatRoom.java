@@ -12,6 +12,12 @@ import java.time.LocalDateTime;
 @Getter
 @Setter
 @NoArgsConstructor
+@Table(
+        // 1:1 채팅방은 두 사용자 조합당 하나 (그룹 채팅방은 NULL이므로 제약 대상 아님)
+        uniqueConstraints = {
+                @UniqueConstraint(name = "uk_chat_room_pair", columnNames = {"pairMinUserId", "pairMaxUserId"})
+        }
+)
 public class ChatRoom {
 
     // PK: 채팅방 고유 ID
@@ -41,10 +47,49 @@ public class ChatRoom {
     @Setter
     private String lastMessageContent;
 
+    // 채팅방에서 마지막으로 발급된 메시지 시퀀스 번호
+    // (ChatRoomRepository.increaseLastSeq의 원자적 UPDATE로만 증가시키므로
+    //  엔티티 변경 감지로 덮어쓰지 않도록 updatable = false)
+    @Column(nullable = false, updatable = false)
+    private long lastSeq;
+
+    // 보관소(ColdMessageArchive)로 옮긴 마지막 메시지 시퀀스 번호 (없으면 0)
+    // (ChatRoomRepository.raiseArchivedSeq로만 증가)
+    @Column(nullable = false, updatable = false)
+    private long archivedSeq;
+
+    // 메모리에서 seq를 발급 중인 서버의 노드 ID와 임대 만료 시각 (OptimisticSequencer)
+    // 임대 중에는 다른 서버와 저장 후 전송(DURABLE) 경로가 seq를 발급하지 않음
+    // (ChatRoomRepository의 임대 쿼리로만 변경)
+    @Column(updatable = false)
+    private Long seqOwnerNodeId;
+
+    @Column(updatable = false)
+    private LocalDateTime seqOwnerUntil;
+
+    // 임대 중인 서버가 발급할 수 있도록 예약해 둔 seq 상한 (OptimisticSequencer가 묶음 단위로 올림)
+    // 저장이 끝나지 않은 발급 seq는 lastSeq에 아직 반영되지 않았을 수 있으므로,
+    // 임대를 넘겨받는 서버와 저장 후 전송 경로는 max(lastSeq, seqReservedUntil) 다음부터 발급
+    @Column(nullable = false, updatable = false)
+    private long seqReservedUntil;
+
+    // 그룹 채팅방 방장 사용자 ID (다른 참여자를 내보낼 수 있음)
+    // 방장이 나가면 가장 먼저 참여한 사용자에게 승계, 이 컬럼 도입 이전의 채팅방은 null (조회 시 승계 규칙으로 지정)
+    private Long ownerId;
+
+    // 1:1 채팅방 참여자 조합 키 (작은 사용자 ID, 큰 사용자 ID)
+    // 그룹 채팅방은 null
+    private Long pairMinUserId;
+    private Long pairMaxUserId;
+
     @Builder
-    public ChatRoom(ChatRoomType type, String name, LocalDateTime createdAt) {
+    public ChatRoom(ChatRoomType type, String name, LocalDateTime createdAt, Long ownerId,
+                    Long pairMinUserId, Long pairMaxUserId) {
         this.type = type;
         this.name = name;
+        this.ownerId = ownerId;
+        this.pairMinUserId = pairMinUserId;
+        this.pairMaxUserId = pairMaxUserId;
         this.createdAt = createdAt != null ? createdAt : LocalDateTime.now();
         this.lastMessageTime = this.createdAt;
     }
@@ -1,5 +1,6 @@
 package com.zzaptalk.backend.entity;
 
+import com.zzaptalk.backend.util.SnowflakeId;
 import jakarta.persistence.*;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
@@ -22,7 +23,7 @@ import lombok.Builder;
 public class ChatRoomUser {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @SnowflakeId
     private Long id;
 
     // FK: 연결된 채팅방
@@ -35,25 +36,22 @@ public class ChatRoomUser {
     @JoinColumn(name = "userId", nullable = false)
     private User user;
 
-    // 해당 채팅방에서 읽지 않은 메시지 수
+    // 이 사용자가 해당 채팅방에서 마지막으로 읽은 메시지 시퀀스 (읽음 워터마크)
+    // 안 읽은 메시지 수 = 채팅방 lastSeq - lastReadSeq
+    // (메시지 전송 시 참여자 행을 갱신하지 않고, 읽음 처리 시에만 앞으로 이동)
     @Column(nullable = false)
-    private int unreadCount;
+    private long lastReadSeq;
 
     @Builder
-    public ChatRoomUser(ChatRoom chatRoom, User user, int unreadCount) {
+    public ChatRoomUser(ChatRoom chatRoom, User user, long lastReadSeq) {
         this.chatRoom = chatRoom;
         this.user = user;
-        this.unreadCount = unreadCount;
+        this.lastReadSeq = lastReadSeq;
     }
 
-    // 읽지 않은 메시지 수 증가
-    public void incrementUnreadCount() {
-        this.unreadCount++;
-    }
-
-    // 메시지 읽음 처리(카운트 초기화)
-    public void resetUnreadCount() {
-        this.unreadCount = 0;
+    // 읽지 않은 메시지 수 계산
+    public int getUnreadCount() {
+        return (int) Math.max(0, chatRoom.getLastSeq() - lastReadSeq);
     }
 
 }
\ No newline at end of file
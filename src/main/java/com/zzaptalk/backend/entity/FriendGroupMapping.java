@@ -1,5 +1,6 @@
 package com.zzaptalk.backend.entity;
 
+import com.zzaptalk.backend.util.SnowflakeId;
 import jakarta.persistence.*;
 import lombok.*;
 import java.time.LocalDateTime;
@@ -17,7 +18,7 @@ import java.time.LocalDateTime;
 public class FriendGroupMapping {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @SnowflakeId
     private Long id;
 
     // 친구 관계
@@ -1,5 +1,6 @@
 package com.zzaptalk.backend.entity;
 
+import com.zzaptalk.backend.util.SnowflakeId;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
@@ -23,7 +24,7 @@ import java.util.List;
 public class Friendship {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @SnowflakeId
     private Long id;
 
     // -------------------------------------------------------------------------
@@ -0,0 +1,11 @@
+package com.zzaptalk.backend.event;
+
+// 사용자 프로필(닉네임, 프로필 사진 등) 변경 이벤트
+// 프로필을 변경하는 곳에서 ApplicationEventPublisher로 발행하면
+// 프로필 정보를 메모리에 들고 있는 캐시들이 해당 사용자 항목을 무효화함
+// (현재 UserService에는 프로필 변경 기능이 없어 발행하는 곳이 없음 -> 프로필 수정 API 추가 시 커밋 이후 발행해야 함)
+public record UserProfileChangedEvent(
+
+    Long userId
+
+){}
@@ -0,0 +1,13 @@
+package com.zzaptalk.backend.repository;
+
+import com.zzaptalk.backend.entity.ChatDeadLetter;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface ChatDeadLetterRepository extends JpaRepository<ChatDeadLetter, Long> {
+
+    // 이미 보관된 메시지인지 확인 (재생을 같은 위치부터 재시도하는 경우)
+    boolean existsByMessageId(Long messageId);
+
+}
@@ -0,0 +1,90 @@
+package com.zzaptalk.backend.repository;
+
+import com.zzaptalk.backend.entity.ChatInbox;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+public interface ChatInboxRepository extends JpaRepository<ChatInbox, Long> {
+
+// -------------------------------------------------------------------------
+// 채팅방 목록 조회 (커서 기반, (userId, sortKey, roomId) 인덱스 범위 스캔)
+// -------------------------------------------------------------------------
+
+    // 첫 페이지
+    @Query("SELECT i FROM ChatInbox i WHERE i.userId = :userId ORDER BY i.sortKey DESC, i.roomId DESC")
+    List<ChatInbox> findLatestByUserId(@Param("userId") Long userId, Pageable pageable);
+
+    // 커서 (sortKey, roomId) 이후 페이지
+    @Query("SELECT i FROM ChatInbox i WHERE i.userId = :userId " +
+            "AND (i.sortKey < :sortKey OR (i.sortKey = :sortKey AND i.roomId < :roomId)) " +
+            "ORDER BY i.sortKey DESC, i.roomId DESC")
+    List<ChatInbox> findBeforeByUserId(@Param("userId") Long userId,
+                                       @Param("sortKey") long sortKey,
+                                       @Param("roomId") Long roomId,
+                                       Pageable pageable);
+
+    boolean existsByUserId(Long userId);
+
+    List<ChatInbox> findAllByRoomId(Long roomId);
+
+    // 목록 변경분 전송용: 접속 중인 사용자만 (uk_chat_inbox_user_room 인덱스로 조회)
+    List<ChatInbox> findAllByRoomIdInAndUserIdIn(Collection<Long> roomIds, Collection<Long> userIds);
+
+    // 주어진 사용자 중 목록 행이 하나라도 있는 사용자 ID (backfill 필요 여부 확인)
+    @Query("SELECT DISTINCT i.userId FROM ChatInbox i WHERE i.userId IN :userIds")
+    List<Long> findUserIdsHavingInbox(@Param("userIds") Collection<Long> userIds);
+
+    // 나간 참여자의 목록 행 일괄 삭제
+    @Modifying
+    @Query("DELETE FROM ChatInbox i WHERE i.roomId = :roomId AND i.userId IN :userIds")
+    int deleteByRoomIdAndUserIds(@Param("roomId") Long roomId, @Param("userIds") Collection<Long> userIds);
+
+    // 닉네임 목록 일괄 갱신 (채팅방 참여자 전원의 행, 행을 읽어 오지 않고 UPDATE 한 문장)
+    @Modifying
+    @Query("UPDATE ChatInbox i SET i.memberNicknames = :nicknames WHERE i.roomId = :roomId")
+    int updateMemberNicknames(@Param("roomId") Long roomId, @Param("nicknames") List<String> nicknames);
+
+    // 1:1 채팅방 상대방 행의 표시 이름 갱신
+    @Modifying
+    @Query("UPDATE ChatInbox i SET i.displayName = :displayName WHERE i.roomId = :roomId AND i.userId <> :userId")
+    int updateDisplayNameOfOthers(@Param("roomId") Long roomId,
+                                  @Param("userId") Long userId,
+                                  @Param("displayName") String displayName);
+
+// -------------------------------------------------------------------------
+// 증분 갱신
+// -------------------------------------------------------------------------
+
+    // 새 메시지 반영 (해당 방 참여자 전원의 행)
+    // seq가 더 큰 경우에만 반영하므로 묶음 저장/재시도 순서가 뒤바뀌어도 되돌아가지 않음
+    @Modifying
+    @Query(value = "UPDATE chat_inbox SET last_seq = :seq, last_message_content = :content, " +
+            "last_message_time = :sentAt, sort_key = :sortKey " +
+            "WHERE room_id = :roomId AND last_seq < :seq", nativeQuery = true)
+    int applyMessage(@Param("roomId") Long roomId,
+                     @Param("seq") long seq,
+                     @Param("content") String content,
+                     @Param("sentAt") LocalDateTime sentAt,
+                     @Param("sortKey") long sortKey);
+
+    // 읽음 워터마크 이동 (앞으로만, 채팅방의 현재 lastSeq를 넘지 않도록)
+    // chat_inbox.last_seq는 RoomSummaryUpdater가 모아서 반영하므로 늦을 수 있어 chat_room.last_seq 기준으로 제한
+    // (issuedSeq: ChatRoomUserRepository.advanceLastReadSeq와 동일)
+    @Modifying
+    @Query(value = "UPDATE chat_inbox i JOIN chat_room r ON r.id = i.room_id " +
+            "SET i.last_read_seq = LEAST(:seq, GREATEST(r.last_seq, :issuedSeq)) " +
+            "WHERE i.room_id = :roomId AND i.user_id = :userId " +
+            "AND i.last_read_seq < LEAST(:seq, GREATEST(r.last_seq, :issuedSeq))", nativeQuery = true)
+    int advanceLastReadSeq(@Param("roomId") Long roomId,
+                           @Param("userId") Long userId,
+                           @Param("seq") long seq,
+                           @Param("issuedSeq") long issuedSeq);
+
+}
@@ -2,7 +2,13 @@ package com.zzaptalk.backend.repository;
 
 import com.zzaptalk.backend.entity.ChatMessage;
 import com.zzaptalk.backend.entity.ChatRoom;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
 public interface ChatMessageRepository extends JpaRepository<ChatMessage, Long> {
@@ -16,11 +22,57 @@ public interface ChatMessageRepository extends JpaRepository<ChatMessage, Long>
     List<ChatMessage> findAllByChatRoomOrderBySentAtDesc(ChatRoom chatRoom);
 
     // -------------------------------------------------------------------------
-    // 특정 채팅방의 메시지 목록을 전송 시간 기준 오름차순(오래된 순)으로 조회
+    // 커서(keyset) 기반 메시지 페이지 조회
+    // (roomId, id) 복합 인덱스를 타도록 id 기준으로 정렬/비교
+    // 발신자 닉네임 표시를 위해 sender를 함께 로딩(N+1 방지)
     //
-    // @param chatRoom 조회할 채팅방 엔티티
-    // @return 메시지 목록(오래된 순)
+    // @param roomId 조회할 채팅방 ID
+    // @param pageable 조회 개수(limit)
     // -------------------------------------------------------------------------
-    List<ChatMessage> findAllByChatRoomOrderBySentAtAsc(ChatRoom chatRoom);
 
-}
\ No newline at end of file
+    // 가장 최근 메시지부터 조회 (최신순)
+    @Query("SELECT m FROM ChatMessage m JOIN FETCH m.sender " +
+            "WHERE m.chatRoom.id = :roomId ORDER BY m.id DESC")
+    List<ChatMessage> findLatestByRoomId(@Param("roomId") Long roomId, Pageable pageable);
+
+    // 특정 메시지 ID 이전(더 오래된) 메시지 조회 (최신순)
+    @Query("SELECT m FROM ChatMessage m JOIN FETCH m.sender " +
+            "WHERE m.chatRoom.id = :roomId AND m.id < :beforeId ORDER BY m.id DESC")
+    List<ChatMessage> findBeforeByRoomId(@Param("roomId") Long roomId,
+                                         @Param("beforeId") Long beforeId,
+                                         Pageable pageable);
+
+    // 특정 메시지 ID 이후(더 최신) 메시지 조회 (오래된 순)
+    @Query("SELECT m FROM ChatMessage m JOIN FETCH m.sender " +
+            "WHERE m.chatRoom.id = :roomId AND m.id > :afterId ORDER BY m.id ASC")
+    List<ChatMessage> findAfterByRoomId(@Param("roomId") Long roomId,
+                                        @Param("afterId") Long afterId,
+                                        Pageable pageable);
+
+    // 특정 시퀀스 이후 메시지 조회 (재접속 시 누락 메시지 동기화, 오래된 순)
+    @Query("SELECT m FROM ChatMessage m JOIN FETCH m.sender " +
+            "WHERE m.chatRoom.id = :roomId AND m.seq > :afterSeq ORDER BY m.seq ASC")
+    List<ChatMessage> findAfterSeqByRoomId(@Param("roomId") Long roomId,
+                                           @Param("afterSeq") Long afterSeq,
+                                           Pageable pageable);
+
+    // 특정 시퀀스 이후 메시지의 전송 시간 (오래된 순, 보관 대상 사전 확인용)
+    // ((roomId, seq) 유니크 인덱스 범위 스캔, PageRequest.of(n, 1)이면 n번째 메시지 하나)
+    @Query("SELECT m.sentAt FROM ChatMessage m WHERE m.chatRoom.id = :roomId AND m.seq > :afterSeq ORDER BY m.seq ASC")
+    List<LocalDateTime> findSentAtAfterSeq(@Param("roomId") Long roomId,
+                                           @Param("afterSeq") Long afterSeq,
+                                           Pageable pageable);
+
+    // 메시지가 해당 채팅방에 속하는지 확인 (메시지 점프 시 검증용)
+    boolean existsByIdAndChatRoomId(Long id, Long roomId);
+
+    // 주어진 ID 중 이미 저장된 메시지 ID (저널 재생 시 중복 저장 방지)
+    @Query("SELECT m.id FROM ChatMessage m WHERE m.id IN :ids")
+    List<Long> findExistingIds(@Param("ids") Collection<Long> ids);
+
+    // 보관소로 옮긴 메시지 삭제 (seq 이하, 한 번에 limit개씩 나눠 삭제해 잠금 시간을 짧게 유지)
+    @Modifying
+    @Query(value = "DELETE FROM chat_message WHERE room_id = :roomId AND seq <= :seq LIMIT :limit", nativeQuery = true)
+    int deleteArchived(@Param("roomId") Long roomId, @Param("seq") long seq, @Param("limit") int limit);
+
+}
@@ -0,0 +1,53 @@
+package com.zzaptalk.backend.repository;
+
+import com.zzaptalk.backend.entity.ChatOutbox;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+public interface ChatOutboxRepository extends JpaRepository<ChatOutbox, Long> {
+
+    // 노드의 미전송 행 중 임대되지 않은 행 (오래된 순, idx_chat_outbox_pending 범위 스캔)
+    // 다른 릴레이가 잠근 행은 건너뜀
+    @Query(value = "SELECT * FROM chat_outbox WHERE node_id = :nodeId AND published_at IS NULL " +
+            "AND (lease_until IS NULL OR lease_until < :now) " +
+            "ORDER BY id LIMIT :limit FOR UPDATE SKIP LOCKED", nativeQuery = true)
+    List<ChatOutbox> findPending(@Param("nodeId") long nodeId,
+                                 @Param("now") LocalDateTime now,
+                                 @Param("limit") int limit);
+
+    // 노드와 관계없이 staleBefore 이전에 기록되고 아직 전송되지 않은 행 (기록한 노드가 죽거나 밀린 경우)
+    // (idx_chat_outbox_unpublished 범위 스캔, 다른 릴레이가 잠근 행은 건너뜀)
+    @Query(value = "SELECT * FROM chat_outbox WHERE published_at IS NULL AND created_at < :staleBefore " +
+            "AND (lease_until IS NULL OR lease_until < :now) " +
+            "ORDER BY created_at LIMIT :limit FOR UPDATE SKIP LOCKED", nativeQuery = true)
+    List<ChatOutbox> findStale(@Param("staleBefore") LocalDateTime staleBefore,
+                               @Param("now") LocalDateTime now,
+                               @Param("limit") int limit);
+
+    // 전송할 행 임대 (임대 시간 안에 전송 완료를 기록하지 못하면 다른 릴레이가 다시 가져감)
+    @Modifying
+    @Query("UPDATE ChatOutbox o SET o.leaseNodeId = :nodeId, o.leaseUntil = :leaseUntil WHERE o.id IN :ids")
+    int lease(@Param("ids") Collection<Long> ids,
+              @Param("nodeId") long nodeId,
+              @Param("leaseUntil") LocalDateTime leaseUntil);
+
+    // 전송 완료 처리 (아직 이 노드가 임대 중인 행만)
+    @Modifying
+    @Query("UPDATE ChatOutbox o SET o.publishedAt = :publishedAt " +
+            "WHERE o.id IN :ids AND o.leaseNodeId = :nodeId AND o.publishedAt IS NULL")
+    int markPublished(@Param("ids") Collection<Long> ids,
+                      @Param("nodeId") long nodeId,
+                      @Param("publishedAt") LocalDateTime publishedAt);
+
+    // 보관 기간이 지난 전송 완료 행 삭제 (노드 무관, 한 번에 최대 limit개, 긴 잠금 방지)
+    @Modifying
+    @Query(value = "DELETE FROM chat_outbox WHERE published_at < :before LIMIT :limit", nativeQuery = true)
+    int deletePublishedBefore(@Param("before") LocalDateTime before, @Param("limit") int limit);
+
+}
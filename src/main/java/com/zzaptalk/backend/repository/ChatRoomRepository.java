@@ -1,10 +1,126 @@
 package com.zzaptalk.backend.repository;
 
+import com.zzaptalk.backend.dto.RoomLastSeq;
 import com.zzaptalk.backend.entity.ChatRoom;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
 
 public interface ChatRoomRepository extends JpaRepository<ChatRoom, Long> {
 
-    // 현재는 기본 CRUD 기능만 사용
+    // -------------------------------------------------------------------------
+    // 메시지 시퀀스 발급
+    // 채팅방 행을 원자적으로 증가시켜 트랜잭션 종료 시까지 행 잠금 유지
+    // -> 같은 방의 메시지는 순서대로 번호를 받고, 롤백되면 번호도 함께 취소됨(빈 번호 없음)
+    // 메모리 발급기(OptimisticSequencer)가 임대 중인 채팅방은 발급하지 않음 (같은 seq 중복 발급 방지)
+    // 이전 임대에서 예약된 seq(seq_reserved_until)는 저장 전일 수 있으므로 그 다음부터 발급
+    //
+    // @param roomId 채팅방 ID
+    // @param count 발급할 시퀀스 개수
+    // @return 갱신된 행 수 (0이면 채팅방 없음 또는 다른 서버가 임대 중)
+    // -------------------------------------------------------------------------
+    @Modifying
+    @Query(value = "UPDATE chat_room SET last_seq = GREATEST(last_seq, seq_reserved_until) + :count WHERE id = :roomId " +
+            "AND (seq_owner_node_id IS NULL OR seq_owner_until < NOW(3))", nativeQuery = true)
+    int increaseLastSeq(@Param("roomId") Long roomId, @Param("count") long count);
+
+    // -------------------------------------------------------------------------
+    // 메모리 seq 발급 임대 (OptimisticSequencer, 만료 시각은 DB 시계 기준)
+    // -------------------------------------------------------------------------
+
+    // 비어 있거나 만료된 임대 획득
+    @Modifying
+    @Query(value = "UPDATE chat_room SET seq_owner_node_id = :nodeId, " +
+            "seq_owner_until = NOW(3) + INTERVAL :leaseMs * 1000 MICROSECOND " +
+            "WHERE id = :roomId AND (seq_owner_node_id IS NULL OR seq_owner_until < NOW(3))", nativeQuery = true)
+    int acquireSeqOwnership(@Param("roomId") Long roomId, @Param("nodeId") long nodeId, @Param("leaseMs") long leaseMs);
+
+    // 이 노드가 임대 중인 채팅방의 임대 연장
+    @Modifying
+    @Query(value = "UPDATE chat_room SET seq_owner_until = NOW(3) + INTERVAL :leaseMs * 1000 MICROSECOND " +
+            "WHERE id IN :roomIds AND seq_owner_node_id = :nodeId", nativeQuery = true)
+    int renewSeqOwnership(@Param("roomIds") Collection<Long> roomIds,
+                          @Param("nodeId") long nodeId,
+                          @Param("leaseMs") long leaseMs);
+
+    // 이 노드가 임대 중인 채팅방 ID
+    @Query(value = "SELECT id FROM chat_room WHERE id IN :roomIds AND seq_owner_node_id = :nodeId", nativeQuery = true)
+    List<Long> findSeqOwnedRoomIds(@Param("roomIds") Collection<Long> roomIds, @Param("nodeId") long nodeId);
+
+    // 발급할 seq 예약 (이 노드의 임대가 유효한 경우만, 올리기만 함)
+    // @return 0이면 임대를 잃음
+    @Modifying
+    @Query(value = "UPDATE chat_room SET seq_reserved_until = GREATEST(seq_reserved_until, :reservedUntil) " +
+            "WHERE id = :roomId AND seq_owner_node_id = :nodeId AND seq_owner_until >= NOW(3)", nativeQuery = true)
+    int reserveSeqs(@Param("roomId") Long roomId,
+                    @Param("nodeId") long nodeId,
+                    @Param("reservedUntil") long reservedUntil);
+
+    // 임대 반납: 예약 상한을 실제로 발급한 seq까지 내림
+    // (그 사이 이 노드가 다시 임대를 잡아 더 예약한 경우에는 반납하지 않음)
+    @Modifying
+    @Query(value = "UPDATE chat_room SET seq_owner_node_id = NULL, seq_owner_until = NULL, " +
+            "seq_reserved_until = :issuedSeq " +
+            "WHERE id = :roomId AND seq_owner_node_id = :nodeId AND seq_reserved_until <= :reservedUntil", nativeQuery = true)
+    int releaseSeqOwnership(@Param("roomId") Long roomId,
+                            @Param("nodeId") long nodeId,
+                            @Param("reservedUntil") long reservedUntil,
+                            @Param("issuedSeq") long issuedSeq);
+
+    // 임대를 새로 잡은 서버의 발급 시작점: 저장된 lastSeq와 이전 임대의 예약 상한 중 큰 값
+    @Query(value = "SELECT GREATEST(last_seq, seq_reserved_until) FROM chat_room WHERE id = :roomId", nativeQuery = true)
+    Long findSeqSeedById(@Param("roomId") Long roomId);
+
+    // 미리 발급된 seq로 저장한 메시지(선전송/저널 재생)에 맞춰 시퀀스를 따라 올림 (내려가지 않음)
+    @Modifying
+    @Query(value = "UPDATE chat_room SET last_seq = GREATEST(last_seq, :seq) WHERE id = :roomId", nativeQuery = true)
+    int raiseLastSeq(@Param("roomId") Long roomId, @Param("seq") long seq);
+
+    // 채팅방 요약(마지막 메시지) 갱신 (RoomSummaryUpdater에서 방당 한 번씩 반영)
+    @Modifying
+    @Query(value = "UPDATE chat_room SET last_message_content = :content, last_message_time = :sentAt " +
+            "WHERE id = :roomId", nativeQuery = true)
+    int updateSummary(@Param("roomId") Long roomId,
+                      @Param("content") String content,
+                      @Param("sentAt") LocalDateTime sentAt);
+
+    // 1:1 채팅방 조회 (uk_chat_room_pair 인덱스)
+    Optional<ChatRoom> findByPairMinUserIdAndPairMaxUserId(Long pairMinUserId, Long pairMaxUserId);
+
+    // 조합 키 도입 이전에 만들어진 1:1 채팅방에 조합 키 지정
+    @Modifying
+    @Query(value = "UPDATE chat_room SET pair_min_user_id = :minUserId, pair_max_user_id = :maxUserId " +
+            "WHERE id = :roomId AND pair_min_user_id IS NULL", nativeQuery = true)
+    int assignPairKey(@Param("roomId") Long roomId,
+                      @Param("minUserId") Long minUserId,
+                      @Param("maxUserId") Long maxUserId);
+
+    // 채팅방의 현재 마지막 시퀀스 조회
+    @Query("SELECT r.lastSeq FROM ChatRoom r WHERE r.id = :roomId")
+    Long findLastSeqById(@Param("roomId") Long roomId);
+
+    // 여러 채팅방의 현재 마지막 시퀀스 조회 (읽음 요청 반영)
+    @Query("SELECT new com.zzaptalk.backend.dto.RoomLastSeq(r.id, r.lastSeq) FROM ChatRoom r WHERE r.id IN :roomIds")
+    List<RoomLastSeq> findLastSeqsByIdIn(@Param("roomIds") Collection<Long> roomIds);
+
+    // 채팅방의 보관 경계 조회 (seq 이하 메시지는 보관소에 있음)
+    @Query("SELECT r.archivedSeq FROM ChatRoom r WHERE r.id = :roomId")
+    Long findArchivedSeqById(@Param("roomId") Long roomId);
+
+    // 세그먼트 기록 후 보관 경계를 올림 (내려가지 않음)
+    @Modifying
+    @Query(value = "UPDATE chat_room SET archived_seq = GREATEST(archived_seq, :seq) WHERE id = :roomId", nativeQuery = true)
+    int raiseArchivedSeq(@Param("roomId") Long roomId, @Param("seq") long seq);
+
+    // 채팅방 ID를 순서대로 나눠 조회 (메시지 보관 작업)
+    @Query("SELECT r.id FROM ChatRoom r WHERE r.id > :afterId ORDER BY r.id ASC")
+    List<Long> findIdsAfter(@Param("afterId") Long afterId, Pageable pageable);
 
-}
\ No newline at end of file
+}
@@ -1,11 +1,15 @@
 package com.zzaptalk.backend.repository;
 
+import com.zzaptalk.backend.dto.RoomMemberNickname;
 import com.zzaptalk.backend.entity.ChatRoom;
 import com.zzaptalk.backend.entity.ChatRoomUser;
 import com.zzaptalk.backend.entity.User;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
+import java.util.Collection;
 import java.util.Optional;
 import java.util.List;
 
@@ -25,10 +29,77 @@ public interface ChatRoomUserRepository extends JpaRepository<ChatRoomUser, Long
     // 특정 채팅방의 모든 참여자 정보 가져오기
     List<ChatRoomUser> findAllByChatRoom(ChatRoom chatRoom);
 
-    @Query("SELECT cru FROM ChatRoomUser cru JOIN FETCH cru.chatRoom cr JOIN FETCH cru.user u WHERE cru.user = :user ORDER BY cr.lastMessageTime DESC")
-    List<ChatRoomUser> findAllByUserWithChatRoomAndUser(@Param("user") User user);
-
     @Query("SELECT cru FROM ChatRoomUser cru JOIN FETCH cru.user u WHERE cru.chatRoom.id = :roomId")
     List<ChatRoomUser> findAllByChatRoomIdWithUser(@Param("roomId") Long roomId);
 
+    // 특정 사용자가 참여 중인 채팅방 ID 목록 (메시지 검색 범위)
+    @Query("SELECT cru.chatRoom.id FROM ChatRoomUser cru WHERE cru.user.id = :userId")
+    List<Long> findRoomIdsByUserId(@Param("userId") Long userId);
+
+    // 특정 사용자의 참여 정보 + 채팅방 조회 (User는 로딩하지 않음)
+    @Query("SELECT cru FROM ChatRoomUser cru JOIN FETCH cru.chatRoom cr WHERE cru.user.id = :userId ORDER BY cr.lastMessageTime DESC")
+    List<ChatRoomUser> findAllByUserIdWithChatRoom(@Param("userId") Long userId);
+
+    // 여러 사용자의 참여 정보 + 채팅방 조회 (채팅방 목록 일괄 backfill)
+    @Query("SELECT cru FROM ChatRoomUser cru JOIN FETCH cru.chatRoom cr WHERE cru.user.id IN :userIds")
+    List<ChatRoomUser> findAllByUserIdInWithChatRoom(@Param("userIds") Collection<Long> userIds);
+
+    // 채팅방 하나에서 주어진 사용자들의 참여 정보 (uk_chatroom_user 인덱스)
+    @Query("SELECT cru FROM ChatRoomUser cru WHERE cru.chatRoom.id = :roomId AND cru.user.id IN :userIds")
+    List<ChatRoomUser> findAllByRoomIdAndUserIdIn(@Param("roomId") Long roomId,
+                                                  @Param("userIds") Collection<Long> userIds);
+
+    // 여러 사용자가 참여 중인 모든 채팅방의 멤버 닉네임을 한 번에 조회
+    // 방 개수, 사용자 수와 관계없이 쿼리 1회 (방마다 멤버를 따로 조회하는 N+1 방지)
+    @Query("SELECT new com.zzaptalk.backend.dto.RoomMemberNickname(cru.chatRoom.id, u.id, u.nickname) " +
+            "FROM ChatRoomUser cru JOIN cru.user u " +
+            "WHERE cru.chatRoom.id IN (SELECT m.chatRoom.id FROM ChatRoomUser m WHERE m.user.id IN :userIds) " +
+            "ORDER BY cru.chatRoom.id, cru.id")
+    List<RoomMemberNickname> findMemberNicknamesOfUsersRooms(@Param("userIds") Collection<Long> userIds);
+
+    // 특정 채팅방의 멤버 닉네임 조회 (User 엔티티 로딩 없음)
+    @Query("SELECT new com.zzaptalk.backend.dto.RoomMemberNickname(cru.chatRoom.id, u.id, u.nickname) " +
+            "FROM ChatRoomUser cru JOIN cru.user u WHERE cru.chatRoom.id = :roomId ORDER BY cru.id")
+    List<RoomMemberNickname> findMemberNicknamesByRoomId(@Param("roomId") Long roomId);
+
+    // 채팅방의 앞쪽 멤버 닉네임 (채팅방 목록 행의 닉네임 목록과 같은 순서, 닉네임 변경 반영용)
+    @Query("SELECT new com.zzaptalk.backend.dto.RoomMemberNickname(cru.chatRoom.id, u.id, u.nickname) " +
+            "FROM ChatRoomUser cru JOIN cru.user u WHERE cru.chatRoom.id = :roomId ORDER BY cru.id")
+    List<RoomMemberNickname> findFirstMemberNicknames(@Param("roomId") Long roomId, Pageable pageable);
+
+    // 가장 먼저 참여한 사용자 ID (ID가 발급 시각 순이므로 참여 순서, 방장 승계)
+    @Query("SELECT cru.user.id FROM ChatRoomUser cru WHERE cru.chatRoom.id = :roomId ORDER BY cru.id ASC")
+    List<Long> findFirstMemberUserIds(@Param("roomId") Long roomId, Pageable pageable);
+
+    // 채팅방 참여자 수
+    @Query("SELECT COUNT(cru) FROM ChatRoomUser cru WHERE cru.chatRoom.id = :roomId")
+    long countMembers(@Param("roomId") Long roomId);
+
+    // 채팅방 참여 여부
+    @Query("SELECT COUNT(cru) > 0 FROM ChatRoomUser cru WHERE cru.chatRoom.id = :roomId AND cru.user.id = :userId")
+    boolean existsMember(@Param("roomId") Long roomId, @Param("userId") Long userId);
+
+    // 주어진 사용자 중 이미 채팅방에 참여 중인 사용자 ID (uk_chatroom_user 인덱스)
+    @Query("SELECT cru.user.id FROM ChatRoomUser cru WHERE cru.chatRoom.id = :roomId AND cru.user.id IN :userIds")
+    List<Long> findMemberUserIds(@Param("roomId") Long roomId, @Param("userIds") Collection<Long> userIds);
+
+    // 참여자 일괄 삭제 (DELETE 한 문장)
+    @Modifying
+    @Query("DELETE FROM ChatRoomUser cru WHERE cru.chatRoom.id = :roomId AND cru.user.id IN :userIds")
+    int deleteMembers(@Param("roomId") Long roomId, @Param("userIds") Collection<Long> userIds);
+
+    // 읽음 워터마크 이동
+    // 앞으로만 이동하며(단조 증가), 채팅방의 현재 lastSeq를 넘지 않도록 제한
+    // -> 동시에 여러 요청이 와도 더 큰 값만 반영되므로 갱신 손실 없음
+    // issuedSeq: 이 서버가 메모리에서 발급했지만 아직 lastSeq에 반영되지 않은 seq (OptimisticSequencer, 없으면 0)
+    @Modifying
+    @Query(value = "UPDATE chat_room_user cru JOIN chat_room r ON r.id = cru.chat_room_id " +
+            "SET cru.last_read_seq = LEAST(:seq, GREATEST(r.last_seq, :issuedSeq)) " +
+            "WHERE cru.chat_room_id = :roomId AND cru.user_id = :userId " +
+            "AND cru.last_read_seq < LEAST(:seq, GREATEST(r.last_seq, :issuedSeq))", nativeQuery = true)
+    int advanceLastReadSeq(@Param("roomId") Long roomId,
+                           @Param("userId") Long userId,
+                           @Param("seq") long seq,
+                           @Param("issuedSeq") long issuedSeq);
+
 }
\ No newline at end of file
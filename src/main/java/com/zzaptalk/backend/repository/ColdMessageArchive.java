@@ -0,0 +1,414 @@
+package com.zzaptalk.backend.repository;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.zzaptalk.backend.dto.ChatMessageResponse;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Repository;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Predicate;
+import java.util.stream.Stream;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.InflaterInputStream;
+
+// -------------------------------------------------------------------------
+// 오래된 채팅 메시지 보관소 (cold storage)
+// MessageArchiver가 chat_message에서 옮긴 메시지를 채팅방별 압축 세그먼트 파일로 보관
+// 세그먼트는 한 번 쓰면 바뀌지 않으며(임시 파일에 쓰고 이름 변경), 같은 방의 seq 구간은 겹치지 않음
+//
+// 파일 구성: {chat.archive.dir}/room-{roomId}/{firstSeq}-{lastSeq}.seg
+//   [블록 0][블록 1]...[인덱스][푸터]
+//   - 블록: 메시지 blockSize개를 ([길이][ChatMessageResponse JSON]) 반복 후 deflate 압축
+//   - 인덱스(희소 인덱스): 블록당 한 항목 (seq 범위, 메시지 ID 범위, 파일 위치)
+//   - 푸터: 인덱스 위치, 블록 수, 매직 넘버
+// 조회 시 세그먼트를 읽기 전용으로 메모리 매핑하고 인덱스로 필요한 블록만 압축 해제
+// (매핑된 세그먼트와 인덱스는 최근 사용 순으로 openSegments개까지 보관)
+//
+// 보관 경계는 chat_room.archived_seq (MessageArchiver가 세그먼트 기록 후 갱신)
+// 여러 서버가 같은 보관 디렉터리(공유 스토리지)를 읽으며,
+// 다른 서버가 기록한 세그먼트는 경계가 올라간 것을 보고 디렉터리를 다시 읽어 반영 (refresh)
+// -------------------------------------------------------------------------
+
+@Slf4j
+@Repository
+@RequiredArgsConstructor
+public class ColdMessageArchive {
+
+    private static final int MAGIC = 0x5A5A4152;    // "ZZAR"
+    private static final int FOOTER_SIZE = Long.BYTES + Integer.BYTES * 2;
+    private static final String ROOM_DIR_PREFIX = "room-";
+    private static final String SEGMENT_SUFFIX = ".seg";
+
+    private final ObjectMapper objectMapper;
+
+    @Value("${chat.archive.enabled:false}")
+    private boolean enabled;
+
+    // 보관 디렉터리
+    @Value("${chat.archive.dir:./data/archive}")
+    private String dir;
+
+    // 블록당 메시지 수 (희소 인덱스 간격)
+    @Value("${chat.archive.block-size:128}")
+    private int blockSize;
+
+    // 메모리 매핑 상태로 보관하는 최대 세그먼트 수
+    @Value("${chat.archive.open-segments:256}")
+    private int openSegments;
+
+    // 채팅방별 세그먼트 목록 (firstSeq -> 세그먼트), 처음 조회할 때 디렉터리에서 읽음
+    private final Map<Long, NavigableMap<Long, SegmentFile>> rooms = new ConcurrentHashMap<>();
+
+    private final ReentrantLock openLock = new ReentrantLock();
+
+    // 접근 순서 기준 LinkedHashMap (가장 오래 사용되지 않은 세그먼트부터 해제)
+    private final LinkedHashMap<Path, OpenSegment> opened = new LinkedHashMap<>(64, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Path, OpenSegment> eldest) {
+            return size() > openSegments;
+        }
+    };
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    // 보관소 파일에 기록된 마지막 seq (없으면 0)
+    // 세그먼트 기록 후 archived_seq 갱신 전에 중단된 경우 archived_seq보다 클 수 있음
+    public long getArchivedSeq(Long roomId) {
+        NavigableMap<Long, SegmentFile> segments = segmentsOf(roomId);
+        return segments.isEmpty() ? 0 : segments.lastEntry().getValue().lastSeq();
+    }
+
+    // archived_seq까지의 세그먼트가 목록에 없으면 디렉터리를 다시 읽음 (다른 서버가 기록한 세그먼트)
+    public void refresh(Long roomId, long archivedSeq) {
+        if (getArchivedSeq(roomId) < archivedSeq) {
+            rooms.put(roomId, loadSegments(roomId));
+        }
+    }
+
+    // 보관된 메시지 중 가장 큰 메시지 ID (마지막 세그먼트 기준, 없으면 0)
+    // 보관소보다 최신인 커서로 조회할 때 세그먼트를 열지 않고 건너뛰기 위해 사용
+    public long getArchivedMaxMessageId(Long roomId) {
+        NavigableMap<Long, SegmentFile> segments = segmentsOf(roomId);
+        if (segments.isEmpty()) {
+            return 0;
+        }
+        return open(segments.lastEntry().getValue()).blocks().stream()
+                .mapToLong(BlockIndex::maxMessageId)
+                .max()
+                .orElse(0);
+    }
+
+    // -------------------------------------------------------------------------
+    // 세그먼트 쓰기
+    //
+    // @param messages 같은 채팅방의 메시지 (seq 오름차순, 이미 보관된 seq 이후)
+    // -------------------------------------------------------------------------
+
+    public void write(Long roomId, List<ChatMessageResponse> messages) {
+        if (messages.isEmpty()) {
+            return;
+        }
+        long firstSeq = messages.get(0).getSeq();
+        long lastSeq = messages.get(messages.size() - 1).getSeq();
+        if (firstSeq <= getArchivedSeq(roomId)) {
+            throw new IllegalArgumentException("이미 보관된 seq 구간입니다: roomId=" + roomId + ", seq=" + firstSeq);
+        }
+
+        try {
+            Path roomDir = roomDir(roomId);
+            Files.createDirectories(roomDir);
+            Path target = roomDir.resolve(String.format("%020d-%020d%s", firstSeq, lastSeq, SEGMENT_SUFFIX));
+            Path temp = roomDir.resolve(target.getFileName() + ".tmp");
+
+            ByteArrayOutputStream file = new ByteArrayOutputStream();
+            List<BlockIndex> index = new ArrayList<>();
+            for (int from = 0; from < messages.size(); from += blockSize) {
+                List<ChatMessageResponse> block = messages.subList(from, Math.min(from + blockSize, messages.size()));
+                byte[] compressed = compress(block);
+                index.add(BlockIndex.of(block, file.size(), compressed.length));
+                file.write(compressed);
+            }
+
+            long indexOffset = file.size();
+            DataOutputStream out = new DataOutputStream(file);
+            for (BlockIndex block : index) {
+                block.writeTo(out);
+            }
+            out.writeLong(indexOffset);
+            out.writeInt(index.size());
+            out.writeInt(MAGIC);
+            out.flush();
+
+            try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.CREATE,
+                    StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+                channel.write(ByteBuffer.wrap(file.toByteArray()));
+                channel.force(true);
+            }
+            Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE);
+
+            segmentsOf(roomId).put(firstSeq, new SegmentFile(target, firstSeq, lastSeq));
+        } catch (IOException e) {
+            throw new UncheckedIOException("메시지 보관 세그먼트 기록 실패: roomId=" + roomId, e);
+        }
+    }
+
+    // -------------------------------------------------------------------------
+    // 조회 (MessageStore와 같은 정렬 기준)
+    // archivedSeq(보관 경계) 이하 메시지만 반환 -> 경계를 넘는 메시지는 아직 MySQL에서 조회
+    // -------------------------------------------------------------------------
+
+    // beforeSeq 이전 메시지 (최신순)
+    public List<ChatMessageResponse> findBeforeSeq(Long roomId, long beforeSeq, int limit) {
+        return scanDescending(roomId, limit,
+                block -> block.firstSeq() < beforeSeq,
+                message -> message.getSeq() < beforeSeq);
+    }
+
+    // beforeId보다 오래된 메시지 (최신순)
+    public List<ChatMessageResponse> findBeforeId(Long roomId, Long beforeId, long archivedSeq, int limit) {
+        return scanDescending(roomId, limit,
+                block -> block.minMessageId() < beforeId && block.firstSeq() <= archivedSeq,
+                message -> message.getMessageId() < beforeId && message.getSeq() <= archivedSeq);
+    }
+
+    // afterId보다 최신 메시지 (오래된 순)
+    public List<ChatMessageResponse> findAfterId(Long roomId, Long afterId, long archivedSeq, int limit) {
+        return scanAscending(roomId, limit,
+                block -> block.maxMessageId() > afterId && block.firstSeq() <= archivedSeq,
+                message -> message.getMessageId() > afterId && message.getSeq() <= archivedSeq);
+    }
+
+    // afterSeq 이후 메시지 (오래된 순)
+    public List<ChatMessageResponse> findAfterSeq(Long roomId, long afterSeq, long archivedSeq, int limit) {
+        return scanAscending(roomId, limit,
+                block -> block.lastSeq() > afterSeq && block.firstSeq() <= archivedSeq,
+                message -> message.getSeq() > afterSeq && message.getSeq() <= archivedSeq);
+    }
+
+    public boolean exists(Long roomId, Long messageId) {
+        return !scanAscending(roomId, 1,
+                block -> block.minMessageId() <= messageId && messageId <= block.maxMessageId(),
+                message -> message.getMessageId().equals(messageId)).isEmpty();
+    }
+
+    private List<ChatMessageResponse> scanAscending(Long roomId, int limit,
+                                                    Predicate<BlockIndex> blockFilter,
+                                                    Predicate<ChatMessageResponse> messageFilter) {
+        List<ChatMessageResponse> result = new ArrayList<>();
+        for (SegmentFile segment : segmentsOf(roomId).values()) {
+            OpenSegment open = open(segment);
+            for (BlockIndex block : open.blocks()) {
+                if (!blockFilter.test(block)) {
+                    continue;
+                }
+                for (ChatMessageResponse message : readBlock(open, block)) {
+                    if (messageFilter.test(message)) {
+                        result.add(message);
+                        if (result.size() == limit) {
+                            return result;
+                        }
+                    }
+                }
+            }
+        }
+        return result;
+    }
+
+    private List<ChatMessageResponse> scanDescending(Long roomId, int limit,
+                                                     Predicate<BlockIndex> blockFilter,
+                                                     Predicate<ChatMessageResponse> messageFilter) {
+        List<ChatMessageResponse> result = new ArrayList<>();
+        for (SegmentFile segment : segmentsOf(roomId).descendingMap().values()) {
+            OpenSegment open = open(segment);
+            for (int i = open.blocks().size() - 1; i >= 0; i--) {
+                BlockIndex block = open.blocks().get(i);
+                if (!blockFilter.test(block)) {
+                    continue;
+                }
+                List<ChatMessageResponse> messages = readBlock(open, block);
+                Collections.reverse(messages);
+                for (ChatMessageResponse message : messages) {
+                    if (messageFilter.test(message)) {
+                        result.add(message);
+                        if (result.size() == limit) {
+                            return result;
+                        }
+                    }
+                }
+            }
+        }
+        return result;
+    }
+
+    // -------------------------------------------------------------------------
+    // 세그먼트 열기 (읽기 전용 메모리 매핑 + 인덱스 로딩)
+    // -------------------------------------------------------------------------
+
+    private OpenSegment open(SegmentFile segment) {
+        openLock.lock();
+        try {
+            OpenSegment open = opened.get(segment.path());
+            if (open != null) {
+                return open;
+            }
+
+            MappedByteBuffer buffer;
+            try (FileChannel channel = FileChannel.open(segment.path(), StandardOpenOption.READ)) {
+                // 매핑은 채널을 닫아도 유지됨
+                buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            }
+
+            ByteBuffer footer = buffer.duplicate();
+            footer.position(buffer.capacity() - FOOTER_SIZE);
+            long indexOffset = footer.getLong();
+            int blockCount = footer.getInt();
+            if (footer.getInt() != MAGIC) {
+                throw new IllegalStateException("손상된 메시지 보관 세그먼트입니다: " + segment.path());
+            }
+
+            ByteBuffer indexBuffer = buffer.duplicate();
+            indexBuffer.position((int) indexOffset);
+            List<BlockIndex> blocks = new ArrayList<>(blockCount);
+            for (int i = 0; i < blockCount; i++) {
+                blocks.add(BlockIndex.readFrom(indexBuffer));
+            }
+
+            open = new OpenSegment(buffer, blocks);
+            opened.put(segment.path(), open);
+            return open;
+        } catch (IOException e) {
+            throw new UncheckedIOException("메시지 보관 세그먼트를 열 수 없습니다: " + segment.path(), e);
+        } finally {
+            openLock.unlock();
+        }
+    }
+
+    private List<ChatMessageResponse> readBlock(OpenSegment segment, BlockIndex block) {
+        byte[] compressed = new byte[block.length()];
+        ByteBuffer buffer = segment.buffer().duplicate();
+        buffer.position((int) block.offset());
+        buffer.get(compressed);
+
+        List<ChatMessageResponse> messages = new ArrayList<>(block.count());
+        try (DataInputStream in = new DataInputStream(
+                new InflaterInputStream(new ByteArrayInputStream(compressed)))) {
+            for (int i = 0; i < block.count(); i++) {
+                byte[] json = new byte[in.readInt()];
+                in.readFully(json);
+                messages.add(objectMapper.readValue(json, ChatMessageResponse.class));
+            }
+        } catch (EOFException e) {
+            throw new IllegalStateException("손상된 메시지 보관 블록입니다: offset=" + block.offset(), e);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return messages;
+    }
+
+    private byte[] compress(List<ChatMessageResponse> block) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (DataOutputStream out = new DataOutputStream(new DeflaterOutputStream(bytes))) {
+            for (ChatMessageResponse message : block) {
+                byte[] json = objectMapper.writeValueAsBytes(message);
+                out.writeInt(json.length);
+                out.write(json);
+            }
+        }
+        return bytes.toByteArray();
+    }
+
+    // -------------------------------------------------------------------------
+    // 채팅방 세그먼트 목록 (파일 이름의 seq 구간)
+    // -------------------------------------------------------------------------
+
+    private NavigableMap<Long, SegmentFile> segmentsOf(Long roomId) {
+        return rooms.computeIfAbsent(roomId, this::loadSegments);
+    }
+
+    private NavigableMap<Long, SegmentFile> loadSegments(Long roomId) {
+        NavigableMap<Long, SegmentFile> segments = new ConcurrentSkipListMap<>();
+        Path roomDir = roomDir(roomId);
+        if (!Files.isDirectory(roomDir)) {
+            return segments;
+        }
+        try (Stream<Path> files = Files.list(roomDir)) {
+            files.filter(path -> path.getFileName().toString().endsWith(SEGMENT_SUFFIX))
+                    .forEach(path -> {
+                        String name = path.getFileName().toString();
+                        String[] range = name.substring(0, name.length() - SEGMENT_SUFFIX.length()).split("-");
+                        long firstSeq = Long.parseLong(range[0]);
+                        segments.put(firstSeq, new SegmentFile(path, firstSeq, Long.parseLong(range[1])));
+                    });
+        } catch (IOException e) {
+            throw new UncheckedIOException("메시지 보관 디렉터리를 읽을 수 없습니다: " + roomDir, e);
+        }
+        return segments;
+    }
+
+    private Path roomDir(Long roomId) {
+        return Paths.get(dir).resolve(ROOM_DIR_PREFIX + roomId);
+    }
+
+    private record SegmentFile(Path path, long firstSeq, long lastSeq) {}
+
+    private record OpenSegment(MappedByteBuffer buffer, List<BlockIndex> blocks) {}
+
+    // 희소 인덱스 항목 (블록 하나)
+    private record BlockIndex(long firstSeq, long lastSeq, long minMessageId, long maxMessageId,
+                              long offset, int length, int count) {
+
+        static BlockIndex of(List<ChatMessageResponse> block, long offset, int length) {
+            long minId = Long.MAX_VALUE;
+            long maxId = Long.MIN_VALUE;
+            for (ChatMessageResponse message : block) {
+                minId = Math.min(minId, message.getMessageId());
+                maxId = Math.max(maxId, message.getMessageId());
+            }
+            return new BlockIndex(block.get(0).getSeq(), block.get(block.size() - 1).getSeq(),
+                    minId, maxId, offset, length, block.size());
+        }
+
+        void writeTo(DataOutputStream out) throws IOException {
+            out.writeLong(firstSeq);
+            out.writeLong(lastSeq);
+            out.writeLong(minMessageId);
+            out.writeLong(maxMessageId);
+            out.writeLong(offset);
+            out.writeInt(length);
+            out.writeInt(count);
+        }
+
+        static BlockIndex readFrom(ByteBuffer in) {
+            return new BlockIndex(in.getLong(), in.getLong(), in.getLong(), in.getLong(),
+                    in.getLong(), in.getInt(), in.getInt());
+        }
+    }
+
+}
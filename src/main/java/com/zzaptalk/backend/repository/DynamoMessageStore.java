@@ -0,0 +1,359 @@
+package com.zzaptalk.backend.repository;
+
+import com.amazonaws.services.dynamodbv2.AmazonDynamoDB;
+import com.amazonaws.services.dynamodbv2.model.AttributeDefinition;
+import com.amazonaws.services.dynamodbv2.model.AttributeValue;
+import com.amazonaws.services.dynamodbv2.model.BatchGetItemRequest;
+import com.amazonaws.services.dynamodbv2.model.BatchGetItemResult;
+import com.amazonaws.services.dynamodbv2.model.BillingMode;
+import com.amazonaws.services.dynamodbv2.model.ConditionalCheckFailedException;
+import com.amazonaws.services.dynamodbv2.model.CreateTableRequest;
+import com.amazonaws.services.dynamodbv2.model.DeleteItemRequest;
+import com.amazonaws.services.dynamodbv2.model.KeySchemaElement;
+import com.amazonaws.services.dynamodbv2.model.KeyType;
+import com.amazonaws.services.dynamodbv2.model.KeysAndAttributes;
+import com.amazonaws.services.dynamodbv2.model.LocalSecondaryIndex;
+import com.amazonaws.services.dynamodbv2.model.Projection;
+import com.amazonaws.services.dynamodbv2.model.ProjectionType;
+import com.amazonaws.services.dynamodbv2.model.PutItemRequest;
+import com.amazonaws.services.dynamodbv2.model.QueryRequest;
+import com.amazonaws.services.dynamodbv2.model.QueryResult;
+import com.amazonaws.services.dynamodbv2.model.ScalarAttributeType;
+import com.amazonaws.services.dynamodbv2.model.UpdateItemRequest;
+import com.amazonaws.services.dynamodbv2.util.TableUtils;
+import com.zzaptalk.backend.dto.ChatMessageResponse;
+import com.zzaptalk.backend.entity.MessageType;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+// -------------------------------------------------------------------------
+// DynamoDB 메시지 저장소 (chat.message-store.type=DYNAMODB)
+// 추가만 일어나는 대용량 메시지 데이터를 MySQL 주 DB에서 분리
+//
+// 테이블 (chat.dynamodb.message-table)
+// - 파티션 키 roomId(N), 정렬 키 seq(N): 채팅방 단위 순서 조회 / 재접속 동기화
+// - LSI messageId-index (roomId, messageId): 메시지 ID 커서 조회 (이전/이후 페이지, 메시지로 이동)
+// 발신자 닉네임/프로필 사진은 저장 시점 값으로 함께 기록 (조회 시 User 조인 없음)
+//
+// 저장은 MySQL 트랜잭션(시퀀스 발급) 안에서 기록하며, DynamoDB는 그 트랜잭션에 참여하지 않으므로
+// - 트랜잭션 안에서는 pending 표시를 붙여 기록하고, 커밋되면 표시를 지우고 롤백되면 항목을 삭제
+// - 조회 시 pending 항목은 채팅방의 커밋된 lastSeq 이하인 경우에만 포함
+//   (커밋 후 표시 제거 전에 서버가 종료된 메시지는 보이고, 롤백 후 삭제하지 못한 메시지는 보이지 않음)
+// - 같은 (roomId, seq)에 다른 메시지가 덮어쓰지 않도록 조건부 PutItem 사용
+//   · 같은 메시지 ID는 다시 저장해도 성공 (롤백 후 같은 메시지 재시도)
+//   · pending 항목은 덮어씀: 같은 seq가 다시 발급되었다면 그 항목을 기록한 트랜잭션은 롤백된 것
+//     (커밋되었다면 lastSeq가 이미 그 seq 이상이므로 다시 발급되지 않음)
+//   · 커밋된 다른 메시지와 충돌하면 DuplicateKeyException
+//     → 호출자가 채팅방 lastSeq를 저장된 seq 뒤로 올린 뒤 다시 발급 (ChatMessageService, ChatMessageBatchWriter)
+// -------------------------------------------------------------------------
+
+@Slf4j
+@Repository
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "chat.message-store.type", havingValue = "DYNAMODB")
+public class DynamoMessageStore implements MessageStore {
+
+    private static final String MESSAGE_ID_INDEX = "messageId-index";
+
+    // 커밋 전 항목 표시 (값은 기록 시각)
+    private static final String PENDING = "pending";
+
+    // BatchGetItem 한 번에 조회할 수 있는 최대 키 수
+    private static final int BATCH_GET_LIMIT = 100;
+
+    private final AmazonDynamoDB dynamoDb;
+    private final ChatRoomRepository chatRoomRepository;
+
+    @Value("${chat.dynamodb.message-table:chat_message}")
+    private String tableName;
+
+    // 시작 시 테이블이 없으면 생성 (로컬 대체 서버 / 개발 환경용)
+    @Value("${chat.dynamodb.create-table:false}")
+    private boolean createTable;
+
+    @PostConstruct
+    public void init() throws InterruptedException {
+        if (!createTable) {
+            return;
+        }
+        CreateTableRequest request = new CreateTableRequest()
+                .withTableName(tableName)
+                .withAttributeDefinitions(
+                        new AttributeDefinition("roomId", ScalarAttributeType.N),
+                        new AttributeDefinition("seq", ScalarAttributeType.N),
+                        new AttributeDefinition("messageId", ScalarAttributeType.N))
+                .withKeySchema(
+                        new KeySchemaElement("roomId", KeyType.HASH),
+                        new KeySchemaElement("seq", KeyType.RANGE))
+                .withLocalSecondaryIndexes(new LocalSecondaryIndex()
+                        .withIndexName(MESSAGE_ID_INDEX)
+                        .withKeySchema(
+                                new KeySchemaElement("roomId", KeyType.HASH),
+                                new KeySchemaElement("messageId", KeyType.RANGE))
+                        .withProjection(new Projection().withProjectionType(ProjectionType.ALL)))
+                .withBillingMode(BillingMode.PAY_PER_REQUEST);
+
+        if (TableUtils.createTableIfNotExists(dynamoDb, request)) {
+            log.info("DynamoDB 메시지 테이블 생성: {}", tableName);
+        }
+        TableUtils.waitUntilActive(dynamoDb, tableName);
+    }
+
+    // -------------------------------------------------------------------------
+    // 저장
+    // -------------------------------------------------------------------------
+
+    @Override
+    public void save(ChatMessageResponse message) {
+        saveAll(List.of(message));
+    }
+
+    @Override
+    public void saveAll(List<ChatMessageResponse> messages) {
+        boolean inTransaction = TransactionSynchronizationManager.isSynchronizationActive();
+        List<ChatMessageResponse> written = new ArrayList<>();
+        try {
+            // BatchWriteItem은 조건식을 지원하지 않으므로 조건부 PutItem을 차례로 실행
+            for (ChatMessageResponse message : messages) {
+                put(message, inTransaction);
+                written.add(message);
+            }
+        } finally {
+            // 일부만 기록하고 실패한 경우에도 트랜잭션이 롤백되면 기록한 항목을 삭제
+            if (inTransaction && !written.isEmpty()) {
+                TransactionSynchronizationManager.registerSynchronization(new PendingItems(written));
+            }
+        }
+    }
+
+    private void put(ChatMessageResponse message, boolean pending) {
+        Map<String, AttributeValue> item = toItem(message);
+        if (pending) {
+            item.put(PENDING, new AttributeValue(LocalDateTime.now().toString()));
+        }
+        try {
+            dynamoDb.putItem(new PutItemRequest()
+                    .withTableName(tableName)
+                    .withItem(item)
+                    .withConditionExpression("attribute_not_exists(seq) OR messageId = :messageId OR attribute_exists(#pending)")
+                    .withExpressionAttributeNames(Map.of("#pending", PENDING))
+                    .withExpressionAttributeValues(Map.of(":messageId", number(message.getMessageId()))));
+        } catch (ConditionalCheckFailedException e) {
+            throw new DuplicateKeyException(
+                    "이미 같은 seq의 메시지가 있습니다: roomId=" + message.getRoomId() + ", seq=" + message.getSeq(), e);
+        }
+    }
+
+    // -------------------------------------------------------------------------
+    // 트랜잭션 종료 후 pending 항목 정리 (실패해도 조회 시 커밋된 lastSeq 기준으로 걸러짐)
+    // - 커밋: pending 표시 제거
+    // - 롤백: 항목 삭제 (그 사이 같은 seq에 다른 메시지가 기록된 경우는 건드리지 않음)
+    // -------------------------------------------------------------------------
+
+    private class PendingItems implements TransactionSynchronization {
+
+        private final List<ChatMessageResponse> messages;
+
+        PendingItems(List<ChatMessageResponse> messages) {
+            this.messages = messages;
+        }
+
+        @Override
+        public void afterCompletion(int status) {
+            for (ChatMessageResponse message : messages) {
+                Map<String, AttributeValue> key = Map.of(
+                        "roomId", number(message.getRoomId()),
+                        "seq", number(message.getSeq()));
+                Map<String, AttributeValue> values = Map.of(":messageId", number(message.getMessageId()));
+                try {
+                    if (status == STATUS_COMMITTED) {
+                        dynamoDb.updateItem(new UpdateItemRequest()
+                                .withTableName(tableName)
+                                .withKey(key)
+                                .withUpdateExpression("REMOVE #pending")
+                                .withConditionExpression("messageId = :messageId")
+                                .withExpressionAttributeNames(Map.of("#pending", PENDING))
+                                .withExpressionAttributeValues(values));
+                    } else {
+                        dynamoDb.deleteItem(new DeleteItemRequest()
+                                .withTableName(tableName)
+                                .withKey(key)
+                                .withConditionExpression("messageId = :messageId AND attribute_exists(#pending)")
+                                .withExpressionAttributeNames(Map.of("#pending", PENDING))
+                                .withExpressionAttributeValues(values));
+                    }
+                } catch (ConditionalCheckFailedException e) {
+                    // 이미 다른 메시지로 덮어씀
+                } catch (Exception e) {
+                    log.warn("DynamoDB pending 메시지 정리 실패: roomId={}, seq={}, committed={}",
+                            message.getRoomId(), message.getSeq(), status == STATUS_COMMITTED, e);
+                }
+            }
+        }
+    }
+
+    @Override
+    public Set<Long> findExistingIds(List<ChatMessageResponse> messages) {
+
+        Set<Long> existing = new HashSet<>();
+        for (int from = 0; from < messages.size(); from += BATCH_GET_LIMIT) {
+            List<Map<String, AttributeValue>> keys = new ArrayList<>();
+            for (ChatMessageResponse message : messages.subList(from, Math.min(from + BATCH_GET_LIMIT, messages.size()))) {
+                keys.add(Map.of(
+                        "roomId", number(message.getRoomId()),
+                        "seq", number(message.getSeq())));
+            }
+
+            Map<String, KeysAndAttributes> request = Map.of(tableName,
+                    new KeysAndAttributes().withKeys(keys).withProjectionExpression("messageId"));
+            // 처리되지 않은 키가 남으면 이어서 조회
+            while (!request.isEmpty()) {
+                BatchGetItemResult result = dynamoDb.batchGetItem(new BatchGetItemRequest().withRequestItems(request));
+                result.getResponses().getOrDefault(tableName, List.of())
+                        .forEach(item -> existing.add(Long.parseLong(item.get("messageId").getN())));
+                request = result.getUnprocessedKeys() == null ? Map.of() : result.getUnprocessedKeys();
+            }
+        }
+
+        // 같은 seq에 다른 메시지가 있는 경우는 제외 (저장 시 DuplicateKeyException)
+        Set<Long> requested = new HashSet<>();
+        messages.forEach(message -> requested.add(message.getMessageId()));
+        existing.retainAll(requested);
+        return existing;
+    }
+
+    // -------------------------------------------------------------------------
+    // 조회
+    // -------------------------------------------------------------------------
+
+    @Override
+    public List<ChatMessageResponse> findLatest(Long roomId, int limit) {
+        return query(new QueryRequest()
+                .withKeyConditionExpression("roomId = :roomId")
+                .withExpressionAttributeValues(Map.of(":roomId", number(roomId)))
+                .withScanIndexForward(false)
+                .withLimit(limit));
+    }
+
+    @Override
+    public List<ChatMessageResponse> findBefore(Long roomId, Long beforeId, int limit) {
+        return query(new QueryRequest()
+                .withIndexName(MESSAGE_ID_INDEX)
+                .withKeyConditionExpression("roomId = :roomId AND messageId < :messageId")
+                .withExpressionAttributeValues(Map.of(":roomId", number(roomId), ":messageId", number(beforeId)))
+                .withScanIndexForward(false)
+                .withLimit(limit));
+    }
+
+    @Override
+    public List<ChatMessageResponse> findAfter(Long roomId, Long afterId, int limit) {
+        return query(new QueryRequest()
+                .withIndexName(MESSAGE_ID_INDEX)
+                .withKeyConditionExpression("roomId = :roomId AND messageId > :messageId")
+                .withExpressionAttributeValues(Map.of(":roomId", number(roomId), ":messageId", number(afterId)))
+                .withScanIndexForward(true)
+                .withLimit(limit));
+    }
+
+    @Override
+    public List<ChatMessageResponse> findAfterSeq(Long roomId, long afterSeq, int limit) {
+        return query(new QueryRequest()
+                .withKeyConditionExpression("roomId = :roomId AND seq > :seq")
+                .withExpressionAttributeValues(Map.of(":roomId", number(roomId), ":seq", number(afterSeq)))
+                .withScanIndexForward(true)
+                .withLimit(limit));
+    }
+
+    @Override
+    public boolean exists(Long roomId, Long messageId) {
+        return !query(new QueryRequest()
+                .withIndexName(MESSAGE_ID_INDEX)
+                .withKeyConditionExpression("roomId = :roomId AND messageId = :messageId")
+                .withExpressionAttributeValues(Map.of(":roomId", number(roomId), ":messageId", number(messageId)))
+                .withLimit(1)).isEmpty();
+    }
+
+    // -------------------------------------------------------------------------
+    // 보조 메서드
+    // -------------------------------------------------------------------------
+
+    // 한 번의 Query 응답은 1MB까지이므로 LastEvaluatedKey가 있으면 limit을 채울 때까지 이어서 조회
+    // pending 항목은 채팅방의 커밋된 lastSeq 이하인 경우에만 포함 (lastSeq는 pending 항목이 있을 때만 조회)
+    private List<ChatMessageResponse> query(QueryRequest request) {
+        Integer limit = request.getLimit();
+        List<ChatMessageResponse> messages = new ArrayList<>();
+        Map<Long, Long> committedSeqs = new HashMap<>();
+        Map<String, AttributeValue> startKey = null;
+        do {
+            QueryResult result = dynamoDb.query(request.withTableName(tableName).withExclusiveStartKey(startKey));
+            for (Map<String, AttributeValue> item : result.getItems()) {
+                ChatMessageResponse message = fromItem(item);
+                if (!item.containsKey(PENDING) || message.getSeq() <= committedSeqs.computeIfAbsent(
+                        message.getRoomId(), this::findCommittedSeq)) {
+                    messages.add(message);
+                }
+            }
+            startKey = result.getLastEvaluatedKey();
+            if (limit != null) {
+                request.setLimit(limit - messages.size());
+            }
+        } while (startKey != null && !startKey.isEmpty() && (limit == null || messages.size() < limit));
+        return messages;
+    }
+
+    private long findCommittedSeq(Long roomId) {
+        Long lastSeq = chatRoomRepository.findLastSeqById(roomId);
+        return lastSeq != null ? lastSeq : 0;
+    }
+
+    private static Map<String, AttributeValue> toItem(ChatMessageResponse message) {
+        Map<String, AttributeValue> item = new HashMap<>();
+        item.put("roomId", number(message.getRoomId()));
+        item.put("seq", number(message.getSeq()));
+        item.put("messageId", number(message.getMessageId()));
+        item.put("senderId", number(message.getSenderId()));
+        item.put("senderName", new AttributeValue(message.getSenderName()));
+        if (message.getSenderProfilePhotoUrl() != null) {
+            item.put("senderProfilePhotoUrl", new AttributeValue(message.getSenderProfilePhotoUrl()));
+        }
+        item.put("content", new AttributeValue(message.getContent()));
+        item.put("type", new AttributeValue(message.getType().name()));
+        item.put("sentAt", new AttributeValue(message.getSentAt().toString()));
+        return item;
+    }
+
+    private static ChatMessageResponse fromItem(Map<String, AttributeValue> item) {
+        AttributeValue photo = item.get("senderProfilePhotoUrl");
+        return ChatMessageResponse.builder()
+                .messageId(Long.parseLong(item.get("messageId").getN()))
+                .roomId(Long.parseLong(item.get("roomId").getN()))
+                .seq(Long.parseLong(item.get("seq").getN()))
+                .senderId(Long.parseLong(item.get("senderId").getN()))
+                .senderName(item.get("senderName").getS())
+                .senderProfilePhotoUrl(photo != null ? photo.getS() : null)
+                .content(item.get("content").getS())
+                .type(MessageType.valueOf(item.get("type").getS()))
+                .sentAt(LocalDateTime.parse(item.get("sentAt").getS()))
+                .build();
+    }
+
+    private static AttributeValue number(long value) {
+        return new AttributeValue().withN(Long.toString(value));
+    }
+
+}
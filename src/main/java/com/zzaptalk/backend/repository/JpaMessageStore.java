@@ -0,0 +1,108 @@
+package com.zzaptalk.backend.repository;
+
+import com.zzaptalk.backend.dto.ChatMessageResponse;
+import com.zzaptalk.backend.dto.SenderProfile;
+import com.zzaptalk.backend.entity.ChatMessage;
+import jakarta.persistence.EntityManager;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+// -------------------------------------------------------------------------
+// MySQL(chat_message) 메시지 저장소 (기본값)
+// - 한 건 저장: 지정된 ID로 persist (조회 없이 INSERT)
+// - 여러 건 저장: JDBC batch INSERT 한 번
+// -------------------------------------------------------------------------
+
+@Repository
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "chat.message-store.type", havingValue = "JPA", matchIfMissing = true)
+public class JpaMessageStore implements MessageStore {
+
+    private static final String INSERT_MESSAGE_SQL =
+            "INSERT INTO chat_message (id, room_id, sender_id, seq, content, sent_at, type) VALUES (?, ?, ?, ?, ?, ?, ?)";
+
+    private final ChatMessageRepository chatMessageRepository;
+    private final ChatRoomRepository chatRoomRepository;
+    private final UserRepository userRepository;
+    private final EntityManager entityManager;
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public void save(ChatMessageResponse message) {
+        entityManager.persist(ChatMessage.builder()
+                .id(message.getMessageId())
+                .chatRoom(chatRoomRepository.getReferenceById(message.getRoomId()))
+                // 외래 키만 필요하므로 User를 조회하지 않고 참조(프록시)만 사용
+                .sender(userRepository.getReferenceById(message.getSenderId()))
+                .seq(message.getSeq())
+                .content(message.getContent())
+                .type(message.getType())
+                .sentAt(message.getSentAt())
+                .build());
+    }
+
+    @Override
+    public void saveAll(List<ChatMessageResponse> messages) {
+        if (messages.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.batchUpdate(INSERT_MESSAGE_SQL, messages.stream()
+                .map(message -> new Object[]{
+                        message.getMessageId(),
+                        message.getRoomId(),
+                        message.getSenderId(),
+                        message.getSeq(),
+                        message.getContent(),
+                        Timestamp.valueOf(message.getSentAt()),
+                        message.getType().name()
+                })
+                .toList());
+    }
+
+    @Override
+    public Set<Long> findExistingIds(List<ChatMessageResponse> messages) {
+        return new HashSet<>(chatMessageRepository.findExistingIds(
+                messages.stream().map(ChatMessageResponse::getMessageId).toList()));
+    }
+
+    @Override
+    public List<ChatMessageResponse> findLatest(Long roomId, int limit) {
+        return toResponses(chatMessageRepository.findLatestByRoomId(roomId, PageRequest.of(0, limit)));
+    }
+
+    @Override
+    public List<ChatMessageResponse> findBefore(Long roomId, Long beforeId, int limit) {
+        return toResponses(chatMessageRepository.findBeforeByRoomId(roomId, beforeId, PageRequest.of(0, limit)));
+    }
+
+    @Override
+    public List<ChatMessageResponse> findAfter(Long roomId, Long afterId, int limit) {
+        return toResponses(chatMessageRepository.findAfterByRoomId(roomId, afterId, PageRequest.of(0, limit)));
+    }
+
+    @Override
+    public List<ChatMessageResponse> findAfterSeq(Long roomId, long afterSeq, int limit) {
+        return toResponses(chatMessageRepository.findAfterSeqByRoomId(roomId, afterSeq, PageRequest.of(0, limit)));
+    }
+
+    @Override
+    public boolean exists(Long roomId, Long messageId) {
+        return chatMessageRepository.existsByIdAndChatRoomId(messageId, roomId);
+    }
+
+    // 발신자는 fetch join으로 함께 로딩되어 있으므로 추가 조회 없음
+    private static List<ChatMessageResponse> toResponses(List<ChatMessage> messages) {
+        return messages.stream()
+                .map(message -> ChatMessageResponse.fromEntity(message, SenderProfile.from(message.getSender())))
+                .toList();
+    }
+
+}
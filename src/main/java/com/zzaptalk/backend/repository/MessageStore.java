@@ -0,0 +1,45 @@
+package com.zzaptalk.backend.repository;
+
+import com.zzaptalk.backend.dto.ChatMessageResponse;
+
+import java.util.List;
+import java.util.Set;
+
+// -------------------------------------------------------------------------
+// 채팅 메시지 저장소
+// 메시지 본문의 저장/조회를 담당 (채팅방 시퀀스, 참여자, 읽음 정보는 계속 MySQL)
+// 배포마다 chat.message-store.type으로 선택
+// - JPA: MySQL chat_message 테이블 (기본값, JpaMessageStore)
+// - DYNAMODB: DynamoDB 테이블, 파티션 키 roomId + 정렬 키 seq (DynamoMessageStore)
+//
+// 메시지는 ID(messageId)와 seq가 이미 발급된 상태로 저장
+// 조회 결과는 모두 ChatMessageResponse
+// -------------------------------------------------------------------------
+
+public interface MessageStore {
+
+    // 메시지 저장 (JPA는 호출한 트랜잭션에 참여)
+    void save(ChatMessageResponse message);
+
+    // 여러 메시지 저장 (묶음 저장 / 저널 재생)
+    void saveAll(List<ChatMessageResponse> messages);
+
+    // 주어진 메시지 중 이미 저장된 메시지 ID (저널 재생 시 중복 저장 방지)
+    Set<Long> findExistingIds(List<ChatMessageResponse> messages);
+
+    // 가장 최근 메시지부터 (최신순)
+    List<ChatMessageResponse> findLatest(Long roomId, int limit);
+
+    // beforeId보다 오래된 메시지 (최신순)
+    List<ChatMessageResponse> findBefore(Long roomId, Long beforeId, int limit);
+
+    // afterId보다 최신 메시지 (오래된 순)
+    List<ChatMessageResponse> findAfter(Long roomId, Long afterId, int limit);
+
+    // afterSeq 이후 메시지 (오래된 순, 재접속 동기화)
+    List<ChatMessageResponse> findAfterSeq(Long roomId, long afterSeq, int limit);
+
+    // 메시지가 해당 채팅방에 속하는지
+    boolean exists(Long roomId, Long messageId);
+
+}
@@ -0,0 +1,145 @@
+package com.zzaptalk.backend.repository;
+
+import com.zzaptalk.backend.dto.ChatMessageResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.context.annotation.Primary;
+import org.springframework.stereotype.Repository;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+// -------------------------------------------------------------------------
+// 계층형 메시지 저장소 (chat.archive.enabled=true, JPA 저장소일 때)
+// 최근 메시지(hot)는 MySQL chat_message, 오래된 메시지(cold)는 ColdMessageArchive 세그먼트
+// 채팅방마다 보관된 마지막 seq(chat_room.archived_seq)가 경계:
+//   seq <= archivedSeq -> 보관소, seq > archivedSeq -> MySQL
+// 보관 직후 MySQL에서 아직 삭제되지 않은 행은 경계로 걸러 중복 없이 조회
+// MySQL 결과만으로 요청을 채울 수 있으면(최신순 페이지가 가득 참 / afterSeq 바로 다음 seq부터 이어짐)
+// 경계(archived_seq)를 조회하지 않고 그대로 반환 -> 보관소를 읽지 않으므로 중복이 생기지 않음
+//
+// 저장은 모두 MySQL로 (보관은 MessageArchiver가 담당)
+// -------------------------------------------------------------------------
+
+@Primary
+@Repository
+@RequiredArgsConstructor
+@ConditionalOnExpression("${chat.archive.enabled:false} and '${chat.message-store.type:JPA}' == 'JPA'")
+public class TieredMessageStore implements MessageStore {
+
+    private final JpaMessageStore hot;
+    private final ColdMessageArchive cold;
+    private final ChatRoomRepository chatRoomRepository;
+
+    // -------------------------------------------------------------------------
+    // 저장
+    // -------------------------------------------------------------------------
+
+    @Override
+    public void save(ChatMessageResponse message) {
+        hot.save(message);
+    }
+
+    @Override
+    public void saveAll(List<ChatMessageResponse> messages) {
+        hot.saveAll(messages);
+    }
+
+    @Override
+    public Set<Long> findExistingIds(List<ChatMessageResponse> messages) {
+        // 저장 직후 재생 대상이므로 보관 기간이 지난 메시지는 없음
+        return hot.findExistingIds(messages);
+    }
+
+    // -------------------------------------------------------------------------
+    // 조회 (최신순 조회는 MySQL -> 보관소, 오래된 순 조회는 보관소 -> MySQL)
+    // -------------------------------------------------------------------------
+
+    @Override
+    public List<ChatMessageResponse> findLatest(Long roomId, int limit) {
+        List<ChatMessageResponse> latest = hot.findLatest(roomId, limit);
+        if (latest.size() == limit) {
+            return latest;
+        }
+        long archivedSeq = archivedSeq(roomId);
+        List<ChatMessageResponse> result = aboveArchived(latest, archivedSeq);
+        if (result.size() < limit && archivedSeq > 0) {
+            result.addAll(cold.findBeforeSeq(roomId, archivedSeq + 1, limit - result.size()));
+        }
+        return result;
+    }
+
+    @Override
+    public List<ChatMessageResponse> findBefore(Long roomId, Long beforeId, int limit) {
+        List<ChatMessageResponse> before = hot.findBefore(roomId, beforeId, limit);
+        if (before.size() == limit) {
+            return before;
+        }
+        long archivedSeq = archivedSeq(roomId);
+        List<ChatMessageResponse> result = aboveArchived(before, archivedSeq);
+        if (result.size() < limit && archivedSeq > 0) {
+            result.addAll(cold.findBeforeId(roomId, beforeId, archivedSeq, limit - result.size()));
+        }
+        return result;
+    }
+
+    @Override
+    public List<ChatMessageResponse> findAfter(Long roomId, Long afterId, int limit) {
+        long archivedSeq = archivedSeq(roomId);
+        List<ChatMessageResponse> result = archivedSeq > 0 && afterId < cold.getArchivedMaxMessageId(roomId)
+                ? new ArrayList<>(cold.findAfterId(roomId, afterId, archivedSeq, limit))
+                : new ArrayList<>();
+        if (result.size() < limit) {
+            result.addAll(aboveArchived(hot.findAfter(roomId, afterId, limit - result.size()), archivedSeq));
+        }
+        return result;
+    }
+
+    @Override
+    public List<ChatMessageResponse> findAfterSeq(Long roomId, long afterSeq, int limit) {
+        // 재접속 동기화는 대부분 최근 seq 이후 -> 바로 다음 seq부터 MySQL에 있으면 보관소 대상 아님
+        List<ChatMessageResponse> after = hot.findAfterSeq(roomId, afterSeq, limit);
+        if (!after.isEmpty() && after.get(0).getSeq() == afterSeq + 1) {
+            return after;
+        }
+        long archivedSeq = archivedSeq(roomId);
+        if (afterSeq >= archivedSeq) {
+            return after;
+        }
+        List<ChatMessageResponse> result = new ArrayList<>(cold.findAfterSeq(roomId, afterSeq, archivedSeq, limit));
+        if (result.size() < limit) {
+            result.addAll(hot.findAfterSeq(roomId, Math.max(afterSeq, archivedSeq), limit - result.size()));
+        }
+        return result;
+    }
+
+    @Override
+    public boolean exists(Long roomId, Long messageId) {
+        if (hot.exists(roomId, messageId)) {
+            return true;
+        }
+        return archivedSeq(roomId) > 0 && cold.exists(roomId, messageId);
+    }
+
+    private long archivedSeq(Long roomId) {
+        Long archivedSeq = chatRoomRepository.findArchivedSeqById(roomId);
+        if (archivedSeq == null || archivedSeq == 0) {
+            return 0;
+        }
+        cold.refresh(roomId, archivedSeq);
+        return archivedSeq;
+    }
+
+    // 보관이 끝났지만 아직 MySQL에서 삭제되지 않은 행 제외
+    private static List<ChatMessageResponse> aboveArchived(List<ChatMessageResponse> messages, long archivedSeq) {
+        List<ChatMessageResponse> result = new ArrayList<>(messages.size());
+        for (ChatMessageResponse message : messages) {
+            if (message.getSeq() > archivedSeq) {
+                result.add(message);
+            }
+        }
+        return result;
+    }
+
+}
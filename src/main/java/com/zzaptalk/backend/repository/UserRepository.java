@@ -1,8 +1,12 @@
 package com.zzaptalk.backend.repository;
 
+import com.zzaptalk.backend.dto.SenderProfile;
 import com.zzaptalk.backend.entity.User;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -36,6 +40,21 @@ public interface UserRepository extends JpaRepository<User, Long> {
     // 전화번호 목록(List)으로 여러 사용자 한 번에 찾기
     List<User> findByPhoneNumIn(List<String> phoneNumbers);
 
+// -------------------------------------------------------------------------
+// 메시지 발신자 정보
+// -------------------------------------------------------------------------
+
+    // 발신자 표시용 컬럼만 조회 (암호화 컬럼을 읽지 않으므로 복호화 없음)
+    @Query("SELECT new com.zzaptalk.backend.dto.SenderProfile(u.id, u.nickname, u.profilePhotoUrl) " +
+            "FROM User u WHERE u.id = :userId")
+    Optional<SenderProfile> findSenderProfileById(@Param("userId") Long userId);
+
+// -------------------------------------------------------------------------
+// 채팅방 대량 초대
+// -------------------------------------------------------------------------
 
+    // 존재하는 사용자 ID만 조회 (User 엔티티 로딩 없음)
+    @Query("SELECT u.id FROM User u WHERE u.id IN :ids")
+    List<Long> findExistingIds(@Param("ids") Collection<Long> ids);
 
 }
\ No newline at end of file
@@ -0,0 +1,406 @@
+package com.zzaptalk.backend.service;
+
+import com.zzaptalk.backend.dto.ChatInboxPageResponse;
+import com.zzaptalk.backend.dto.ChatRoomResponse;
+import com.zzaptalk.backend.dto.RoomMemberNickname;
+import com.zzaptalk.backend.entity.ChatInbox;
+import com.zzaptalk.backend.entity.ChatRoom;
+import com.zzaptalk.backend.entity.ChatRoomType;
+import com.zzaptalk.backend.entity.ChatRoomUser;
+import com.zzaptalk.backend.event.UserProfileChangedEvent;
+import com.zzaptalk.backend.repository.ChatInboxRepository;
+import com.zzaptalk.backend.repository.ChatRoomRepository;
+import com.zzaptalk.backend.repository.ChatRoomUserRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+// -------------------------------------------------------------------------
+// 사용자별 채팅방 목록(ChatInbox) 읽기 모델 관리
+// 목록 조회는 ChatInbox 한 테이블의 커서 범위 스캔으로만 처리하고,
+// 메시지 전송 / 읽음 처리 / 참여자 변경 시점에 증분 갱신
+// -------------------------------------------------------------------------
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ChatInboxService {
+
+    // 기본 페이지 크기
+    private static final int DEFAULT_PAGE_SIZE = 30;
+    // 최대 페이지 크기
+    private static final int MAX_PAGE_SIZE = 100;
+    // 목록 행에 저장할 최대 멤버 닉네임 수 (대형 그룹 방의 행 크기 제한)
+    private static final int MAX_MEMBER_PREVIEW = 50;
+
+    private final ChatInboxRepository chatInboxRepository;
+    private final ChatRoomUserRepository chatRoomUserRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final InboxDeltaPublisher inboxDeltaPublisher;
+    private final RoomSummaryUpdater roomSummaryUpdater;
+    private final RoomModeRegistry roomModeRegistry;
+    private final ChatRoomRepository chatRoomRepository;
+
+    // 닉네임 변경 반영 대기 중인 사용자 ID
+    private final Set<Long> pendingProfileChanges = ConcurrentHashMap.newKeySet();
+
+    // -------------------------------------------------------------------------
+    // 채팅방 목록 조회 (커서 기반 페이지네이션)
+    //
+    // @param userId 현재 로그인된 사용자 ID
+    // @param cursor 이전 페이지의 nextCursor (첫 페이지는 null)
+    // @param size 페이지 크기
+    // @return 채팅방 목록 페이지 (마지막 메시지 최신순)
+    // -------------------------------------------------------------------------
+
+    public ChatInboxPageResponse getInbox(Long userId, String cursor, int size) {
+
+        int pageSize = normalizePageSize(size);
+        // 다음 페이지 존재 여부 확인을 위해 1개 더 조회
+        PageRequest limit = PageRequest.of(0, pageSize + 1);
+
+        List<ChatInbox> rows;
+        if (cursor == null || cursor.isBlank()) {
+            rows = chatInboxRepository.findLatestByUserId(userId, limit);
+            // 읽기 모델 도입 이전에 참여한 방은 첫 조회 시 한 번 채움
+            if (rows.isEmpty() && backfill(userId)) {
+                rows = chatInboxRepository.findLatestByUserId(userId, limit);
+            }
+        } else {
+            InboxCursor inboxCursor = InboxCursor.parse(cursor);
+            rows = chatInboxRepository.findBeforeByUserId(userId, inboxCursor.sortKey(), inboxCursor.roomId(), limit);
+        }
+
+        boolean hasNext = rows.size() > pageSize;
+        if (hasNext) {
+            rows = rows.subList(0, pageSize);
+        }
+
+        ChatInbox last = rows.isEmpty() ? null : rows.get(rows.size() - 1);
+
+        // 대형 채팅방은 목록 행 갱신이 늦으므로 채팅방의 현재 lastSeq로 안 읽은 수를 그때 계산 (쿼리 1회)
+        List<Long> largeRoomIds = rows.stream()
+                .map(ChatInbox::getRoomId)
+                .filter(roomModeRegistry::isLarge)
+                .collect(Collectors.toList());
+        Map<Long, ChatRoom> liveRooms = largeRoomIds.isEmpty()
+                ? Map.of()
+                : chatRoomRepository.findAllById(largeRoomIds).stream()
+                        .collect(Collectors.toMap(ChatRoom::getId, room -> room));
+
+        return ChatInboxPageResponse.builder()
+                .rooms(rows.stream()
+                        .map(inbox -> toResponse(inbox, liveRooms.get(inbox.getRoomId())))
+                        .collect(Collectors.toList()))
+                .nextCursor(hasNext ? new InboxCursor(last.getSortKey(), last.getRoomId()).format() : null)
+                .hasNext(hasNext)
+                .build();
+    }
+
+    // 읽음 워터마크 반영 (ReadMarkCoalescer 반영 트랜잭션 안에서 호출)
+    // @return 변경된 행 수 (이미 더 큰 값이 반영되어 있으면 0)
+    public int advanceLastReadSeq(Long roomId, Long userId, long seq, long issuedSeq) {
+        return chatInboxRepository.advanceLastReadSeq(roomId, userId, seq, issuedSeq);
+    }
+
+    // -------------------------------------------------------------------------
+    // 채팅방 참여자 변경 반영 (방 생성 / 초대 / 나가기 트랜잭션 안에서 호출)
+    // - 새 참여자: 행 추가 (참여 시점까지의 메시지는 읽은 것으로 처리)
+    // - 기존 참여자: 표시 이름, 닉네임 목록 갱신
+    // - 나간 참여자: 행 삭제
+    //
+    // @param chatRoom 참여자가 변경된 채팅방
+    // -------------------------------------------------------------------------
+
+    @Transactional
+    public void syncRoomMembers(ChatRoom chatRoom) {
+
+        List<RoomMemberNickname> members = chatRoomUserRepository.findMemberNicknamesByRoomId(chatRoom.getId());
+        List<String> nicknames = toMemberPreview(members);
+        roomModeRegistry.updateMemberCount(chatRoom.getId(), members.size());
+
+        Map<Long, ChatInbox> existing = chatInboxRepository.findAllByRoomId(chatRoom.getId()).stream()
+                .collect(Collectors.toMap(ChatInbox::getUserId, inbox -> inbox));
+
+        // 새 참여자 중 목록 행이 이미 있는 사용자 (집합 단위로 한 번에 조회)
+        List<Long> newMemberIds = members.stream()
+                .map(RoomMemberNickname::userId)
+                .filter(userId -> !existing.containsKey(userId))
+                .collect(Collectors.toList());
+        Set<Long> hasInbox = newMemberIds.isEmpty()
+                ? Set.of()
+                : new HashSet<>(chatInboxRepository.findUserIdsHavingInbox(newMemberIds));
+
+        // 목록이 아직 채워지지 않은 새 참여자: 이 방을 포함한 모든 참여 방을 함께 채움 (인원과 관계없이 쿼리 2회)
+        // (사용자의 행이 하나라도 있으면 모든 참여 방의 행이 있음을 보장)
+        List<ChatInbox> created = new ArrayList<>(buildBackfillRows(newMemberIds.stream()
+                .filter(userId -> !hasInbox.contains(userId))
+                .collect(Collectors.toList())));
+
+        // 목록이 있는 새 참여자: 이 방의 행만 추가 (읽음 워터마크는 backfill과 같이 참여 정보 기준)
+        List<Long> joinedIds = newMemberIds.stream()
+                .filter(hasInbox::contains)
+                .collect(Collectors.toList());
+        Map<Long, Long> lastReadSeqs = joinedIds.isEmpty()
+                ? Map.of()
+                : chatRoomUserRepository.findAllByRoomIdAndUserIdIn(chatRoom.getId(), joinedIds).stream()
+                        .collect(Collectors.toMap(roomUser -> roomUser.getUser().getId(), ChatRoomUser::getLastReadSeq));
+
+        for (RoomMemberNickname member : members) {
+            ChatInbox inbox = existing.remove(member.userId());
+            if (inbox != null) {
+                inbox.updateMembers(getDisplayName(chatRoom, members, member.userId()), nicknames);
+            } else if (hasInbox.contains(member.userId())) {
+                created.add(newInbox(chatRoom, member.userId(), getDisplayName(chatRoom, members, member.userId()),
+                        nicknames, lastReadSeqs.getOrDefault(member.userId(), 0L)));
+            }
+        }
+        chatInboxRepository.saveAll(created);
+
+        // 남은 행은 더 이상 참여하지 않는 사용자
+        chatInboxRepository.deleteAll(existing.values());
+
+        // 참여자 목록 변경분 전송 (새 참여자에게는 새 방이 목록에 추가됨)
+        inboxDeltaPublisher.roomChanged(chatRoom.getId());
+    }
+
+    // -------------------------------------------------------------------------
+    // 참여자 일괄 삭제 반영 (나가기 / 내보내기 트랜잭션 안에서 호출)
+    //
+    // @param chatRoom 채팅방
+    // @param removedUserIds 나간 사용자 ID 목록
+    // -------------------------------------------------------------------------
+
+    @Transactional
+    public void removeRoomMembers(ChatRoom chatRoom, Collection<Long> removedUserIds) {
+        chatInboxRepository.deleteByRoomIdAndUserIds(chatRoom.getId(), removedUserIds);
+        // 나간 사용자의 목록에서 방 제거 (커밋 이후 전송)
+        inboxDeltaPublisher.roomRemoved(chatRoom.getId(), removedUserIds);
+        // 남은 참여자의 닉네임 목록 갱신
+        syncRoomMembers(chatRoom);
+    }
+
+    // 닉네임 변경 시 해당 사용자가 참여한 방의 목록 행 갱신 예약
+    // (이벤트를 발행한 요청 스레드에서 참여 방 전체를 다시 계산하지 않도록 대기열에만 추가)
+    @EventListener
+    public void onUserProfileChanged(UserProfileChangedEvent event) {
+        pendingProfileChanges.add(event.userId());
+    }
+
+    // -------------------------------------------------------------------------
+    // 닉네임 변경 반영 (주기 실행, 방마다 짧은 트랜잭션 하나)
+    // 참여자 목록 행을 읽어 오지 않고 방마다 UPDATE 최대 2문장
+    // - 닉네임 목록: 변경한 사용자가 앞에서부터 MAX_MEMBER_PREVIEW명 안에 있는 방만 참여자 전원의 행 일괄 갱신
+    // - 1:1 채팅방: 상대방 행의 표시 이름 갱신
+    // 한 방에서 실패해도 나머지 방은 계속 반영
+    // -------------------------------------------------------------------------
+
+    @Scheduled(fixedDelayString = "${chat.inbox.profile-sync-interval-ms:1000}")
+    public void applyProfileChanges() {
+        for (Long userId : List.copyOf(pendingProfileChanges)) {
+            // 반영 도중 다시 변경되면 다음 주기에 한 번 더 반영
+            pendingProfileChanges.remove(userId);
+            for (ChatRoomUser roomUser : chatRoomUserRepository.findAllByUserIdWithChatRoom(userId)) {
+                ChatRoom chatRoom = roomUser.getChatRoom();
+                try {
+                    transactionTemplate.executeWithoutResult(status -> applyProfileChange(chatRoom, userId));
+                } catch (RuntimeException e) {
+                    log.warn("닉네임 변경 반영 실패: roomId={}, userId={}", chatRoom.getId(), userId, e);
+                }
+            }
+        }
+    }
+
+    private void applyProfileChange(ChatRoom chatRoom, Long userId) {
+        List<RoomMemberNickname> preview = chatRoomUserRepository.findFirstMemberNicknames(
+                chatRoom.getId(), PageRequest.of(0, MAX_MEMBER_PREVIEW));
+        RoomMemberNickname changed = preview.stream()
+                .filter(member -> member.userId().equals(userId))
+                .findFirst()
+                .orElse(null);
+        // 닉네임 목록에 보이지 않는 참여자 (1:1 채팅방은 항상 포함)
+        if (changed == null) {
+            return;
+        }
+
+        chatInboxRepository.updateMemberNicknames(chatRoom.getId(), toMemberPreview(preview));
+        if (chatRoom.getType() == ChatRoomType.SINGLE) {
+            chatInboxRepository.updateDisplayNameOfOthers(chatRoom.getId(), userId, changed.nickname());
+        }
+        inboxDeltaPublisher.roomChanged(chatRoom.getId());
+    }
+
+    // -------------------------------------------------------------------------
+    // 기존 참여 방으로 목록 채우기 (읽기 모델 도입 이전 데이터)
+    //
+    // @return 채운 행이 있으면 true
+    // -------------------------------------------------------------------------
+
+    private boolean backfill(Long userId) {
+
+        List<ChatInbox> rows = buildBackfillRows(List.of(userId));
+        if (rows.isEmpty()) {
+            return false;
+        }
+
+        try {
+            transactionTemplate.executeWithoutResult(status -> chatInboxRepository.saveAll(rows));
+        } catch (DataIntegrityViolationException e) {
+            // 동시에 다른 요청이 먼저 채운 경우 (유니크 제약 위반): 채워진 결과를 그대로 사용
+            log.debug("채팅방 목록 backfill 중복: userId={}", userId);
+        }
+        return true;
+    }
+
+    // 사용자들의 모든 참여 방 목록 행 (사용자 수와 관계없이 쿼리 2회: 참여 방 + 모든 참여 방의 멤버 닉네임)
+    private List<ChatInbox> buildBackfillRows(Collection<Long> userIds) {
+
+        if (userIds.isEmpty()) {
+            return List.of();
+        }
+        List<ChatRoomUser> roomUsers = chatRoomUserRepository.findAllByUserIdInWithChatRoom(userIds);
+        if (roomUsers.isEmpty()) {
+            return List.of();
+        }
+        Map<Long, List<RoomMemberNickname>> membersByRoom = chatRoomUserRepository
+                .findMemberNicknamesOfUsersRooms(userIds).stream()
+                .collect(Collectors.groupingBy(RoomMemberNickname::roomId));
+
+        List<ChatInbox> rows = new ArrayList<>();
+        for (ChatRoomUser roomUser : roomUsers) {
+            ChatRoom chatRoom = roomUser.getChatRoom();
+            Long userId = roomUser.getUser().getId();
+            List<RoomMemberNickname> members = membersByRoom.getOrDefault(chatRoom.getId(), List.of());
+            rows.add(newInbox(chatRoom, userId,
+                    getDisplayName(chatRoom, members, userId),
+                    toMemberPreview(members),
+                    roomUser.getLastReadSeq()));
+        }
+        return rows;
+    }
+
+    // -------------------------------------------------------------------------
+    // 보조 메서드
+    // -------------------------------------------------------------------------
+
+    private ChatInbox newInbox(ChatRoom chatRoom, Long userId, String displayName,
+                               List<String> nicknames, long lastReadSeq) {
+        return ChatInbox.builder()
+                .userId(userId)
+                .roomId(chatRoom.getId())
+                .roomType(chatRoom.getType())
+                .displayName(displayName)
+                .memberNicknames(nicknames)
+                .lastMessageContent(chatRoom.getLastMessageContent())
+                .lastMessageTime(chatRoom.getLastMessageTime())
+                .lastSeq(chatRoom.getLastSeq())
+                .lastReadSeq(Math.min(lastReadSeq, chatRoom.getLastSeq()))
+                .sortKey(toSortKey(chatRoom.getLastMessageTime()))
+                .build();
+    }
+
+    // 목록에 표시할 멤버 닉네임 (앞에서부터 최대 MAX_MEMBER_PREVIEW명)
+    private List<String> toMemberPreview(List<RoomMemberNickname> members) {
+        return members.stream()
+                .limit(MAX_MEMBER_PREVIEW)
+                .map(RoomMemberNickname::nickname)
+                .collect(Collectors.toList());
+    }
+
+    // 그룹 채팅방은 방 이름, 1:1 채팅방은 상대방 닉네임
+    private String getDisplayName(ChatRoom chatRoom, List<RoomMemberNickname> members, Long userId) {
+        if (chatRoom.getType() == ChatRoomType.SINGLE) {
+            return members.stream()
+                    .filter(member -> !member.userId().equals(userId))
+                    .map(RoomMemberNickname::nickname)
+                    .findFirst()
+                    .orElse("알 수 없는 사용자");
+        }
+        return chatRoom.getName();
+    }
+
+    // @param liveRoom 대형 채팅방이면 현재 채팅방 행 (아니면 null)
+    private ChatRoomResponse toResponse(ChatInbox inbox, ChatRoom liveRoom) {
+        ChatRoomResponse.ChatRoomResponseBuilder builder = ChatRoomResponse.builder()
+                .roomId(inbox.getRoomId())
+                .roomName(inbox.getDisplayName())
+                .memberNicknames(inbox.getMemberNicknames())
+                .unreadCount(inbox.getUnreadCount())
+                .lastMessageContent(inbox.getLastMessageContent())
+                .lastMessageTime(inbox.getLastMessageTime())
+                .lastSeq(inbox.getLastSeq());
+
+        long knownSeq = inbox.getLastSeq();
+        if (liveRoom != null && liveRoom.getLastSeq() > knownSeq) {
+            knownSeq = liveRoom.getLastSeq();
+            builder.unreadCount((int) Math.max(0, knownSeq - inbox.getLastReadSeq()))
+                    .lastMessageContent(liveRoom.getLastMessageContent())
+                    .lastMessageTime(liveRoom.getLastMessageTime())
+                    .lastSeq(knownSeq);
+        }
+        long seqFloor = knownSeq;
+
+        // 아직 DB에 반영되지 않은 더 최신 요약이 있으면 메모리 값 사용
+        roomSummaryUpdater.getPending(inbox.getRoomId())
+                .filter(summary -> summary.seq() >= seqFloor)
+                .ifPresent(summary -> builder
+                        .unreadCount((int) Math.max(0, summary.seq() - inbox.getLastReadSeq()))
+                        .lastMessageContent(summary.content())
+                        .lastMessageTime(summary.sentAt())
+                        .lastSeq(summary.seq()));
+
+        return builder.build();
+    }
+
+    // 목록 정렬 키 (epoch ms)
+    static long toSortKey(LocalDateTime time) {
+        if (time == null) {
+            return 0L;
+        }
+        return time.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+
+    private int normalizePageSize(int size) {
+        if (size <= 0) {
+            return DEFAULT_PAGE_SIZE;
+        }
+        return Math.min(size, MAX_PAGE_SIZE);
+    }
+
+    // 목록 커서: (정렬 키, 채팅방 ID) - 같은 시각의 방이 여러 개여도 순서가 유일하도록 채팅방 ID 포함
+    private record InboxCursor(long sortKey, Long roomId) {
+
+        static InboxCursor parse(String cursor) {
+            int separator = cursor.indexOf('_');
+            try {
+                return new InboxCursor(
+                        Long.parseLong(cursor.substring(0, separator)),
+                        Long.parseLong(cursor.substring(separator + 1)));
+            } catch (RuntimeException e) {
+                throw new IllegalArgumentException("잘못된 커서입니다: " + cursor);
+            }
+        }
+
+        String format() {
+            return sortKey + "_" + roomId;
+        }
+    }
+
+}
@@ -0,0 +1,345 @@
+package com.zzaptalk.backend.service;
+
+import com.zzaptalk.backend.dto.ChatMessageResponse;
+import com.zzaptalk.backend.dto.SenderProfile;
+import com.zzaptalk.backend.entity.MessageType;
+import com.zzaptalk.backend.repository.MessageStore;
+import com.zzaptalk.backend.util.SnowflakeIdGenerator;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+// -------------------------------------------------------------------------
+// 채팅 메시지 묶음 저장기 (write-behind group commit)
+// 전송 요청을 대기열에 넣고, 전용 스레드가 최대 maxBatchSize개 또는 maxWaitMs 동안 모아
+// 하나의 트랜잭션으로 저장
+// - 메시지 저장은 MessageStore.saveAll 한 번 (MySQL이면 JDBC batch INSERT 한 번)
+// - 채팅방 시퀀스 UPDATE는 채팅방당 한 번
+// - outbox 사용 시 전송할 메시지 INSERT도 같은 트랜잭션에서 JDBC batch 한 번
+//   (마지막 메시지 요약과 참여자 채팅방 목록은 전송 후 RoomSummaryUpdater가 반영)
+// 호출자는 자신의 메시지가 포함된 묶음이 커밋된 뒤 완료되는 future를 받음
+// (묶음이 실패하면 채팅방별 -> 메시지별로 다시 저장해 저장할 수 없는 메시지만 실패 처리)
+// 선전송(OPTIMISTIC) 메시지는 ID/seq가 이미 발급된 상태로 들어오며, 채팅방 lastSeq만 따라 올림
+// -------------------------------------------------------------------------
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ChatMessageBatchWriter {
+
+    // 메모리 발급기(OptimisticSequencer)가 임대 중인 채팅방은 발급하지 않음 (ChatRoomRepository.increaseLastSeq와 동일)
+    private static final String UPDATE_ROOM_SQL =
+            "UPDATE chat_room SET last_seq = GREATEST(last_seq, seq_reserved_until) + ? WHERE id = ? " +
+            "AND (seq_owner_node_id IS NULL OR seq_owner_until < NOW(3))";
+    private static final String RAISE_LAST_SEQ_SQL =
+            "UPDATE chat_room SET last_seq = GREATEST(last_seq, ?) WHERE id = ?";
+    private static final String SELECT_LAST_SEQ_SQL =
+            "SELECT last_seq FROM chat_room WHERE id = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ReadMarkCoalescer readMarkCoalescer;
+    private final SnowflakeIdGenerator snowflakeIdGenerator;
+    private final ChatOutboxRelay chatOutboxRelay;
+    private final MessageStore messageStore;
+
+    // 한 묶음의 최대 메시지 수
+    @Value("${chat.persistence.batch.max-size:500}")
+    private int maxBatchSize;
+
+    // 묶음을 모으는 최대 대기 시간(ms)
+    @Value("${chat.persistence.batch.max-wait-ms:5}")
+    private long maxWaitMs;
+
+    // 대기열 최대 크기 (가득 차면 전송 요청 거절)
+    @Value("${chat.persistence.batch.queue-capacity:10000}")
+    private int queueCapacity;
+
+    private BlockingQueue<PendingMessage> queue;
+    private Thread writerThread;
+    private volatile boolean running;
+
+    @PostConstruct
+    public void start() {
+        queue = new ArrayBlockingQueue<>(queueCapacity);
+        running = true;
+        writerThread = new Thread(this::runLoop, "chat-batch-writer");
+        writerThread.setDaemon(true);
+        writerThread.start();
+    }
+
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        // 대기열에 남은 메시지를 모두 저장한 뒤 종료
+        running = false;
+        writerThread.interrupt();
+        writerThread.join(TimeUnit.SECONDS.toMillis(10));
+    }
+
+    // -------------------------------------------------------------------------
+    // 메시지 저장 요청
+    //
+    // @return 메시지가 포함된 묶음이 커밋되면 저장 결과로 완료되는 future
+    // -------------------------------------------------------------------------
+
+    public CompletableFuture<ChatMessageResponse> submit(Long roomId, SenderProfile sender,
+                                                         String content, MessageType type) {
+
+        return enqueue(new PendingMessage(
+                roomId, sender, content, type, LocalDateTime.now(), null, new CompletableFuture<>()));
+    }
+
+    // ID/seq가 이미 발급된 메시지 저장 요청 (선전송 모드, 전송은 이미 끝난 상태)
+    public CompletableFuture<ChatMessageResponse> submitAssigned(ChatMessageResponse message, SenderProfile sender) {
+        return enqueue(new PendingMessage(
+                message.getRoomId(), sender, message.getContent(), message.getType(), message.getSentAt(),
+                message, new CompletableFuture<>()));
+    }
+
+    private CompletableFuture<ChatMessageResponse> enqueue(PendingMessage pending) {
+        if (!running || !queue.offer(pending)) {
+            pending.future().completeExceptionally(
+                    new IllegalStateException("메시지 저장 대기열이 가득 찼습니다. 잠시 후 다시 시도해주세요."));
+        }
+        return pending.future();
+    }
+
+    // -------------------------------------------------------------------------
+    // 묶음 수집 루프
+    // -------------------------------------------------------------------------
+
+    private void runLoop() {
+        List<PendingMessage> batch = new ArrayList<>(maxBatchSize);
+
+        while (running || !queue.isEmpty()) {
+            try {
+                collectBatch(batch);
+            } catch (InterruptedException e) {
+                // 종료 요청: 남은 메시지는 아래에서 마저 저장
+                queue.drainTo(batch, maxBatchSize - batch.size());
+            }
+
+            if (!batch.isEmpty()) {
+                writeBatch(batch);
+                batch.clear();
+            }
+        }
+    }
+
+    private void collectBatch(List<PendingMessage> batch) throws InterruptedException {
+        // 첫 메시지가 들어올 때까지 대기
+        PendingMessage first = queue.poll(1, TimeUnit.SECONDS);
+        if (first == null) {
+            return;
+        }
+        batch.add(first);
+
+        // 최대 대기 시간 동안 추가로 모음
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(maxWaitMs);
+        while (batch.size() < maxBatchSize) {
+            if (queue.drainTo(batch, maxBatchSize - batch.size()) > 0) {
+                continue;
+            }
+            long remaining = deadline - System.nanoTime();
+            if (remaining <= 0) {
+                break;
+            }
+            PendingMessage next = queue.poll(remaining, TimeUnit.NANOSECONDS);
+            if (next == null) {
+                break;
+            }
+            batch.add(next);
+        }
+    }
+
+    // -------------------------------------------------------------------------
+    // 묶음 저장 (하나의 트랜잭션)
+    // 실패하면 채팅방별 트랜잭션으로, 그래도 실패하는 채팅방은 메시지 한 건씩 다시 저장
+    // -> 저장할 수 없는 메시지만 실패로 완료되고 같은 묶음의 다른 메시지는 저장됨
+    // -------------------------------------------------------------------------
+
+    private void writeBatch(List<PendingMessage> batch) {
+
+        // 채팅방별로 분류 (채팅방 ID 순으로 잠금을 잡아 교착 상태 방지)
+        Map<Long, List<PendingMessage>> byRoom = new TreeMap<>();
+        for (PendingMessage pending : batch) {
+            byRoom.computeIfAbsent(pending.roomId(), k -> new ArrayList<>()).add(pending);
+        }
+
+        try {
+            complete(transactionTemplate.execute(status -> persist(byRoom)));
+            return;
+        } catch (Exception e) {
+            log.warn("메시지 묶음 저장 실패, 채팅방별로 재시도: {}건", batch.size(), e);
+            skipStoredSeqs(byRoom.keySet(), e);
+        }
+
+        for (Map.Entry<Long, List<PendingMessage>> entry : byRoom.entrySet()) {
+            List<PendingMessage> messages = remaining(entry.getValue());
+            try {
+                complete(transactionTemplate.execute(status -> persist(Map.of(entry.getKey(), messages))));
+                continue;
+            } catch (Exception e) {
+                log.warn("채팅방 메시지 저장 실패, 한 건씩 재시도: roomId={}, {}건", entry.getKey(), messages.size(), e);
+                skipStoredSeqs(List.of(entry.getKey()), e);
+            }
+
+            for (PendingMessage pending : remaining(messages)) {
+                try {
+                    complete(transactionTemplate.execute(
+                            status -> persist(Map.of(pending.roomId(), List.of(pending)))));
+                } catch (Exception e) {
+                    log.error("메시지 저장 실패: roomId={}, senderId={}", pending.roomId(), pending.sender().userId(), e);
+                    pending.future().completeExceptionally(e);
+                }
+            }
+        }
+    }
+
+    // seq 충돌로 실패한 경우: MySQL 밖의 저장소(DynamoDB)에 커밋된 메시지가 lastSeq보다 앞선 seq를 차지함
+    // -> 채팅방 lastSeq를 저장된 마지막 seq까지 올려 재시도 시 그 뒤의 seq를 발급 (선전송 메시지의 충돌은 그대로 실패)
+    private void skipStoredSeqs(Collection<Long> roomIds, Exception e) {
+        if (!(e instanceof DuplicateKeyException)) {
+            return;
+        }
+        for (Long roomId : roomIds) {
+            try {
+                List<ChatMessageResponse> latest = messageStore.findLatest(roomId, 1);
+                if (!latest.isEmpty()) {
+                    transactionTemplate.executeWithoutResult(status ->
+                            jdbcTemplate.update(RAISE_LAST_SEQ_SQL, latest.get(0).getSeq(), roomId));
+                }
+            } catch (Exception raiseFailed) {
+                log.warn("채팅방 lastSeq 올림 실패: roomId={}", roomId, raiseFailed);
+            }
+        }
+    }
+
+    // 롤백된 트랜잭션 안에서 이미 실패로 완료된 메시지(없는 채팅방 등)는 재시도하지 않음
+    private static List<PendingMessage> remaining(List<PendingMessage> messages) {
+        return messages.stream().filter(pending -> !pending.future().isDone()).toList();
+    }
+
+    // 커밋 이후 호출자에게 결과 전달
+    private void complete(List<SavedMessage> saved) {
+        for (SavedMessage message : saved) {
+            PendingMessage pending = message.pending();
+            readMarkCoalescer.markRead(pending.roomId(), pending.sender().userId(), message.response().getSeq());
+            pending.future().complete(message.response());
+        }
+    }
+
+    private List<SavedMessage> persist(Map<Long, List<PendingMessage>> byRoom) {
+
+        List<PendingMessage> accepted = new ArrayList<>();
+        List<Long> seqs = new ArrayList<>();
+
+        // 1. 채팅방당 한 번: 시퀀스 일괄 발급
+        for (Map.Entry<Long, List<PendingMessage>> entry : byRoom.entrySet()) {
+            Long roomId = entry.getKey();
+            List<PendingMessage> messages = new ArrayList<>();
+            long maxAssignedSeq = 0;
+            for (PendingMessage pending : entry.getValue()) {
+                if (pending.assigned() != null) {
+                    // 선전송 메시지: 발급된 seq 그대로 저장
+                    accepted.add(pending);
+                    seqs.add(pending.assigned().getSeq());
+                    maxAssignedSeq = Math.max(maxAssignedSeq, pending.assigned().getSeq());
+                } else {
+                    messages.add(pending);
+                }
+            }
+
+            if (maxAssignedSeq > 0) {
+                jdbcTemplate.update(RAISE_LAST_SEQ_SQL, maxAssignedSeq, roomId);
+            }
+            if (messages.isEmpty()) {
+                continue;
+            }
+
+            int updated = jdbcTemplate.update(UPDATE_ROOM_SQL, messages.size(), roomId);
+            if (updated == 0) {
+                RuntimeException error = jdbcTemplate.queryForList(SELECT_LAST_SEQ_SQL, Long.class, roomId).isEmpty()
+                        ? new IllegalArgumentException("채팅방 ID를 찾을 수 없습니다: " + roomId)
+                        : new IllegalStateException("다른 서버가 이 채팅방의 메시지를 처리하고 있습니다: " + roomId);
+                messages.forEach(pending -> pending.future().completeExceptionally(error));
+                continue;
+            }
+
+            Long lastSeq = jdbcTemplate.queryForObject(SELECT_LAST_SEQ_SQL, Long.class, roomId);
+            long seq = lastSeq - messages.size();
+            for (PendingMessage pending : messages) {
+                accepted.add(pending);
+                seqs.add(++seq);
+            }
+        }
+
+        if (accepted.isEmpty()) {
+            return List.of();
+        }
+
+        // 2. 메시지 ID를 미리 발급
+        List<SavedMessage> saved = new ArrayList<>(accepted.size());
+        for (int i = 0; i < accepted.size(); i++) {
+            PendingMessage pending = accepted.get(i);
+            long id = pending.assigned() != null
+                    ? pending.assigned().getMessageId()
+                    : snowflakeIdGenerator.nextId();
+            saved.add(new SavedMessage(pending, toResponse(pending, id, seqs.get(i))));
+        }
+
+        // 3. 전송할 메시지를 outbox에 기록 (커밋 이후 ChatOutboxRelay가 전송, 선전송 메시지 제외)
+        if (chatOutboxRelay.isEnabled()) {
+            chatOutboxRelay.appendAll(saved.stream()
+                    .filter(message -> message.pending().assigned() == null)
+                    .map(SavedMessage::response)
+                    .toList());
+        }
+
+        // 4. 메시지 저장 (MySQL 밖의 저장소일 수 있으므로 트랜잭션의 마지막 단계에서 기록)
+        messageStore.saveAll(saved.stream().map(SavedMessage::response).toList());
+        return saved;
+    }
+
+    private static ChatMessageResponse toResponse(PendingMessage pending, Long id, Long seq) {
+        if (pending.assigned() != null) {
+            return pending.assigned();
+        }
+        return ChatMessageResponse.builder()
+                .messageId(id)
+                .roomId(pending.roomId())
+                .seq(seq)
+                .senderId(pending.sender().userId())
+                .senderName(pending.sender().nickname())
+                .senderProfilePhotoUrl(pending.sender().profilePhotoUrl())
+                .content(pending.content())
+                .type(pending.type())
+                .sentAt(pending.sentAt())
+                .build();
+    }
+
+    private record PendingMessage(Long roomId, SenderProfile sender, String content,
+                                  MessageType type, LocalDateTime sentAt,
+                                  ChatMessageResponse assigned,
+                                  CompletableFuture<ChatMessageResponse> future) {}
+
+    private record SavedMessage(PendingMessage pending, ChatMessageResponse response) {}
+
+}
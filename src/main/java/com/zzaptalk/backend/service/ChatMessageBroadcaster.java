@@ -0,0 +1,84 @@
+package com.zzaptalk.backend.service;
+
+import com.zzaptalk.backend.dto.ChatMessageResponse;
+import com.zzaptalk.backend.dto.CompactChatMessageResponse;
+import com.zzaptalk.backend.service.ChatMessageDispatcher.DeliveryMode;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.EnumMap;
+import java.util.Map;
+
+// -------------------------------------------------------------------------
+// 채팅 메시지를 채팅방 구독자에게 전송
+// (ChatMessageDispatcher의 즉시·선전송 / ChatOutboxRelay의 outbox 전송에서 공통 사용)
+// - 최근 메시지 캐시 / 메시지 검색 색인에 추가
+// - 기본 구독 경로(/topic/chat/room/{id})는 항상 전체 payload (축약 형식을 모르는 기존 클라이언트 호환)
+// - 축약 형식을 지원하는 클라이언트는 /topic/chat/room/{id}/compact를 대신 구독
+//   대형 채팅방(LARGE 모드)이면 축약 payload(STOMP 헤더 payload-format: compact), 아니면 전체 payload를 받음
+//   (모드는 메시지 도중에도 바뀔 수 있으므로 클라이언트는 메시지마다 헤더로 형식을 구분)
+// - 채팅방 요약 / 참여자 채팅방 목록은 RoomSummaryUpdater가 모아서 반영 및 전송
+// 메시지 시간(sentAt)부터 구독자 전송까지의 지연을 전달 방식별로 기록 (chat.message.delivery, p50/p99)
+// -------------------------------------------------------------------------
+
+@Component
+public class ChatMessageBroadcaster {
+
+    private static final String PAYLOAD_FORMAT_HEADER = "payload-format";
+
+    // 축약 형식을 지원하는 클라이언트의 구독 경로
+    private static final String COMPACT_SUFFIX = "/compact";
+
+    private final SimpMessagingTemplate messagingTemplate;
+    private final RecentMessageCache recentMessageCache;
+    private final MessageSearchIndex messageSearchIndex;
+    private final RoomSummaryUpdater roomSummaryUpdater;
+    private final RoomModeRegistry roomModeRegistry;
+    private final Map<DeliveryMode, Timer> deliveryTimers = new EnumMap<>(DeliveryMode.class);
+
+    public ChatMessageBroadcaster(SimpMessagingTemplate messagingTemplate,
+                                  RecentMessageCache recentMessageCache,
+                                  MessageSearchIndex messageSearchIndex,
+                                  RoomSummaryUpdater roomSummaryUpdater,
+                                  RoomModeRegistry roomModeRegistry,
+                                  MeterRegistry meterRegistry) {
+        this.messagingTemplate = messagingTemplate;
+        this.recentMessageCache = recentMessageCache;
+        this.messageSearchIndex = messageSearchIndex;
+        this.roomSummaryUpdater = roomSummaryUpdater;
+        this.roomModeRegistry = roomModeRegistry;
+
+        for (DeliveryMode mode : DeliveryMode.values()) {
+            deliveryTimers.put(mode, Timer.builder("chat.message.delivery")
+                    .description("메시지 시간(sentAt)부터 채팅방 구독자에게 전송하기까지 걸린 시간")
+                    .tag("mode", mode.name())
+                    .publishPercentiles(0.5, 0.99)
+                    .register(meterRegistry));
+        }
+    }
+
+    public void broadcast(ChatMessageResponse response, DeliveryMode mode) {
+        recentMessageCache.append(response);
+        messageSearchIndex.add(response);
+
+        String destination = "/topic/chat/room/" + response.getRoomId();
+        messagingTemplate.convertAndSend(destination, response);
+        if (roomModeRegistry.recordMessage(response.getRoomId()) == RoomModeRegistry.RoomMode.LARGE) {
+            messagingTemplate.convertAndSend(destination + COMPACT_SUFFIX, CompactChatMessageResponse.from(response),
+                    Map.of(PAYLOAD_FORMAT_HEADER, "compact"));
+        } else {
+            messagingTemplate.convertAndSend(destination + COMPACT_SUFFIX, response);
+        }
+
+        roomSummaryUpdater.update(response.getRoomId(), response.getSeq(), response.getContent(), response.getSentAt());
+
+        if (response.getSentAt() != null) {
+            deliveryTimers.get(mode).record(Duration.between(response.getSentAt(), LocalDateTime.now()));
+        }
+    }
+
+}
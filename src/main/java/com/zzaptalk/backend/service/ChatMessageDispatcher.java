@@ -0,0 +1,214 @@
+package com.zzaptalk.backend.service;
+
+import com.zzaptalk.backend.dto.ChatMessageResponse;
+import com.zzaptalk.backend.dto.MessageDeliveryStatus;
+import com.zzaptalk.backend.dto.MessageSendError;
+import com.zzaptalk.backend.dto.SenderProfile;
+import com.zzaptalk.backend.entity.MessageType;
+import com.zzaptalk.backend.util.SnowflakeIdGenerator;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+// -------------------------------------------------------------------------
+// 채팅 메시지 저장 + 채팅방 구독자에게 전송
+// 저장 방식(chat.persistence.mode)에 따라
+// - DIRECT: 메시지마다 트랜잭션 하나로 바로 저장 (기본값)
+// - BATCHED: ChatMessageBatchWriter를 통해 묶음 저장
+// - JOURNALED: ID/seq를 메모리에서 발급해 로컬 저널(MessageJournal)에 기록하고 fsync 후 전송,
+//   DB 반영은 MessageJournalReplayer가 뒤에서 수행 (DB 지연/장애를 저널이 흡수)
+// DIRECT / BATCHED의 전송은 outbox 사용 시(chat.outbox.enabled, 기본값) 저장 트랜잭션에 기록된 행을
+// ChatOutboxRelay가 커밋 이후 전송하고, 사용하지 않으면 저장 직후 이 스레드에서 바로 전송
+// BATCHED / JOURNALED의 저장 실패는 보낸 사람에게 MessageSendError로 알림 (/user/queue/chat/errors)
+//
+// 전달 방식(chat.delivery.mode / chat.delivery.optimistic-room-ids)이 OPTIMISTIC인 채팅방은
+// 저장을 기다리지 않고 ID와 seq를 메모리에서 발급해 바로 전송한 뒤 저장 (선전송, JOURNALED면 저널에 기록)
+// - 저장 결과는 MessageDeliveryStatus로 후속 전송 (COMMITTED: 보낸 사람, FAILED: 채팅방 전체)
+// - 커밋 전에 서버가 죽으면 이미 전송된 메시지가 저장되지 않을 수 있음 (지연 대신 내구성 양보)
+// -------------------------------------------------------------------------
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ChatMessageDispatcher {
+
+    // 저장 후 전송 메시지의 저장 실패 알림 (/user/queue/chat/errors)
+    private static final String ERROR_DESTINATION = "/queue/chat/errors";
+
+    private final ChatMessageService chatMessageService;
+    private final ChatMessageBatchWriter chatMessageBatchWriter;
+    private final ChatMessageBroadcaster chatMessageBroadcaster;
+    private final ChatOutboxRelay chatOutboxRelay;
+    private final OptimisticSequencer optimisticSequencer;
+    private final SnowflakeIdGenerator snowflakeIdGenerator;
+    private final SimpMessagingTemplate messagingTemplate;
+    private final RecentMessageCache recentMessageCache;
+    private final MessageSearchIndex messageSearchIndex;
+    private final MessageJournal messageJournal;
+
+    @Value("${chat.persistence.mode:DIRECT}")
+    private PersistenceMode persistenceMode;
+
+    // 전체 채팅방 기본 전달 방식
+    @Value("${chat.delivery.mode:DURABLE}")
+    private DeliveryMode deliveryMode;
+
+    // 기본 전달 방식과 관계없이 선전송할 채팅방 ID 목록 (쉼표 구분)
+    @Value("${chat.delivery.optimistic-room-ids:}")
+    private Set<Long> optimisticRoomIds;
+
+    public enum PersistenceMode {
+        DIRECT,
+        BATCHED,
+        JOURNALED
+    }
+
+    public enum DeliveryMode {
+        DURABLE,        // 저장(커밋) 후 전송
+        OPTIMISTIC      // 전송 후 저장
+    }
+
+    // -------------------------------------------------------------------------
+    // 메시지 저장 후 전송
+    //
+    // @param roomId 메시지가 전송된 채팅방 ID
+    // @param sender 메시지를 보낸 사용자 프로필 (SenderProfileCache)
+    // @param content 메시지 내용
+    // @return 저장이 완료(커밋)되면 저장된 메시지로 완료되는 future
+    // -------------------------------------------------------------------------
+
+    public CompletableFuture<ChatMessageResponse> dispatch(Long roomId, SenderProfile sender, String content) {
+        return dispatch(roomId, sender, content, MessageType.TEXT);
+    }
+
+    // 메시지 유형 지정 (입장·퇴장 알림 등 시스템 메시지)
+    public CompletableFuture<ChatMessageResponse> dispatch(Long roomId, SenderProfile sender, String content,
+                                                           MessageType type) {
+
+        if (deliveryMode == DeliveryMode.OPTIMISTIC || optimisticRoomIds.contains(roomId)) {
+            return dispatchOptimistic(roomId, sender, content, type);
+        }
+
+        if (persistenceMode == PersistenceMode.JOURNALED) {
+            ChatMessageResponse response = assign(roomId, sender, content, type);
+            // fsync 완료 순서대로 저널 fsync 스레드에서 전송 (같은 방 메시지의 seq 순서 유지)
+            return messageJournal
+                    .append(response)
+                    .thenApply(ignored -> {
+                        chatMessageBroadcaster.broadcast(response, DeliveryMode.DURABLE);
+                        return response;
+                    })
+                    .whenComplete((ignored, e) -> {
+                        if (e != null) {
+                            log.error("메시지 저널 기록 실패: roomId={}, senderId={}", roomId, sender.userId(), e);
+                            sendError(roomId, sender, content, e);
+                        }
+                    });
+        }
+
+        if (persistenceMode == PersistenceMode.BATCHED) {
+            return chatMessageBatchWriter
+                    .submit(roomId, sender, content, type)
+                    .whenComplete((response, e) -> {
+                        if (e != null) {
+                            log.error("메시지 저장 실패: roomId={}, senderId={}", roomId, sender.userId(), e);
+                            sendError(roomId, sender, content, e);
+                            return;
+                        }
+                        broadcastUnlessOutbox(response);
+                    });
+        }
+
+        ChatMessageResponse response = chatMessageService.saveAndPublishMessage(roomId, sender, content, type);
+        broadcastUnlessOutbox(response);
+
+        return CompletableFuture.completedFuture(response);
+    }
+
+    // outbox를 사용하면 ChatOutboxRelay가 전송하므로 여기서는 전송하지 않음
+    private void broadcastUnlessOutbox(ChatMessageResponse response) {
+        if (!chatOutboxRelay.isEnabled()) {
+            chatMessageBroadcaster.broadcast(response, DeliveryMode.DURABLE);
+        }
+    }
+
+    // 저장 후 전송 메시지의 저장 실패를 보낸 사람에게 알림 (비동기로 실패하므로 예외 대신 오류 프레임)
+    private void sendError(Long roomId, SenderProfile sender, String content, Throwable e) {
+        Throwable cause = e instanceof CompletionException && e.getCause() != null ? e.getCause() : e;
+        String reason = cause instanceof IllegalArgumentException || cause instanceof IllegalStateException
+                ? cause.getMessage()
+                : "메시지를 저장하지 못했습니다. 잠시 후 다시 시도해주세요.";
+        messagingTemplate.convertAndSendToUser(String.valueOf(sender.userId()), ERROR_DESTINATION,
+                MessageSendError.builder()
+                        .roomId(roomId)
+                        .content(content)
+                        .reason(reason)
+                        .build());
+    }
+
+    // -------------------------------------------------------------------------
+    // 선전송: ID/seq 발급 -> 즉시 전송 -> 묶음 저장(또는 저널 기록) -> 저장 결과 전송
+    //
+    // @return 저장이 완료(커밋)되면 완료되는 future (전송은 반환 전에 이미 끝남)
+    // -------------------------------------------------------------------------
+
+    private CompletableFuture<ChatMessageResponse> dispatchOptimistic(Long roomId, SenderProfile sender,
+                                                                      String content, MessageType type) {
+
+        ChatMessageResponse response = assign(roomId, sender, content, type);
+
+        chatMessageBroadcaster.broadcast(response, DeliveryMode.OPTIMISTIC);
+
+        CompletableFuture<ChatMessageResponse> persisted = messageJournal.isEnabled()
+                ? messageJournal.append(response).thenApply(ignored -> response)
+                : chatMessageBatchWriter.submitAssigned(response, sender);
+
+        return persisted
+                .whenComplete((saved, e) -> {
+                    if (e != null) {
+                        log.error("선전송 메시지 저장 실패: roomId={}, seq={}", roomId, response.getSeq(), e);
+                        // 저장되지 않은 메시지가 최근 메시지 캐시로 다시 조회되지 않도록 비움 (다음 조회 시 DB에서 채움)
+                        // 검색 색인에서도 제외
+                        recentMessageCache.evict(roomId);
+                        messageSearchIndex.remove(roomId, response.getMessageId());
+                        messagingTemplate.convertAndSend("/topic/chat/room/" + roomId + "/status",
+                                toStatus(response, MessageDeliveryStatus.Status.FAILED));
+                        return;
+                    }
+                    messagingTemplate.convertAndSendToUser(String.valueOf(sender.userId()), "/queue/chat/status",
+                            toStatus(response, MessageDeliveryStatus.Status.COMMITTED));
+                });
+    }
+
+    // 메시지 ID와 채팅방 seq를 메모리에서 발급 (DB 행 잠금 없음)
+    private ChatMessageResponse assign(Long roomId, SenderProfile sender, String content, MessageType type) {
+        return ChatMessageResponse.builder()
+                .messageId(snowflakeIdGenerator.nextId())
+                .roomId(roomId)
+                .seq(optimisticSequencer.next(roomId))
+                .senderId(sender.userId())
+                .senderName(sender.nickname())
+                .senderProfilePhotoUrl(sender.profilePhotoUrl())
+                .content(content)
+                .type(type)
+                .sentAt(LocalDateTime.now())
+                .build();
+    }
+
+    private static MessageDeliveryStatus toStatus(ChatMessageResponse response, MessageDeliveryStatus.Status status) {
+        return MessageDeliveryStatus.builder()
+                .messageId(response.getMessageId())
+                .roomId(response.getRoomId())
+                .seq(response.getSeq())
+                .status(status)
+                .build();
+    }
+
+}
@@ -1,28 +1,48 @@
 package com.zzaptalk.backend.service;
 
+import com.zzaptalk.backend.dto.ChatMessagePageResponse;
+import com.zzaptalk.backend.dto.ChatMessageResponse;
+import com.zzaptalk.backend.dto.ChatMessageSyncResponse;
+import com.zzaptalk.backend.dto.SenderProfile;
 import com.zzaptalk.backend.entity.MessageType;
-import com.zzaptalk.backend.entity.ChatMessage;
-import com.zzaptalk.backend.entity.ChatRoom;
-import com.zzaptalk.backend.entity.ChatRoomUser;
 import com.zzaptalk.backend.entity.User;
-import com.zzaptalk.backend.repository.ChatMessageRepository;
 import com.zzaptalk.backend.repository.ChatRoomRepository;
-import com.zzaptalk.backend.repository.ChatRoomUserRepository;
+import com.zzaptalk.backend.repository.MessageStore;
 import com.zzaptalk.backend.repository.UserRepository;
+import com.zzaptalk.backend.util.SnowflakeIdGenerator;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DuplicateKeyException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
+import java.util.Optional;
 
+@Slf4j
 @Service
 @RequiredArgsConstructor
 public class ChatMessageService {
 
-    private final ChatMessageRepository chatMessageRepository;
+    // 메시지 페이지 크기 (기본값 / 최대값)
+    private static final int DEFAULT_PAGE_SIZE = 30;
+    private static final int MAX_PAGE_SIZE = 100;
+
+    // 재접속 동기화 시 한 번에 반환하는 최대 메시지 수
+    private static final int MAX_SYNC_SIZE = 1000;
+
+    // 저장 시 seq 충돌(롤백된 트랜잭션이 외부 저장소에 남긴 메시지)로 다시 발급하는 최대 횟수
+    private static final int MAX_SEQ_CONFLICT_RETRIES = 3;
+
+    private final MessageStore messageStore;
     private final ChatRoomRepository chatRoomRepository;
-    private final ChatRoomUserRepository chatRoomUserRepository;
     private final UserRepository userRepository;
+    private final ReadMarkCoalescer readMarkCoalescer;
+    private final RecentMessageCache recentMessageCache;
+    private final ChatOutboxRelay chatOutboxRelay;
+    private final SnowflakeIdGenerator snowflakeIdGenerator;
 
     // -------------------------------------------------------------------------
     // 사용자 ID로 User 엔티티 조회 (ChatController에서 사용)
@@ -35,72 +55,252 @@ public class ChatMessageService {
     }
 
     // -------------------------------------------------------------------------
-    // 클라이언트로부터 메시지를 받아 DB에 저장하고 안 읽은 수 업데이트
+    // 클라이언트로부터 메시지를 받아 DB에 저장하고 채팅방 시퀀스 갱신
+    // outbox 사용 시(chat.outbox.enabled) 같은 트랜잭션에서 전송할 메시지도 함께 기록
+    // -> 커밋 이후 ChatOutboxRelay가 채팅방 구독자에게 전송
     //
     // @param roomId 메시지가 전송된 채팅방 ID
-    // @param senderUser 메시지를 보낸 사용자 엔티티
+    // @param sender 메시지를 보낸 사용자 프로필
     // @param content 메시지 내용
-    // @return DB에 저장된 ChatMessage 엔티티
+    // @param type 메시지 유형 (일반 메시지 / 입장·퇴장 알림)
+    // @return 저장된 메시지
     // -------------------------------------------------------------------------
 
     @Transactional
-    public ChatMessage saveAndPublishMessage(Long roomId, User senderUser, String content) {
+    public ChatMessageResponse saveAndPublishMessage(Long roomId, SenderProfile sender, String content,
+                                                     MessageType type) {
 
-        // 채팅방이 존재하는지 확인(없으면 예외 처리)
-        ChatRoom chatRoom = chatRoomRepository.findById(roomId)
-                .orElseThrow(() -> new IllegalArgumentException("채팅방 ID를 찾을 수 없습니다: " + roomId));
+        // 채팅방 시퀀스 발급 (갱신된 행이 없으면 채팅방 없음 또는 다른 서버가 메모리 발급 중)
+        // (시간(sentAt)은 스레드/서버 간 단조 증가가 보장되지 않으므로 방 단위 순번을 별도로 부여)
+        if (chatRoomRepository.increaseLastSeq(roomId, 1) == 0) {
+            if (!chatRoomRepository.existsById(roomId)) {
+                throw new IllegalArgumentException("채팅방 ID를 찾을 수 없습니다: " + roomId);
+            }
+            throw new IllegalStateException("다른 서버가 이 채팅방의 메시지를 처리하고 있습니다: " + roomId);
+        }
+        Long seq = chatRoomRepository.findLastSeqById(roomId);
 
-        // ChatMessage 엔티티 생성 및 저장
-        ChatMessage message = ChatMessage.builder()
-                .chatRoom(chatRoom)
-                .sender(senderUser)
+        ChatMessageResponse response = ChatMessageResponse.builder()
+                .messageId(snowflakeIdGenerator.nextId())
+                .roomId(roomId)
+                .seq(seq)
+                .senderId(sender.userId())
+                .senderName(sender.nickname())
+                .senderProfilePhotoUrl(sender.profilePhotoUrl())
                 .content(content)
-                .type(MessageType.TEXT) // 일단 TEXT 메시지라고 가정
+                .type(type)
                 .sentAt(LocalDateTime.now())
                 .build();
-        message = chatMessageRepository.save(message);
 
-        // -------------------------------------------------------------------------
-        // 채팅방 참여자들의 안 읽은 메시지 수 업데이트
-        // -------------------------------------------------------------------------
+        // 메시지 저장 (seq 충돌 시 다른 seq로 바뀔 수 있으므로 outbox 기록보다 먼저)
+        response = save(response);
+
+        if (chatOutboxRelay.isEnabled()) {
+            chatOutboxRelay.append(response);
+        }
+
+        // 안 읽은 메시지 수는 (채팅방 lastSeq - 참여자 읽음 워터마크)로 계산되므로
+        // 참여자별 행을 갱신하지 않음. 보낸 사람은 자기 메시지까지 읽은 것으로 처리
+        readMarkCoalescer.markRead(roomId, sender.userId(), response.getSeq());
+
+        // 채팅방 요약(마지막 메시지 시간 및 내용)과 참여자 채팅방 목록은
+        // 전송 이후 RoomSummaryUpdater가 모아서 반영 (전송 트랜잭션의 행 잠금 시간 단축)
+
+        return response;
+
+    }
+
+    // 메시지 저장 (saveAndPublishMessage 트랜잭션 안, 채팅방 행 잠금을 잡은 상태)
+    // MySQL 밖의 저장소(DynamoDB)는 롤백된 트랜잭션이 남긴 pending 항목을 덮어쓰지만 (DynamoMessageStore),
+    // 커밋된 메시지가 lastSeq보다 앞선 seq를 차지하고 있으면 충돌
+    // -> 채팅방 lastSeq를 저장된 마지막 seq 뒤로 올리고 다음 seq로 다시 저장
+    private ChatMessageResponse save(ChatMessageResponse message) {
+        for (int attempt = 1; ; attempt++) {
+            try {
+                messageStore.save(message);
+                return message;
+            } catch (DuplicateKeyException e) {
+                if (attempt >= MAX_SEQ_CONFLICT_RETRIES) {
+                    throw e;
+                }
+                List<ChatMessageResponse> latest = messageStore.findLatest(message.getRoomId(), 1);
+                long seq = Math.max(message.getSeq(), latest.isEmpty() ? 0 : latest.get(0).getSeq()) + 1;
+                chatRoomRepository.raiseLastSeq(message.getRoomId(), seq);
+                log.warn("메시지 seq 충돌, 다음 seq로 다시 저장: roomId={}, seq={} -> {}",
+                        message.getRoomId(), message.getSeq(), seq);
+                message = message.toBuilder().seq(seq).build();
+            }
+        }
+    }
+
+    // -------------------------------------------------------------------------
+    // 채팅방 이전 메시지 조회 (커서 기반 페이지네이션)
+    // (특정 채팅방에 진입했을 때 / 스크롤할 때 메시지를 페이지 단위로 조회)
+    //
+    // - beforeId, afterId 모두 없음: 가장 최근 메시지 페이지
+    // - beforeId: 해당 메시지보다 오래된 메시지 페이지 (위로 스크롤)
+    // - afterId: 해당 메시지보다 최신 메시지 페이지 (아래로 스크롤)
+    //
+    // @param roomId 조회할 채팅방 ID
+    // @param beforeId 기준 메시지 ID (이전 메시지 조회)
+    // @param afterId 기준 메시지 ID (이후 메시지 조회)
+    // @param size 페이지 크기
+    // @return 메시지 페이지 (최신순) + 다음 커서
+    //
+    // 최신 페이지는 RecentMessageCache에 있으면 DB 없이 반환하므로
+    // 캐시 적중 시 커넥션을 잡지 않도록 트랜잭션 없이 실행 (sender는 fetch join으로 함께 로딩)
+    // -------------------------------------------------------------------------
+
+    public ChatMessagePageResponse getChatMessages(Long roomId, Long beforeId, Long afterId, int size) {
+
+        if (beforeId != null && afterId != null) {
+            throw new IllegalArgumentException("beforeId와 afterId는 동시에 지정할 수 없습니다.");
+        }
 
-        // 해당 방의 모든 ChatRoomUser 레코드를 가져오기
-        List<ChatRoomUser> roomUsers = chatRoomUserRepository.findAllByChatRoom(chatRoom);
+        int pageSize = normalizePageSize(size);
 
-        // 메시지 보낸 사람을 제외하고 unreadCount 1 증가
-        // (save를 명시적으로 호출할 필요 없이 @Transactional에 의해 자동 반영됨)
-        for (ChatRoomUser roomUser : roomUsers) {
-            if (!roomUser.getUser().getId().equals(senderUser.getId())) {
-                roomUser.incrementUnreadCount();
+        // 최신 페이지: 최근 메시지 캐시 우선 조회
+        if (beforeId == null && afterId == null) {
+            Optional<ChatMessagePageResponse> cached = recentMessageCache.getLatestPage(roomId, pageSize);
+            if (cached.isPresent()) {
+                return cached.get();
             }
         }
 
-        // 채팅방 정보 업데이트(마지막 메시지 시간 및 내용)
-        chatRoom.setLastMessageTime(message.getSentAt());
-        chatRoom.setLastMessageContent(message.getContent());
+        // 채팅방 유효성 검사
+        validateChatRoom(roomId);
+        // 다음 페이지 존재 여부 확인을 위해 1개 더 조회
+        int limit = pageSize + 1;
+
+        // 이후(더 최신) 메시지 조회: 오래된 순으로 가져와 최신순으로 뒤집음
+        if (afterId != null) {
+            List<ChatMessageResponse> newer = messageStore.findAfter(roomId, afterId, limit);
+            boolean hasNext = newer.size() > pageSize;
+            List<ChatMessageResponse> page = new ArrayList<>(newer.subList(0, Math.min(newer.size(), pageSize)));
+            Collections.reverse(page);
+
+            return toPageResponse(page, hasNext, page.isEmpty() ? null : page.get(0).getMessageId());
+        }
 
-        return message;
+        // 이전(더 오래된) 메시지 또는 최신 페이지 조회
+        List<ChatMessageResponse> older = (beforeId != null)
+                ? messageStore.findBefore(roomId, beforeId, limit)
+                : messageStore.findLatest(roomId, limit);
+        boolean hasNext = older.size() > pageSize;
+        List<ChatMessageResponse> page = older.subList(0, Math.min(older.size(), pageSize));
+        ChatMessagePageResponse response =
+                toPageResponse(page, hasNext, page.isEmpty() ? null : page.get(page.size() - 1).getMessageId());
+
+        // 최신 페이지는 캐시에 채워 두어 다음 입장 시 DB 조회 생략
+        if (beforeId == null) {
+            recentMessageCache.seed(roomId, response.getMessages(), !hasNext);
+        }
+
+        return response;
 
     }
 
     // -------------------------------------------------------------------------
-    // 채팅방 이전 메시지 조회
-    // (특정 채팅방에 진입했을 때 이전 메시지 목록 조회)
+    // 특정 메시지 주변 메시지 조회 ("메시지로 이동" 기능)
+    // 기준 메시지를 포함한 이전 메시지와 이후 메시지를 절반씩 조회
     //
     // @param roomId 조회할 채팅방 ID
-    // @return ChatMessage 목록 (오래된 순)
+    // @param messageId 기준 메시지 ID
+    // @param size 페이지 크기
+    // @return 메시지 페이지 (최신순), nextCursor는 이전 메시지 방향 커서
     // -------------------------------------------------------------------------
 
     @Transactional(readOnly = true)
-    public List<ChatMessage> getChatMessages(Long roomId) {
+    public ChatMessagePageResponse getChatMessagesAround(Long roomId, Long messageId, int size) {
 
-        // 채팅방 유효성 검사
-        ChatRoom chatRoom = chatRoomRepository.findById(roomId)
-                .orElseThrow(() -> new IllegalArgumentException("채팅방 ID를 찾을 수 없습니다: " + roomId));
+        validateChatRoom(roomId);
 
-        // 오래된 메시지부터 시간 순서대로(ASC) 조회하여 반환
-        return chatMessageRepository.findAllByChatRoomOrderBySentAtAsc(chatRoom);
+        if (!messageStore.exists(roomId, messageId)) {
+            throw new IllegalArgumentException("해당 채팅방의 메시지가 아닙니다: " + messageId);
+        }
+
+        int pageSize = normalizePageSize(size);
+        int newerSize = pageSize / 2;
+        int olderSize = pageSize - newerSize;
+
+        // 기준 메시지 포함 이전 메시지 (최신순), 다음 페이지 확인용으로 1개 더 조회
+        List<ChatMessageResponse> older = messageStore.findBefore(roomId, messageId + 1, olderSize + 1);
+        boolean hasNext = older.size() > olderSize;
+        older = older.subList(0, Math.min(older.size(), olderSize));
+
+        // 기준 메시지 이후 메시지 (오래된 순)
+        List<ChatMessageResponse> newer = newerSize > 0
+                ? messageStore.findAfter(roomId, messageId, newerSize)
+                : List.of();
+
+        List<ChatMessageResponse> page = new ArrayList<>(newer);
+        Collections.reverse(page);
+        page.addAll(older);
+
+        return toPageResponse(page, hasNext, older.isEmpty() ? null : older.get(older.size() - 1).getMessageId());
+
+    }
+
+    // -------------------------------------------------------------------------
+    // 누락 메시지 동기화 (재접속 시 "마지막으로 받은 seq 이후" 메시지 일괄 조회)
+    //
+    // @param roomId 조회할 채팅방 ID
+    // @param afterSeq 클라이언트가 마지막으로 받은 시퀀스
+    // @return afterSeq 이후 메시지 (오래된 순, 최대 MAX_SYNC_SIZE개)
+    // -------------------------------------------------------------------------
+
+    @Transactional(readOnly = true)
+    public ChatMessageSyncResponse syncMessages(Long roomId, long afterSeq) {
+
+        Long lastSeq = chatRoomRepository.findLastSeqById(roomId);
+        if (lastSeq == null) {
+            throw new IllegalArgumentException("채팅방 ID를 찾을 수 없습니다: " + roomId);
+        }
 
+        // 이미 최신 상태면 메시지 조회 생략
+        if (afterSeq >= lastSeq) {
+            return ChatMessageSyncResponse.builder()
+                    .messages(List.of())
+                    .lastSeq(lastSeq)
+                    .hasMore(false)
+                    .build();
+        }
+
+        List<ChatMessageResponse> missed = messageStore.findAfterSeq(roomId, afterSeq, MAX_SYNC_SIZE + 1);
+        boolean hasMore = missed.size() > MAX_SYNC_SIZE;
+        List<ChatMessageResponse> messages = missed.subList(0, Math.min(missed.size(), MAX_SYNC_SIZE));
+
+        return ChatMessageSyncResponse.builder()
+                .messages(messages)
+                .lastSeq(lastSeq)
+                .hasMore(hasMore)
+                .build();
+
+    }
+
+    // -------------------------------------------------------------------------
+    // 보조 메서드
+    // -------------------------------------------------------------------------
+
+    private void validateChatRoom(Long roomId) {
+        if (!chatRoomRepository.existsById(roomId)) {
+            throw new IllegalArgumentException("채팅방 ID를 찾을 수 없습니다: " + roomId);
+        }
+    }
+
+    private int normalizePageSize(int size) {
+        if (size <= 0) {
+            return DEFAULT_PAGE_SIZE;
+        }
+        return Math.min(size, MAX_PAGE_SIZE);
+    }
+
+    private ChatMessagePageResponse toPageResponse(List<ChatMessageResponse> page, boolean hasNext, Long cursor) {
+        return ChatMessagePageResponse.builder()
+                .messages(page)
+                .nextCursor(hasNext ? cursor : null)
+                .hasNext(hasNext)
+                .build();
     }
 
-}
\ No newline at end of file
+}
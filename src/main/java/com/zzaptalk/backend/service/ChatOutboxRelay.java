@@ -0,0 +1,306 @@
+package com.zzaptalk.backend.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.zzaptalk.backend.dto.ChatMessageResponse;
+import com.zzaptalk.backend.entity.ChatOutbox;
+import com.zzaptalk.backend.repository.ChatOutboxRepository;
+import com.zzaptalk.backend.util.SnowflakeIdGenerator;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+// -------------------------------------------------------------------------
+// 메시지 전송 릴레이 (transactional outbox)
+// 메시지 저장 트랜잭션에서 chat_outbox에 전송할 메시지를 함께 기록하고,
+// 전용 스레드가 커밋된 행을 묶음으로 읽어 채팅방 구독자에게 전송한 뒤 완료 처리
+// - 저장 후 전송 전에 서버가 죽어도 재기동 시 미전송 행부터 다시 전송 (at-least-once)
+//   -> 같은 메시지가 두 번 전송될 수 있으므로 클라이언트는 (roomId, seq)로 중복 제거
+// - 브로커 전송 지연이 STOMP inbound 스레드 / 저장 트랜잭션을 붙잡지 않음
+// - 같은 채팅방의 메시지는 seq 순으로 전송
+//
+// 행은 기록한 노드(chat.id.node-id)의 릴레이가 전송하고 (기존 전송 경로와 동일한 브로커 사용),
+// staleAfterMs가 지나도 전송되지 않은 행은 노드와 관계없이 어느 릴레이든 가져가 전송 (노드 장애 대비)
+// - 짧은 트랜잭션에서 FOR UPDATE SKIP LOCKED로 행을 골라 임대(leaseMs)를 기록하고 커밋
+// - 전송은 트랜잭션 밖에서 (브로커 지연이 DB 커넥션 / 행 잠금을 붙잡지 않음)
+// - 전송 후 별도 트랜잭션에서 완료 기록, 그 전에 죽으면 임대 만료 후 다른 릴레이가 다시 전송
+// 커밋 직후 릴레이를 깨우므로 평소에는 대기 없이 전송되고, pollIntervalMs는 놓친 행을 위한 주기
+// -------------------------------------------------------------------------
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ChatOutboxRelay {
+
+    private static final String INSERT_OUTBOX_SQL =
+            "INSERT INTO chat_outbox (id, node_id, room_id, seq, payload, created_at) VALUES (?, ?, ?, ?, ?, ?)";
+
+    // 보관 기간이 지난 행을 한 번에 삭제하는 최대 개수
+    private static final int PURGE_CHUNK_SIZE = 5000;
+
+    private final ChatOutboxRepository chatOutboxRepository;
+    private final ChatMessageBroadcaster chatMessageBroadcaster;
+    private final SnowflakeIdGenerator snowflakeIdGenerator;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectMapper objectMapper;
+
+    // false면 outbox를 사용하지 않고 저장 직후 바로 전송 (ChatMessageDispatcher)
+    @Value("${chat.outbox.enabled:true}")
+    private boolean enabled;
+
+    // 한 번에 전송하는 최대 행 수
+    @Value("${chat.outbox.batch-size:500}")
+    private int batchSize;
+
+    // 미전송 행 확인 주기(ms)
+    @Value("${chat.outbox.poll-interval-ms:1000}")
+    private long pollIntervalMs;
+
+    // 기록한 노드와 관계없이 전송 대상이 되는 미전송 경과 시간(ms)
+    @Value("${chat.outbox.stale-after-ms:30000}")
+    private long staleAfterMs;
+
+    // 가져간 행의 임대 시간(ms), 이 안에 완료를 기록하지 못하면 다른 릴레이가 다시 전송
+    @Value("${chat.outbox.lease-ms:30000}")
+    private long leaseMs;
+
+    // 전송 완료 행 보관 기간(ms)
+    @Value("${chat.outbox.retention-ms:3600000}")
+    private long retentionMs;
+
+    // 커밋 알림 (릴레이 스레드 깨우기)
+    private final Semaphore signal = new Semaphore(0);
+
+    private Thread relayThread;
+    private volatile boolean running;
+
+    // 마지막으로 오래된 행을 확인한 시각 (nanoTime, 확인 주기는 pollIntervalMs)
+    private long lastStaleScanAt;
+
+    @PostConstruct
+    public void start() {
+        if (!enabled) {
+            return;
+        }
+        running = true;
+        relayThread = new Thread(this::runLoop, "chat-outbox-relay");
+        relayThread.setDaemon(true);
+        relayThread.start();
+    }
+
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        if (relayThread == null) {
+            return;
+        }
+        // 진행 중인 묶음까지 전송한 뒤 종료 (남은 행은 재기동 후 전송)
+        running = false;
+        relayThread.interrupt();
+        relayThread.join(TimeUnit.SECONDS.toMillis(10));
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    // -------------------------------------------------------------------------
+    // 전송할 메시지 기록 (호출한 저장 트랜잭션에 참여, 커밋되면 릴레이를 깨움)
+    // -------------------------------------------------------------------------
+
+    public void append(ChatMessageResponse message) {
+        chatOutboxRepository.save(ChatOutbox.builder()
+                .nodeId(snowflakeIdGenerator.getNodeId())
+                .roomId(message.getRoomId())
+                .seq(message.getSeq())
+                .payload(toJson(message))
+                .createdAt(LocalDateTime.now())
+                .build());
+        wakeUpAfterCommit();
+    }
+
+    // 여러 메시지 기록 (ChatMessageBatchWriter, JDBC batch 한 번)
+    public void appendAll(List<ChatMessageResponse> messages) {
+        if (messages.isEmpty()) {
+            return;
+        }
+        long nodeId = snowflakeIdGenerator.getNodeId();
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+
+        List<Object[]> rows = new ArrayList<>(messages.size());
+        for (ChatMessageResponse message : messages) {
+            rows.add(new Object[]{
+                    snowflakeIdGenerator.nextId(),
+                    nodeId,
+                    message.getRoomId(),
+                    message.getSeq(),
+                    toJson(message),
+                    now
+            });
+        }
+        jdbcTemplate.batchUpdate(INSERT_OUTBOX_SQL, rows);
+        wakeUpAfterCommit();
+    }
+
+    // -------------------------------------------------------------------------
+    // 릴레이 루프
+    // -------------------------------------------------------------------------
+
+    private void runLoop() {
+        while (running) {
+            try {
+                // 커밋 알림 또는 확인 주기까지 대기, 쌓인 알림은 한 번에 소비
+                signal.tryAcquire(pollIntervalMs, TimeUnit.MILLISECONDS);
+                signal.drainPermits();
+            } catch (InterruptedException e) {
+                // 종료 요청: 한 번 더 전송을 시도한 뒤 종료
+                running = false;
+            }
+
+            try {
+                // 묶음이 가득 찼으면 밀린 행이 더 있으므로 바로 이어서 전송
+                while (relayBatch() == batchSize && running) {
+                    // 계속 전송
+                }
+            } catch (Exception e) {
+                log.error("outbox 전송 실패 (다음 주기에 재시도)", e);
+            }
+        }
+    }
+
+    // -------------------------------------------------------------------------
+    // 미전송 행 한 묶음 전송
+    // 1. 임대 (짧은 트랜잭션) -> 2. 전송 (트랜잭션 밖) -> 3. 완료 기록 (짧은 트랜잭션)
+    //
+    // @return 가져간 행 수
+    // -------------------------------------------------------------------------
+
+    private int relayBatch() {
+        long nodeId = snowflakeIdGenerator.getNodeId();
+
+        List<ChatOutbox> leased = transactionTemplate.execute(status -> {
+            LocalDateTime now = LocalDateTime.now();
+            List<ChatOutbox> rows = new ArrayList<>(chatOutboxRepository.findPending(nodeId, now, batchSize));
+
+            // 다른 노드가 전송하지 못한 오래된 행 (확인 주기마다)
+            boolean scanStale = System.nanoTime() - lastStaleScanAt >= TimeUnit.MILLISECONDS.toNanos(pollIntervalMs);
+            if (rows.size() < batchSize && scanStale) {
+                lastStaleScanAt = System.nanoTime();
+                LocalDateTime staleBefore = now.minusNanos(TimeUnit.MILLISECONDS.toNanos(staleAfterMs));
+                for (ChatOutbox row : chatOutboxRepository.findStale(staleBefore, now, batchSize - rows.size())) {
+                    if (rows.stream().noneMatch(existing -> existing.getId().equals(row.getId()))) {
+                        rows.add(row);
+                    }
+                }
+            }
+            if (!rows.isEmpty()) {
+                chatOutboxRepository.lease(rows.stream().map(ChatOutbox::getId).toList(), nodeId,
+                        now.plusNanos(TimeUnit.MILLISECONDS.toNanos(leaseMs)));
+            }
+            return rows;
+        });
+        if (leased == null || leased.isEmpty()) {
+            return 0;
+        }
+
+        // 채팅방별로 모아 seq 순으로 전송 (방 사이 순서는 기록 순서 유지)
+        Map<Long, List<ChatOutbox>> byRoom = new LinkedHashMap<>();
+        for (ChatOutbox row : leased) {
+            byRoom.computeIfAbsent(row.getRoomId(), k -> new ArrayList<>()).add(row);
+        }
+
+        List<Long> publishedIds = new ArrayList<>(leased.size());
+        try {
+            for (List<ChatOutbox> rows : byRoom.values()) {
+                rows.sort(Comparator.comparing(ChatOutbox::getSeq));
+                for (ChatOutbox row : rows) {
+                    ChatMessageResponse message = fromJson(row);
+                    // 읽을 수 없는 행은 전송하지 않고 완료 처리 (계속 재시도되는 것 방지)
+                    if (message != null) {
+                        chatMessageBroadcaster.broadcast(message, ChatMessageDispatcher.DeliveryMode.DURABLE);
+                    }
+                    publishedIds.add(row.getId());
+                }
+            }
+        } finally {
+            // 전송 도중 실패하면 전송한 행까지만 완료 처리, 나머지는 임대 만료 후 다시 전송 (at-least-once)
+            if (!publishedIds.isEmpty()) {
+                transactionTemplate.executeWithoutResult(status ->
+                        chatOutboxRepository.markPublished(publishedIds, nodeId, LocalDateTime.now()));
+            }
+        }
+        return leased.size();
+    }
+
+    // -------------------------------------------------------------------------
+    // 보관 기간이 지난 전송 완료 행 정리
+    // -------------------------------------------------------------------------
+
+    @Scheduled(fixedDelayString = "${chat.outbox.purge-interval-ms:60000}")
+    public void purge() {
+        if (!enabled) {
+            return;
+        }
+        LocalDateTime before = LocalDateTime.now().minusNanos(TimeUnit.MILLISECONDS.toNanos(retentionMs));
+
+        int deleted;
+        do {
+            deleted = transactionTemplate.execute(status ->
+                    chatOutboxRepository.deletePublishedBefore(before, PURGE_CHUNK_SIZE));
+        } while (deleted == PURGE_CHUNK_SIZE);
+    }
+
+    // -------------------------------------------------------------------------
+    // 보조 메서드
+    // -------------------------------------------------------------------------
+
+    private void wakeUpAfterCommit() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    signal.release();
+                }
+            });
+        } else {
+            signal.release();
+        }
+    }
+
+    private String toJson(ChatMessageResponse message) {
+        try {
+            return objectMapper.writeValueAsString(message);
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("메시지를 직렬화할 수 없습니다: " + message.getMessageId(), e);
+        }
+    }
+
+    private ChatMessageResponse fromJson(ChatOutbox row) {
+        try {
+            return objectMapper.readValue(row.getPayload(), ChatMessageResponse.class);
+        } catch (JsonProcessingException e) {
+            log.error("outbox 메시지를 읽을 수 없습니다: outboxId={}, roomId={}, seq={}",
+                    row.getId(), row.getRoomId(), row.getSeq(), e);
+            return null;
+        }
+    }
+
+}
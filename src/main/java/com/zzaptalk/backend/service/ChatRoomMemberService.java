@@ -0,0 +1,264 @@
+package com.zzaptalk.backend.service;
+
+import com.zzaptalk.backend.dto.RoomMemberChangeResponse;
+import com.zzaptalk.backend.entity.ChatRoom;
+import com.zzaptalk.backend.entity.ChatRoomType;
+import com.zzaptalk.backend.entity.ChatRoomUser;
+import com.zzaptalk.backend.entity.MessageType;
+import com.zzaptalk.backend.repository.ChatRoomRepository;
+import com.zzaptalk.backend.repository.ChatRoomUserRepository;
+import com.zzaptalk.backend.repository.UserRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+// -------------------------------------------------------------------------
+// 그룹 채팅방 참여자 일괄 초대 / 내보내기
+// 수천 명 단위 요청을 처리하도록
+// - 중복 제거는 Set으로, 존재/참여 여부 확인은 IN 조회 한 번씩
+// - 추가는 batch INSERT, 삭제는 DELETE 한 문장
+// - 변경 내용을 요약한 입장(ENTER)/퇴장(LEAVE) 메시지 한 건만 전송 (커밋 이후)
+// 초대는 참여자 누구나, 내보내기는 방장만 (자기 자신만 포함하면 누구나 나가기)
+// 방장이 나가면 남은 참여자 중 가장 먼저 참여한 사용자가 방장이 됨
+// -------------------------------------------------------------------------
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ChatRoomMemberService {
+
+    // 한 번에 처리할 수 있는 최대 사용자 수
+    private static final int MAX_USERS_PER_REQUEST = 10000;
+    // 요약 메시지에 이름을 표시할 최대 사용자 수
+    private static final int SUMMARY_NAME_COUNT = 3;
+
+    private final ChatRoomRepository chatRoomRepository;
+    private final ChatRoomUserRepository chatRoomUserRepository;
+    private final UserRepository userRepository;
+    private final ChatInboxService chatInboxService;
+    private final SenderProfileCache senderProfileCache;
+    private final ChatMessageDispatcher chatMessageDispatcher;
+    private final TransactionTemplate transactionTemplate;
+
+    // -------------------------------------------------------------------------
+    // 참여자 일괄 초대
+    //
+    // @param roomId 그룹 채팅방 ID
+    // @param requesterId 초대하는 사용자 ID (채팅방 참여자여야 함)
+    // @param userIds 초대할 사용자 ID 목록
+    // @return 처리 결과
+    // -------------------------------------------------------------------------
+
+    public RoomMemberChangeResponse inviteMembers(Long roomId, Long requesterId, List<Long> userIds) {
+
+        Set<Long> requested = normalize(userIds);
+
+        List<Long> added = transactionTemplate.execute(status -> addMembers(roomId, requesterId, requested));
+
+        if (!added.isEmpty()) {
+            publishSummary(roomId, requesterId, MessageType.ENTER,
+                    String.format("%s님이 %s을 초대했습니다.", nicknameOf(requesterId), summarizeNames(added)));
+        }
+
+        return RoomMemberChangeResponse.builder()
+                .roomId(roomId)
+                .requestedCount(requested.size())
+                .changedCount(added.size())
+                .skippedCount(requested.size() - added.size())
+                .build();
+    }
+
+    // -------------------------------------------------------------------------
+    // 참여자 일괄 내보내기 (자기 자신만 포함하면 나가기)
+    //
+    // @param roomId 그룹 채팅방 ID
+    // @param requesterId 요청한 사용자 ID (다른 참여자를 포함하면 방장이어야 함)
+    // @param userIds 내보낼 사용자 ID 목록
+    // @return 처리 결과
+    // -------------------------------------------------------------------------
+
+    public RoomMemberChangeResponse removeMembers(Long roomId, Long requesterId, List<Long> userIds) {
+
+        Set<Long> requested = normalize(userIds);
+
+        // 요약 메시지 발신자 이름은 삭제 전에 확보 (본인이 나가는 경우 포함)
+        String requesterName = nicknameOf(requesterId);
+
+        List<Long> removed = transactionTemplate.execute(status -> deleteMembers(roomId, requesterId, requested));
+
+        if (!removed.isEmpty()) {
+            String content = removed.size() == 1 && removed.get(0).equals(requesterId)
+                    ? String.format("%s님이 나갔습니다.", requesterName)
+                    : String.format("%s님이 %s을 내보냈습니다.", requesterName, summarizeNames(removed));
+            publishSummary(roomId, requesterId, MessageType.LEAVE, content);
+        }
+
+        return RoomMemberChangeResponse.builder()
+                .roomId(roomId)
+                .requestedCount(requested.size())
+                .changedCount(removed.size())
+                .skippedCount(requested.size() - removed.size())
+                .build();
+    }
+
+    // -------------------------------------------------------------------------
+    // 트랜잭션 본문
+    // -------------------------------------------------------------------------
+
+    private List<Long> addMembers(Long roomId, Long requesterId, Set<Long> requested) {
+
+        ChatRoom chatRoom = validateGroupMember(roomId, requesterId);
+
+        // 1. 존재하지 않는 사용자 확인 (IN 조회 한 번)
+        List<Long> existingIds = userRepository.findExistingIds(requested);
+        if (existingIds.size() != requested.size()) {
+            throw new IllegalArgumentException("초대 목록에 존재하지 않는 사용자 ID가 포함되어 있습니다.");
+        }
+
+        // 2. 이미 참여 중인 사용자 제외 (IN 조회 한 번)
+        Set<Long> alreadyJoined = new HashSet<>(chatRoomUserRepository.findMemberUserIds(roomId, requested));
+        List<Long> toAdd = requested.stream()
+                .filter(userId -> !alreadyJoined.contains(userId))
+                .collect(Collectors.toList());
+        if (toAdd.isEmpty()) {
+            return toAdd;
+        }
+
+        // 3. batch INSERT (User는 조회하지 않고 외래 키 참조만 사용)
+        //    초대 시점까지의 메시지는 읽은 것으로 처리
+        List<ChatRoomUser> roomUsers = new ArrayList<>(toAdd.size());
+        for (Long userId : toAdd) {
+            roomUsers.add(ChatRoomUser.builder()
+                    .chatRoom(chatRoom)
+                    .user(userRepository.getReferenceById(userId))
+                    .lastReadSeq(chatRoom.getLastSeq())
+                    .build());
+        }
+        chatRoomUserRepository.saveAll(roomUsers);
+
+        // 4. 참여자 채팅방 목록(읽기 모델) 반영
+        chatInboxService.syncRoomMembers(chatRoom);
+
+        return toAdd;
+    }
+
+    private List<Long> deleteMembers(Long roomId, Long requesterId, Set<Long> requested) {
+
+        ChatRoom chatRoom = validateGroupMember(roomId, requesterId);
+
+        // 자기 자신이 아닌 참여자를 내보내는 것은 방장만 가능
+        boolean leavingOnly = requested.size() == 1 && requested.contains(requesterId);
+        if (!leavingOnly && !requesterId.equals(resolveOwnerId(chatRoom))) {
+            throw new IllegalArgumentException("방장만 다른 참여자를 내보낼 수 있습니다.");
+        }
+
+        // 1. 실제 참여 중인 사용자만 대상 (IN 조회 한 번)
+        Set<Long> joined = new HashSet<>(chatRoomUserRepository.findMemberUserIds(roomId, requested));
+        List<Long> toRemove = requested.stream()
+                .filter(joined::contains)
+                .collect(Collectors.toList());
+        if (toRemove.isEmpty()) {
+            return toRemove;
+        }
+
+        // 2. DELETE 한 문장
+        chatRoomUserRepository.deleteMembers(roomId, toRemove);
+
+        // 방장이 나갔으면 남은 참여자 중 가장 먼저 참여한 사용자에게 승계 (남은 참여자가 없으면 null)
+        if (toRemove.contains(chatRoom.getOwnerId())) {
+            chatRoom.setOwnerId(findFirstMemberUserId(roomId));
+        }
+
+        // 3. 참여자 채팅방 목록(읽기 모델) 반영
+        chatInboxService.removeRoomMembers(chatRoom, toRemove);
+
+        return toRemove;
+    }
+
+    // -------------------------------------------------------------------------
+    // 보조 메서드
+    // -------------------------------------------------------------------------
+
+    // 그룹 채팅방이고 요청자가 참여 중인지 확인
+    private ChatRoom validateGroupMember(Long roomId, Long requesterId) {
+        ChatRoom chatRoom = chatRoomRepository.findById(roomId)
+                .orElseThrow(() -> new IllegalArgumentException("채팅방 ID를 찾을 수 없습니다: " + roomId));
+
+        if (chatRoom.getType() != ChatRoomType.GROUP) {
+            throw new IllegalArgumentException("그룹 채팅방에서만 참여자를 변경할 수 있습니다.");
+        }
+        if (!chatRoomUserRepository.existsMember(roomId, requesterId)) {
+            throw new IllegalArgumentException("채팅방 참여자만 참여자를 변경할 수 있습니다.");
+        }
+        return chatRoom;
+    }
+
+    // 방장 ID (방장 컬럼 도입 이전의 채팅방은 가장 먼저 참여한 사용자를 방장으로 지정)
+    private Long resolveOwnerId(ChatRoom chatRoom) {
+        if (chatRoom.getOwnerId() == null) {
+            chatRoom.setOwnerId(findFirstMemberUserId(chatRoom.getId()));
+        }
+        return chatRoom.getOwnerId();
+    }
+
+    private Long findFirstMemberUserId(Long roomId) {
+        List<Long> userIds = chatRoomUserRepository.findFirstMemberUserIds(roomId, PageRequest.of(0, 1));
+        return userIds.isEmpty() ? null : userIds.get(0);
+    }
+
+    // null 제거 + 순서를 유지한 중복 제거
+    private Set<Long> normalize(List<Long> userIds) {
+        if (userIds == null || userIds.isEmpty()) {
+            throw new IllegalArgumentException("사용자 ID 목록이 비어 있습니다.");
+        }
+        Set<Long> normalized = userIds.stream()
+                .filter(Objects::nonNull)
+                .collect(Collectors.toCollection(LinkedHashSet::new));
+        if (normalized.isEmpty()) {
+            throw new IllegalArgumentException("사용자 ID 목록이 비어 있습니다.");
+        }
+        if (normalized.size() > MAX_USERS_PER_REQUEST) {
+            throw new IllegalArgumentException("한 번에 최대 " + MAX_USERS_PER_REQUEST + "명까지 처리할 수 있습니다.");
+        }
+        return normalized;
+    }
+
+    // "A님, B님, C님 외 N명" 형태의 이름 요약 (앞의 몇 명만 조회)
+    private String summarizeNames(List<Long> userIds) {
+        String names = userIds.stream()
+                .limit(SUMMARY_NAME_COUNT)
+                .map(userId -> nicknameOf(userId) + "님")
+                .collect(Collectors.joining(", "));
+        int others = userIds.size() - SUMMARY_NAME_COUNT;
+        return others > 0 ? names + " 외 " + others + "명" : names;
+    }
+
+    private String nicknameOf(Long userId) {
+        return senderProfileCache.get(userId).nickname();
+    }
+
+    // 요약 메시지 저장 및 전송 (참여자 변경이 커밋된 이후)
+    // 알림 메시지 실패로 이미 커밋된 참여자 변경 요청이 실패하지 않도록 로그만 남김
+    private void publishSummary(Long roomId, Long requesterId, MessageType type, String content) {
+        try {
+            chatMessageDispatcher.dispatch(roomId, senderProfileCache.get(requesterId), content, type)
+                    .exceptionally(e -> {
+                        log.error("참여자 변경 알림 메시지 전송 실패: roomId={}, type={}", roomId, type, e);
+                        return null;
+                    });
+        } catch (RuntimeException e) {
+            log.error("참여자 변경 알림 메시지 전송 실패: roomId={}, type={}", roomId, type, e);
+        }
+    }
+
+}
@@ -11,13 +11,23 @@ import com.zzaptalk.backend.repository.ChatRoomRepository;
 import com.zzaptalk.backend.repository.ChatRoomUserRepository;
 import com.zzaptalk.backend.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
 
+@Slf4j
 @Service
 @RequiredArgsConstructor
 public class ChatRoomService {
@@ -25,42 +35,101 @@ public class ChatRoomService {
     private final ChatRoomRepository chatRoomRepository;
     private final ChatRoomUserRepository chatRoomUserRepository;
     private final UserRepository userRepository;
+    private final ChatInboxService chatInboxService;
+    private final SingleRoomPairCache singleRoomPairCache;
+    private final PlatformTransactionManager transactionManager;
 
     // -------------------------------------------------------------------------
     // 1:1 채팅방 생성 또는 조회
     // (사용자가 친구 목록에서 한 명을 선택하고 채팅방 진입을 시도할 때)
     // 이미 1:1 채팅방이 존재하면 그 방을 반환하고, 없으면 새로 생성하여 상대방 닉네임으로 방 이름 설정
     //
+    // 두 사용자 ID를 (작은 ID, 큰 ID) 조합 키로 정규화하여 조회하고 (캐시 -> 유니크 인덱스),
+    // 생성은 insert-or-get으로 처리: 동시에 생성하면 유니크 제약에 걸린 쪽이 먼저 만든 방을 다시 조회
+    // (조회 시점의 스냅샷에 갇히지 않도록 메서드 전체를 하나의 트랜잭션으로 묶지 않음)
+    //
     // @param userA 현재 로그인된 사용자
     // @param userB 상대방 사용자
     // @return 생성되거나 조회된 ChatRoom 엔티티
     // -------------------------------------------------------------------------
 
-    @Transactional
     public ChatRoomCreationResult findOrCreateSingleChatRoom(User userA, User userB) {
 
+        Long minUserId = Math.min(userA.getId(), userB.getId());
+        Long maxUserId = Math.max(userA.getId(), userB.getId());
+
         // 1. 기존 방을 찾을 경우
-        return chatRoomUserRepository.findSingleChatRoomBetweenUsers(userA.getId(), userB.getId())
-                .map(chatRoom -> new ChatRoomCreationResult(chatRoom, false))
-                .orElseGet(() -> {
-                    // 2. 방이 없을 경우: 새로 생성
-                    ChatRoom newRoom = createSingleChatRoom(userA, userB);
-                    return new ChatRoomCreationResult(newRoom, true);
-                });
+        Optional<ChatRoom> existing = findSingleChatRoom(minUserId, maxUserId);
+        if (existing.isPresent()) {
+            return new ChatRoomCreationResult(existing.get(), false);
+        }
+
+        // 2. 방이 없을 경우: 새로 생성 (별도 트랜잭션)
+        try {
+            ChatRoom newRoom = newTransaction().execute(status -> createSingleChatRoom(userA, userB, minUserId, maxUserId));
+            singleRoomPairCache.put(minUserId, maxUserId, newRoom.getId());
+            return new ChatRoomCreationResult(newRoom, true);
+        } catch (DataIntegrityViolationException e) {
+            // 3. 다른 요청이 먼저 생성한 경우: 커밋된 방을 조회
+            ChatRoom chatRoom = chatRoomRepository.findByPairMinUserIdAndPairMaxUserId(minUserId, maxUserId)
+                    .orElseThrow(() -> e);
+            singleRoomPairCache.put(minUserId, maxUserId, chatRoom.getId());
+            return new ChatRoomCreationResult(chatRoom, false);
+        }
+    }
+
+    // -------------------------------------------------------------------------
+    // 1:1 채팅방 조회 (캐시 -> 조합 키 -> 조합 키 도입 이전 방)
+    // -------------------------------------------------------------------------
+
+    private Optional<ChatRoom> findSingleChatRoom(Long minUserId, Long maxUserId) {
+
+        Optional<Long> cachedRoomId = singleRoomPairCache.get(minUserId, maxUserId);
+        if (cachedRoomId.isPresent()) {
+            return chatRoomRepository.findById(cachedRoomId.get());
+        }
+
+        Optional<ChatRoom> chatRoom = chatRoomRepository.findByPairMinUserIdAndPairMaxUserId(minUserId, maxUserId);
+        if (chatRoom.isEmpty()) {
+            // 조합 키 도입 이전에 만들어진 방: 참여자 조인으로 찾은 뒤 조합 키 지정
+            chatRoom = chatRoomUserRepository.findSingleChatRoomBetweenUsers(minUserId, maxUserId);
+            chatRoom.ifPresent(room -> assignPairKey(room, minUserId, maxUserId));
+        }
+
+        chatRoom.ifPresent(room -> singleRoomPairCache.put(minUserId, maxUserId, room.getId()));
+        return chatRoom;
+    }
+
+    private void assignPairKey(ChatRoom chatRoom, Long minUserId, Long maxUserId) {
+        try {
+            newTransaction().executeWithoutResult(status ->
+                    chatRoomRepository.assignPairKey(chatRoom.getId(), minUserId, maxUserId));
+        } catch (DataIntegrityViolationException e) {
+            // 같은 조합의 중복 방이 이미 키를 가진 경우: 기존 방을 그대로 사용
+            log.warn("1:1 채팅방 조합 키 중복: roomId={}, users=({}, {})", chatRoom.getId(), minUserId, maxUserId);
+        }
+    }
+
+    private TransactionTemplate newTransaction() {
+        TransactionTemplate template = new TransactionTemplate(transactionManager);
+        template.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        return template;
     }
 
     // -------------------------------------------------------------------------
     // 1:1 채팅방 생성
     // -------------------------------------------------------------------------
 
-    private ChatRoom createSingleChatRoom(User userA, User userB) {
+    private ChatRoom createSingleChatRoom(User userA, User userB, Long minUserId, Long maxUserId) {
         LocalDateTime now = LocalDateTime.now();
 
-        // ChatRoom 엔티티 생성
+        // ChatRoom 엔티티 생성 (조합 키가 이미 있으면 유니크 제약 위반)
         ChatRoom chatRoom = ChatRoom.builder()
                 .type(ChatRoomType.SINGLE)
                 .name(null)
                 .createdAt(now)
+                .pairMinUserId(minUserId)
+                .pairMaxUserId(maxUserId)
                 .build();
         chatRoom = chatRoomRepository.save(chatRoom);
 
@@ -68,40 +137,23 @@ public class ChatRoomService {
         // 두 사용자를 ChatRoomUser 테이블에 추가
         // -------------------------------------------------------------------------
 
-        // 사용자 A (나) 추가
+        // 사용자 A (나), 사용자 B (상대방) 추가 (한 번의 batch INSERT)
         ChatRoomUser roomUserA = ChatRoomUser.builder()
                 .chatRoom(chatRoom)
                 .user(userA)
-                .unreadCount(0)
+                .lastReadSeq(0)
                 .build();
-        chatRoomUserRepository.save(roomUserA);
-
-        // 사용자 B (상대방) 추가
         ChatRoomUser roomUserB = ChatRoomUser.builder()
                 .chatRoom(chatRoom)
                 .user(userB)
-                .unreadCount(0)
+                .lastReadSeq(0)
                 .build();
-        chatRoomUserRepository.save(roomUserB);
+        chatRoomUserRepository.saveAll(List.of(roomUserA, roomUserB));
 
-        return chatRoom;
-    }
-
-    // -------------------------------------------------------------------------
-    // 사용자가 현재 참여 중인 모든 채팅방 목록 조회
-    // (사용자가 앱을 열고 채팅 탭을 볼 때)
-    //
-    // 현재 로그인된 사용자가 참여하고 있는 모든 ChatRoomUser 레코드 조회
-    // -> 이를 통해 사용자에게 채팅방 목록(ChatRoom)과 각 방의 안 읽은 메시지 수(unreadCount) 제공
-    //
-    // @param user 현재 로그인된 사용자 엔티티
-    // @return 해당 사용자가 참여하고 있는 모든 ChatRoomUser 목록
-    // -------------------------------------------------------------------------
+        // 두 사용자의 채팅방 목록(읽기 모델)에 추가
+        chatInboxService.syncRoomMembers(chatRoom);
 
-    @Transactional(readOnly = true)
-    public List<ChatRoomUser> findAllUserChatRooms(User user) {
-        // ChatRoomUserRepository에 정의된 쿼리 사용
-        return chatRoomUserRepository.findAllByUser(user);
+        return chatRoom;
     }
 
     // -------------------------------------------------------------------------
@@ -117,21 +169,20 @@ public class ChatRoomService {
     @Transactional
     public ChatRoomResponse createGroupRoom(User creatorUser, GroupChatRoomRequest request) {
 
-        List<Long> requestedUserIds = request.getInvitedUserIds();
+        // 중복 제거 (방장이 초대 목록에 포함되어 있을 경우도 제외)
+        Set<Long> requestedUserIds = new LinkedHashSet<>(request.getInvitedUserIds());
+        requestedUserIds.remove(creatorUser.getId());
 
         // ChatRoom 엔티티 생성
         ChatRoom chatRoom = ChatRoom.builder()
                 .type(ChatRoomType.GROUP)
                 .name(request.getRoomName())
+                .ownerId(creatorUser.getId())
                 .createdAt(LocalDateTime.now())
                 .build();
         chatRoom = chatRoomRepository.save(chatRoom);
 
-        // 참여자 목록: 방장 + 초대된 사용자들
-        List<User> allParticipants = new ArrayList<>();
-        allParticipants.add(creatorUser);
-
-        // 초대된 사용자 ID 목록(DTO)을 이용해 DB에서 User 엔티티 조회 및 추가
+        // 초대된 사용자 ID 목록(DTO)을 이용해 DB에서 User 엔티티 조회
         List<User> invitedUsers = userRepository.findAllById(requestedUserIds);
 
         // 유효성 검사
@@ -140,26 +191,28 @@ public class ChatRoomService {
             throw new IllegalArgumentException("초대 목록에 존재하지 않는 사용자 ID가 포함되어 있습니다.");
         }
 
-        for (User user : invitedUsers) {
-            // 방장이 초대 목록에 포함되어 있을 경우를 대비해 중복 체크(방어코드)
-            if (!allParticipants.contains(user)) {
-                allParticipants.add(user);
-            }
-        }
+        // 참여자 목록: 방장 + 초대된 사용자들
+        List<User> allParticipants = new ArrayList<>(invitedUsers.size() + 1);
+        allParticipants.add(creatorUser);
+        allParticipants.addAll(invitedUsers);
 
-        // 모든 참여자를 ChatRoomUser 테이블에 등록
+        // 모든 참여자를 ChatRoomUser 테이블에 등록 (ID를 미리 발급하므로 JDBC batch INSERT)
+        List<ChatRoomUser> roomUsers = new ArrayList<>();
         for (User user : allParticipants) {
-            ChatRoomUser roomUser = ChatRoomUser.builder()
+            roomUsers.add(ChatRoomUser.builder()
                     .chatRoom(chatRoom)
                     .user(user)
-                    .unreadCount(0)
-                    .build();
-            chatRoomUserRepository.save(roomUser);
+                    .lastReadSeq(0)
+                    .build());
         }
+        chatRoomUserRepository.saveAll(roomUsers);
+
+        // 모든 참여자의 채팅방 목록(읽기 모델)에 추가
+        chatInboxService.syncRoomMembers(chatRoom);
 
         List<String> memberNicknames = allParticipants.stream()
                 .map(User::getNickname)
-                .collect(java.util.stream.Collectors.toList());
+                .collect(Collectors.toList());
 
         return ChatRoomResponse.builder()
                 .roomId(chatRoom.getId())
@@ -173,75 +226,4 @@ public class ChatRoomService {
 
     }
 
-    // -------------------------------------------------------------------------
-    // 사용자가 현재 참여 중인 모든 채팅방 목록 조회(Controller에서 사용)
-    //
-    // @param currentUserId 현재 로그인된 사용자 ID
-    // @return ChatRoomResponse 목록
-    // -------------------------------------------------------------------------
-
-    @Transactional(readOnly = true)
-    public List<ChatRoomResponse> getChatRoomsByUserId(Long currentUserId) {
-
-        // 1. 현재 로그인된 사용자 엔티티 조회
-        User currentUser = userRepository.findById(currentUserId)
-                .orElseThrow(() -> new IllegalArgumentException("사용자 ID를 찾을 수 없습니다: " + currentUserId));
-
-        // 2. 해당 사용자가 참여하고 있는 모든 ChatRoomUser 레코드 조회
-        // (ChatRoom, User 정보 함께 로딩)
-        List<ChatRoomUser> roomUsers = chatRoomUserRepository.findAllByUserWithChatRoomAndUser(currentUser);
-
-        // 3. ChatRoomUser 목록을 ChatRoomResponse DTO 목록으로 변환
-        return roomUsers.stream()
-                .map(roomUser -> {
-                    ChatRoom chatRoom = roomUser.getChatRoom();
-                    List<String> memberNicknames = getMemberNicknames(chatRoom.getId());
-
-                    return ChatRoomResponse.builder()
-                            .roomId(chatRoom.getId())
-                            // 1:1 채팅방의 경우 상대방 닉네임으로 방 이름을 표시
-                            .roomName(getDisplayRoomName(chatRoom, memberNicknames, currentUser.getNickname()))
-                            .memberNicknames(memberNicknames)
-                            .unreadCount(roomUser.getUnreadCount())
-                            .lastMessageTime(chatRoom.getLastMessageTime())
-                            .lastMessageContent(chatRoom.getLastMessageContent())
-                            .build();
-                })
-                .collect(java.util.stream.Collectors.toList());
-    }
-
-    // -------------------------------------------------------------------------
-    // 채팅방 멤버 닉네임 목록 조회
-    // -------------------------------------------------------------------------
-
-    private List<String> getMemberNicknames(Long roomId) {
-        List<ChatRoomUser> roomUsers = chatRoomUserRepository.findAllByChatRoomIdWithUser(roomId);
-        return roomUsers.stream()
-                .map(roomUser -> roomUser.getUser().getNickname())
-                .collect(java.util.stream.Collectors.toList());
-    }
-
-    // -------------------------------------------------------------------------
-    // 보조 메서드: 1:1 채팅방 이름 처리 (상대방 닉네임 반환)
-    // -------------------------------------------------------------------------
-
-    private String getDisplayRoomName(ChatRoom chatRoom, List<String> memberNicknames, String currentNickname) {
-
-        // 그룹 채팅방은 DB에 저장된 이름 사용
-        if (chatRoom.getType() == ChatRoomType.GROUP) {
-            return chatRoom.getName();
-        }
-
-        // 1:1 채팅방 (SINGLE)은 이름이 null이므로, 상대방의 닉네임을 방 이름으로 사용
-        if (chatRoom.getType() == ChatRoomType.SINGLE) {
-            return memberNicknames.stream()
-                    .filter(nickname -> !nickname.equals(currentNickname))
-                    .findFirst()
-                    .orElse("알 수 없는 사용자");
-        }
-
-        return chatRoom.getName();
-
-    }
-
-}
\ No newline at end of file
+}
@@ -28,6 +28,7 @@ public class FriendGroupService {
     private final FriendGroupRepository friendGroupRepository;
     private final FriendGroupMappingRepository friendGroupMappingRepository;
     private final FriendshipRepository friendshipRepository;
+    private final FriendSearchIndex friendSearchIndex;
 
     // ============================
     // 8. 그룹 생성 메서드 추가
@@ -92,6 +93,7 @@ public class FriendGroupService {
                 .build();
 
         friendGroupMappingRepository.save(mapping);
+        friendSearchIndex.evict(currentUserId);
     }
 
     // ===========
@@ -119,6 +121,7 @@ public class FriendGroupService {
 
         // 3. 삭제 실행
         friendGroupMappingRepository.deleteByFriendshipIdAndFriendGroupId(friendshipId, groupId);
+        friendSearchIndex.evict(currentUserId);
     }
 
     // ===========
@@ -156,5 +159,6 @@ public class FriendGroupService {
 
         // 3. 그룹 삭제 (FriendGroupMapping은 CASCADE로 자동 삭제)
         friendGroupRepository.delete(group);
+        friendSearchIndex.evict(userId);
     }
 }
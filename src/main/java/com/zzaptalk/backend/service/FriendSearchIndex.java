@@ -0,0 +1,395 @@
+package com.zzaptalk.backend.service;
+
+import com.zzaptalk.backend.dto.FriendSummaryDto;
+import com.zzaptalk.backend.entity.Friendship;
+import com.zzaptalk.backend.entity.User;
+import com.zzaptalk.backend.event.UserProfileChangedEvent;
+import com.zzaptalk.backend.repository.FriendshipRepository;
+import com.zzaptalk.backend.repository.UserRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+
+// -------------------------------------------------------------------------
+// 친구 검색 색인 (사용자별 친구 목록을 메모리에 보관)
+// 검색창에 입력할 때마다 친구 관계 + User 엔티티를 LIKE로 조회하지 않도록
+// 친구의 닉네임/이름과 응답(FriendSummaryDto)을 사용자별로 보관하고 메모리에서 검색
+// - 부분 문자열 검색 + 초성 검색 ("ㄱㅁㅅ", "김ㅁ" -> "김민수")
+//   입력 중인 마지막 글자는 받침 없이도 일치 ("김미" -> "김민수")
+// - 정렬: 닉네임 일치 > 닉네임 앞부분 일치 > 이름 앞부분 일치 > 닉네임 중간 일치 > 이름 중간 일치
+// - 친구 목록 조회 / 첫 검색 시 한 번 채우고, 친구 추가·삭제·설정 변경은 커밋 이후 반영
+//   (그룹 변경은 해당 사용자 색인을 비우고 다음 검색 시 다시 채움)
+//   채우는 동안(친구 목록 조회 중) 들어온 변경은 색인에 모아 두었다가 조회 결과를 넣은 뒤 순서대로 다시 적용
+//   -> 조회 시점 이후의 변경이 빠지지 않음 (조회에 이미 포함된 변경은 다시 적용해도 결과가 같음)
+// - 친구의 프로필 변경 이벤트(UserProfileChangedEvent) 수신 시 해당 친구 항목 갱신
+// - 오래 검색하지 않은 사용자와 최대 사용자 수를 넘는 사용자는 제거
+// -------------------------------------------------------------------------
+
+@Component
+@RequiredArgsConstructor
+public class FriendSearchIndex {
+
+    // 초성 (한글 음절 순서)
+    private static final String CHOSUNG = "ㄱㄲㄴㄷㄸㄹㅁㅂㅃㅅㅆㅇㅈㅉㅊㅋㅌㅍㅎ";
+    private static final char HANGUL_BASE = '가';
+    private static final char HANGUL_LAST = '힣';
+    // 초성 하나당 음절 수 (중성 21 x 종성 28), 종성 수
+    private static final int CHOSUNG_SPAN = 21 * 28;
+    private static final int JONGSUNG_COUNT = 28;
+
+    private final FriendshipRepository friendshipRepository;
+    private final UserRepository userRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${friend.search-index.enabled:true}")
+    private boolean enabled;
+
+    // 최대 보관 사용자 수
+    @Value("${friend.search-index.max-users:10000}")
+    private int maxUsers;
+
+    // 마지막 검색 후 이 시간이 지나면 제거(ms)
+    @Value("${friend.search-index.idle-timeout-ms:1800000}")
+    private long idleTimeoutMs;
+
+    private final ReentrantLock lock = new ReentrantLock();
+
+    // 접근 순서 기준 LinkedHashMap (가장 오래 사용되지 않은 사용자부터 제거)
+    private final LinkedHashMap<Long, UserIndex> indexes = new LinkedHashMap<>(1024, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Long, UserIndex> eldest) {
+            return size() > maxUsers;
+        }
+    };
+
+    // -------------------------------------------------------------------------
+    // 친구 검색 (닉네임 또는 이름)
+    // 색인이 없으면 친구 목록을 한 번 조회해 채운 뒤 검색
+    //
+    // @param owner 검색하는 사용자
+    // @param query 검색어 (빈 검색어는 전체 친구)
+    // @return 검색 결과 (일치 정도 순, 같으면 닉네임 순)
+    // -------------------------------------------------------------------------
+
+    public List<FriendSummaryDto> search(User owner, String query) {
+        if (!enabled) {
+            return transactionTemplate.execute(status ->
+                    friendshipRepository.findByUserAndFriendNicknameContaining(owner, query).stream()
+                            .map(FriendSummaryDto::from)
+                            .toList());
+        }
+
+        UserIndex index = get(owner.getId());
+        if (index == null || index.isLoading()) {
+            UserIndex loading = beginLoad(owner.getId());
+            loading.fill(transactionTemplate.execute(status -> friendshipRepository.findByUserWithFetchJoin(owner)));
+            index = loading;
+        }
+        index.lastAccess = System.currentTimeMillis();
+
+        char[] normalized = normalize(query).toCharArray();
+        List<Match> matches = new ArrayList<>();
+        for (FriendEntry entry : index.entries.values()) {
+            Match match = match(entry, normalized);
+            if (match != null) {
+                matches.add(match);
+            }
+        }
+        matches.sort(Comparator.comparingInt(Match::rank)
+                .thenComparingInt(Match::position)
+                .thenComparing(match -> match.entry().summary().getNickname()));
+
+        return matches.stream().map(match -> match.entry().summary()).toList();
+    }
+
+    // -------------------------------------------------------------------------
+    // 색인 채우기 / 갱신
+    // -------------------------------------------------------------------------
+
+    // 친구 목록 조회 전 호출 -> 채우는 중인 색인을 등록해 이후 변경을 모아 둠
+    // 반환된 토큰으로 조회한 친구 목록을 fill (친구 목록 조회 시 함께 호출, 친구와 그룹이 로딩된 상태)
+    public UserIndex beginFill(Long ownerId) {
+        return enabled ? beginLoad(ownerId) : null;
+    }
+
+    public void fill(UserIndex index, List<Friendship> friendships) {
+        if (index != null) {
+            index.fill(friendships);
+        }
+    }
+
+    private UserIndex beginLoad(Long ownerId) {
+        UserIndex index = new UserIndex();
+        lock.lock();
+        try {
+            indexes.put(ownerId, index);
+        } finally {
+            lock.unlock();
+        }
+        return index;
+    }
+
+    // 친구 추가 / 설정 변경 (호출한 트랜잭션이 커밋되면 반영)
+    public void upsert(Long ownerId, Friendship friendship) {
+        if (!enabled) {
+            return;
+        }
+        FriendEntry entry = FriendEntry.of(friendship);
+        afterCommit(() -> {
+            UserIndex index = get(ownerId);
+            if (index != null) {
+                index.apply(entries -> entries.put(entry.summary().getUserId(), entry));
+            }
+        });
+    }
+
+    // 친구 삭제 (커밋 이후 반영)
+    public void remove(Long ownerId, Long friendUserId) {
+        if (!enabled) {
+            return;
+        }
+        afterCommit(() -> {
+            UserIndex index = get(ownerId);
+            if (index != null) {
+                index.apply(entries -> entries.remove(friendUserId));
+            }
+        });
+    }
+
+    // 사용자 색인 비우기 (그룹 변경 등, 커밋 이후 반영 -> 다음 검색 시 다시 채움)
+    public void evict(Long ownerId) {
+        if (!enabled) {
+            return;
+        }
+        afterCommit(() -> {
+            lock.lock();
+            try {
+                indexes.remove(ownerId);
+            } finally {
+                lock.unlock();
+            }
+        });
+    }
+
+    // 친구의 닉네임/프로필이 바뀌면 그 사용자를 친구로 둔 색인의 항목 갱신
+    @EventListener
+    public void onUserProfileChanged(UserProfileChangedEvent event) {
+        if (!enabled) {
+            return;
+        }
+        List<UserIndex> affected = new ArrayList<>();
+        lock.lock();
+        try {
+            for (UserIndex index : indexes.values()) {
+                if (index.isLoading() || index.entries.containsKey(event.userId())) {
+                    affected.add(index);
+                }
+            }
+        } finally {
+            lock.unlock();
+        }
+        if (affected.isEmpty()) {
+            return;
+        }
+
+        User friend = userRepository.findById(event.userId()).orElse(null);
+        for (UserIndex index : affected) {
+            if (friend == null) {
+                index.apply(entries -> entries.remove(event.userId()));
+            } else {
+                index.apply(entries -> entries.computeIfPresent(event.userId(), (id, entry) -> entry.withFriend(friend)));
+            }
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${friend.search-index.sweep-interval-ms:60000}")
+    public void sweep() {
+        long now = System.currentTimeMillis();
+        lock.lock();
+        try {
+            indexes.values().removeIf(index -> now - index.lastAccess > idleTimeoutMs);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private UserIndex get(Long ownerId) {
+        lock.lock();
+        try {
+            return indexes.get(ownerId);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+
+    // -------------------------------------------------------------------------
+    // 일치 판정
+    // -------------------------------------------------------------------------
+
+    private static Match match(FriendEntry entry, char[] query) {
+        if (query.length == 0) {
+            return new Match(entry, 0, 0);
+        }
+
+        int nickname = entry.nickname().indexOf(query);
+        if (nickname == 0) {
+            return new Match(entry, entry.nickname().text().length() == query.length ? 0 : 1, 0);
+        }
+        int name = entry.name().indexOf(query);
+        if (name == 0) {
+            return new Match(entry, 2, 0);
+        }
+        if (nickname > 0) {
+            return new Match(entry, 3, nickname);
+        }
+        if (name > 0) {
+            return new Match(entry, 4, name);
+        }
+        return null;
+    }
+
+    private static String normalize(String text) {
+        return text == null ? "" : text.strip().toLowerCase(Locale.ROOT);
+    }
+
+    private static boolean isSyllable(char c) {
+        return c >= HANGUL_BASE && c <= HANGUL_LAST;
+    }
+
+    private static char chosungOf(char c) {
+        return isSyllable(c) ? CHOSUNG.charAt((c - HANGUL_BASE) / CHOSUNG_SPAN) : c;
+    }
+
+    // 검색 대상 문자열 (소문자 + 글자별 초성)
+    private record SearchField(String text, char[] chosung) {
+
+        static SearchField of(String value) {
+            String text = normalize(value);
+            char[] chosung = new char[text.length()];
+            for (int i = 0; i < text.length(); i++) {
+                chosung[i] = chosungOf(text.charAt(i));
+            }
+            return new SearchField(text, chosung);
+        }
+
+        // 검색어가 처음 일치하는 위치 (없으면 -1)
+        int indexOf(char[] query) {
+            outer:
+            for (int i = 0; i + query.length <= text.length(); i++) {
+                for (int j = 0; j < query.length; j++) {
+                    if (!matches(query[j], i + j, j == query.length - 1)) {
+                        continue outer;
+                    }
+                }
+                return i;
+            }
+            return -1;
+        }
+
+        private boolean matches(char q, int index, boolean last) {
+            char c = text.charAt(index);
+            if (q == c) {
+                return true;
+            }
+            // 초성만 입력한 글자
+            if (CHOSUNG.indexOf(q) >= 0) {
+                return chosung[index] == q;
+            }
+            // 입력 중인 마지막 글자: 받침 없는 음절은 초성·중성이 같은 음절과 일치
+            return last && isSyllable(q) && isSyllable(c)
+                    && (q - HANGUL_BASE) % JONGSUNG_COUNT == 0
+                    && (q - HANGUL_BASE) / JONGSUNG_COUNT == (c - HANGUL_BASE) / JONGSUNG_COUNT;
+        }
+    }
+
+    // 친구 한 명 (응답 + 검색 대상 닉네임/이름)
+    private record FriendEntry(FriendSummaryDto summary, SearchField nickname, SearchField name) {
+
+        static FriendEntry of(Friendship friendship) {
+            User friend = friendship.getFriend();
+            return new FriendEntry(FriendSummaryDto.from(friendship),
+                    SearchField.of(friend.getNickname()), SearchField.of(friend.getName()));
+        }
+
+        // 친구 프로필만 바꾼 항목 (즐겨찾기/그룹은 유지)
+        FriendEntry withFriend(User friend) {
+            FriendSummaryDto updated = FriendSummaryDto.builder()
+                    .userId(friend.getId())
+                    .friendshipId(summary.getFriendshipId())
+                    .nickname(friend.getNickname())
+                    .profilePhotoUrl(friend.getProfilePhotoUrl())
+                    .statusMessage(friend.getStatusMessage())
+                    .birthday(friend.getBirthday())
+                    .isFavorite(summary.isFavorite())
+                    .groups(summary.getGroups())
+                    .build();
+            return new FriendEntry(updated, SearchField.of(friend.getNickname()), SearchField.of(friend.getName()));
+        }
+    }
+
+    private record Match(FriendEntry entry, int rank, int position) {}
+
+    // 사용자 한 명의 친구 색인 (친구 User ID -> 항목)
+    public static class UserIndex {
+
+        private final Map<Long, FriendEntry> entries = new ConcurrentHashMap<>();
+
+        private volatile long lastAccess = System.currentTimeMillis();
+
+        // 채우는 중 들어온 변경 (fill 이후 순서대로 적용, null이면 채우기 완료)
+        private List<Consumer<Map<Long, FriendEntry>>> pending = new ArrayList<>();
+
+        private synchronized boolean isLoading() {
+            return pending != null;
+        }
+
+        private synchronized void apply(Consumer<Map<Long, FriendEntry>> change) {
+            if (pending != null) {
+                pending.add(change);
+            } else {
+                change.accept(entries);
+            }
+        }
+
+        private synchronized void fill(List<Friendship> friendships) {
+            if (pending == null) {
+                return;
+            }
+            for (Friendship friendship : friendships) {
+                FriendEntry entry = FriendEntry.of(friendship);
+                entries.put(entry.summary().getUserId(), entry);
+            }
+            pending.forEach(change -> change.accept(entries));
+            pending = null;
+        }
+    }
+
+}
@@ -11,6 +11,7 @@ import com.zzaptalk.backend.repository.FriendshipRepository;
 import com.zzaptalk.backend.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDate;
@@ -27,6 +28,7 @@ public class FriendService {
     private final FriendshipRepository friendshipRepository;
     private final FriendGroupRepository friendGroupRepository;
     private final FriendGroupMappingRepository friendGroupMappingRepository;
+    private final FriendSearchIndex friendSearchIndex;
 
     // =========================================================================
     // 1. 친구 목록 조회 (메인 로직)
@@ -42,8 +44,13 @@ public class FriendService {
     // === 메인 메서드 ===
     @Transactional(readOnly = true)
     public FriendListResponseDto getFriendList(User currentUser) {
+        // 친구 목록 화면에서 이어지는 검색은 DB 없이 처리하도록 검색 색인도 함께 채움
+        // (조회 전에 등록해야 조회 중 커밋된 친구 변경이 색인에서 빠지지 않음)
+        FriendSearchIndex.UserIndex searchIndex = friendSearchIndex.beginFill(currentUser.getId());
+
         // 1. 데이터 조회 (Fetch Join)
         List<Friendship> friendships = friendshipRepository.findByUserWithFetchJoin(currentUser);
+        friendSearchIndex.fill(searchIndex, friendships);
 
         // 2. 분류 작업
         FriendListClassifier classifier = new FriendListClassifier(LocalDate.now());
@@ -180,23 +187,17 @@ public class FriendService {
                 .build();
 
         friendshipRepository.save(newFriendship);
+        friendSearchIndex.upsert(currentUser.getId(), newFriendship);
     }
 
     // =========================================================================
-    // 3. 친구 검색 (닉네임 또는 이름)
+    // 3. 친구 검색 (닉네임 또는 이름, 초성 검색 포함)
+    //     입력할 때마다 호출되므로 메모리 색인(FriendSearchIndex)에서 검색
+    //     색인이 있으면 커넥션을 잡지 않도록 트랜잭션 없이 실행 (색인을 채울 때만 DB 조회)
     // =========================================================================
-    @Transactional(readOnly = true)
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public List<FriendSummaryDto> searchFriend(User currentUser, String nicknameQuery) {
-
-        // 1. Repository에서 닉네임으로 1차 필터링
-        List<Friendship> friendships = friendshipRepository
-                .findByUserAndFriendNicknameContaining(currentUser, nicknameQuery);
-
-        // 2. DTO로 변환하여 반환
-        // -> FriendSummaryDto 에 정적 팩토리 메서드 추가 후 코드 개선
-        return friendships.stream()
-                .map(FriendSummaryDto::from)
-                .collect(Collectors.toList());
+        return friendSearchIndex.search(currentUser, nicknameQuery);
     }
 
     // =========================================================================
@@ -247,6 +248,7 @@ public class FriendService {
 
         // 5. 저장 (변경 감지로 자동 업데이트됨)
         friendshipRepository.save(friendship);
+        friendSearchIndex.upsert(currentUser.getId(), friendship);
     }
 
     // =========================================================================
@@ -258,8 +260,8 @@ public class FriendService {
         // 1. 주소록 전화번호로 ZZAP TALK 가입자 찾기
         List<User> registeredUsers = userRepository.findByPhoneNumIn(dto.getPhoneNumbers());
 
-        // 2. 추가된 친구 목록 (반환용)
-        List<FriendSummaryDto> addedFriends = new ArrayList<>();
+        // 2. 새로 추가할 친구 관계 (반복 중에 저장하면 existsBy 조회마다 flush되어 batch가 끊기므로 모아서 저장)
+        List<Friendship> newFriendships = new ArrayList<>();
 
         // 3. 각 사용자를 친구로 추가
         for (User friend : registeredUsers) {
@@ -274,21 +276,25 @@ public class FriendService {
                 continue;
             }
 
-            // 3-3. Friendship 생성 및 저장
+            // 3-3. Friendship 생성
             Friendship newFriendship = Friendship.builder()
                     .user(currentUser)
                     .friend(friend)
                     .isFavorite(false)
                     .build();
 
-            friendshipRepository.save(newFriendship);
+            newFriendships.add(newFriendship);
 
-            // 3-4. 추가된 친구 DTO 생성
-            FriendSummaryDto friendDto = FriendSummaryDto.from(newFriendship);
+        }  // for문 종료
 
-            addedFriends.add(friendDto);  // ← 이 줄 추가 필요!
+        // 4. 한 번에 저장 (ID를 미리 발급하므로 JDBC batch INSERT)
+        friendshipRepository.saveAll(newFriendships);
+        newFriendships.forEach(friendship -> friendSearchIndex.upsert(currentUser.getId(), friendship));
 
-        }  // for문 종료
+        // 5. 추가된 친구 DTO 생성
+        List<FriendSummaryDto> addedFriends = newFriendships.stream()
+                .map(FriendSummaryDto::from)
+                .collect(Collectors.toList());
 
         return addedFriends;
     }
@@ -307,5 +313,6 @@ public class FriendService {
                 .orElseThrow(() -> new IllegalArgumentException("친구 관계가 아닙니다."));
 
         friendshipRepository.delete(friendship);
+        friendSearchIndex.remove(currentUser.getId(), friendUserId);
     }
 }
\ No newline at end of file
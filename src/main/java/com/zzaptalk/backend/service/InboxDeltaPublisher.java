@@ -0,0 +1,211 @@
+package com.zzaptalk.backend.service;
+
+import com.zzaptalk.backend.dto.InboxDelta;
+import com.zzaptalk.backend.entity.ChatInbox;
+import com.zzaptalk.backend.repository.ChatInboxRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.messaging.simp.user.SimpUser;
+import org.springframework.messaging.simp.user.SimpUserRegistry;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+// -------------------------------------------------------------------------
+// 채팅방 목록 변경분 푸시 (/user/queue/inbox)
+// 클라이언트가 목록 API를 주기적으로 호출하지 않도록, 참여 중인 방의
+// 미리보기 / 안 읽은 수 / 정렬 키가 바뀌면 사용자별 큐로 변경분을 전송
+// - 변경된 방(메시지)과 (방, 사용자)(읽음)만 기록해 두었다가 짧은 주기로 한 번에 처리
+//   -> 그룹 방에 메시지가 몰려도 주기당 참여자 한 명에게 한 번만 전송
+// - 전송 시점의 값은 ChatInbox에서 다시 읽으므로 항상 커밋된 최신 상태
+// - 이 서버에 접속 중인 사용자의 목록 행만 조회 (참여자 전체를 읽지 않음)
+// -------------------------------------------------------------------------
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class InboxDeltaPublisher {
+
+    private static final String INBOX_DESTINATION = "/queue/inbox";
+
+    // 접속자 ID IN 목록 최대 크기 (쿼리당)
+    private static final int USER_ID_CHUNK_SIZE = 1000;
+
+    private final ChatInboxRepository chatInboxRepository;
+    private final SimpMessagingTemplate messagingTemplate;
+    private final SimpUserRegistry simpUserRegistry;
+
+    // 푸시 사용 여부
+    @Value("${chat.inbox-push.enabled:true}")
+    private boolean enabled;
+
+    // 새 메시지가 들어온 채팅방 ID
+    private final Set<Long> dirtyRooms = ConcurrentHashMap.newKeySet();
+
+    // 읽음 워터마크가 바뀐 (채팅방, 사용자)
+    private final Set<InboxKey> dirtyReads = ConcurrentHashMap.newKeySet();
+
+    // -------------------------------------------------------------------------
+    // 변경 기록 (DB 접근 없음)
+    // 트랜잭션 안에서 호출되면 커밋 이후에 기록 (커밋 전 값이 전송되지 않도록)
+    // -------------------------------------------------------------------------
+
+    // 채팅방 요약(마지막 메시지) 변경: 참여자 전원에게 전송
+    public void roomChanged(Long roomId) {
+        if (enabled) {
+            afterCommit(() -> dirtyRooms.add(roomId));
+        }
+    }
+
+    // 사용자의 읽음 워터마크 변경: 해당 사용자에게만 전송
+    public void readChanged(Long roomId, Long userId) {
+        if (enabled) {
+            afterCommit(() -> dirtyReads.add(new InboxKey(roomId, userId)));
+        }
+    }
+
+    // 채팅방에서 나간 사용자: 목록에서 제거하도록 바로 전송 (목록 행이 삭제되므로 모아서 조회할 수 없음)
+    public void roomRemoved(Long roomId, Collection<Long> userIds) {
+        if (!enabled) {
+            return;
+        }
+        List<Long> targets = new ArrayList<>(userIds);
+        afterCommit(() -> {
+            List<InboxDelta> delta = List.of(InboxDelta.builder().roomId(roomId).removed(true).build());
+            for (Long userId : targets) {
+                if (simpUserRegistry.getUser(String.valueOf(userId)) != null) {
+                    messagingTemplate.convertAndSendToUser(String.valueOf(userId), INBOX_DESTINATION, delta);
+                }
+            }
+        });
+    }
+
+    // -------------------------------------------------------------------------
+    // 모아 둔 변경분 전송
+    // -------------------------------------------------------------------------
+
+    @Scheduled(fixedDelayString = "${chat.inbox-push.flush-interval-ms:200}")
+    public void flush() {
+        if (dirtyRooms.isEmpty() && dirtyReads.isEmpty()) {
+            return;
+        }
+
+        // 꺼내는 사이 새로 들어온 변경은 다음 주기에 전송
+        Set<Long> rooms = drain(dirtyRooms);
+        Set<InboxKey> reads = drain(dirtyReads);
+
+        // 사용자 ID -> (채팅방 ID -> 변경분)
+        Map<Long, Map<Long, InboxDelta>> byUser = new LinkedHashMap<>();
+
+        try {
+            if (!rooms.isEmpty()) {
+                // 접속 중인 사용자 행만 조회 (참여자가 많은 채팅방도 접속자 수만큼만 읽음)
+                List<Long> connected = connectedUserIds();
+                for (int from = 0; from < connected.size(); from += USER_ID_CHUNK_SIZE) {
+                    List<Long> chunk = connected.subList(from, Math.min(from + USER_ID_CHUNK_SIZE, connected.size()));
+                    for (ChatInbox inbox : chatInboxRepository.findAllByRoomIdInAndUserIdIn(rooms, chunk)) {
+                        collect(byUser, inbox);
+                    }
+                }
+            }
+            if (!reads.isEmpty()) {
+                Set<Long> readRoomIds = new HashSet<>();
+                Set<Long> readUserIds = new HashSet<>();
+                for (InboxKey key : reads) {
+                    readRoomIds.add(key.roomId());
+                    readUserIds.add(key.userId());
+                }
+                // (방 목록 x 사용자 목록)으로 조회 후 실제 변경된 조합만 사용
+                for (ChatInbox inbox : chatInboxRepository.findAllByRoomIdInAndUserIdIn(readRoomIds, readUserIds)) {
+                    if (reads.contains(new InboxKey(inbox.getRoomId(), inbox.getUserId()))) {
+                        collect(byUser, inbox);
+                    }
+                }
+            }
+        } catch (Exception e) {
+            // 조회 실패 시 다음 주기에 다시 시도
+            log.error("채팅방 목록 변경분 조회 실패: rooms={}, reads={}", rooms.size(), reads.size(), e);
+            dirtyRooms.addAll(rooms);
+            dirtyReads.addAll(reads);
+            return;
+        }
+
+        for (Map.Entry<Long, Map<Long, InboxDelta>> entry : byUser.entrySet()) {
+            messagingTemplate.convertAndSendToUser(
+                    String.valueOf(entry.getKey()), INBOX_DESTINATION, new ArrayList<>(entry.getValue().values()));
+        }
+    }
+
+    // -------------------------------------------------------------------------
+    // 보조 메서드
+    // -------------------------------------------------------------------------
+
+    // 이 서버에 접속 중인 사용자 ID (Principal 이름 = 사용자 ID 문자열)
+    private List<Long> connectedUserIds() {
+        List<Long> userIds = new ArrayList<>();
+        for (SimpUser user : simpUserRegistry.getUsers()) {
+            try {
+                userIds.add(Long.parseLong(user.getName()));
+            } catch (NumberFormatException ignored) {
+                // 사용자 ID 형태가 아닌 Principal은 대상 아님
+            }
+        }
+        return userIds;
+    }
+
+    private void collect(Map<Long, Map<Long, InboxDelta>> byUser, ChatInbox inbox) {
+        // 접속 중이 아닌 사용자는 건너뜀 (재접속 시 목록 API로 전체 조회)
+        // (Principal 이름 = 사용자 ID 문자열)
+        if (simpUserRegistry.getUser(String.valueOf(inbox.getUserId())) == null) {
+            return;
+        }
+        byUser.computeIfAbsent(inbox.getUserId(), k -> new LinkedHashMap<>())
+                .put(inbox.getRoomId(), InboxDelta.builder()
+                        .roomId(inbox.getRoomId())
+                        .roomName(inbox.getDisplayName())
+                        .lastMessageContent(inbox.getLastMessageContent())
+                        .lastMessageTime(inbox.getLastMessageTime())
+                        .lastSeq(inbox.getLastSeq())
+                        .unreadCount(inbox.getUnreadCount())
+                        .sortKey(inbox.getSortKey())
+                        .build());
+    }
+
+    private static <T> Set<T> drain(Set<T> source) {
+        Set<T> drained = new HashSet<>();
+        for (T item : source) {
+            if (source.remove(item)) {
+                drained.add(item);
+            }
+        }
+        return drained;
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+
+    private record InboxKey(Long roomId, Long userId) {}
+
+}
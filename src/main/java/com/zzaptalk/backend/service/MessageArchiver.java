@@ -0,0 +1,149 @@
+package com.zzaptalk.backend.service;
+
+import com.zzaptalk.backend.dto.ChatMessageResponse;
+import com.zzaptalk.backend.dto.SenderProfile;
+import com.zzaptalk.backend.entity.ChatMessage;
+import com.zzaptalk.backend.repository.ChatMessageRepository;
+import com.zzaptalk.backend.repository.ChatRoomRepository;
+import com.zzaptalk.backend.repository.ColdMessageArchive;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+// -------------------------------------------------------------------------
+// 오래된 채팅 메시지 보관 작업 (chat.archive.enabled=true)
+// 보관 기간(minAgeDays)이 지난 메시지를 채팅방별로 seq 순서대로 ColdMessageArchive 세그먼트에 기록하고
+// chat_room.archived_seq를 올린 뒤 chat_message에서 나눠 삭제
+// - 세그먼트 기록 -> 경계 갱신 -> 삭제 순서이므로 어느 단계에서 중단되어도 메시지가 사라지지 않음
+//   (다음 실행 시 파일 기준 경계를 DB에 반영하고 남은 행부터 삭제)
+// - 보관 대상이 minSegmentMessages개 미만인 채팅방은 다음 실행으로 미룸 (작은 세그먼트 방지)
+//   (메시지를 읽기 전에 minSegmentMessages번째 미보관 메시지의 전송 시간만 조회해 대부분의 채팅방을 건너뜀)
+//
+// 보관 디렉터리는 모든 서버가 읽을 수 있는 공유 스토리지여야 하며, 작업은 한 서버에서만 실행
+// (chat.archive.job-enabled)
+// -------------------------------------------------------------------------
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class MessageArchiver {
+
+    // 한 번에 읽는 채팅방 ID 수
+    private static final int ROOM_PAGE_SIZE = 500;
+
+    private final ChatRoomRepository chatRoomRepository;
+    private final ChatMessageRepository chatMessageRepository;
+    private final ColdMessageArchive coldMessageArchive;
+    private final TransactionTemplate transactionTemplate;
+
+    // 이 서버에서 보관 작업 실행 여부
+    @Value("${chat.archive.job-enabled:false}")
+    private boolean jobEnabled;
+
+    // 보관 기준 (전송 후 경과 일수)
+    @Value("${chat.archive.min-age-days:180}")
+    private int minAgeDays;
+
+    // 세그먼트 하나에 담는 최대 메시지 수
+    @Value("${chat.archive.segment-max-messages:10000}")
+    private int segmentMaxMessages;
+
+    // 세그먼트를 만드는 최소 메시지 수
+    @Value("${chat.archive.min-segment-messages:500}")
+    private int minSegmentMessages;
+
+    // chat_message 삭제 단위 (트랜잭션당)
+    @Value("${chat.archive.delete-batch-size:1000}")
+    private int deleteBatchSize;
+
+    @Scheduled(fixedDelayString = "${chat.archive.interval-ms:86400000}")
+    public void archive() {
+        if (!coldMessageArchive.isEnabled() || !jobEnabled) {
+            return;
+        }
+        LocalDateTime cutoff = LocalDateTime.now().minusDays(minAgeDays);
+
+        long archived = 0;
+        Long afterRoomId = 0L;
+        List<Long> roomIds;
+        do {
+            roomIds = chatRoomRepository.findIdsAfter(afterRoomId, PageRequest.of(0, ROOM_PAGE_SIZE));
+            for (Long roomId : roomIds) {
+                try {
+                    archived += archiveRoom(roomId, cutoff);
+                } catch (Exception e) {
+                    // 다른 채팅방은 계속 진행, 실패한 채팅방은 다음 실행에서 이어서 보관
+                    log.error("채팅방 메시지 보관 실패: roomId={}", roomId, e);
+                }
+            }
+            if (!roomIds.isEmpty()) {
+                afterRoomId = roomIds.get(roomIds.size() - 1);
+            }
+        } while (roomIds.size() == ROOM_PAGE_SIZE);
+
+        log.info("메시지 보관 완료: {}건 (기준 {})", archived, cutoff);
+    }
+
+    // -------------------------------------------------------------------------
+    // 채팅방 하나 보관 (보관 대상이 남아 있는 동안 세그먼트를 이어서 기록)
+    //
+    // @return 새로 보관한 메시지 수
+    // -------------------------------------------------------------------------
+
+    private long archiveRoom(Long roomId, LocalDateTime cutoff) {
+
+        // 이전 실행에서 세그먼트만 기록하고 중단된 경우 경계 반영 및 남은 행 삭제
+        long archivedSeq = coldMessageArchive.getArchivedSeq(roomId);
+        if (archivedSeq > 0) {
+            commit(roomId, archivedSeq);
+        }
+
+        long archived = 0;
+        while (hasEnoughArchivable(roomId, archivedSeq, cutoff)) {
+            List<ChatMessage> candidates = chatMessageRepository.findAfterSeqByRoomId(
+                    roomId, archivedSeq, PageRequest.of(0, segmentMaxMessages));
+
+            // 기준 시각 이전 메시지만 앞에서부터 (seq 순서를 유지해야 경계 하나로 구분 가능)
+            List<ChatMessageResponse> messages = candidates.stream()
+                    .takeWhile(message -> message.getSentAt().isBefore(cutoff))
+                    .map(message -> ChatMessageResponse.fromEntity(message, SenderProfile.from(message.getSender())))
+                    .toList();
+            if (messages.size() < minSegmentMessages) {
+                return archived;
+            }
+
+            coldMessageArchive.write(roomId, messages);
+            archivedSeq = messages.get(messages.size() - 1).getSeq();
+            commit(roomId, archivedSeq);
+            archived += messages.size();
+        }
+        return archived;
+    }
+
+    // 보관 경계 이후 minSegmentMessages번째 메시지가 기준 시각 이전인지 (아니면 세그먼트를 만들 수 없음)
+    // seq 순서로 앞에서부터 보관하므로 이 메시지가 기준 시각 이후면 앞의 메시지만으로는 최소 개수를 채우지 못함
+    private boolean hasEnoughArchivable(Long roomId, long archivedSeq, LocalDateTime cutoff) {
+        List<LocalDateTime> sentAt = chatMessageRepository.findSentAtAfterSeq(
+                roomId, archivedSeq, PageRequest.of(Math.max(0, minSegmentMessages - 1), 1));
+        return !sentAt.isEmpty() && sentAt.get(0).isBefore(cutoff);
+    }
+
+    // 보관 경계를 올리고 경계 이하 행을 나눠 삭제 (삭제 단위마다 별도 트랜잭션)
+    private void commit(Long roomId, long archivedSeq) {
+        transactionTemplate.executeWithoutResult(status -> chatRoomRepository.raiseArchivedSeq(roomId, archivedSeq));
+
+        int deleted;
+        do {
+            deleted = transactionTemplate.execute(status ->
+                    chatMessageRepository.deleteArchived(roomId, archivedSeq, deleteBatchSize));
+        } while (deleted == deleteBatchSize);
+    }
+
+}
@@ -0,0 +1,552 @@
+package com.zzaptalk.backend.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.zzaptalk.backend.dto.ChatMessageResponse;
+import com.zzaptalk.backend.service.ChatMessageDispatcher.PersistenceMode;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+
+// -------------------------------------------------------------------------
+// 채팅 메시지 로컬 저널 (append-only write-ahead log)
+// chat.persistence.mode=JOURNALED일 때 전송 경로가 DB 대신 이 저널에 먼저 기록하고,
+// fsync가 끝나면 전송/응답. DB 반영은 MessageJournalReplayer가 뒤에서 수행
+// -> DB가 느려지거나 잠시 멈춰도 전송을 거절하거나 힙 대기열을 키우지 않고 디스크에 쌓음
+//
+// 파일 구성 (chat.journal.dir)
+// - segment-{번호}.log: 고정 크기 메모리 매핑 파일, 레코드를 앞에서부터 이어 붙임
+//   레코드 = [payload 길이(int)][CRC32(int)][payload(ChatMessageResponse JSON)]
+//   길이 0 또는 CRC 불일치 = 기록 끝 (쓰다가 죽은 레코드는 여기서 잘림)
+//   길이가 음수 = 취소된 레코드 (fsync 실패로 전송 실패 응답을 보낸 메시지, 재생하지 않고 건너뜀)
+// - checkpoint: DB 반영이 끝난 위치 (세그먼트 번호, 오프셋), 이전 세그먼트는 삭제
+//
+// fsync는 전용 스레드가 묶어서 수행 (group commit)
+// force() 하는 동안 들어온 기록은 다음 force() 한 번으로 함께 확정
+// -------------------------------------------------------------------------
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class MessageJournal {
+
+    private static final int HEADER_SIZE = Integer.BYTES * 2;
+    private static final String SEGMENT_PREFIX = "segment-";
+    private static final String SEGMENT_SUFFIX = ".log";
+    private static final String CHECKPOINT_FILE = "checkpoint";
+
+    private final ObjectMapper objectMapper;
+    private final OptimisticSequencer optimisticSequencer;
+
+    @Value("${chat.persistence.mode:DIRECT}")
+    private PersistenceMode persistenceMode;
+
+    // 저널 디렉터리
+    @Value("${chat.journal.dir:./data/journal}")
+    private String dir;
+
+    // 세그먼트 파일 크기 (바이트)
+    @Value("${chat.journal.segment-size-bytes:67108864}")
+    private int segmentSize;
+
+    // DB에 반영되지 않은 세그먼트 최대 개수 (넘으면 기록 거절)
+    @Value("${chat.journal.max-segments:64}")
+    private int maxSegments;
+
+    private Path directory;
+
+    // 열려 있는 세그먼트 (번호 순)
+    private final Map<Long, Segment> segments = new ConcurrentSkipListMap<>();
+
+    // 기록 상태 (writeLock으로 보호)
+    private final ReentrantLock writeLock = new ReentrantLock();
+    private final Condition written = writeLock.newCondition();
+    private Segment active;
+    private int writeOffset;
+    private JournalPosition writtenPosition;
+
+    // fsync까지 끝난 위치 (이 위치 이전 레코드만 재생 대상)
+    private volatile JournalPosition flushedPosition;
+
+    // DB 반영이 끝난 위치
+    private volatile JournalPosition checkpointPosition;
+
+    // fsync 완료를 기다리는 기록 (기록 순서대로)
+    private final Queue<Waiter> waiters = new ConcurrentLinkedQueue<>();
+
+    private Thread flusherThread;
+    private volatile boolean running;
+
+    // -------------------------------------------------------------------------
+    // 시작 / 종료
+    // -------------------------------------------------------------------------
+
+    @PostConstruct
+    public void start() throws IOException {
+        if (!isEnabled()) {
+            return;
+        }
+        directory = Paths.get(dir);
+        Files.createDirectories(directory);
+        recover();
+
+        running = true;
+        flusherThread = new Thread(this::runFlusher, "chat-journal-flusher");
+        flusherThread.setDaemon(true);
+        flusherThread.start();
+    }
+
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        if (flusherThread == null) {
+            return;
+        }
+        // 기록된 레코드까지 fsync한 뒤 종료
+        running = false;
+        writeLock.lock();
+        try {
+            written.signalAll();
+        } finally {
+            writeLock.unlock();
+        }
+        flusherThread.join(TimeUnit.SECONDS.toMillis(10));
+        segments.values().forEach(Segment::close);
+    }
+
+    public boolean isEnabled() {
+        return persistenceMode == PersistenceMode.JOURNALED;
+    }
+
+    // -------------------------------------------------------------------------
+    // 메시지 기록
+    //
+    // @param message ID/seq가 발급된 메시지
+    // @return 레코드가 디스크에 확정(fsync)되면 완료되는 future
+    // -------------------------------------------------------------------------
+
+    public CompletableFuture<Void> append(ChatMessageResponse message) {
+
+        byte[] payload = toJson(message);
+        int recordSize = HEADER_SIZE + payload.length;
+        if (recordSize > segmentSize) {
+            throw new IllegalArgumentException("메시지가 저널 세그먼트보다 큽니다: " + recordSize + " bytes");
+        }
+
+        CRC32 crc = new CRC32();
+        crc.update(payload);
+
+        CompletableFuture<Void> future = new CompletableFuture<>();
+
+        writeLock.lock();
+        try {
+            if (!running) {
+                throw new IllegalStateException("메시지 저널이 종료되었습니다.");
+            }
+            if (writeOffset + recordSize > segmentSize) {
+                rollSegment();
+            }
+
+            ByteBuffer buffer = active.buffer.duplicate();
+            buffer.position(writeOffset);
+            buffer.putInt(payload.length);
+            buffer.putInt((int) crc.getValue());
+            buffer.put(payload);
+            writeOffset += recordSize;
+
+            writtenPosition = new JournalPosition(active.index, writeOffset);
+            waiters.add(new Waiter(writtenPosition, future));
+            written.signal();
+        } finally {
+            writeLock.unlock();
+        }
+
+        return future;
+    }
+
+    // 현재 세그먼트가 가득 차면 fsync 후 다음 세그먼트로 전환 (writeLock 안에서 호출)
+    private void rollSegment() {
+        long nextIndex = active.index + 1;
+        if (nextIndex - checkpointPosition.segment() >= maxSegments) {
+            throw new IllegalStateException("메시지 저널이 가득 찼습니다. 잠시 후 다시 시도해주세요.");
+        }
+        active.buffer.force();
+        active = openSegment(nextIndex);
+        writeOffset = 0;
+    }
+
+    // -------------------------------------------------------------------------
+    // fsync 루프 (group commit)
+    // -------------------------------------------------------------------------
+
+    private void runFlusher() {
+        JournalPosition forced = flushedPosition;
+
+        while (true) {
+            JournalPosition target;
+            writeLock.lock();
+            try {
+                while (running && writtenPosition.equals(forced)) {
+                    written.await(1, TimeUnit.SECONDS);
+                }
+                target = writtenPosition;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } finally {
+                writeLock.unlock();
+            }
+
+            if (target.equals(forced)) {
+                // 종료 요청이고 더 확정할 기록 없음
+                return;
+            }
+
+            // 이전 세그먼트는 전환 시 이미 fsync됨 -> 현재 세그먼트의 새로 기록된 구간만 force
+            int from = target.segment() == forced.segment() ? forced.offset() : 0;
+            try {
+                segments.get(target.segment()).buffer.force(from, target.offset() - from);
+            } catch (RuntimeException e) {
+                // 확정하지 못한 구간의 레코드는 취소 표시 후 기다리던 전송을 실패 처리하고, 잠시 후 같은 구간부터 다시 fsync
+                // -> 나중에 확정되어도 재생되지 않으므로 실패 응답을 받은 메시지가 저장되지 않음
+                // (취소 표시가 디스크에 확정되기 전에 서버가 죽으면 재기동 후 재생될 수 있음)
+                log.error("메시지 저널 fsync 실패", e);
+                // 이전 세그먼트의 레코드는 전환 시 이미 fsync됨
+                completeWaiters(new JournalPosition(target.segment(), from));
+                tombstone(segments.get(target.segment()), from, target.offset());
+                failWaiters(target, e);
+                try {
+                    TimeUnit.MILLISECONDS.sleep(100);
+                } catch (InterruptedException interrupted) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+                continue;
+            }
+
+            forced = target;
+            flushedPosition = target;
+            completeWaiters(target);
+        }
+    }
+
+    // [from, to) 구간 레코드를 취소 표시 (길이를 음수로, 이미 취소된 레코드는 그대로)
+    // 재생기는 flushedPosition 이전만 읽으므로 이 구간과 겹치지 않음
+    private void tombstone(Segment segment, int from, int to) {
+        ByteBuffer buffer = segment.buffer.duplicate();
+        int offset = from;
+        while (offset < to) {
+            int length = buffer.getInt(offset);
+            if (length > 0) {
+                buffer.putInt(offset, -length);
+            }
+            offset += HEADER_SIZE + Math.abs(length);
+        }
+    }
+
+    private void completeWaiters(JournalPosition position) {
+        Waiter waiter;
+        while ((waiter = waiters.peek()) != null && waiter.position().compareTo(position) <= 0) {
+            waiters.poll();
+            waiter.future().complete(null);
+        }
+    }
+
+    private void failWaiters(JournalPosition position, Exception e) {
+        Waiter waiter;
+        while ((waiter = waiters.peek()) != null && waiter.position().compareTo(position) <= 0) {
+            waiters.poll();
+            waiter.future().completeExceptionally(e);
+        }
+    }
+
+    // -------------------------------------------------------------------------
+    // 재생용 읽기 (fsync가 끝난 레코드만)
+    //
+    // @param from 읽기 시작 위치
+    // @param maxRecords 최대 레코드 수
+    // @return 읽은 메시지와 다음 읽기 위치
+    // -------------------------------------------------------------------------
+
+    public JournalBatch read(JournalPosition from, int maxRecords) {
+
+        List<ChatMessageResponse> messages = new ArrayList<>();
+        JournalPosition position = from;
+
+        while (messages.size() < maxRecords) {
+            JournalPosition limit = flushedPosition;
+            if (position.compareTo(limit) >= 0) {
+                break;
+            }
+
+            Record record = readRecord(segments.get(position.segment()), position.offset());
+            if (record == null) {
+                if (position.segment() < limit.segment()) {
+                    // 세그먼트 끝 -> 다음 세그먼트
+                    position = new JournalPosition(position.segment() + 1, 0);
+                    continue;
+                }
+                // 확정된 구간에서 읽을 수 없는 레코드: 건너뛰고 확정 위치로 이동
+                log.error("메시지 저널 레코드 손상: segment={}, offset={}", position.segment(), position.offset());
+                position = limit;
+                break;
+            }
+
+            if (record.message() != null) {
+                messages.add(record.message());
+            }
+            position = new JournalPosition(position.segment(), position.offset() + record.size());
+        }
+
+        return new JournalBatch(messages, position);
+    }
+
+    public JournalPosition getCheckpoint() {
+        return checkpointPosition;
+    }
+
+    // -------------------------------------------------------------------------
+    // DB 반영 위치 기록 (임시 파일에 쓰고 이름 변경 -> 항상 온전한 체크포인트만 남음)
+    // 체크포인트 이전 세그먼트는 더 이상 필요 없으므로 삭제
+    // -------------------------------------------------------------------------
+
+    public void checkpoint(JournalPosition position) {
+        try {
+            Path temp = directory.resolve(CHECKPOINT_FILE + ".tmp");
+            ByteBuffer buffer = ByteBuffer.allocate(Long.BYTES + Integer.BYTES);
+            buffer.putLong(position.segment()).putInt(position.offset()).flip();
+            try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.CREATE,
+                    StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+                channel.write(buffer);
+                channel.force(true);
+            }
+            Files.move(temp, directory.resolve(CHECKPOINT_FILE),
+                    StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            throw new UncheckedIOException("저널 체크포인트 기록 실패", e);
+        }
+        checkpointPosition = position;
+
+        for (Segment segment : segments.values()) {
+            if (segment.index >= position.segment()) {
+                break;
+            }
+            segments.remove(segment.index);
+            segment.close();
+            try {
+                Files.deleteIfExists(segment.path);
+            } catch (IOException e) {
+                log.warn("저널 세그먼트 삭제 실패: {}", segment.path, e);
+            }
+        }
+    }
+
+    // -------------------------------------------------------------------------
+    // 재기동 시 복구
+    // - 체크포인트 이후의 온전한 레코드를 찾아 재생 대상으로 남김 (MessageJournalReplayer가 DB 반영)
+    // - 미반영 메시지의 seq를 시퀀스 발급기에 등록 (같은 seq 재발급 방지)
+    // - 마지막 세그먼트의 기록 끝 이후(쓰다가 죽은 레코드)는 0으로 지워 새 기록과 섞이지 않게 함
+    // -------------------------------------------------------------------------
+
+    private void recover() throws IOException {
+
+        JournalPosition checkpoint = readCheckpoint();
+        List<Long> indexes = listSegmentIndexes();
+
+        for (Long index : indexes) {
+            if (index < checkpoint.segment()) {
+                Files.deleteIfExists(segmentPath(index));
+            } else {
+                segments.put(index, openSegment(index));
+            }
+        }
+        if (segments.isEmpty()) {
+            segments.put(checkpoint.segment(), openSegment(checkpoint.segment()));
+        }
+
+        int pending = 0;
+        Segment last = null;
+        int end = 0;
+        for (Segment segment : segments.values()) {
+            int offset = segment.index == checkpoint.segment() ? checkpoint.offset() : 0;
+            Record record;
+            while ((record = readRecord(segment, offset)) != null) {
+                if (record.message() != null) {
+                    optimisticSequencer.observe(record.message().getRoomId(), record.message().getSeq());
+                    pending++;
+                }
+                offset += record.size();
+            }
+            last = segment;
+            end = offset;
+        }
+
+        ByteBuffer tail = last.buffer.duplicate();
+        tail.position(end);
+        while (tail.hasRemaining()) {
+            tail.put((byte) 0);
+        }
+        last.buffer.force();
+
+        active = last;
+        writeOffset = end;
+        writtenPosition = new JournalPosition(last.index, end);
+        flushedPosition = writtenPosition;
+        checkpointPosition = checkpoint;
+
+        log.info("메시지 저널 복구: 체크포인트={}, 미반영 레코드={}건, 기록 위치={}",
+                checkpoint, pending, writtenPosition);
+    }
+
+    private JournalPosition readCheckpoint() throws IOException {
+        Path path = directory.resolve(CHECKPOINT_FILE);
+        if (Files.exists(path)) {
+            ByteBuffer buffer = ByteBuffer.wrap(Files.readAllBytes(path));
+            return new JournalPosition(buffer.getLong(), buffer.getInt());
+        }
+        // 체크포인트가 없으면 가장 오래된 세그먼트 처음부터
+        List<Long> indexes = listSegmentIndexes();
+        return new JournalPosition(indexes.isEmpty() ? 0 : indexes.get(0), 0);
+    }
+
+    private List<Long> listSegmentIndexes() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files
+                    .map(path -> path.getFileName().toString())
+                    .filter(name -> name.startsWith(SEGMENT_PREFIX) && name.endsWith(SEGMENT_SUFFIX))
+                    .map(name -> Long.parseLong(
+                            name.substring(SEGMENT_PREFIX.length(), name.length() - SEGMENT_SUFFIX.length())))
+                    .sorted()
+                    .toList();
+        }
+    }
+
+    // -------------------------------------------------------------------------
+    // 보조 메서드
+    // -------------------------------------------------------------------------
+
+    private Segment openSegment(long index) {
+        Path path = segmentPath(index);
+        try {
+            FileChannel channel = FileChannel.open(path,
+                    StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, segmentSize);
+            Segment segment = new Segment(index, path, channel, buffer);
+            segments.put(index, segment);
+            return segment;
+        } catch (IOException e) {
+            throw new UncheckedIOException("저널 세그먼트를 열 수 없습니다: " + path, e);
+        }
+    }
+
+    private Path segmentPath(long index) {
+        return directory.resolve(String.format("%s%020d%s", SEGMENT_PREFIX, index, SEGMENT_SUFFIX));
+    }
+
+    // offset 위치의 레코드 (기록 끝이거나 손상되었으면 null, 취소된 레코드는 message가 null)
+    private Record readRecord(Segment segment, int offset) {
+        if (segment == null || offset + HEADER_SIZE > segmentSize) {
+            return null;
+        }
+        ByteBuffer buffer = segment.buffer.duplicate();
+        buffer.position(offset);
+        int header = buffer.getInt();
+        int checksum = buffer.getInt();
+        int length = header < 0 ? -header : header;
+        if (length <= 0 || offset + HEADER_SIZE + length > segmentSize) {
+            return null;
+        }
+
+        byte[] payload = new byte[length];
+        buffer.get(payload);
+        CRC32 crc = new CRC32();
+        crc.update(payload);
+        if ((int) crc.getValue() != checksum) {
+            return null;
+        }
+        if (header < 0) {
+            return new Record(null, HEADER_SIZE + length);
+        }
+
+        try {
+            return new Record(objectMapper.readValue(payload, ChatMessageResponse.class), HEADER_SIZE + length);
+        } catch (IOException e) {
+            log.error("저널 레코드를 읽을 수 없습니다: segment={}, offset={}", segment.index, offset, e);
+            return null;
+        }
+    }
+
+    private byte[] toJson(ChatMessageResponse message) {
+        try {
+            return objectMapper.writeValueAsString(message).getBytes(StandardCharsets.UTF_8);
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("메시지를 직렬화할 수 없습니다: " + message.getMessageId(), e);
+        }
+    }
+
+    // 저널 내 위치 (세그먼트 번호, 세그먼트 내 오프셋)
+    public record JournalPosition(long segment, int offset) implements Comparable<JournalPosition> {
+        @Override
+        public int compareTo(JournalPosition other) {
+            int bySegment = Long.compare(segment, other.segment);
+            return bySegment != 0 ? bySegment : Integer.compare(offset, other.offset);
+        }
+    }
+
+    // 재생용 읽기 결과
+    public record JournalBatch(List<ChatMessageResponse> messages, JournalPosition next) {}
+
+    private record Record(ChatMessageResponse message, int size) {}
+
+    private record Waiter(JournalPosition position, CompletableFuture<Void> future) {}
+
+    private static class Segment {
+
+        private final long index;
+        private final Path path;
+        private final FileChannel channel;
+        private final MappedByteBuffer buffer;
+
+        Segment(long index, Path path, FileChannel channel, MappedByteBuffer buffer) {
+            this.index = index;
+            this.path = path;
+            this.channel = channel;
+            this.buffer = buffer;
+        }
+
+        void close() {
+            try {
+                channel.close();
+            } catch (IOException e) {
+                log.warn("저널 세그먼트 닫기 실패: {}", path, e);
+            }
+        }
+    }
+
+}
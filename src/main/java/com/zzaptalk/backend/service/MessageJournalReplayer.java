@@ -0,0 +1,220 @@
+package com.zzaptalk.backend.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.zzaptalk.backend.dto.ChatMessageResponse;
+import com.zzaptalk.backend.entity.ChatDeadLetter;
+import com.zzaptalk.backend.repository.ChatDeadLetterRepository;
+import com.zzaptalk.backend.repository.ChatRoomRepository;
+import com.zzaptalk.backend.repository.MessageStore;
+import com.zzaptalk.backend.service.MessageJournal.JournalBatch;
+import com.zzaptalk.backend.service.MessageJournal.JournalPosition;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+
+// -------------------------------------------------------------------------
+// 메시지 저널 재생기
+// MessageJournal에 확정(fsync)된 레코드를 체크포인트부터 순서대로 읽어 MessageStore에 저장하고 체크포인트 이동
+// - 채팅방 시퀀스는 저널에 기록된 seq까지 따라 올림 (GREATEST)
+// - 이미 저장된 메시지 ID는 건너뜀 -> 반영 후 체크포인트 기록 전에 죽어도 재기동 시 중복 저장 없음
+// - DB 오류 시 같은 위치부터 재시도 (저널이 쌓이는 동안에도 전송은 계속 가능)
+// - 저장할 수 없는 메시지(seq 중복 등)는 한 건씩 다시 시도한 뒤 chat_dead_letter에 보관하고 건너뜀
+//   (chat.journal.dead-letter 카운터로 경보, 보관에도 실패하면 같은 위치부터 재시도)
+//
+// 채팅방 seq는 chat_room의 seq 임대를 가진 한 서버에서만 발급되므로(OptimisticSequencer)
+// 여러 서버의 저널이 같은 seq를 재생하지 않음 -> 보관 대상은 임대 만료 후 재기동 지연 등 예외적인 경우
+// -------------------------------------------------------------------------
+
+@Slf4j
+@Component
+public class MessageJournalReplayer {
+
+    // 보관하는 실패 사유 최대 길이 (ChatDeadLetter.reason)
+    private static final int MAX_REASON_LENGTH = 1000;
+
+    private final MessageJournal messageJournal;
+    private final MessageStore messageStore;
+    private final ChatRoomRepository chatRoomRepository;
+    private final ChatDeadLetterRepository chatDeadLetterRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final ReadMarkCoalescer readMarkCoalescer;
+    private final ObjectMapper objectMapper;
+
+    private final Counter deadLetters;
+
+    // 한 트랜잭션에 반영하는 최대 레코드 수
+    @Value("${chat.journal.replay.batch-size:500}")
+    private int batchSize;
+
+    // 새 레코드가 없을 때 대기 시간(ms)
+    @Value("${chat.journal.replay.poll-interval-ms:10}")
+    private long pollIntervalMs;
+
+    // DB 오류 시 재시도 대기 시간(ms)
+    @Value("${chat.journal.replay.retry-backoff-ms:1000}")
+    private long retryBackoffMs;
+
+    private Thread replayerThread;
+    private volatile boolean running;
+
+    public MessageJournalReplayer(MessageJournal messageJournal,
+                                  MessageStore messageStore,
+                                  ChatRoomRepository chatRoomRepository,
+                                  ChatDeadLetterRepository chatDeadLetterRepository,
+                                  TransactionTemplate transactionTemplate,
+                                  ReadMarkCoalescer readMarkCoalescer,
+                                  ObjectMapper objectMapper,
+                                  MeterRegistry meterRegistry) {
+        this.messageJournal = messageJournal;
+        this.messageStore = messageStore;
+        this.chatRoomRepository = chatRoomRepository;
+        this.chatDeadLetterRepository = chatDeadLetterRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.readMarkCoalescer = readMarkCoalescer;
+        this.objectMapper = objectMapper;
+
+        this.deadLetters = Counter.builder("chat.journal.dead-letter")
+                .description("저널 재생 중 저장하지 못해 보관한 메시지 수")
+                .register(meterRegistry);
+    }
+
+    @PostConstruct
+    public void start() {
+        if (!messageJournal.isEnabled()) {
+            return;
+        }
+        running = true;
+        replayerThread = new Thread(this::runLoop, "chat-journal-replayer");
+        replayerThread.setDaemon(true);
+        replayerThread.start();
+    }
+
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        if (replayerThread == null) {
+            return;
+        }
+        // 반영하지 못한 레코드는 재기동 후 이어서 반영
+        running = false;
+        replayerThread.interrupt();
+        replayerThread.join(TimeUnit.SECONDS.toMillis(10));
+    }
+
+    // -------------------------------------------------------------------------
+    // 재생 루프
+    // -------------------------------------------------------------------------
+
+    private void runLoop() {
+        JournalPosition position = messageJournal.getCheckpoint();
+
+        while (running) {
+            try {
+                JournalBatch batch = messageJournal.read(position, batchSize);
+                if (batch.messages().isEmpty()) {
+                    if (!batch.next().equals(position)) {
+                        // 세그먼트 끝만 지나간 경우
+                        messageJournal.checkpoint(batch.next());
+                        position = batch.next();
+                    }
+                    TimeUnit.MILLISECONDS.sleep(pollIntervalMs);
+                    continue;
+                }
+
+                replay(batch.messages());
+                messageJournal.checkpoint(batch.next());
+                position = batch.next();
+            } catch (InterruptedException e) {
+                return;
+            } catch (Exception e) {
+                log.error("메시지 저널 재생 실패 (같은 위치부터 재시도): {}", position, e);
+                try {
+                    TimeUnit.MILLISECONDS.sleep(retryBackoffMs);
+                } catch (InterruptedException interrupted) {
+                    return;
+                }
+            }
+        }
+    }
+
+    private void replay(List<ChatMessageResponse> messages) {
+        try {
+            transactionTemplate.executeWithoutResult(status -> persist(messages));
+        } catch (DataIntegrityViolationException e) {
+            // 묶음 중 저장할 수 없는 메시지가 있음 -> 한 건씩 반영하고 실패한 메시지는 보관 후 건너뜀
+            log.warn("저널 묶음 반영 실패, 한 건씩 재시도: {}건", messages.size(), e);
+            for (ChatMessageResponse message : messages) {
+                try {
+                    transactionTemplate.executeWithoutResult(status -> persist(List.of(message)));
+                } catch (DataIntegrityViolationException failed) {
+                    deadLetter(message, failed);
+                }
+            }
+        }
+
+        // 보낸 사람은 자기 메시지까지 읽은 것으로 처리 (채팅방 lastSeq 반영 이후)
+        for (ChatMessageResponse message : messages) {
+            readMarkCoalescer.markRead(message.getRoomId(), message.getSenderId(), message.getSeq());
+        }
+    }
+
+    // 저장하지 못한 메시지 보관 (실패하면 예외가 재생 루프로 전파되어 같은 위치부터 재시도)
+    private void deadLetter(ChatMessageResponse message, DataIntegrityViolationException cause) {
+        String reason = String.valueOf(cause.getMostSpecificCause().getMessage());
+        ChatDeadLetter deadLetter = ChatDeadLetter.builder()
+                .messageId(message.getMessageId())
+                .roomId(message.getRoomId())
+                .seq(message.getSeq())
+                .payload(toJson(message))
+                .reason(reason.length() > MAX_REASON_LENGTH ? reason.substring(0, MAX_REASON_LENGTH) : reason)
+                .createdAt(LocalDateTime.now())
+                .build();
+        transactionTemplate.executeWithoutResult(status -> {
+            if (!chatDeadLetterRepository.existsByMessageId(message.getMessageId())) {
+                chatDeadLetterRepository.save(deadLetter);
+            }
+        });
+
+        deadLetters.increment();
+        log.error("저널 메시지 저장 불가, dead letter로 보관: messageId={}, roomId={}, seq={}",
+                message.getMessageId(), message.getRoomId(), message.getSeq(), cause);
+    }
+
+    private String toJson(ChatMessageResponse message) {
+        try {
+            return objectMapper.writeValueAsString(message);
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("메시지를 직렬화할 수 없습니다: " + message.getMessageId(), e);
+        }
+    }
+
+    private void persist(List<ChatMessageResponse> messages) {
+
+        Set<Long> existing = messageStore.findExistingIds(messages);
+
+        // 채팅방 ID 순으로 시퀀스를 올림 (다른 저장 경로와 같은 잠금 순서, 교착 상태 방지)
+        Map<Long, Long> maxSeqByRoom = new TreeMap<>();
+        for (ChatMessageResponse message : messages) {
+            maxSeqByRoom.merge(message.getRoomId(), message.getSeq(), Math::max);
+        }
+        maxSeqByRoom.forEach(chatRoomRepository::raiseLastSeq);
+
+        messageStore.saveAll(messages.stream()
+                .filter(message -> !existing.contains(message.getMessageId()))
+                .toList());
+    }
+
+}
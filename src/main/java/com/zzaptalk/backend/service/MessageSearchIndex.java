@@ -0,0 +1,472 @@
+package com.zzaptalk.backend.service;
+
+import com.zzaptalk.backend.dto.ChatMessageResponse;
+import com.zzaptalk.backend.dto.MessageSearchHit;
+import com.zzaptalk.backend.dto.MessageSearchHit.Highlight;
+import com.zzaptalk.backend.entity.MessageType;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+// -------------------------------------------------------------------------
+// 채팅 메시지 검색 색인 (채팅방별 메모리 역색인)
+// 메시지 내용(content)을 n-gram 토큰으로 나눠 토큰 -> 메시지 ID 목록(posting)으로 보관
+// - 한글/영문/숫자 연속 구간을 소문자로 바꾼 뒤 글자 단위(unigram)와 두 글자 단위(bigram) 토큰으로 색인
+//   -> 형태소 분석 없이 부분 문자열 검색 ("회의" -> "내일회의는", "주간회의록")
+// - 검색어는 공백으로 나눈 단어를 모두 포함(AND)하는 메시지를 찾고,
+//   bigram 교집합으로 후보를 줄인 뒤 내용에 실제로 포함되는지 확인 (위치 = 강조 표시 구간)
+// - 일반 텍스트 메시지(TEXT)만 색인
+// - 채팅방별 최신 maxMessagesPerRoom개까지만 보관 (넘으면 오래된 메시지부터 제외)
+// - 전체 색인 메시지 수가 maxTotalMessages를 넘으면 가장 오래 사용되지 않은(전송/검색이 없는) 채팅방 색인부터 제거
+//
+// 채팅방 색인은 MessageSearchService가 저장된 메시지로 채운 뒤(beginLoad -> finishLoad)부터
+// 전송 경로(ChatMessageBroadcaster)의 새 메시지를 반영 (색인이 없는 채팅방의 메시지는 무시하고 검색 시 다시 채움)
+// RecentMessageCache와 마찬가지로 이 서버에서 전송된 메시지만 실시간으로 반영되므로
+// 외부 브로커 릴레이(chat.broker.relay.enabled, 다중 서버 구성)를 사용하면 기본값이 꺼짐
+// (채팅방을 담당 서버로 라우팅하는 경우에만 chat.search.enabled=true로 명시)
+// -------------------------------------------------------------------------
+
+@Component
+public class MessageSearchIndex {
+
+    // 채우는 중인 채팅방 색인을 검색할 때 최대 대기 시간(ms)
+    private static final long LOAD_WAIT_MS = 5000;
+
+    private final ReentrantLock roomsLock = new ReentrantLock();
+
+    // 접근 순서 기준 LinkedHashMap (가장 오래 사용되지 않은 채팅방부터 제거, roomsLock으로 보호)
+    private final LinkedHashMap<Long, RoomIndex> rooms = new LinkedHashMap<>(64, 0.75f, true);
+
+    // 전체 색인 메시지 수
+    private final AtomicLong totalMessages = new AtomicLong();
+
+    @Value("${chat.search.enabled:#{!${chat.broker.relay.enabled:false}}}")
+    private boolean enabled;
+
+    // 채팅방별 최대 색인 메시지 수
+    @Value("${chat.search.max-messages-per-room:50000}")
+    private int maxMessagesPerRoom;
+
+    // 전체 최대 색인 메시지 수 (메모리 상한)
+    @Value("${chat.search.max-total-messages:2000000}")
+    private long maxTotalMessages;
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public int getMaxMessagesPerRoom() {
+        return maxMessagesPerRoom;
+    }
+
+    // 전체 색인이 상한에 도달했는지 (시작 시 재구성 중단 기준)
+    public boolean isFull() {
+        return totalMessages.get() >= maxTotalMessages;
+    }
+
+    // -------------------------------------------------------------------------
+    // 채팅방 색인 채우기
+    // beginLoad가 true를 반환한 호출자만 저장된 메시지를 add로 채운 뒤 finishLoad 호출
+    // (채우는 동안 전송된 메시지도 바로 반영되며, 같은 메시지는 한 번만 색인)
+    // -------------------------------------------------------------------------
+
+    public boolean beginLoad(Long roomId) {
+        roomsLock.lock();
+        try {
+            if (rooms.containsKey(roomId)) {
+                return false;
+            }
+            rooms.put(roomId, new RoomIndex());
+            return true;
+        } finally {
+            roomsLock.unlock();
+        }
+    }
+
+    public void finishLoad(Long roomId) {
+        RoomIndex room = room(roomId);
+        if (room != null) {
+            room.loaded.countDown();
+        }
+    }
+
+    // 채우다 실패한 색인 제거 (다음 검색 때 다시 채움)
+    public void discard(Long roomId) {
+        roomsLock.lock();
+        try {
+            RoomIndex room = rooms.remove(roomId);
+            if (room != null) {
+                totalMessages.addAndGet(-room.evict());
+                room.loaded.countDown();
+            }
+        } finally {
+            roomsLock.unlock();
+        }
+    }
+
+    // -------------------------------------------------------------------------
+    // 색인 추가 / 제외
+    // -------------------------------------------------------------------------
+
+    public void add(ChatMessageResponse message) {
+        if (!enabled || message.getType() != MessageType.TEXT
+                || message.getContent() == null || message.getContent().isBlank()) {
+            return;
+        }
+        RoomIndex room = room(message.getRoomId());
+        if (room == null) {
+            return;
+        }
+        int added = room.add(message, maxMessagesPerRoom);
+        if (added != 0 && totalMessages.addAndGet(added) > maxTotalMessages) {
+            evictIdleRooms(message.getRoomId());
+        }
+    }
+
+    // 저장에 실패한 메시지(선전송) 제외
+    public void remove(Long roomId, Long messageId) {
+        RoomIndex room = room(roomId);
+        if (room != null) {
+            totalMessages.addAndGet(room.remove(messageId));
+        }
+    }
+
+    // 채팅방 색인 조회 (최근 사용 순서 갱신)
+    private RoomIndex room(Long roomId) {
+        roomsLock.lock();
+        try {
+            return rooms.get(roomId);
+        } finally {
+            roomsLock.unlock();
+        }
+    }
+
+    // 전체 상한을 넘으면 가장 오래 사용되지 않은 채팅방부터 제거 (방금 사용한 채팅방 제외)
+    private void evictIdleRooms(Long activeRoomId) {
+        roomsLock.lock();
+        try {
+            Iterator<Map.Entry<Long, RoomIndex>> iterator = rooms.entrySet().iterator();
+            while (totalMessages.get() > maxTotalMessages && iterator.hasNext()) {
+                Map.Entry<Long, RoomIndex> eldest = iterator.next();
+                if (eldest.getKey().equals(activeRoomId)) {
+                    continue;
+                }
+                iterator.remove();
+                totalMessages.addAndGet(-eldest.getValue().evict());
+                eldest.getValue().loaded.countDown();
+            }
+        } finally {
+            roomsLock.unlock();
+        }
+    }
+
+    // -------------------------------------------------------------------------
+    // 채팅방 안에서 검색 (최신순)
+    //
+    // @param roomId 채팅방 ID
+    // @param query 검색어 (공백으로 나눈 단어를 모두 포함)
+    // @param beforeId 이 메시지 ID보다 오래된 메시지만 (null이면 최신부터)
+    // @param limit 최대 결과 수
+    // -------------------------------------------------------------------------
+
+    public List<MessageSearchHit> search(Long roomId, String query, Long beforeId, int limit) {
+        RoomIndex room = room(roomId);
+        if (room == null) {
+            return List.of();
+        }
+        SearchQuery parsed = SearchQuery.parse(query);
+        if (parsed.tokens().isEmpty()) {
+            return List.of();
+        }
+        // 다른 요청이 채우는 중이면 끝날 때까지 대기 (넘으면 지금까지 채운 결과로 검색)
+        try {
+            room.loaded.await(LOAD_WAIT_MS, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        return room.search(parsed, beforeId != null ? beforeId : Long.MAX_VALUE, limit);
+    }
+
+    // -------------------------------------------------------------------------
+    // 토큰 분리
+    // 한글/영문/숫자 연속 구간마다 unigram + bigram (검색어는 두 글자 이상이면 bigram만)
+    // -------------------------------------------------------------------------
+
+    static Set<String> tokenize(String text, boolean query) {
+        Set<String> tokens = new LinkedHashSet<>();
+        int runStart = -1;
+        for (int i = 0; i <= text.length(); i++) {
+            boolean indexable = i < text.length() && Character.isLetterOrDigit(text.charAt(i));
+            if (indexable && runStart < 0) {
+                runStart = i;
+            } else if (!indexable && runStart >= 0) {
+                addRun(tokens, text.substring(runStart, i), query);
+                runStart = -1;
+            }
+        }
+        return tokens;
+    }
+
+    private static void addRun(Set<String> tokens, String run, boolean query) {
+        if (run.length() == 1 || !query) {
+            for (int i = 0; i < run.length(); i++) {
+                tokens.add(run.substring(i, i + 1));
+            }
+        }
+        for (int i = 0; i + 1 < run.length(); i++) {
+            tokens.add(run.substring(i, i + 2));
+        }
+    }
+
+    // 검색어 (소문자 단어 목록 + 토큰)
+    record SearchQuery(List<String> terms, Set<String> tokens) {
+
+        static SearchQuery parse(String query) {
+            List<String> terms = new ArrayList<>(new LinkedHashSet<>(
+                    Arrays.asList(query.trim().toLowerCase(Locale.ROOT).split("\\s+"))));
+            terms.removeIf(String::isEmpty);
+
+            Set<String> tokens = new LinkedHashSet<>();
+            for (String term : terms) {
+                tokens.addAll(tokenize(term, true));
+            }
+            return new SearchQuery(terms, tokens);
+        }
+    }
+
+    // -------------------------------------------------------------------------
+    // 채팅방 색인
+    // -------------------------------------------------------------------------
+
+    private static class RoomIndex {
+
+        private final ReentrantLock lock = new ReentrantLock();
+
+        // 저장된 메시지로 채우기 완료 (또는 제거됨)
+        private final CountDownLatch loaded = new CountDownLatch(1);
+
+        // 전체 상한으로 제거된 색인 (제거 이후의 추가는 무시, 전체 메시지 수에 다시 더하지 않음)
+        private boolean evicted;
+
+        // 메시지 ID -> 메시지 (오래된 메시지부터 제외하도록 ID 순)
+        private final TreeMap<Long, ChatMessageResponse> messages = new TreeMap<>();
+
+        // 토큰 -> 메시지 ID 목록
+        private final Map<String, Postings> postings = new HashMap<>();
+
+        // 제외되었지만 posting에 남아 있는 메시지 ID 수 (쌓이면 한 번에 정리)
+        private int staleCount;
+
+        // @return 색인 메시지 수 변화
+        int add(ChatMessageResponse message, int maxMessages) {
+            Set<String> tokens = tokenize(message.getContent().toLowerCase(Locale.ROOT), false);
+            lock.lock();
+            try {
+                if (evicted || messages.putIfAbsent(message.getMessageId(), message) != null) {
+                    return 0;
+                }
+                for (String token : tokens) {
+                    postings.computeIfAbsent(token, key -> new Postings()).add(message.getMessageId());
+                }
+                int added = 1;
+                while (messages.size() > maxMessages) {
+                    messages.pollFirstEntry();
+                    staleCount++;
+                    added--;
+                }
+                compactIfNeeded();
+                return added;
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        // @return 색인 메시지 수 변화
+        int remove(Long messageId) {
+            lock.lock();
+            try {
+                if (evicted || messages.remove(messageId) == null) {
+                    return 0;
+                }
+                staleCount++;
+                compactIfNeeded();
+                return -1;
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        // 색인 제거 표시 후 비움
+        // @return 제거된 메시지 수
+        int evict() {
+            lock.lock();
+            try {
+                if (evicted) {
+                    return 0;
+                }
+                evicted = true;
+                int size = messages.size();
+                messages.clear();
+                postings.clear();
+                return size;
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        List<MessageSearchHit> search(SearchQuery query, long beforeId, int limit) {
+            lock.lock();
+            try {
+                // 가장 짧은 posting을 최신순으로 훑으며 나머지 posting에 모두 있는지 확인
+                List<Postings> lists = new ArrayList<>(query.tokens().size());
+                for (String token : query.tokens()) {
+                    Postings list = postings.get(token);
+                    if (list == null) {
+                        return List.of();
+                    }
+                    list.sortIfNeeded();
+                    lists.add(list);
+                }
+                lists.sort(Comparator.comparingInt(Postings::size));
+
+                Postings shortest = lists.get(0);
+                List<MessageSearchHit> hits = new ArrayList<>();
+                for (int i = shortest.indexBefore(beforeId); i >= 0 && hits.size() < limit; i--) {
+                    long messageId = shortest.get(i);
+                    if (!containsAll(lists, messageId)) {
+                        continue;
+                    }
+                    ChatMessageResponse message = messages.get(messageId);
+                    if (message == null) {
+                        continue;
+                    }
+                    List<Highlight> highlights = highlight(message.getContent(), query.terms());
+                    if (highlights != null) {
+                        hits.add(MessageSearchHit.builder()
+                                .message(message)
+                                .highlights(highlights)
+                                .build());
+                    }
+                }
+                return hits;
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        private static boolean containsAll(List<Postings> lists, long messageId) {
+            for (int j = 1; j < lists.size(); j++) {
+                if (!lists.get(j).contains(messageId)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        // 제외된 메시지 ID가 보관 중인 메시지 수만큼 쌓이면 posting 정리
+        private void compactIfNeeded() {
+            if (staleCount < Math.max(1024, messages.size())) {
+                return;
+            }
+            postings.values().removeIf(list -> list.retain(messages) == 0);
+            staleCount = 0;
+        }
+    }
+
+    // 모든 단어가 내용에 포함되면 위치 목록, 하나라도 없으면 null (bigram 교집합의 오탐 제거)
+    private static List<Highlight> highlight(String content, List<String> terms) {
+        String lower = content.toLowerCase(Locale.ROOT);
+        List<Highlight> highlights = new ArrayList<>();
+        for (String term : terms) {
+            int from = lower.indexOf(term);
+            if (from < 0) {
+                return null;
+            }
+            while (from >= 0) {
+                highlights.add(new Highlight(from, from + term.length()));
+                from = lower.indexOf(term, from + term.length());
+            }
+        }
+        highlights.sort(Comparator.comparingInt(Highlight::start));
+        return highlights;
+    }
+
+    // -------------------------------------------------------------------------
+    // 메시지 ID 목록 (증가하는 long 배열)
+    // 전송 순서대로 추가되므로 대부분 정렬된 상태이며, 순서가 어긋나면 다음 검색 전에 정렬
+    // -------------------------------------------------------------------------
+
+    private static class Postings {
+
+        private long[] ids = new long[4];
+        private int size;
+        private boolean sorted = true;
+
+        void add(long id) {
+            if (size == ids.length) {
+                ids = Arrays.copyOf(ids, size * 2);
+            }
+            if (size > 0 && ids[size - 1] > id) {
+                sorted = false;
+            }
+            ids[size++] = id;
+        }
+
+        void sortIfNeeded() {
+            if (!sorted) {
+                Arrays.sort(ids, 0, size);
+                sorted = true;
+            }
+        }
+
+        int size() {
+            return size;
+        }
+
+        long get(int index) {
+            return ids[index];
+        }
+
+        boolean contains(long id) {
+            return Arrays.binarySearch(ids, 0, size, id) >= 0;
+        }
+
+        // id보다 작은 마지막 위치 (없으면 -1)
+        int indexBefore(long id) {
+            int index = Arrays.binarySearch(ids, 0, size, id);
+            return (index >= 0 ? index : -index - 1) - 1;
+        }
+
+        // 색인에 남아 있는 메시지 ID만 유지
+        int retain(Map<Long, ChatMessageResponse> messages) {
+            int kept = 0;
+            for (int i = 0; i < size; i++) {
+                if (messages.containsKey(ids[i])) {
+                    ids[kept++] = ids[i];
+                }
+            }
+            size = kept;
+            if (ids.length > 4 && size < ids.length / 4) {
+                ids = Arrays.copyOf(ids, Math.max(4, size * 2));
+            }
+            return size;
+        }
+    }
+
+}
@@ -0,0 +1,229 @@
+package com.zzaptalk.backend.service;
+
+import com.zzaptalk.backend.dto.ChatMessageResponse;
+import com.zzaptalk.backend.dto.MessageSearchHit;
+import com.zzaptalk.backend.dto.MessageSearchPageResponse;
+import com.zzaptalk.backend.repository.ChatRoomRepository;
+import com.zzaptalk.backend.repository.ChatRoomUserRepository;
+import com.zzaptalk.backend.repository.MessageStore;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// -------------------------------------------------------------------------
+// 채팅 메시지 검색
+// MessageSearchIndex(메모리 역색인)를 조회하므로 색인된 채팅방은 검색 중 메시지 저장소를 읽지 않음
+// - 채팅방 검색: 참여자만, 해당 채팅방 색인
+// - 내 채팅방 전체 검색: 참여 중인 채팅방 ID를 한 번 조회한 뒤 채팅방별 결과를 최신순으로 병합
+// 결과는 메시지 ID 커서(beforeId) 기반 페이지 (최신순)
+//
+// 시작 시 색인 재구성 스레드가 채팅방별 최신 메시지를 MessageStore에서 묶음 단위로 읽어 색인에 채움
+// (전체 색인 상한에 도달하면 중단, 색인이 없거나 제거된 채팅방은 검색할 때 채움)
+// (채우는 중 전송된 메시지는 전송 경로에서 바로 색인되며, 같은 메시지는 한 번만 색인)
+// -------------------------------------------------------------------------
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class MessageSearchService {
+
+    // 검색 결과 페이지 크기 (기본값 / 최대값)
+    private static final int DEFAULT_PAGE_SIZE = 20;
+    private static final int MAX_PAGE_SIZE = 50;
+
+    // 검색어 최대 길이
+    private static final int MAX_QUERY_LENGTH = 100;
+
+    // 재구성 시 한 번에 읽는 채팅방 ID 수
+    private static final int ROOM_PAGE_SIZE = 500;
+
+    private final MessageSearchIndex messageSearchIndex;
+    private final MessageStore messageStore;
+    private final ChatRoomRepository chatRoomRepository;
+    private final ChatRoomUserRepository chatRoomUserRepository;
+
+    // 시작 시 저장된 메시지로 색인 재구성
+    @Value("${chat.search.rebuild-on-startup:true}")
+    private boolean rebuildOnStartup;
+
+    // 재구성 시 한 번에 읽는 메시지 수
+    @Value("${chat.search.rebuild-batch-size:1000}")
+    private int rebuildBatchSize;
+
+    private Thread rebuildThread;
+    private volatile boolean running;
+
+    @PostConstruct
+    public void start() {
+        if (!messageSearchIndex.isEnabled() || !rebuildOnStartup) {
+            return;
+        }
+        running = true;
+        rebuildThread = new Thread(this::rebuild, "chat-search-rebuild");
+        rebuildThread.setDaemon(true);
+        rebuildThread.start();
+    }
+
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        if (rebuildThread == null) {
+            return;
+        }
+        running = false;
+        rebuildThread.interrupt();
+        rebuildThread.join(TimeUnit.SECONDS.toMillis(10));
+    }
+
+    // -------------------------------------------------------------------------
+    // 채팅방 안에서 검색
+    //
+    // @param userId 검색하는 사용자 ID (채팅방 참여자)
+    // @param roomId 채팅방 ID
+    // @param query 검색어 (공백으로 나눈 단어를 모두 포함하는 메시지)
+    // @param beforeId 이전 페이지의 nextCursor (첫 페이지는 null)
+    // @param size 페이지 크기
+    // -------------------------------------------------------------------------
+
+    public MessageSearchPageResponse searchRoom(Long userId, Long roomId, String query, Long beforeId, int size) {
+        validate(query);
+        if (!chatRoomUserRepository.existsMember(roomId, userId)) {
+            throw new IllegalArgumentException("채팅방 참여자만 메시지를 검색할 수 있습니다.");
+        }
+        int pageSize = normalizePageSize(size);
+        load(roomId);
+
+        // 다음 페이지 존재 여부 확인을 위해 1개 더 조회
+        return toPageResponse(messageSearchIndex.search(roomId, query, beforeId, pageSize + 1), pageSize);
+    }
+
+    // -------------------------------------------------------------------------
+    // 내가 참여 중인 모든 채팅방에서 검색
+    // -------------------------------------------------------------------------
+
+    public MessageSearchPageResponse searchMyRooms(Long userId, String query, Long beforeId, int size) {
+        validate(query);
+        int pageSize = normalizePageSize(size);
+
+        List<MessageSearchHit> hits = new ArrayList<>();
+        for (Long roomId : chatRoomUserRepository.findRoomIdsByUserId(userId)) {
+            load(roomId);
+            hits.addAll(messageSearchIndex.search(roomId, query, beforeId, pageSize + 1));
+        }
+        hits.sort(Comparator.comparing((MessageSearchHit hit) -> hit.getMessage().getMessageId()).reversed());
+
+        return toPageResponse(hits.size() > pageSize + 1 ? hits.subList(0, pageSize + 1) : hits, pageSize);
+    }
+
+    // -------------------------------------------------------------------------
+    // 색인 재구성 (채팅방별 최신 maxMessagesPerRoom개, 오래된 순으로 묶음 조회)
+    // -------------------------------------------------------------------------
+
+    private void rebuild() {
+        long started = System.currentTimeMillis();
+        long indexed = 0;
+        Long afterRoomId = 0L;
+        List<Long> roomIds;
+        do {
+            roomIds = chatRoomRepository.findIdsAfter(afterRoomId, PageRequest.of(0, ROOM_PAGE_SIZE));
+            for (Long roomId : roomIds) {
+                if (!running) {
+                    return;
+                }
+                if (messageSearchIndex.isFull()) {
+                    log.info("메시지 검색 색인 상한 도달, 나머지 채팅방은 검색 시 색인: {}건", indexed);
+                    return;
+                }
+                try {
+                    indexed += load(roomId);
+                } catch (Exception e) {
+                    log.error("채팅방 검색 색인 재구성 실패: roomId={}", roomId, e);
+                }
+            }
+            if (!roomIds.isEmpty()) {
+                afterRoomId = roomIds.get(roomIds.size() - 1);
+            }
+        } while (roomIds.size() == ROOM_PAGE_SIZE);
+
+        log.info("메시지 검색 색인 재구성 완료: {}건, {}ms", indexed, System.currentTimeMillis() - started);
+    }
+
+    // 채팅방 색인이 없으면 저장된 메시지로 채움 (다른 요청이 채우는 중이면 검색 시 대기)
+    // @return 색인한 메시지 수
+    private long load(Long roomId) {
+        if (!messageSearchIndex.beginLoad(roomId)) {
+            return 0;
+        }
+        try {
+            return rebuildRoom(roomId);
+        } catch (RuntimeException e) {
+            messageSearchIndex.discard(roomId);
+            throw e;
+        } finally {
+            messageSearchIndex.finishLoad(roomId);
+        }
+    }
+
+    private long rebuildRoom(Long roomId) {
+        Long lastSeq = chatRoomRepository.findLastSeqById(roomId);
+        if (lastSeq == null || lastSeq == 0) {
+            return 0;
+        }
+
+        long afterSeq = Math.max(0, lastSeq - messageSearchIndex.getMaxMessagesPerRoom());
+        long indexed = 0;
+        List<ChatMessageResponse> batch;
+        do {
+            batch = messageStore.findAfterSeq(roomId, afterSeq, rebuildBatchSize);
+            batch.forEach(messageSearchIndex::add);
+            indexed += batch.size();
+            if (!batch.isEmpty()) {
+                afterSeq = batch.get(batch.size() - 1).getSeq();
+            }
+        } while (batch.size() == rebuildBatchSize && !Thread.currentThread().isInterrupted());
+        return indexed;
+    }
+
+    // -------------------------------------------------------------------------
+    // 보조 메서드
+    // -------------------------------------------------------------------------
+
+    private void validate(String query) {
+        if (!messageSearchIndex.isEnabled()) {
+            throw new IllegalStateException("메시지 검색을 사용할 수 없습니다.");
+        }
+        if (query == null || query.isBlank()) {
+            throw new IllegalArgumentException("검색어를 입력해 주세요.");
+        }
+        if (query.length() > MAX_QUERY_LENGTH) {
+            throw new IllegalArgumentException("검색어는 " + MAX_QUERY_LENGTH + "자까지 입력할 수 있습니다.");
+        }
+    }
+
+    private int normalizePageSize(int size) {
+        if (size <= 0) {
+            return DEFAULT_PAGE_SIZE;
+        }
+        return Math.min(size, MAX_PAGE_SIZE);
+    }
+
+    // pageSize + 1개까지 조회한 결과로 페이지 구성
+    private static MessageSearchPageResponse toPageResponse(List<MessageSearchHit> hits, int pageSize) {
+        boolean hasNext = hits.size() > pageSize;
+        List<MessageSearchHit> page = hasNext ? hits.subList(0, pageSize) : hits;
+        return MessageSearchPageResponse.builder()
+                .hits(page)
+                .nextCursor(hasNext ? page.get(page.size() - 1).getMessage().getMessageId() : null)
+                .hasNext(hasNext)
+                .build();
+    }
+
+}
@@ -0,0 +1,276 @@
+package com.zzaptalk.backend.service;
+
+import com.zzaptalk.backend.repository.ChatRoomRepository;
+import com.zzaptalk.backend.util.SnowflakeIdGenerator;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+// -------------------------------------------------------------------------
+// 선전송(OPTIMISTIC) 채팅방 / 저널(JOURNALED) 저장 모드의 메모리 시퀀스 발급기
+// 채팅방 행 잠금 없이 메모리에서 seq를 발급하고, 저장은 ChatMessageBatchWriter / MessageJournal이 나중에 수행
+//
+// 한 채팅방의 seq는 한 서버에서만 발급 (chat_room.seq_owner_node_id / seq_owner_until 임대)
+// - 처음 발급할 때 임대를 잡고 DB의 max(lastSeq, seqReservedUntil)에서 시작 (서버 재기동 시 저널의 미반영 메시지도 포함)
+// - 발급 전에 reserveBlock개씩 seq를 DB에 예약 (chat_room.seq_reserved_until)
+//   → 이전 서버가 전송만 하고 저장하지 못한 seq(묶음 저장 대기, 비정상 종료)가 lastSeq에 없어도
+//     임대를 넘겨받은 서버가 같은 seq를 다른 메시지에 다시 발급하지 않음
+//   (비정상 종료 후에는 예약만 하고 쓰지 않은 seq가 빈 번호로 남음, 최대 reserveBlock개)
+// - 다른 서버가 임대 중인 채팅방은 발급을 거절 (IllegalStateException)
+// - 임대 중인 채팅방은 저장 후 전송(DURABLE) 경로의 seq 발급도 거절되므로 (ChatRoomRepository.increaseLastSeq)
+//   서버마다 전달/저장 방식 설정이 달라도 같은 seq가 두 번 발급되지 않음
+// - 임대는 renewIntervalMs마다 연장하고, idleReleaseMs 동안 발급이 없으면 반납 (예약 상한을 발급한 seq까지 내림)
+//   (종료 시에는 저널 재생 전에 다른 서버가 가져가지 않도록 반납하지 않고 만료되도록 둠, 같은 노드 ID는 바로 다시 잡음)
+// - 저장에 실패한 seq는 다시 사용하지 않으므로 빈 번호가 생길 수 있음
+// -------------------------------------------------------------------------
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class OptimisticSequencer {
+
+    private final ChatRoomRepository chatRoomRepository;
+    private final SnowflakeIdGenerator snowflakeIdGenerator;
+    private final TransactionTemplate transactionTemplate;
+
+    // 임대 시간(ms)
+    @Value("${chat.sequencer.lease-ms:30000}")
+    private long leaseMs;
+
+    // 발급이 없으면 임대를 반납하는 시간(ms)
+    @Value("${chat.sequencer.idle-release-ms:600000}")
+    private long idleReleaseMs;
+
+    // 한 번에 예약하는 seq 개수
+    @Value("${chat.sequencer.reserve-block:100}")
+    private long reserveBlock;
+
+    // 임대 중인 채팅방별 발급 상태
+    private final Map<Long, RoomSequence> rooms = new ConcurrentHashMap<>();
+
+    // 아직 DB에 반영되지 않은 발급 seq의 하한 (저널 복구 시 등록, DB 조회 없이 기록만)
+    private final Map<Long, Long> floors = new ConcurrentHashMap<>();
+
+    // 다음 seq 발급 (채팅방이 없으면 IllegalArgumentException, 다른 서버가 임대 중이면 IllegalStateException)
+    public long next(Long roomId) {
+        while (true) {
+            RoomSequence room = rooms.get(roomId);
+            if (room == null || !room.isLeased(System.nanoTime())) {
+                room = acquire(roomId, room);
+            }
+            room.lastUsedAt = System.nanoTime();
+            long seq = room.lastSeq.incrementAndGet();
+            if (seq <= room.reservedUntil || reserve(roomId, room, seq)) {
+                return seq;
+            }
+            // 반납했거나 임대를 잃은 상태: 다시 획득해서 발급
+        }
+    }
+
+    // 이 서버가 마지막으로 발급한 seq (임대 중이 아니면 0), DB lastSeq보다 앞설 수 있음
+    public long current(Long roomId) {
+        RoomSequence room = rooms.get(roomId);
+        return room != null ? room.lastSeq.get() : 0;
+    }
+
+    // 이미 발급된 seq 등록 (저널에 남아 있는 미반영 메시지), 이후 발급은 이 값보다 큼
+    public void observe(Long roomId, long seq) {
+        floors.merge(roomId, seq, Math::max);
+        RoomSequence room = rooms.get(roomId);
+        if (room != null) {
+            room.lastSeq.accumulateAndGet(seq, Math::max);
+        }
+    }
+
+    // -------------------------------------------------------------------------
+    // 임대 획득 (DB 조회는 맵 잠금 밖에서, 동시에 시작한 경우 먼저 등록된 상태를 사용)
+    // -------------------------------------------------------------------------
+
+    private RoomSequence acquire(Long roomId, RoomSequence previous) {
+        long nodeId = snowflakeIdGenerator.getNodeId();
+        long requestedAt = System.nanoTime();
+
+        // 이 서버의 임대가 이어지는 경우 연장, 아니면 비어 있거나 만료된 임대 획득
+        boolean continued = Boolean.TRUE.equals(transactionTemplate.execute(status ->
+                chatRoomRepository.renewSeqOwnership(List.of(roomId), nodeId, leaseMs) > 0));
+        if (!continued && !Boolean.TRUE.equals(transactionTemplate.execute(status ->
+                chatRoomRepository.acquireSeqOwnership(roomId, nodeId, leaseMs) > 0))) {
+            if (!chatRoomRepository.existsById(roomId)) {
+                throw new IllegalArgumentException("채팅방 ID를 찾을 수 없습니다: " + roomId);
+            }
+            rooms.remove(roomId, previous);
+            throw new IllegalStateException("다른 서버가 이 채팅방의 메시지를 처리하고 있습니다: " + roomId);
+        }
+
+        if (continued && previous != null && !previous.released && rooms.get(roomId) == previous) {
+            // 임대가 끊기지 않고 이어진 경우: 발급 중인 값 유지
+            previous.leasedUntil = requestedAt + TimeUnit.MILLISECONDS.toNanos(leaseMs);
+            return previous;
+        }
+
+        // 새로 잡은 임대 (또는 재기동 후 처음 사용): 그 사이 다른 서버가 발급했을 수 있으므로 DB 값에서 다시 시작
+        // (lastSeq는 저장이 끝난 seq까지만 반영되므로 이전 임대의 예약 상한도 함께 확인)
+        Long seeded = chatRoomRepository.findSeqSeedById(roomId);
+        RoomSequence created = new RoomSequence(
+                Math.max(seeded != null ? seeded : 0, floors.getOrDefault(roomId, 0L)),
+                requestedAt + TimeUnit.MILLISECONDS.toNanos(leaseMs));
+        if (previous != null && rooms.replace(roomId, previous, created)) {
+            return created;
+        }
+        RoomSequence existing = rooms.putIfAbsent(roomId, created);
+        return existing != null ? existing : created;
+    }
+
+    // -------------------------------------------------------------------------
+    // seq 예약 (예약 상한을 넘는 seq를 받은 스레드만, 채팅방별 잠금)
+    // @return false면 반납했거나 임대를 잃어 이 seq를 사용할 수 없음
+    // -------------------------------------------------------------------------
+
+    private boolean reserve(Long roomId, RoomSequence room, long seq) {
+        room.lock.lock();
+        try {
+            if (room.released) {
+                return false;
+            }
+            if (seq <= room.reservedUntil) {
+                return true;
+            }
+            long reservedUntil = Math.max(seq, room.reservedUntil) + reserveBlock;
+            boolean reserved = Boolean.TRUE.equals(transactionTemplate.execute(status ->
+                    chatRoomRepository.reserveSeqs(roomId, snowflakeIdGenerator.getNodeId(), reservedUntil) > 0));
+            if (!reserved) {
+                log.warn("채팅방 seq 예약 실패 (임대를 잃음): roomId={}", roomId);
+                room.released = true;
+                rooms.remove(roomId, room);
+                return false;
+            }
+            room.reservedUntil = reservedUntil;
+            return true;
+        } finally {
+            room.lock.unlock();
+        }
+    }
+
+    // -------------------------------------------------------------------------
+    // 임대 연장 / 유휴 채팅방 반납
+    // -------------------------------------------------------------------------
+
+    @Scheduled(fixedDelayString = "${chat.sequencer.renew-interval-ms:10000}")
+    public void renew() {
+        if (rooms.isEmpty()) {
+            return;
+        }
+        long nodeId = snowflakeIdGenerator.getNodeId();
+        long now = System.nanoTime();
+
+        List<Long> idle = new ArrayList<>();
+        List<Long> active = new ArrayList<>();
+        rooms.forEach((roomId, room) -> {
+            if (now - room.lastUsedAt > TimeUnit.MILLISECONDS.toNanos(idleReleaseMs)) {
+                idle.add(roomId);
+            } else {
+                active.add(roomId);
+            }
+        });
+
+        try {
+            for (Long roomId : idle) {
+                release(roomId, nodeId, now);
+            }
+            if (!active.isEmpty()) {
+                transactionTemplate.executeWithoutResult(status ->
+                        chatRoomRepository.renewSeqOwnership(active, nodeId, leaseMs));
+                // 연장되지 않은 채팅방 (만료 후 다른 서버가 가져감): 다음 발급 시 다시 획득 시도
+                Set<Long> owned = new HashSet<>(chatRoomRepository.findSeqOwnedRoomIds(active, nodeId));
+                for (Long roomId : active) {
+                    RoomSequence room = rooms.get(roomId);
+                    if (room == null) {
+                        continue;
+                    }
+                    if (owned.contains(roomId)) {
+                        room.leasedUntil = now + TimeUnit.MILLISECONDS.toNanos(leaseMs);
+                    } else {
+                        log.warn("채팅방 seq 임대를 잃음: roomId={}", roomId);
+                        rooms.remove(roomId, room);
+                    }
+                }
+            }
+        } catch (Exception e) {
+            // 연장 실패: 로컬 만료 시각이 지나면 발급 시 다시 획득
+            log.error("채팅방 seq 임대 연장 실패: {}개", active.size(), e);
+        }
+    }
+
+    // 유휴 채팅방 반납: 더 발급하지 못하도록 막은 뒤 예약 상한을 실제 발급한 seq까지 내림
+    private void release(Long roomId, long nodeId, long now) {
+        RoomSequence room = rooms.get(roomId);
+        if (room == null) {
+            return;
+        }
+        long reservedUntil;
+        long issuedSeq;
+        room.lock.lock();
+        try {
+            if (now - room.lastUsedAt <= TimeUnit.MILLISECONDS.toNanos(idleReleaseMs)) {
+                // 그 사이 다시 사용됨
+                return;
+            }
+            room.released = true;
+            reservedUntil = room.reservedUntil;
+            // 이후 발급된 seq는 모두 예약 상한을 넘으므로 reserve()에서 거절됨
+            room.reservedUntil = Long.MIN_VALUE;
+            issuedSeq = room.lastSeq.get();
+            rooms.remove(roomId, room);
+        } finally {
+            room.lock.unlock();
+        }
+        transactionTemplate.executeWithoutResult(status ->
+                chatRoomRepository.releaseSeqOwnership(roomId, nodeId, reservedUntil, issuedSeq));
+    }
+
+    // -------------------------------------------------------------------------
+    // 채팅방별 발급 상태
+    // -------------------------------------------------------------------------
+
+    private static class RoomSequence {
+
+        private final AtomicLong lastSeq;
+
+        // DB에 예약된 seq 상한 (이 값 이하의 seq만 바로 발급)
+        private volatile long reservedUntil;
+
+        // 반납했거나 임대를 잃어 더 이상 발급하지 않는 상태
+        private volatile boolean released;
+
+        // 예약 / 반납 잠금
+        private final ReentrantLock lock = new ReentrantLock();
+
+        // 로컬 기준 임대 만료 시각 (nanoTime, DB 갱신 요청 전 시각 기준이므로 DB 만료보다 늦지 않음)
+        private volatile long leasedUntil;
+        private volatile long lastUsedAt = System.nanoTime();
+
+        RoomSequence(long lastSeq, long leasedUntil) {
+            this.lastSeq = new AtomicLong(lastSeq);
+            this.reservedUntil = lastSeq;
+            this.leasedUntil = leasedUntil;
+        }
+
+        boolean isLeased(long now) {
+            return now - leasedUntil < 0;
+        }
+    }
+
+}
@@ -0,0 +1,137 @@
+package com.zzaptalk.backend.service;
+
+import com.zzaptalk.backend.repository.ChatRoomRepository;
+import com.zzaptalk.backend.repository.ChatRoomUserRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+// -------------------------------------------------------------------------
+// 읽음 처리 요청 병합기
+// 클라이언트는 스크롤/메시지 수신마다 읽음 요청을 보내므로,
+// (채팅방, 사용자)별로 가장 큰 seq만 메모리에 모아 두었다가 주기적으로 한 번에 반영
+// 워터마크는 채팅방의 현재 lastSeq(이 서버가 seq를 발급 중인 채팅방은 발급된 seq)를 넘지 않도록 제한되므로,
+// 다른 서버가 발급해 아직 DB에 반영되지 않은 메시지까지 읽은 요청은 제한된 값만 반영하고 다시 대기열에 넣어
+// 다음 주기에 나머지를 반영 (최대 maxDeferrals회, 그 뒤에는 존재하지 않는 seq로 보고 버림)
+// -------------------------------------------------------------------------
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ReadMarkCoalescer {
+
+    private final ChatRoomRepository chatRoomRepository;
+    private final ChatRoomUserRepository chatRoomUserRepository;
+    private final ChatInboxService chatInboxService;
+    private final InboxDeltaPublisher inboxDeltaPublisher;
+    private final OptimisticSequencer optimisticSequencer;
+    private final TransactionTemplate transactionTemplate;
+
+    // (채팅방, 사용자) -> 아직 DB에 반영되지 않은 최대 읽음 seq
+    private final Map<ReadMarkKey, Long> pending = new ConcurrentHashMap<>();
+
+    // (채팅방, 사용자) -> 채팅방 lastSeq보다 앞서 다시 대기열에 넣은 횟수
+    private final Map<ReadMarkKey, Integer> deferrals = new ConcurrentHashMap<>();
+
+    // 채팅방 lastSeq보다 앞선 읽음 요청을 다시 시도하는 최대 횟수 (flush 주기 단위)
+    @Value("${chat.read-mark.max-deferrals:120}")
+    private int maxDeferrals;
+
+    // -------------------------------------------------------------------------
+    // 읽음 처리 요청 등록 (DB 접근 없음)
+    //
+    // @param roomId 채팅방 ID
+    // @param userId 사용자 ID
+    // @param seq 이 사용자가 읽은 마지막 메시지 seq
+    // -------------------------------------------------------------------------
+
+    public void markRead(Long roomId, Long userId, long seq) {
+        if (seq <= 0) {
+            return;
+        }
+        pending.merge(new ReadMarkKey(roomId, userId), seq, Math::max);
+    }
+
+    // -------------------------------------------------------------------------
+    // 모아 둔 읽음 처리 요청을 DB에 반영
+    // -------------------------------------------------------------------------
+
+    @Scheduled(fixedDelayString = "${chat.read-mark.flush-interval-ms:500}")
+    public void flush() {
+        if (pending.isEmpty()) {
+            return;
+        }
+
+        // 반영할 항목을 꺼냄 (꺼내는 사이 새로 들어온 요청은 다음 주기에 반영)
+        List<Map.Entry<ReadMarkKey, Long>> batch = new ArrayList<>();
+        for (ReadMarkKey key : pending.keySet()) {
+            Long seq = pending.remove(key);
+            if (seq != null) {
+                batch.add(Map.entry(key, seq));
+            }
+        }
+
+        Map<Long, Long> roomLastSeqs = new HashMap<>();
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                Set<Long> roomIds = new HashSet<>();
+                batch.forEach(entry -> roomIds.add(entry.getKey().roomId()));
+                chatRoomRepository.findLastSeqsByIdIn(roomIds)
+                        .forEach(room -> roomLastSeqs.put(room.roomId(), room.lastSeq()));
+
+                for (Map.Entry<ReadMarkKey, Long> entry : batch) {
+                    ReadMarkKey key = entry.getKey();
+                    long issuedSeq = optimisticSequencer.current(key.roomId());
+                    chatRoomUserRepository.advanceLastReadSeq(key.roomId(), key.userId(), entry.getValue(), issuedSeq);
+                    if (chatInboxService.advanceLastReadSeq(key.roomId(), key.userId(), entry.getValue(), issuedSeq) > 0) {
+                        // 다른 기기의 목록 안 읽은 수 갱신 (커밋 이후 전송)
+                        inboxDeltaPublisher.readChanged(key.roomId(), key.userId());
+                    }
+                }
+            });
+        } catch (Exception e) {
+            // 실패한 항목은 다시 대기열로 (더 큰 seq가 이미 들어왔다면 그 값 유지)
+            log.error("읽음 처리 반영 실패: {}건", batch.size(), e);
+            batch.forEach(entry -> pending.merge(entry.getKey(), entry.getValue(), Math::max));
+            return;
+        }
+
+        // 채팅방 lastSeq(발급된 seq)에서 잘린 요청은 다시 대기열로
+        for (Map.Entry<ReadMarkKey, Long> entry : batch) {
+            ReadMarkKey key = entry.getKey();
+            Long lastSeq = roomLastSeqs.get(key.roomId());
+            if (lastSeq == null || entry.getValue() <= Math.max(lastSeq, optimisticSequencer.current(key.roomId()))) {
+                deferrals.remove(key);
+                continue;
+            }
+            if (deferrals.merge(key, 1, Integer::sum) > maxDeferrals) {
+                log.warn("채팅방 lastSeq를 넘는 읽음 요청 버림: roomId={}, userId={}, seq={}, lastSeq={}",
+                        key.roomId(), key.userId(), entry.getValue(), lastSeq);
+                deferrals.remove(key);
+                continue;
+            }
+            pending.merge(key, entry.getValue(), Math::max);
+        }
+    }
+
+    // 종료 시 남은 요청 반영
+    @PreDestroy
+    public void flushOnShutdown() {
+        flush();
+    }
+
+    private record ReadMarkKey(Long roomId, Long userId) {}
+
+}
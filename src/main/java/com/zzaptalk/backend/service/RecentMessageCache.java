@@ -0,0 +1,235 @@
+package com.zzaptalk.backend.service;
+
+import com.zzaptalk.backend.dto.ChatMessagePageResponse;
+import com.zzaptalk.backend.dto.ChatMessageResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+
+// -------------------------------------------------------------------------
+// 활성 채팅방 최근 메시지 캐시 (채팅방별 링 버퍼)
+// 채팅방에 들어왔을 때의 첫 페이지(최신 메시지) 조회를 DB 없이 처리
+// - 메시지 전송 시 채워지고, 첫 페이지 DB 조회 결과로도 채워짐
+// - seq가 끊김 없이 이어진 최신 구간만 보관하므로, 캐시된 메시지가 곧 그 방의 최신 메시지
+// - 오래 조회되지 않은 방과 최대 방 개수를 넘는 방은 주기적으로 제거
+// 서버 여러 대를 운영하면 다른 서버에서 전송된 메시지는 채워지지 않으므로
+// 외부 브로커 릴레이(chat.broker.relay.enabled, 다중 서버 구성)를 사용하면 기본값이 꺼짐
+// (채팅방을 담당 서버로 라우팅하는 경우에만 chat.recent-cache.enabled=true로 명시)
+// -------------------------------------------------------------------------
+
+@Component
+public class RecentMessageCache {
+
+    private final Map<Long, RoomBuffer> rooms = new ConcurrentHashMap<>();
+
+    @Value("${chat.recent-cache.enabled:#{!${chat.broker.relay.enabled:false}}}")
+    private boolean enabled;
+
+    // 채팅방별 보관 메시지 수
+    @Value("${chat.recent-cache.messages-per-room:50}")
+    private int capacity;
+
+    // 최대 캐시 채팅방 수
+    @Value("${chat.recent-cache.max-rooms:10000}")
+    private int maxRooms;
+
+    // 마지막 접근 후 이 시간이 지나면 제거(ms)
+    @Value("${chat.recent-cache.idle-timeout-ms:600000}")
+    private long idleTimeoutMs;
+
+    // -------------------------------------------------------------------------
+    // 전송된 메시지 추가 (전송 경로에서 호출)
+    // -------------------------------------------------------------------------
+
+    public void append(ChatMessageResponse message) {
+        if (!enabled || message.getSeq() == null) {
+            return;
+        }
+        rooms.computeIfAbsent(message.getRoomId(), roomId -> new RoomBuffer())
+                .merge(List.of(message), capacity);
+    }
+
+    // -------------------------------------------------------------------------
+    // DB에서 조회한 최신 페이지로 채우기 (캐시 미스 후 호출)
+    //
+    // @param messages 최신 페이지 메시지 (최신순)
+    // @param reachedStart 이 페이지가 채팅방의 첫 메시지까지 포함하는지
+    // -------------------------------------------------------------------------
+
+    public void seed(Long roomId, List<ChatMessageResponse> messages, boolean reachedStart) {
+        if (!enabled || messages.isEmpty()) {
+            return;
+        }
+        RoomBuffer buffer = rooms.computeIfAbsent(roomId, id -> new RoomBuffer());
+        buffer.merge(messages, capacity);
+        Long oldestSeq = messages.get(messages.size() - 1).getSeq();
+        if (reachedStart && oldestSeq != null) {
+            buffer.markStart(oldestSeq);
+        }
+    }
+
+    // -------------------------------------------------------------------------
+    // 최신 페이지 조회
+    // 요청한 개수만큼 보관하고 있거나, 채팅방의 첫 메시지부터 보관 중일 때만 적중
+    // (보관 중인 메시지의 ID 순서가 seq 순서와 다르면 ID 커서와 어긋나므로 미스)
+    //
+    // @param size 페이지 크기
+    // @return 최신순 페이지 (캐시 미스면 empty)
+    // -------------------------------------------------------------------------
+
+    public Optional<ChatMessagePageResponse> getLatestPage(Long roomId, int size) {
+        if (!enabled) {
+            return Optional.empty();
+        }
+        RoomBuffer buffer = rooms.get(roomId);
+        return buffer != null ? buffer.latestPage(size) : Optional.empty();
+    }
+
+    // 채팅방 캐시 제거
+    public void evict(Long roomId) {
+        rooms.remove(roomId);
+    }
+
+    // -------------------------------------------------------------------------
+    // 오래 조회되지 않은 방 / 최대 방 수 초과분 제거
+    // -------------------------------------------------------------------------
+
+    @Scheduled(fixedDelayString = "${chat.recent-cache.sweep-interval-ms:30000}")
+    public void sweep() {
+        long now = System.currentTimeMillis();
+        rooms.entrySet().removeIf(entry -> now - entry.getValue().lastAccess > idleTimeoutMs);
+
+        int overflow = rooms.size() - maxRooms;
+        if (overflow > 0) {
+            rooms.entrySet().stream()
+                    .sorted(Comparator.comparingLong(entry -> entry.getValue().lastAccess))
+                    .limit(overflow)
+                    .map(Map.Entry::getKey)
+                    .toList()
+                    .forEach(rooms::remove);
+        }
+    }
+
+    // -------------------------------------------------------------------------
+    // 채팅방별 링 버퍼
+    // seq가 연속된 최신 구간(오래된 순)만 유지
+    // -------------------------------------------------------------------------
+
+    private static class RoomBuffer {
+
+        private final ReentrantLock lock = new ReentrantLock();
+        private final Deque<ChatMessageResponse> messages = new ArrayDeque<>();
+        // 채팅방의 첫 메시지 seq (버퍼가 첫 메시지부터 보관 중인지 판단용, 모르면 0)
+        private long startSeq;
+        private volatile long lastAccess = System.currentTimeMillis();
+
+        void merge(List<ChatMessageResponse> incoming, int capacity) {
+            lock.lock();
+            try {
+                lastAccess = System.currentTimeMillis();
+
+                TreeMap<Long, ChatMessageResponse> bySeq = new TreeMap<>();
+                for (ChatMessageResponse message : messages) {
+                    bySeq.put(message.getSeq(), message);
+                }
+                for (ChatMessageResponse message : incoming) {
+                    if (message.getSeq() != null) {
+                        bySeq.put(message.getSeq(), message);
+                    }
+                }
+
+                // 가장 최신 seq부터 거꾸로 연속된 구간만 남김 (최대 capacity개)
+                Deque<ChatMessageResponse> contiguous = new ArrayDeque<>();
+                long expected = -1;
+                for (ChatMessageResponse message : bySeq.descendingMap().values()) {
+                    if (expected != -1 && message.getSeq() != expected) {
+                        break;
+                    }
+                    contiguous.addFirst(message);
+                    expected = message.getSeq() - 1;
+                    if (contiguous.size() == capacity) {
+                        break;
+                    }
+                }
+
+                messages.clear();
+                messages.addAll(contiguous);
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        void markStart(long seq) {
+            lock.lock();
+            try {
+                startSeq = seq;
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        Optional<ChatMessagePageResponse> latestPage(int size) {
+            lock.lock();
+            try {
+                lastAccess = System.currentTimeMillis();
+
+                boolean fromStart = !messages.isEmpty() && startSeq > 0 && messages.peekFirst().getSeq() == startSeq;
+                if (messages.size() < size && !fromStart) {
+                    return Optional.empty();
+                }
+
+                List<ChatMessageResponse> page = new ArrayList<>(Math.min(size, messages.size()));
+                Iterator<ChatMessageResponse> newestFirst = messages.descendingIterator();
+                while (newestFirst.hasNext() && page.size() < size) {
+                    page.add(newestFirst.next());
+                }
+
+                ChatMessageResponse oldest = page.get(page.size() - 1);
+                boolean hasNext = !(fromStart && oldest.getSeq() == startSeq);
+
+                // 커서(nextCursor)는 메시지 ID이고 DB 페이지는 ID 순이므로, 버퍼의 seq 순서와 ID 순서가
+                // 같을 때만 적중 (선전송 / 저널 모드는 ID 발급과 seq 발급 사이에 순서가 뒤바뀔 수 있음)
+                // 다음 페이지가 있으면 페이지 밖에 더 오래된 메시지가 하나 이상 있어
+                // 커서보다 작은 ID가 이어지는지 확인할 수 있을 때만 적중
+                if (!idsDescendWithSeq() || (hasNext && messages.size() == page.size())) {
+                    return Optional.empty();
+                }
+
+                return Optional.of(ChatMessagePageResponse.builder()
+                        .messages(page)
+                        .nextCursor(hasNext ? oldest.getMessageId() : null)
+                        .hasNext(hasNext)
+                        .build());
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        // 최신 메시지부터 거꾸로 ID가 계속 작아지는지 (lock 보유 상태에서 호출)
+        private boolean idsDescendWithSeq() {
+            long previousId = Long.MAX_VALUE;
+            Iterator<ChatMessageResponse> newestFirst = messages.descendingIterator();
+            while (newestFirst.hasNext()) {
+                Long messageId = newestFirst.next().getMessageId();
+                if (messageId == null || messageId >= previousId) {
+                    return false;
+                }
+                previousId = messageId;
+            }
+            return true;
+        }
+    }
+
+}
@@ -0,0 +1,156 @@
+package com.zzaptalk.backend.service;
+
+import com.zzaptalk.backend.repository.ChatRoomUserRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+// -------------------------------------------------------------------------
+// 채팅방 운영 모드 판별 (NORMAL / LARGE)
+// 참여자 수 또는 메시지 속도가 기준을 넘는 방은 LARGE 모드로 전환하여
+// - 축약 구독 경로(/topic/chat/room/{id}/compact)에는 축약 payload로 전송 (CompactChatMessageResponse)
+// - 채팅방 요약 / 참여자 채팅방 목록 갱신을 더 긴 주기로 반영 (RoomSummaryUpdater)
+// - 목록 조회 시 안 읽은 수를 채팅방 lastSeq 기준으로 그때 계산 (ChatInboxService)
+// 작은 방은 기존과 동일하게 동작
+// 기준 근처에서 모드가 자주 바뀌지 않도록 해제는 기준의 절반 아래로 내려갔을 때만
+// -------------------------------------------------------------------------
+
+@Component
+@RequiredArgsConstructor
+public class RoomModeRegistry {
+
+    private final ChatRoomUserRepository chatRoomUserRepository;
+
+    // LARGE 모드 전환 참여자 수
+    @Value("${chat.large-room.member-threshold:1000}")
+    private long memberThreshold;
+
+    // LARGE 모드 전환 초당 메시지 수
+    @Value("${chat.large-room.rate-threshold-per-sec:50}")
+    private long rateThreshold;
+
+    // 메시지가 없는 방의 상태를 버리는 시간(ms)
+    @Value("${chat.large-room.idle-timeout-ms:600000}")
+    private long idleTimeoutMs;
+
+    public enum RoomMode {
+        NORMAL,
+        LARGE
+    }
+
+    private final Map<Long, RoomStats> rooms = new ConcurrentHashMap<>();
+
+    // -------------------------------------------------------------------------
+    // 메시지 전송 기록 및 현재 모드 반환 (브로드캐스트 직전 호출)
+    // 처음 보는 방은 참여자 수를 한 번 조회
+    // (조회는 맵 밖에서: computeIfAbsent 안에서 DB를 기다리면 같은 구간의 다른 방 갱신까지 막힘,
+    //  동시에 처음 보는 같은 방은 먼저 등록된 상태를 사용)
+    // -------------------------------------------------------------------------
+
+    public RoomMode recordMessage(Long roomId) {
+        RoomStats stats = rooms.get(roomId);
+        if (stats == null) {
+            RoomStats loaded = new RoomStats(chatRoomUserRepository.countMembers(roomId));
+            stats = rooms.putIfAbsent(roomId, loaded);
+            if (stats == null) {
+                stats = loaded;
+            }
+        }
+        return stats.recordMessage(System.nanoTime());
+    }
+
+    // 현재 모드 (상태가 없으면 NORMAL)
+    public RoomMode getMode(Long roomId) {
+        RoomStats stats = rooms.get(roomId);
+        return stats != null ? stats.mode : RoomMode.NORMAL;
+    }
+
+    public boolean isLarge(Long roomId) {
+        return getMode(roomId) == RoomMode.LARGE;
+    }
+
+    // 참여자 변경 반영 (ChatInboxService.syncRoomMembers에서 호출)
+    public void updateMemberCount(Long roomId, long memberCount) {
+        RoomStats stats = rooms.get(roomId);
+        if (stats != null) {
+            stats.updateMemberCount(memberCount);
+        } else if (memberCount >= memberThreshold) {
+            rooms.putIfAbsent(roomId, new RoomStats(memberCount));
+        }
+    }
+
+    // 오래 메시지가 없는 방 상태 제거
+    @Scheduled(fixedDelayString = "${chat.large-room.sweep-interval-ms:60000}")
+    public void sweep() {
+        long now = System.nanoTime();
+        long idleNanos = TimeUnit.MILLISECONDS.toNanos(idleTimeoutMs);
+        rooms.values().removeIf(stats -> now - stats.lastMessageAt > idleNanos);
+    }
+
+    // -------------------------------------------------------------------------
+    // 방별 상태 (참여자 수, 1초 단위 메시지 수)
+    // -------------------------------------------------------------------------
+
+    private class RoomStats {
+
+        private final ReentrantLock lock = new ReentrantLock();
+
+        private long memberCount;
+        private long windowStart = System.nanoTime();
+        private long windowCount;
+        private long lastRate;
+        private volatile long lastMessageAt = System.nanoTime();
+        private volatile RoomMode mode;
+
+        RoomStats(long memberCount) {
+            this.memberCount = memberCount;
+            this.mode = evaluate(RoomMode.NORMAL);
+        }
+
+        RoomMode recordMessage(long now) {
+            lock.lock();
+            try {
+                lastMessageAt = now;
+                if (now - windowStart >= TimeUnit.SECONDS.toNanos(1)) {
+                    // 1초 구간이 끝나면 직전 구간의 메시지 수를 속도로 사용
+                    lastRate = windowCount;
+                    windowCount = 0;
+                    windowStart = now;
+                }
+                windowCount++;
+                mode = evaluate(mode);
+                return mode;
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        void updateMemberCount(long memberCount) {
+            lock.lock();
+            try {
+                this.memberCount = memberCount;
+                mode = evaluate(mode);
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        private RoomMode evaluate(RoomMode current) {
+            long rate = Math.max(lastRate, windowCount);
+            if (memberCount >= memberThreshold || rate >= rateThreshold) {
+                return RoomMode.LARGE;
+            }
+            if (current == RoomMode.LARGE && (memberCount >= memberThreshold / 2 || rate >= rateThreshold / 2)) {
+                return RoomMode.LARGE;
+            }
+            return RoomMode.NORMAL;
+        }
+    }
+
+}
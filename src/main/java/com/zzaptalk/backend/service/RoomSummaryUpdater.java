@@ -0,0 +1,153 @@
+package com.zzaptalk.backend.service;
+
+import com.zzaptalk.backend.repository.ChatInboxRepository;
+import com.zzaptalk.backend.repository.ChatRoomRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+// -------------------------------------------------------------------------
+// 채팅방 요약(마지막 메시지 내용/시간) 갱신 병합기
+// 메시지마다 전송 트랜잭션 안에서 chat_room 행과 참여자 chat_inbox 행을 갱신하면
+// 바쁜 그룹 방의 모든 발신자가 같은 행 잠금에서 줄을 서게 되므로,
+// 방별 최신 요약만 메모리에 두었다가 주기적으로 방당 한 번 반영
+// - 메시지 seq 발급(ChatRoomRepository.increaseLastSeq)은 그대로 전송 트랜잭션에서 수행
+// - 반영 전까지는 조회 시 메모리 값을 우선 사용 (getPending)
+// - 대형 채팅방(RoomModeRegistry LARGE)은 더 긴 주기로 반영
+// -------------------------------------------------------------------------
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class RoomSummaryUpdater {
+
+    private final ChatRoomRepository chatRoomRepository;
+    private final ChatInboxRepository chatInboxRepository;
+    private final InboxDeltaPublisher inboxDeltaPublisher;
+    private final TransactionTemplate transactionTemplate;
+    private final RoomModeRegistry roomModeRegistry;
+
+    // 대형 채팅방(LARGE 모드)의 요약 반영 주기(ms)
+    // (참여자 전원의 채팅방 목록 행을 갱신하므로 작은 방보다 드물게 반영)
+    @Value("${chat.large-room.summary-interval-ms:5000}")
+    private long largeRoomIntervalMs;
+
+    // 대형 채팅방별 마지막 반영 시각 (System.nanoTime)
+    private final Map<Long, Long> largeRoomFlushedAt = new ConcurrentHashMap<>();
+
+    // 반영 대기 중인 채팅방별 최신 요약
+    private final Map<Long, RoomSummary> pending = new ConcurrentHashMap<>();
+
+    // 주기 반영과 종료 시 반영이 겹치지 않도록
+    private final ReentrantLock flushLock = new ReentrantLock();
+
+    // -------------------------------------------------------------------------
+    // 새 메시지 요약 등록 (메시지 커밋 이후 호출, DB 접근 없음)
+    //
+    // @param roomId 채팅방 ID
+    // @param seq 메시지 seq
+    // @param content 메시지 내용
+    // @param sentAt 메시지 전송 시간
+    // -------------------------------------------------------------------------
+
+    public void update(Long roomId, long seq, String content, LocalDateTime sentAt) {
+        RoomSummary summary = new RoomSummary(roomId, seq, content, sentAt);
+        // 순서가 뒤바뀌어 들어와도 seq가 큰 요약만 유지
+        pending.merge(roomId, summary, (current, next) -> next.seq() > current.seq() ? next : current);
+    }
+
+    // 아직 반영되지 않은 요약 (없으면 DB 값이 최신)
+    public Optional<RoomSummary> getPending(Long roomId) {
+        return Optional.ofNullable(pending.get(roomId));
+    }
+
+    // -------------------------------------------------------------------------
+    // 모아 둔 요약을 DB에 반영 (하나의 트랜잭션, 채팅방 ID 순으로 갱신해 교착 상태 방지)
+    // -------------------------------------------------------------------------
+
+    @Scheduled(fixedDelayString = "${chat.room-summary.flush-interval-ms:200}")
+    public void flush() {
+        flush(false);
+    }
+
+    private void flush(boolean includeDeferred) {
+        if (pending.isEmpty()) {
+            return;
+        }
+
+        flushLock.lock();
+        try {
+            long now = System.nanoTime();
+
+            // 반영이 끝날 때까지 pending에 남겨 두어 조회 시 계속 메모리 값을 사용
+            // 대형 채팅방은 반영 주기가 지난 경우에만 포함
+            Map<Long, RoomSummary> batch = new TreeMap<>();
+            pending.forEach((roomId, summary) -> {
+                if (includeDeferred || isDue(roomId, now)) {
+                    batch.put(roomId, summary);
+                }
+            });
+            if (batch.isEmpty()) {
+                return;
+            }
+
+            try {
+                transactionTemplate.executeWithoutResult(status -> {
+                    for (RoomSummary summary : batch.values()) {
+                        chatRoomRepository.updateSummary(summary.roomId(), summary.content(), summary.sentAt());
+                        chatInboxRepository.applyMessage(summary.roomId(), summary.seq(), summary.content(),
+                                summary.sentAt(), ChatInboxService.toSortKey(summary.sentAt()));
+                        // 참여자 채팅방 목록 변경분 전송 (커밋 이후)
+                        inboxDeltaPublisher.roomChanged(summary.roomId());
+                    }
+                });
+            } catch (Exception e) {
+                // 실패한 요약은 그대로 남아 다음 주기에 다시 반영
+                log.error("채팅방 요약 반영 실패: {}건", batch.size(), e);
+                return;
+            }
+
+            // 반영하는 사이 더 새로운 요약이 들어온 방은 남겨 둠
+            batch.forEach(pending::remove);
+
+            for (Long roomId : batch.keySet()) {
+                if (roomModeRegistry.isLarge(roomId)) {
+                    largeRoomFlushedAt.put(roomId, now);
+                } else {
+                    largeRoomFlushedAt.remove(roomId);
+                }
+            }
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    // 종료 시 남은 요약 반영 (대형 채팅방 포함)
+    @PreDestroy
+    public void flushOnShutdown() {
+        flush(true);
+    }
+
+    private boolean isDue(Long roomId, long now) {
+        if (!roomModeRegistry.isLarge(roomId)) {
+            return true;
+        }
+        Long flushedAt = largeRoomFlushedAt.get(roomId);
+        return flushedAt == null || now - flushedAt >= TimeUnit.MILLISECONDS.toNanos(largeRoomIntervalMs);
+    }
+
+    public record RoomSummary(Long roomId, long seq, String content, LocalDateTime sentAt) {}
+
+}
@@ -0,0 +1,97 @@
+package com.zzaptalk.backend.service;
+
+import com.zzaptalk.backend.dto.SenderProfile;
+import com.zzaptalk.backend.event.UserProfileChangedEvent;
+import com.zzaptalk.backend.repository.UserRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantLock;
+
+// -------------------------------------------------------------------------
+// 메시지 발신자 프로필 캐시 (userId -> 닉네임, 프로필 사진 URL)
+// 메시지 전송마다 User 전체 조회(전화번호/주민번호 AES 복호화 포함)를 하지 않도록
+// 필요한 컬럼만 조회한 결과를 크기 제한 LRU로 보관
+// - 프로필 변경 이벤트(UserProfileChangedEvent) 수신 시 무효화
+// - 이벤트 누락 대비 일정 시간이 지나면 다시 조회
+// -------------------------------------------------------------------------
+
+@Component
+@RequiredArgsConstructor
+public class SenderProfileCache {
+
+    private final UserRepository userRepository;
+
+    private final ReentrantLock lock = new ReentrantLock();
+
+    // 최대 보관 사용자 수
+    @Value("${chat.sender-cache.max-size:100000}")
+    private int maxSize;
+
+    // 항목 유효 시간(ms)
+    @Value("${chat.sender-cache.ttl-ms:600000}")
+    private long ttlMs;
+
+    // 접근 순서 기준 LinkedHashMap (가장 오래 사용되지 않은 항목부터 제거)
+    private final LinkedHashMap<Long, CachedProfile> profiles = new LinkedHashMap<>(1024, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Long, CachedProfile> eldest) {
+            return size() > maxSize;
+        }
+    };
+
+    // -------------------------------------------------------------------------
+    // 발신자 프로필 조회 (캐시 미스 시 DB 조회)
+    //
+    // @param userId 사용자 ID
+    // @return 발신자 프로필
+    // -------------------------------------------------------------------------
+
+    public SenderProfile get(Long userId) {
+        long now = System.currentTimeMillis();
+
+        lock.lock();
+        try {
+            CachedProfile cached = profiles.get(userId);
+            if (cached != null && now - cached.loadedAt() < ttlMs) {
+                return cached.profile();
+            }
+        } finally {
+            lock.unlock();
+        }
+
+        // DB 조회는 잠금 밖에서 수행
+        SenderProfile profile = userRepository.findSenderProfileById(userId)
+                .orElseThrow(() -> new IllegalArgumentException("사용자를 찾을 수 없습니다: " + userId));
+
+        lock.lock();
+        try {
+            profiles.put(userId, new CachedProfile(profile, now));
+        } finally {
+            lock.unlock();
+        }
+        return profile;
+    }
+
+    // 사용자 항목 무효화
+    public void evict(Long userId) {
+        lock.lock();
+        try {
+            profiles.remove(userId);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @EventListener
+    public void onUserProfileChanged(UserProfileChangedEvent event) {
+        evict(event.userId());
+    }
+
+    private record CachedProfile(SenderProfile profile, long loadedAt) {}
+
+}
@@ -0,0 +1,53 @@
+package com.zzaptalk.backend.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.locks.ReentrantLock;
+
+// -------------------------------------------------------------------------
+// 1:1 채팅방 캐시 ((작은 사용자 ID, 큰 사용자 ID) -> 채팅방 ID)
+// 1:1 채팅방은 두 사용자 조합당 하나로 고정되고 삭제되지 않으므로 무효화 없이 크기만 제한
+// -------------------------------------------------------------------------
+
+@Component
+public class SingleRoomPairCache {
+
+    private final ReentrantLock lock = new ReentrantLock();
+
+    // 최대 보관 조합 수
+    @Value("${chat.single-room-cache.max-size:100000}")
+    private int maxSize;
+
+    // 접근 순서 기준 LinkedHashMap (가장 오래 사용되지 않은 항목부터 제거)
+    private final LinkedHashMap<PairKey, Long> rooms = new LinkedHashMap<>(1024, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<PairKey, Long> eldest) {
+            return size() > maxSize;
+        }
+    };
+
+    public Optional<Long> get(Long minUserId, Long maxUserId) {
+        lock.lock();
+        try {
+            return Optional.ofNullable(rooms.get(new PairKey(minUserId, maxUserId)));
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public void put(Long minUserId, Long maxUserId, Long roomId) {
+        lock.lock();
+        try {
+            rooms.put(new PairKey(minUserId, maxUserId), roomId);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private record PairKey(Long minUserId, Long maxUserId) {}
+
+}
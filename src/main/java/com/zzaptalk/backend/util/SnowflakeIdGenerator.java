@@ -0,0 +1,140 @@
+package com.zzaptalk.backend.util;
+
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.concurrent.locks.ReentrantLock;
+
+// -------------------------------------------------------------------------
+// 시간 순 정렬 가능한 분산 ID 생성기 (Snowflake 방식)
+// [시간(ms, 41비트)][노드 ID(4비트)][같은 ms 내 순번(8비트)] = 53비트
+// - 서버(노드)마다 다른 node-id를 설정하면 DB 왕복 없이 서버 간 중복 없는 ID 발급
+// - 상위 비트가 시간이므로 ID 순서 = 발급 시간 순서 (keyset 페이지 조회 기준으로 사용 가능)
+// - 53비트 이내로 제한해 JavaScript 클라이언트에서도 숫자로 정확히 표현 가능
+//   (노드당 ms당 256개, 최대 16개 노드)
+//
+// chat.id.node-id는 서버마다 다른 값으로 반드시 설정 (0 ~ 15)
+// - 노드 ID는 ID 중복 방지뿐 아니라 채팅방 seq 임대(OptimisticSequencer)와
+//   outbox 전송 담당(ChatOutboxRelay)의 서버 식별자로도 쓰이므로, 같은 값을 쓰는 서버가 둘이면
+//   기본 키 중복과 함께 두 서버가 서로를 자신으로 여기게 됨
+// - 외부 브로커 릴레이(chat.broker.relay.enabled=true, 다중 서버 구성)나
+//   DIRECT가 아닌 저장 방식(chat.persistence.mode)에서 설정하지 않으면 시작 시 실패
+// - 그 외(단일 서버)에서만 설정하지 않은 경우 0을 사용
+// -------------------------------------------------------------------------
+
+@Slf4j
+@Component
+public class SnowflakeIdGenerator {
+
+    // 기준 시각 (2025-01-01T00:00:00Z)
+    private static final long EPOCH_MS = Instant.parse("2025-01-01T00:00:00Z").toEpochMilli();
+
+    private static final int NODE_BITS = 4;
+    private static final int SEQUENCE_BITS = 8;
+
+    private static final long MAX_NODE_ID = (1L << NODE_BITS) - 1;
+    private static final long SEQUENCE_MASK = (1L << SEQUENCE_BITS) - 1;
+
+    // 허용하는 시계 역행 범위(ms): 이 범위 안이면 시계가 따라올 때까지 대기
+    private static final long MAX_CLOCK_BACKWARD_MS = 5;
+
+    private static SnowflakeIdGenerator instance;
+
+    // 노드 ID (서버마다 다르게 설정, 설정하지 않으면 null)
+    @Value("${chat.id.node-id:#{null}}")
+    private Long nodeId;
+
+    @Value("${chat.broker.relay.enabled:false}")
+    private boolean relayEnabled;
+
+    @Value("${chat.persistence.mode:DIRECT}")
+    private String persistenceMode;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private long lastTimestamp = -1L;
+    private long sequence = 0L;
+
+    // Hibernate ID 생성기(SnowflakeIdentifierGenerator)에서 static으로 사용할 수 있도록 등록
+    @PostConstruct
+    public void init() {
+        if (nodeId == null) {
+            if (relayEnabled || !"DIRECT".equalsIgnoreCase(persistenceMode)) {
+                throw new IllegalStateException("다중 서버 구성(chat.broker.relay.enabled) 또는 "
+                        + persistenceMode + " 저장 방식에서는 서버마다 다른 chat.id.node-id(0 ~ "
+                        + MAX_NODE_ID + ")를 설정해야 합니다.");
+            }
+            log.warn("chat.id.node-id가 설정되지 않아 0을 사용합니다 (단일 서버 구성에서만 허용)");
+            nodeId = 0L;
+        }
+        if (nodeId < 0 || nodeId > MAX_NODE_ID) {
+            throw new IllegalArgumentException("chat.id.node-id는 0 ~ " + MAX_NODE_ID + " 사이여야 합니다: " + nodeId);
+        }
+        instance = this;
+    }
+
+    public static SnowflakeIdGenerator getInstance() {
+        if (instance == null) {
+            throw new IllegalStateException("SnowflakeIdGenerator가 아직 초기화되지 않았습니다.");
+        }
+        return instance;
+    }
+
+    public long getNodeId() {
+        return nodeId;
+    }
+
+    // -------------------------------------------------------------------------
+    // 다음 ID 발급
+    // -------------------------------------------------------------------------
+
+    public long nextId() {
+        lock.lock();
+        try {
+            long timestamp = currentTimeMillis();
+
+            if (timestamp < lastTimestamp) {
+                // 시계가 뒤로 간 경우 (NTP 보정 등)
+                long backward = lastTimestamp - timestamp;
+                if (backward > MAX_CLOCK_BACKWARD_MS) {
+                    throw new IllegalStateException("시스템 시계가 " + backward + "ms 뒤로 이동하여 ID를 발급할 수 없습니다.");
+                }
+                timestamp = waitUntilAfter(lastTimestamp - 1);
+            }
+
+            if (timestamp == lastTimestamp) {
+                sequence = (sequence + 1) & SEQUENCE_MASK;
+                if (sequence == 0) {
+                    // 같은 ms 안에서 순번을 모두 사용: 다음 ms까지 대기
+                    timestamp = waitUntilAfter(lastTimestamp);
+                }
+            } else {
+                sequence = 0L;
+            }
+
+            lastTimestamp = timestamp;
+
+            return ((timestamp - EPOCH_MS) << (NODE_BITS + SEQUENCE_BITS))
+                    | (nodeId << SEQUENCE_BITS)
+                    | sequence;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private long waitUntilAfter(long timestamp) {
+        long current = currentTimeMillis();
+        while (current <= timestamp) {
+            Thread.onSpinWait();
+            current = currentTimeMillis();
+        }
+        return current;
+    }
+
+    private long currentTimeMillis() {
+        return System.currentTimeMillis();
+    }
+
+}
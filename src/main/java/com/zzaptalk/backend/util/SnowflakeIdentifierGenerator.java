@@ -0,0 +1,20 @@
+package com.zzaptalk.backend.util;
+
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.id.IdentifierGenerator;
+
+// @SnowflakeId 가 붙은 엔티티 ID를 INSERT 전에 애플리케이션에서 발급
+// (IDENTITY와 달리 INSERT 결과를 기다리지 않으므로 Hibernate JDBC batch INSERT 가능)
+// ID가 이미 지정된 엔티티(선전송/저널 재생 메시지)는 지정된 ID를 그대로 사용
+public class SnowflakeIdentifierGenerator implements IdentifierGenerator {
+
+    @Override
+    public Object generate(SharedSessionContractImplementor session, Object object) {
+        return SnowflakeIdGenerator.getInstance().nextId();
+    }
+
+    @Override
+    public boolean allowAssignedIdentifiers() {
+        return true;
+    }
+}
@@ -0,0 +1,32 @@
+package com.zzaptalk.backend.util;
+
+import jakarta.persistence.AttributeConverter;
+import jakarta.persistence.Converter;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+// 문자열 목록 <-> 단일 컬럼 변환
+// (닉네임 등 사용자 입력에 나오지 않는 제어 문자 US(0x1F)를 구분자로 사용)
+@Converter
+public class StringListConverter implements AttributeConverter<List<String>, String> {
+
+    private static final String DELIMITER = "\u001F";
+
+    @Override
+    public String convertToDatabaseColumn(List<String> attribute) {
+        if (attribute == null) {
+            return null;
+        }
+        return String.join(DELIMITER, attribute);
+    }
+
+    @Override
+    public List<String> convertToEntityAttribute(String dbData) {
+        if (dbData == null || dbData.isEmpty()) {
+            return new ArrayList<>();
+        }
+        return new ArrayList<>(Arrays.asList(dbData.split(DELIMITER, -1)));
+    }
+}
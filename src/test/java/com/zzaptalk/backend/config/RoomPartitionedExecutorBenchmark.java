@@ -0,0 +1,402 @@
+package com.zzaptalk.backend.config;
+
+import com.zzaptalk.backend.jwt.JwtChannelInterceptor;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.autoconfigure.web.servlet.DispatcherServletAutoConfiguration;
+import org.springframework.boot.autoconfigure.web.servlet.ServletWebServerFactoryAutoConfiguration;
+import org.springframework.boot.autoconfigure.websocket.servlet.WebSocketServletAutoConfiguration;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.servlet.context.ServletWebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.converter.MappingJackson2MessageConverter;
+import org.springframework.messaging.handler.annotation.MessageMapping;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.SimpMessageType;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.messaging.simp.broker.SimpleBrokerMessageHandler;
+import org.springframework.messaging.simp.stomp.StompFrameHandler;
+import org.springframework.messaging.simp.stomp.StompHeaders;
+import org.springframework.messaging.simp.stomp.StompSession;
+import org.springframework.messaging.simp.stomp.StompSessionHandlerAdapter;
+import org.springframework.messaging.support.MessageBuilder;
+import org.springframework.stereotype.Controller;
+import org.springframework.web.socket.WebSocketHttpHeaders;
+import org.springframework.web.socket.client.standard.StandardWebSocketClient;
+import org.springframework.web.socket.messaging.WebSocketStompClient;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.lang.management.ThreadMXBean;
+import java.lang.reflect.Type;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+// -------------------------------------------------------------------------
+// RoomPartitionedExecutor 플랫폼 스레드 / 가상 스레드 비교 벤치마크 (main 실행, 테스트 작업에는 포함되지 않음)
+// WebSocket/STOMP 설정만 올린 서버(WebSocketBrokerRelayIntegrationTest와 같은 최소 구성, simple broker)를 띄우고
+// 실제 STOMP 세션 sessions개를 연결해 각 세션이 자기 채팅방(/topic/chat/room/{id})을 구독한 뒤
+// messagesPerSession개씩 SEND(/app/chat/message)를 보냄
+// 서버의 채팅 메시지 처리는 DB 지연(sleep)만큼 블로킹한 뒤 채팅방으로 브로드캐스트한다고 가정
+//
+// 측정 항목
+// - 처리량, 전송부터 구독자 수신까지의 지연 (같은 JVM이므로 System.nanoTime 비교)
+// - 부하 중 살아 있는 플랫폼 스레드 수 최대값 (100ms마다 샘플링, 최대일 때의 이름별 분포)
+//   가상 스레드는 ThreadMXBean에 잡히지 않으므로 분포에서 레인 / outbound 스레드가 빠지는지로 비교
+//   (WebSocketClient-*, bench-*는 같은 JVM의 클라이언트 스레드)
+// - 세션 연결 후 힙(GC 후), 부하 중 힙 최대값 (100ms마다 샘플링)
+//
+// 모드
+// - platform: 기본 레인 수 (코어당 2개)
+// - platform-wide: 가상 스레드와 같은 레인 수를 플랫폼 스레드로 (스레드 스택 비용 비교용)
+// - virtual: spring.threads.virtual.enabled=true (JDK 21 이상에서만 실행, 코어당 16개)
+// 모드마다 별도 JVM으로 실행해야 스레드 / 힙 수치가 섞이지 않음
+// 세션마다 서버 / 클라이언트 소켓이 하나씩 열리므로 파일 디스크립터 한도(ulimit -n)가 sessions의 2배보다 커야 함
+//
+// 실행: IDE에서 main 실행 또는
+//   java -cp <test classpath> com.zzaptalk.backend.config.RoomPartitionedExecutorBenchmark [mode] [sessions] [messagesPerSession] [rooms] [dbLatencyMs]
+//   mode = platform | platform-wide | virtual
+// -------------------------------------------------------------------------
+
+public class RoomPartitionedExecutorBenchmark {
+
+    private static final int MAX_PENDING_CONNECTS = 200;
+    private static final int SENDER_THREADS = 8;
+
+    public static void main(String[] args) throws Exception {
+        String mode = args.length > 0 ? args[0] : "platform";
+        int sessions = args.length > 1 ? Integer.parseInt(args[1]) : 10_000;
+        int messagesPerSession = args.length > 2 ? Integer.parseInt(args[2]) : 5;
+        int rooms = args.length > 3 ? Integer.parseInt(args[3]) : 2_000;
+        long dbLatencyMs = args.length > 4 ? Long.parseLong(args[4]) : 5;
+
+        boolean virtual = mode.equals("virtual");
+        if (virtual && Runtime.version().feature() < 21) {
+            System.out.println("가상 스레드 모드는 JDK 21 이상에서만 실행할 수 있습니다: " + Runtime.version());
+            return;
+        }
+        int laneCount = mode.equals("platform-wide") ? Runtime.getRuntime().availableProcessors() * 16 : 0;
+
+        ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+        MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+
+        ConfigurableApplicationContext node = new SpringApplicationBuilder(BenchmarkNode.class)
+                .properties(
+                        "server.port=0",
+                        "server.tomcat.max-connections=" + (sessions + 1_000),
+                        "spring.main.banner-mode=off",
+                        "logging.level.root=WARN",
+                        "spring.threads.virtual.enabled=" + virtual,
+                        "chat.inbound.lanes=" + laneCount,
+                        "chat.inbound.lane-capacity=" + sessions * messagesPerSession,
+                        "benchmark.db-latency-ms=" + dbLatencyMs)
+                .run();
+        int port = ((ServletWebServerApplicationContext) node).getWebServer().getPort();
+        int lanes = node.getBean(RoomPartitionedExecutor.class).getLaneCount();
+
+        // -------------------------------------------------------------------------
+        // 세션 연결 및 구독
+        // -------------------------------------------------------------------------
+
+        WebSocketStompClient client = new WebSocketStompClient(new StandardWebSocketClient());
+        client.setMessageConverter(new MappingJackson2MessageConverter());
+
+        int[] subscribers = new int[rooms + 1];
+        int total = sessions * messagesPerSession;
+        long expectedDeliveries = 0;
+        for (int s = 0; s < sessions; s++) {
+            subscribers[roomOf(s, rooms)]++;
+        }
+        for (int s = 0; s < sessions; s++) {
+            expectedDeliveries += (long) messagesPerSession * subscribers[roomOf(s, rooms)];
+        }
+
+        long[] latencies = new long[(int) expectedDeliveries];
+        AtomicInteger delivered = new AtomicInteger();
+        CountDownLatch allDelivered = new CountDownLatch(1);
+        long expected = expectedDeliveries;
+        StompFrameHandler receiver = new StompFrameHandler() {
+            @Override
+            public Type getPayloadType(StompHeaders headers) {
+                return BenchmarkMessage.class;
+            }
+
+            @Override
+            public void handleFrame(StompHeaders headers, Object payload) {
+                long latency = System.nanoTime() - ((BenchmarkMessage) payload).sentAt();
+                int slot = delivered.getAndIncrement();
+                if (slot < latencies.length) {
+                    latencies[slot] = latency;
+                }
+                if (slot + 1 == expected) {
+                    allDelivered.countDown();
+                }
+            }
+        };
+
+        List<StompSession> stompSessions = connect(client, port, sessions, rooms, receiver);
+        awaitSubscriptions(node.getBean(SimpleBrokerMessageHandler.class), sessions, rooms);
+
+        System.gc();
+        long heapIdle = memory.getHeapMemoryUsage().getUsed();
+        int threadsIdle = threads.getThreadCount();
+
+        // -------------------------------------------------------------------------
+        // 부하 (세션별로 번갈아 전송, 부하 중 스레드 수 / 힙 샘플링)
+        // -------------------------------------------------------------------------
+
+        Sampler sampler = new Sampler(threads, memory);
+        sampler.start();
+
+        long started = System.nanoTime();
+        CountDownLatch sent = new CountDownLatch(SENDER_THREADS);
+        for (int t = 0; t < SENDER_THREADS; t++) {
+            int index = t;
+            Thread sender = new Thread(() -> {
+                for (int m = 0; m < messagesPerSession; m++) {
+                    for (int s = index; s < sessions; s += SENDER_THREADS) {
+                        StompHeaders headers = new StompHeaders();
+                        headers.setDestination("/app/chat/message");
+                        stompSessions.get(s).send(headers,
+                                new BenchmarkMessage(roomOf(s, rooms), "hello", System.nanoTime()));
+                    }
+                }
+                sent.countDown();
+            }, "bench-sender-" + t);
+            sender.start();
+        }
+        sent.await();
+        boolean completed = allDelivered.await(5, TimeUnit.MINUTES);
+        long elapsed = System.nanoTime() - started;
+        sampler.stop();
+
+        System.gc();
+        long heapAfter = memory.getHeapMemoryUsage().getUsed();
+
+        for (StompSession session : stompSessions) {
+            session.disconnect();
+        }
+        client.stop();
+        node.close();
+
+        // -------------------------------------------------------------------------
+        // 결과
+        // -------------------------------------------------------------------------
+
+        int received = Math.min(delivered.get(), latencies.length);
+        long[] sorted = Arrays.copyOf(latencies, received);
+        Arrays.sort(sorted);
+        System.out.printf("[%s] lanes=%d, sessions=%,d, messages=%,d, rooms=%,d, db latency=%dms, java %s%n",
+                mode, lanes, sessions, total, rooms, dbLatencyMs, Runtime.version());
+        System.out.printf("[%s] %,d msg/s, deliveries=%,d/%,d%s, elapsed=%,dms%n",
+                mode, total * 1_000_000_000L / elapsed, received, expected, completed ? "" : " (timeout)",
+                TimeUnit.NANOSECONDS.toMillis(elapsed));
+        if (received > 0) {
+            System.out.printf("[%s] delivery latency p50=%,dms p99=%,dms max=%,dms%n", mode,
+                    TimeUnit.NANOSECONDS.toMillis(percentile(sorted, 0.50)),
+                    TimeUnit.NANOSECONDS.toMillis(percentile(sorted, 0.99)),
+                    TimeUnit.NANOSECONDS.toMillis(sorted[sorted.length - 1]));
+        }
+        System.out.printf("[%s] live platform threads: idle=%d, peak under load=%d%n",
+                mode, threadsIdle, sampler.peakThreads);
+        System.out.printf("[%s] threads at peak: %s%n", mode, sampler.peakBreakdown.get());
+        System.out.printf("[%s] heap: idle with %,d sessions=%,dKB, peak under load=%,dKB, after load=%,dKB%n",
+                mode, sessions, heapIdle / 1024, sampler.peakHeap / 1024, heapAfter / 1024);
+    }
+
+    // -------------------------------------------------------------------------
+    // 서버(노드) 구성
+    // -------------------------------------------------------------------------
+
+    @Configuration
+    @ImportAutoConfiguration({
+            ServletWebServerFactoryAutoConfiguration.class,
+            DispatcherServletAutoConfiguration.class,
+            WebSocketServletAutoConfiguration.class,
+            JacksonAutoConfiguration.class
+    })
+    @Import({WebSocketConfig.class, RoomPartitionedExecutor.class, SlowConsumerGuard.class,
+            BlockingChatController.class})
+    static class BenchmarkNode {
+
+        @Bean
+        MeterRegistry meterRegistry() {
+            return new SimpleMeterRegistry();
+        }
+
+        // 인증 없이 통과
+        @Bean
+        JwtChannelInterceptor jwtChannelInterceptor() {
+            return new JwtChannelInterceptor(null) {
+                @Override
+                public Message<?> preSend(Message<?> message, MessageChannel channel) {
+                    return message;
+                }
+            };
+        }
+    }
+
+    // 채팅 메시지 처리: DB 저장만큼 블로킹한 뒤 채팅방 구독자에게 전송
+    @Controller
+    static class BlockingChatController {
+
+        private final SimpMessagingTemplate messagingTemplate;
+        private final long dbLatencyMs;
+
+        BlockingChatController(SimpMessagingTemplate messagingTemplate,
+                               @Value("${benchmark.db-latency-ms}") long dbLatencyMs) {
+            this.messagingTemplate = messagingTemplate;
+            this.dbLatencyMs = dbLatencyMs;
+        }
+
+        @MessageMapping("/chat/message")
+        public void sendMessage(BenchmarkMessage message) throws InterruptedException {
+            Thread.sleep(dbLatencyMs);
+            messagingTemplate.convertAndSend("/topic/chat/room/" + message.roomId(), message);
+        }
+    }
+
+    // SEND payload (roomId로 레인 선택, sentAt은 전송 시각 System.nanoTime)
+    record BenchmarkMessage(long roomId, String content, long sentAt) {
+    }
+
+    // -------------------------------------------------------------------------
+    // STOMP 클라이언트
+    // -------------------------------------------------------------------------
+
+    // 동시에 진행 중인 연결을 MAX_PENDING_CONNECTS개로 제한하며 연결 후 자기 채팅방 구독
+    private static List<StompSession> connect(WebSocketStompClient client, int port, int sessions, int rooms,
+                                              StompFrameHandler receiver) throws InterruptedException {
+        StompSession[] connected = new StompSession[sessions];
+        Semaphore pending = new Semaphore(MAX_PENDING_CONNECTS);
+        CountDownLatch done = new CountDownLatch(sessions);
+        AtomicReference<Throwable> failure = new AtomicReference<>();
+
+        for (int s = 0; s < sessions; s++) {
+            int index = s;
+            pending.acquire();
+            client.connectAsync("ws://localhost:" + port + "/ws", new WebSocketHttpHeaders(), new StompHeaders(),
+                            new StompSessionHandlerAdapter() {})
+                    .whenComplete((session, error) -> {
+                        if (error != null) {
+                            failure.compareAndSet(null, error);
+                        } else {
+                            session.subscribe("/topic/chat/room/" + roomOf(index, rooms), receiver);
+                            connected[index] = session;
+                        }
+                        pending.release();
+                        done.countDown();
+                    });
+        }
+        if (!done.await(5, TimeUnit.MINUTES) || failure.get() != null) {
+            throw new IllegalStateException("세션 연결 실패", failure.get());
+        }
+        return Arrays.asList(connected);
+    }
+
+    // 모든 SUBSCRIBE가 simple broker에 등록될 때까지 대기
+    private static void awaitSubscriptions(SimpleBrokerMessageHandler broker, int sessions, int rooms)
+            throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.MINUTES.toNanos(1);
+        while (true) {
+            int subscribed = 0;
+            for (int roomId = 1; roomId <= rooms; roomId++) {
+                SimpMessageHeaderAccessor accessor = SimpMessageHeaderAccessor.create(SimpMessageType.MESSAGE);
+                accessor.setDestination("/topic/chat/room/" + roomId);
+                Message<byte[]> probe = MessageBuilder.createMessage(new byte[0], accessor.getMessageHeaders());
+                subscribed += broker.getSubscriptionRegistry().findSubscriptions(probe).size();
+            }
+            if (subscribed >= sessions) {
+                return;
+            }
+            if (System.nanoTime() > deadline) {
+                throw new IllegalStateException("구독 등록 대기 시간 초과: " + subscribed + "/" + sessions);
+            }
+            TimeUnit.MILLISECONDS.sleep(100);
+        }
+    }
+
+    private static int roomOf(int session, int rooms) {
+        return session % rooms + 1;
+    }
+
+    // -------------------------------------------------------------------------
+    // 부하 중 플랫폼 스레드 수 / 힙 사용량 샘플링 (100ms 간격)
+    // -------------------------------------------------------------------------
+
+    private static class Sampler {
+
+        private final ThreadMXBean threads;
+        private final MemoryMXBean memory;
+        private final Thread thread;
+        private volatile boolean running = true;
+        private volatile int peakThreads;
+        private volatile long peakHeap;
+        private final AtomicReference<Map<String, Integer>> peakBreakdown = new AtomicReference<>(Map.of());
+
+        Sampler(ThreadMXBean threads, MemoryMXBean memory) {
+            this.threads = threads;
+            this.memory = memory;
+            this.thread = new Thread(this::run, "bench-sampler");
+            this.thread.setDaemon(true);
+        }
+
+        void start() {
+            thread.start();
+        }
+
+        void stop() throws InterruptedException {
+            running = false;
+            thread.join();
+        }
+
+        private void run() {
+            while (running) {
+                int live = threads.getThreadCount();
+                if (live > peakThreads) {
+                    peakThreads = live;
+                    peakBreakdown.set(breakdown());
+                }
+                peakHeap = Math.max(peakHeap, memory.getHeapMemoryUsage().getUsed());
+                try {
+                    TimeUnit.MILLISECONDS.sleep(100);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+        }
+
+        // 스레드 이름에서 번호를 뺀 접두어별 개수 (플랫폼 스레드만 포함)
+        private static Map<String, Integer> breakdown() {
+            Map<String, Integer> counts = new TreeMap<>();
+            List<Thread> live = new ArrayList<>(Thread.getAllStackTraces().keySet());
+            for (Thread thread : live) {
+                String prefix = thread.getName().replaceAll("[-#]?\\d+$", "");
+                counts.merge(prefix, 1, Integer::sum);
+            }
+            return counts;
+        }
+    }
+
+    private static long percentile(long[] sorted, double p) {
+        return sorted[(int) Math.min(sorted.length - 1, Math.floor(sorted.length * p))];
+    }
+
+}
@@ -0,0 +1,203 @@
+package com.zzaptalk.backend.config;
+
+import com.zzaptalk.backend.config.SlowConsumerGuard.Policy;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.MessageHandler;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.SimpMessageType;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.messaging.support.MessageBuilder;
+import org.springframework.web.socket.BinaryMessage;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.WebSocketHandler;
+import org.springframework.web.socket.WebSocketSession;
+
+import java.io.IOException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+// -------------------------------------------------------------------------
+// SlowConsumerGuard 테스트 (정책별 처리, 혼잡 해제, 재동기화 신호,
+// 채널 밖에서 쓰인 프레임 / 쓰이지 않은 프레임이 있어도 혼잡이 풀리는지)
+// -------------------------------------------------------------------------
+
+class SlowConsumerGuardTest {
+
+    private static final String SESSION_ID = "s1";
+
+    private final SimpMessagingTemplate messagingTemplate = mock(SimpMessagingTemplate.class);
+    private final MessageChannel channel = mock(MessageChannel.class);
+    private final MessageHandler handler = mock(MessageHandler.class);
+    private final WebSocketSession rawSession = mock(WebSocketSession.class);
+
+    private SlowConsumerGuard guard;
+    private WebSocketSession trackingSession;
+
+    @Test
+    void framesWithinLimitsPass() throws Exception {
+        connect(Policy.DROP, 100, 5_000);
+
+        for (int i = 0; i < 10; i++) {
+            assertThat(deliver(50)).isNotNull();
+            write(50);
+        }
+    }
+
+    @Test
+    void dropPolicyDropsUntilDrainedThenResumes() throws Exception {
+        connect(Policy.DROP, 100, 5_000);
+
+        assertThat(deliver(80)).isNotNull();
+        assertThat(deliver(80)).isNotNull();
+        // 대기 160바이트 > 한도 100바이트
+        assertThat(deliver(80)).isNull();
+        assertThat(deliver(80)).isNull();
+        // 채팅 메시지가 아닌 프레임은 그대로 전송
+        Message<?> heartbeat = guard.preSend(frame(SimpMessageType.HEARTBEAT, 1), channel);
+        assertThat(heartbeat).isNotNull();
+        guard.afterMessageHandled(heartbeat, channel, handler, null);
+
+        write(80);
+        assertThat(deliver(10)).isNull();
+        write(80);
+        write(1);
+
+        assertThat(deliver(10)).isNotNull();
+        verify(messagingTemplate, never()).convertAndSendToUser(anyString(), anyString(), any(), anyMap());
+    }
+
+    @Test
+    void resyncPolicySendsOneSignalAfterDrain() throws Exception {
+        connect(Policy.RESYNC, 100, 5_000);
+
+        deliver(80);
+        deliver(80);
+        assertThat(deliver(80)).isNull();
+        assertThat(deliver(80)).isNull();
+        verify(messagingTemplate, never()).convertAndSendToUser(anyString(), anyString(), any(), anyMap());
+
+        write(80);
+        write(80);
+
+        verify(messagingTemplate, times(1)).convertAndSendToUser(
+                eq(SESSION_ID), eq(SlowConsumerGuard.RESYNC_DESTINATION), any(), anyMap());
+        assertThat(deliver(10)).isNotNull();
+    }
+
+    @Test
+    void disconnectPolicyClosesSession() throws Exception {
+        connect(Policy.DISCONNECT, 100, 5_000);
+
+        deliver(80);
+        deliver(80);
+        assertThat(deliver(80)).isNull();
+        assertThat(deliver(80)).isNull();
+
+        verify(rawSession, times(1)).close(CloseStatus.SESSION_NOT_RELIABLE);
+    }
+
+    @Test
+    void stalledSocketWriteCongestsSession() throws Exception {
+        connect(Policy.DROP, 1_000_000, 50);
+
+        // 소켓 쓰기가 막힌 상태
+        CountDownLatch unblock = new CountDownLatch(1);
+        doAnswer(invocation -> unblock.await(5, TimeUnit.SECONDS)).when(rawSession).sendMessage(any());
+        Thread writer = new Thread(() -> {
+            try {
+                write(10);
+            } catch (IOException e) {
+                throw new IllegalStateException(e);
+            }
+        });
+        writer.start();
+        Thread.sleep(150);
+
+        assertThat(deliver(10)).isNull();
+
+        unblock.countDown();
+        writer.join();
+        assertThat(deliver(10)).isNotNull();
+    }
+
+    @Test
+    void staleFramesDoNotKeepSessionCongested() throws Exception {
+        connect(Policy.DROP, 100, 5_000);
+
+        // 세션에 넘겼지만 소켓에 쓰이지 않은 프레임 + 채널을 거치지 않고 쓰인 프레임 (STOMP ERROR 등)
+        assertThat(deliver(150)).isNotNull();
+        write(30);
+        assertThat(deliver(10)).isNull();
+
+        // 소켓이 쉬고 있으면 세션 버퍼가 빈 것으로 보고 혼잡 해제
+        Thread.sleep(600);
+        assertThat(deliver(10)).isNotNull();
+    }
+
+    @Test
+    void frameNotHandedToExecutorIsForgotten() throws Exception {
+        connect(Policy.DROP, 100, 5_000);
+
+        Message<?> rejected = guard.preSend(frame(SimpMessageType.MESSAGE, 150), channel);
+        guard.afterSendCompletion(rejected, channel, false, new IllegalStateException("rejected"));
+
+        assertThat(deliver(10)).isNotNull();
+    }
+
+    // -------------------------------------------------------------------------
+    // 보조 메서드
+    // -------------------------------------------------------------------------
+
+    @SuppressWarnings("unchecked")
+    private void connect(Policy policy, long bufferSizeLimit, long sendTimeLimitMs) throws Exception {
+        ObjectProvider<SimpMessagingTemplate> provider = mock(ObjectProvider.class);
+        when(provider.getObject()).thenReturn(messagingTemplate);
+        when(rawSession.getId()).thenReturn(SESSION_ID);
+
+        guard = new SlowConsumerGuard(provider, new SimpleMeterRegistry(), policy, bufferSizeLimit, sendTimeLimitMs);
+
+        WebSocketHandler delegate = mock(WebSocketHandler.class);
+        guard.decorate(delegate).afterConnectionEstablished(rawSession);
+        ArgumentCaptor<WebSocketSession> session = ArgumentCaptor.forClass(WebSocketSession.class);
+        verify(delegate).afterConnectionEstablished(session.capture());
+        trackingSession = session.getValue();
+    }
+
+    // 채널 통과 후 핸들러가 세션에 넘김 (버려지면 null)
+    private Message<?> deliver(int size) {
+        Message<?> message = guard.preSend(frame(SimpMessageType.MESSAGE, size), channel);
+        if (message != null) {
+            guard.afterMessageHandled(message, channel, handler, null);
+        }
+        return message;
+    }
+
+    // 소켓에 실제로 쓰임
+    private void write(int size) throws IOException {
+        trackingSession.sendMessage(new BinaryMessage(new byte[size]));
+    }
+
+    private static Message<byte[]> frame(SimpMessageType type, int size) {
+        SimpMessageHeaderAccessor headers = SimpMessageHeaderAccessor.create(type);
+        headers.setSessionId(SESSION_ID);
+        return MessageBuilder.createMessage(new byte[size], headers.getMessageHeaders());
+    }
+
+}
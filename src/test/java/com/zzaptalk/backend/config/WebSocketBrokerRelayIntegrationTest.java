@@ -0,0 +1,236 @@
+package com.zzaptalk.backend.config;
+
+import com.zzaptalk.backend.jwt.JwtChannelInterceptor;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.activemq.broker.BrokerService;
+import org.apache.activemq.broker.TransportConnector;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.autoconfigure.web.servlet.DispatcherServletAutoConfiguration;
+import org.springframework.boot.autoconfigure.web.servlet.ServletWebServerFactoryAutoConfiguration;
+import org.springframework.boot.autoconfigure.websocket.servlet.WebSocketServletAutoConfiguration;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.servlet.context.ServletWebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.converter.StringMessageConverter;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.messaging.simp.stomp.StompCommand;
+import org.springframework.messaging.simp.stomp.StompBrokerRelayMessageHandler;
+import org.springframework.messaging.simp.stomp.StompFrameHandler;
+import org.springframework.messaging.simp.stomp.StompHeaderAccessor;
+import org.springframework.messaging.simp.stomp.StompHeaders;
+import org.springframework.messaging.simp.stomp.StompSession;
+import org.springframework.messaging.simp.stomp.StompSessionHandlerAdapter;
+import org.springframework.messaging.support.MessageHeaderAccessor;
+import org.springframework.web.socket.WebSocketHttpHeaders;
+import org.springframework.web.socket.client.standard.StandardWebSocketClient;
+import org.springframework.web.socket.messaging.WebSocketStompClient;
+
+import java.lang.reflect.Type;
+import java.security.Principal;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// -------------------------------------------------------------------------
+// 외부 브로커 릴레이(chat.broker.relay.enabled) 통합 테스트
+// 한 JVM에서 채팅 서버 두 대(WebSocket/STOMP 설정만 올린 최소 구성)를 띄우고
+// 같은 JVM에 띄운 내장 ActiveMQ 브로커(STOMP 커넥터, 비영속)를 브로커로 사용
+// (Docker 없이 기본 test 작업에서 항상 실행)
+// - 한 서버에서 보낸 채팅방 메시지가 다른 서버에 연결된 구독자에게 전달되는지
+// - /user/... 목적지가 다른 서버에 연결된 사용자 세션으로 전달되는지
+// 인증은 JWT 대신 CONNECT 프레임의 user 헤더로 사용자 지정
+// -------------------------------------------------------------------------
+
+class WebSocketBrokerRelayIntegrationTest {
+
+    private static BrokerService broker;
+    private static int stompPort;
+    private static ConfigurableApplicationContext nodeA;
+    private static ConfigurableApplicationContext nodeB;
+
+    @BeforeAll
+    static void startNodes() throws Exception {
+        broker = new BrokerService();
+        broker.setBrokerName("relay-it");
+        broker.setPersistent(false);
+        broker.setUseJmx(false);
+        // 사용 가능한 임의 포트
+        TransportConnector stomp = broker.addConnector("stomp://localhost:0");
+        broker.start();
+        broker.waitUntilStarted();
+        stompPort = stomp.getConnectUri().getPort();
+
+        nodeA = startNode();
+        nodeB = startNode();
+        awaitBrokerAvailable(nodeA);
+        awaitBrokerAvailable(nodeB);
+    }
+
+    @AfterAll
+    static void stopNodes() throws Exception {
+        if (nodeA != null) {
+            nodeA.close();
+        }
+        if (nodeB != null) {
+            nodeB.close();
+        }
+        if (broker != null) {
+            broker.stop();
+            broker.waitUntilStopped();
+        }
+    }
+
+    @Test
+    void roomMessageReachesSubscriberOnOtherNode() throws Exception {
+        BlockingQueue<String> received = new LinkedBlockingQueue<>();
+        StompSession session = connect(nodeA, "alice");
+        session.subscribe("/topic/chat/room/1", collector(received));
+        awaitSubscribed(session);
+
+        nodeB.getBean(SimpMessagingTemplate.class).convertAndSend("/topic/chat/room/1", "hello from B");
+
+        assertThat(received.poll(10, TimeUnit.SECONDS)).isEqualTo("hello from B");
+        session.disconnect();
+    }
+
+    @Test
+    void userDestinationReachesSessionOnOtherNode() throws Exception {
+        BlockingQueue<String> received = new LinkedBlockingQueue<>();
+        StompSession session = connect(nodeA, "bob");
+        session.subscribe("/user/queue/resync", collector(received));
+        awaitSubscribed(session);
+
+        // 노드 B에는 bob의 세션이 없음 -> 미해결 사용자 목적지 브로드캐스트로 노드 A가 전달
+        nodeB.getBean(SimpMessagingTemplate.class).convertAndSendToUser("bob", "/queue/resync", "resync");
+
+        assertThat(received.poll(10, TimeUnit.SECONDS)).isEqualTo("resync");
+        session.disconnect();
+    }
+
+    // -------------------------------------------------------------------------
+    // 서버(노드) 구성
+    // -------------------------------------------------------------------------
+
+    @Configuration
+    @ImportAutoConfiguration({
+            ServletWebServerFactoryAutoConfiguration.class,
+            DispatcherServletAutoConfiguration.class,
+            WebSocketServletAutoConfiguration.class,
+            JacksonAutoConfiguration.class
+    })
+    @Import({WebSocketConfig.class, RoomPartitionedExecutor.class, SlowConsumerGuard.class})
+    static class RelayNode {
+
+        @Bean
+        MeterRegistry meterRegistry() {
+            return new SimpleMeterRegistry();
+        }
+
+        @Bean
+        JwtChannelInterceptor jwtChannelInterceptor() {
+            return new HeaderUserInterceptor();
+        }
+    }
+
+    // CONNECT 프레임의 user 헤더를 사용자로 지정
+    static class HeaderUserInterceptor extends JwtChannelInterceptor {
+
+        HeaderUserInterceptor() {
+            super(null);
+        }
+
+        @Override
+        public Message<?> preSend(Message<?> message, MessageChannel channel) {
+            StompHeaderAccessor accessor = MessageHeaderAccessor.getAccessor(message, StompHeaderAccessor.class);
+            if (accessor != null && StompCommand.CONNECT.equals(accessor.getCommand())) {
+                String user = accessor.getFirstNativeHeader("user");
+                if (user != null) {
+                    Principal principal = () -> user;
+                    accessor.setUser(principal);
+                }
+            }
+            return message;
+        }
+    }
+
+    private static ConfigurableApplicationContext startNode() {
+        return new SpringApplicationBuilder(RelayNode.class)
+                .properties(
+                        "server.port=0",
+                        "chat.broker.relay.enabled=true",
+                        "chat.broker.relay.host=localhost",
+                        "chat.broker.relay.port=" + stompPort,
+                        "chat.broker.relay.client-login=admin",
+                        "chat.broker.relay.client-passcode=admin",
+                        "chat.broker.relay.system-login=admin",
+                        "chat.broker.relay.system-passcode=admin",
+                        "chat.inbound.lanes=2")
+                .run();
+    }
+
+    private static void awaitBrokerAvailable(ConfigurableApplicationContext node) throws InterruptedException {
+        StompBrokerRelayMessageHandler relay = node.getBean(StompBrokerRelayMessageHandler.class);
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(30);
+        while (!relay.isBrokerAvailable()) {
+            if (System.nanoTime() > deadline) {
+                throw new IllegalStateException("브로커 릴레이 연결 실패");
+            }
+            TimeUnit.MILLISECONDS.sleep(100);
+        }
+    }
+
+    // -------------------------------------------------------------------------
+    // STOMP 클라이언트
+    // -------------------------------------------------------------------------
+
+    private static StompSession connect(ConfigurableApplicationContext node, String user) throws Exception {
+        int port = ((ServletWebServerApplicationContext) node).getWebServer().getPort();
+        WebSocketStompClient client = new WebSocketStompClient(new StandardWebSocketClient());
+        client.setMessageConverter(new StringMessageConverter());
+
+        StompHeaders connectHeaders = new StompHeaders();
+        connectHeaders.add("user", user);
+        return client.connectAsync("ws://localhost:" + port + "/ws", new WebSocketHttpHeaders(), connectHeaders,
+                new StompSessionHandlerAdapter() {}).get(10, TimeUnit.SECONDS);
+    }
+
+    // SUBSCRIBE가 브로커까지 전달될 때까지 대기 (receipt 대신 같은 세션의 왕복 확인)
+    private static void awaitSubscribed(StompSession session) throws InterruptedException {
+        BlockingQueue<String> echo = new LinkedBlockingQueue<>();
+        String destination = "/topic/subscribed-" + session.getSessionId();
+        session.subscribe(destination, collector(echo));
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        String pong = null;
+        while (pong == null && System.nanoTime() < deadline) {
+            nodeA.getBean(SimpMessagingTemplate.class).convertAndSend(destination, "ping");
+            pong = echo.poll(200, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    private static StompFrameHandler collector(BlockingQueue<String> received) {
+        return new StompFrameHandler() {
+            @Override
+            public Type getPayloadType(StompHeaders headers) {
+                return String.class;
+            }
+
+            @Override
+            public void handleFrame(StompHeaders headers, Object payload) {
+                received.add((String) payload);
+            }
+        };
+    }
+
+}
@@ -0,0 +1,159 @@
+package com.zzaptalk.backend.repository;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.zzaptalk.backend.dto.ChatMessageResponse;
+import com.zzaptalk.backend.entity.MessageType;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+// -------------------------------------------------------------------------
+// ColdMessageArchive 테스트 (임시 디렉터리에 세그먼트 기록 후 조회)
+// 블록 크기를 작게 두어 여러 블록 / 여러 세그먼트에 걸친 조회를 확인
+// -------------------------------------------------------------------------
+
+class ColdMessageArchiveTest {
+
+    private static final Long ROOM_ID = 1L;
+
+    @TempDir
+    Path dir;
+
+    private final ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+
+    private ColdMessageArchive archive;
+
+    @BeforeEach
+    void setUp() {
+        archive = open();
+    }
+
+    @Test
+    void writtenMessagesReadBackUnchanged() {
+        List<ChatMessageResponse> messages = messages(1, 300);
+        archive.write(ROOM_ID, messages);
+
+        List<ChatMessageResponse> read = archive.findAfterSeq(ROOM_ID, 0, 300, 1000);
+
+        assertThat(read).usingRecursiveFieldByFieldElementComparator().containsExactlyElementsOf(messages);
+        assertThat(archive.getArchivedSeq(ROOM_ID)).isEqualTo(300);
+        assertThat(archive.getArchivedMaxMessageId(ROOM_ID)).isEqualTo(messageId(300));
+    }
+
+    @Test
+    void scansAcrossBlocksAndSegmentsInBothDirections() {
+        archive.write(ROOM_ID, messages(1, 100));
+        archive.write(ROOM_ID, messages(101, 200));
+
+        assertThat(seqs(archive.findBeforeSeq(ROOM_ID, 105, 10)))
+                .containsExactlyElementsOf(range(104, 95));
+        assertThat(seqs(archive.findAfterSeq(ROOM_ID, 95, 200, 10)))
+                .containsExactlyElementsOf(range(96, 105));
+        assertThat(seqs(archive.findBeforeId(ROOM_ID, messageId(20), 200, 3)))
+                .containsExactly(19L, 18L, 17L);
+        assertThat(seqs(archive.findAfterId(ROOM_ID, messageId(195), 200, 10)))
+                .containsExactly(196L, 197L, 198L, 199L, 200L);
+    }
+
+    @Test
+    void clampsReadsToArchivedBoundary() {
+        archive.write(ROOM_ID, messages(1, 100));
+
+        // 세그먼트는 기록했지만 archived_seq는 아직 80 -> 81번부터는 MySQL에서 조회
+        assertThat(seqs(archive.findAfterSeq(ROOM_ID, 75, 80, 100)))
+                .containsExactly(76L, 77L, 78L, 79L, 80L);
+        assertThat(seqs(archive.findAfterId(ROOM_ID, messageId(78), 80, 100)))
+                .containsExactly(79L, 80L);
+        assertThat(archive.findBeforeId(ROOM_ID, messageId(90), 80, 1))
+                .extracting(ChatMessageResponse::getSeq)
+                .containsExactly(80L);
+    }
+
+    @Test
+    void findsArchivedMessageById() {
+        archive.write(ROOM_ID, messages(1, 50));
+
+        assertThat(archive.exists(ROOM_ID, messageId(37))).isTrue();
+        assertThat(archive.exists(ROOM_ID, messageId(51))).isFalse();
+        assertThat(archive.exists(2L, messageId(37))).isFalse();
+    }
+
+    @Test
+    void rejectsOverlappingSeqRange() {
+        archive.write(ROOM_ID, messages(1, 100));
+
+        assertThatThrownBy(() -> archive.write(ROOM_ID, messages(100, 120)))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void reopenedArchiveAndOtherServerSeeWrittenSegments() {
+        archive.write(ROOM_ID, messages(1, 100));
+
+        // 재기동 (디렉터리에서 세그먼트 목록을 다시 읽음)
+        ColdMessageArchive reopened = open();
+        assertThat(reopened.getArchivedSeq(ROOM_ID)).isEqualTo(100);
+
+        // 다른 서버가 이어서 기록한 세그먼트는 경계가 올라간 것을 보고 refresh해야 보임
+        archive.write(ROOM_ID, messages(101, 150));
+        assertThat(reopened.getArchivedSeq(ROOM_ID)).isEqualTo(100);
+        reopened.refresh(ROOM_ID, 150);
+        assertThat(seqs(reopened.findBeforeSeq(ROOM_ID, Long.MAX_VALUE, 1))).containsExactly(150L);
+    }
+
+    // -------------------------------------------------------------------------
+    // 보조 메서드
+    // -------------------------------------------------------------------------
+
+    private ColdMessageArchive open() {
+        ColdMessageArchive opened = new ColdMessageArchive(objectMapper);
+        ReflectionTestUtils.setField(opened, "enabled", true);
+        ReflectionTestUtils.setField(opened, "dir", dir.toString());
+        ReflectionTestUtils.setField(opened, "blockSize", 16);
+        ReflectionTestUtils.setField(opened, "openSegments", 4);
+        return opened;
+    }
+
+    private static List<ChatMessageResponse> messages(long fromSeq, long toSeq) {
+        List<ChatMessageResponse> messages = new ArrayList<>();
+        for (long seq = fromSeq; seq <= toSeq; seq++) {
+            messages.add(ChatMessageResponse.builder()
+                    .messageId(messageId(seq))
+                    .roomId(ROOM_ID)
+                    .seq(seq)
+                    .senderId(10L + seq % 3)
+                    .senderName("sender" + seq % 3)
+                    .content("보관 메시지 " + seq)
+                    .type(MessageType.TEXT)
+                    .sentAt(LocalDateTime.of(2024, 1, 1, 0, 0).plusMinutes(seq))
+                    .build());
+        }
+        return messages;
+    }
+
+    private static long messageId(long seq) {
+        return 10_000 + seq;
+    }
+
+    private static List<Long> seqs(List<ChatMessageResponse> messages) {
+        return messages.stream().map(ChatMessageResponse::getSeq).toList();
+    }
+
+    // from부터 to까지 (from > to이면 내림차순)
+    private static List<Long> range(long from, long to) {
+        return from <= to
+                ? LongStream.rangeClosed(from, to).boxed().toList()
+                : LongStream.rangeClosed(to, from).map(seq -> from + to - seq).boxed().toList();
+    }
+
+}
@@ -0,0 +1,235 @@
+package com.zzaptalk.backend.repository;
+
+import com.amazonaws.auth.AWSStaticCredentialsProvider;
+import com.amazonaws.auth.BasicAWSCredentials;
+import com.amazonaws.client.builder.AwsClientBuilder;
+import com.amazonaws.services.dynamodbv2.AmazonDynamoDB;
+import com.amazonaws.services.dynamodbv2.AmazonDynamoDBClientBuilder;
+import com.amazonaws.services.dynamodbv2.model.AttributeValue;
+import com.amazonaws.services.dynamodbv2.model.GetItemRequest;
+import com.zzaptalk.backend.dto.ChatMessageResponse;
+import com.zzaptalk.backend.entity.MessageType;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.AbstractPlatformTransactionManager;
+import org.springframework.transaction.support.DefaultTransactionStatus;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.testcontainers.containers.GenericContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+// -------------------------------------------------------------------------
+// DynamoMessageStore 통합 테스트 (DynamoDB Local 컨테이너, Docker가 없으면 건너뜀)
+// MySQL 트랜잭션이 롤백되면 기록한 메시지가 조회되지 않는지 포함
+// -------------------------------------------------------------------------
+
+@Testcontainers(disabledWithoutDocker = true)
+class DynamoMessageStoreIntegrationTest {
+
+    @Container
+    private static final GenericContainer<?> DYNAMODB = new GenericContainer<>("amazon/dynamodb-local:2.5.2")
+            .withCommand("-jar", "DynamoDBLocal.jar", "-inMemory", "-sharedDb")
+            .withExposedPorts(8000);
+
+    private static AmazonDynamoDB dynamoDb;
+    private static ChatRoomRepository chatRoomRepository;
+    private static DynamoMessageStore store;
+    private static final TransactionTemplate transactionTemplate = new TransactionTemplate(new NoOpTransactionManager());
+
+    @BeforeAll
+    static void setUp() throws InterruptedException {
+        dynamoDb = AmazonDynamoDBClientBuilder.standard()
+                .withEndpointConfiguration(new AwsClientBuilder.EndpointConfiguration(
+                        "http://" + DYNAMODB.getHost() + ":" + DYNAMODB.getMappedPort(8000), "ap-northeast-2"))
+                .withCredentials(new AWSStaticCredentialsProvider(new BasicAWSCredentials("local", "local")))
+                .build();
+
+        chatRoomRepository = mock(ChatRoomRepository.class);
+        store = new DynamoMessageStore(dynamoDb, chatRoomRepository);
+        ReflectionTestUtils.setField(store, "tableName", "chat_message_test");
+        ReflectionTestUtils.setField(store, "createTable", true);
+        store.init();
+    }
+
+    @AfterAll
+    static void tearDown() {
+        dynamoDb.shutdown();
+    }
+
+    @Test
+    void saveIsIdempotentForSameMessageId() {
+        ChatMessageResponse message = message(1L, 1, 100L, "hello");
+
+        store.save(message);
+        store.save(message);
+
+        assertThat(store.findLatest(1L, 10))
+                .extracting(ChatMessageResponse::getMessageId)
+                .containsExactly(100L);
+    }
+
+    @Test
+    void saveRejectsDifferentMessageOnSameSeq() {
+        store.save(message(2L, 1, 200L, "first"));
+
+        assertThatThrownBy(() -> store.save(message(2L, 1, 201L, "second")))
+                .isInstanceOf(DuplicateKeyException.class);
+        assertThat(store.findLatest(2L, 10))
+                .extracting(ChatMessageResponse::getContent)
+                .containsExactly("first");
+    }
+
+    @Test
+    void findExistingIdsIgnoresOtherMessagesOnSameSeq() {
+        store.save(message(3L, 1, 300L, "stored"));
+        store.save(message(3L, 2, 301L, "stored"));
+
+        assertThat(store.findExistingIds(List.of(
+                message(3L, 1, 300L, "stored"),
+                message(3L, 2, 999L, "other"),
+                message(3L, 3, 302L, "new"))))
+                .containsExactly(300L);
+    }
+
+    @Test
+    void queryFollowsLastEvaluatedKeyPastOneMegabyte() {
+        // 한 번의 Query 응답 한도(1MB)를 넘도록 4KB 메시지 400개 저장
+        String content = "x".repeat(4096);
+        List<ChatMessageResponse> messages = new ArrayList<>();
+        for (int seq = 1; seq <= 400; seq++) {
+            messages.add(message(4L, seq, 4000L + seq, content));
+        }
+        store.saveAll(messages);
+
+        List<ChatMessageResponse> found = store.findAfterSeq(4L, 0, 400);
+        assertThat(found).hasSize(400);
+        assertThat(found.get(0).getSeq()).isEqualTo(1L);
+        assertThat(found.get(399).getSeq()).isEqualTo(400L);
+
+        assertThat(store.findBefore(4L, 4401L, 400)).hasSize(400);
+        assertThat(store.findAfterSeq(4L, 100, 50))
+                .extracting(ChatMessageResponse::getSeq)
+                .first().isEqualTo(101L);
+    }
+
+    @Test
+    void rolledBackSaveIsNotReadable() {
+        transactionTemplate.executeWithoutResult(status -> {
+            store.save(message(5L, 1, 500L, "rolled back"));
+            // 커밋 전에는 다른 조회에서 보이지 않음
+            assertThat(store.findLatest(5L, 10)).isEmpty();
+            status.setRollbackOnly();
+        });
+
+        assertThat(store.findLatest(5L, 10)).isEmpty();
+        assertThat(store.findAfterSeq(5L, 0, 10)).isEmpty();
+        assertThat(store.findBefore(5L, Long.MAX_VALUE, 10)).isEmpty();
+        assertThat(store.exists(5L, 500L)).isFalse();
+        // 롤백 후 항목 삭제
+        assertThat(rawItem(5L, 1)).isNull();
+    }
+
+    @Test
+    void committedSaveIsReadableAndClearsPending() {
+        transactionTemplate.executeWithoutResult(status -> store.save(message(6L, 1, 600L, "committed")));
+
+        assertThat(store.findLatest(6L, 10))
+                .extracting(ChatMessageResponse::getMessageId)
+                .containsExactly(600L);
+        assertThat(rawItem(6L, 1)).doesNotContainKey("pending");
+    }
+
+    @Test
+    void pendingItemIsReadableOnlyUpToCommittedLastSeq() {
+        // 트랜잭션 종료 처리 전에 서버가 종료된 경우: pending 표시가 남음
+        leavePending(message(7L, 1, 700L, "left pending"));
+
+        when(chatRoomRepository.findLastSeqById(7L)).thenReturn(0L);
+        assertThat(store.findLatest(7L, 10)).isEmpty();
+
+        // 커밋되어 lastSeq에 반영된 메시지는 표시가 남아 있어도 조회됨
+        when(chatRoomRepository.findLastSeqById(7L)).thenReturn(1L);
+        assertThat(store.findLatest(7L, 10))
+                .extracting(ChatMessageResponse::getMessageId)
+                .containsExactly(700L);
+    }
+
+    @Test
+    void reissuedSeqOverwritesPendingOrphan() {
+        leavePending(message(8L, 1, 800L, "orphan"));
+
+        store.save(message(8L, 1, 801L, "reissued"));
+
+        assertThat(store.findLatest(8L, 10))
+                .extracting(ChatMessageResponse::getContent)
+                .containsExactly("reissued");
+    }
+
+    private static void leavePending(ChatMessageResponse message) {
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            store.save(message);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    private static Map<String, AttributeValue> rawItem(Long roomId, long seq) {
+        return dynamoDb.getItem(new GetItemRequest()
+                .withTableName("chat_message_test")
+                .withKey(Map.of(
+                        "roomId", new AttributeValue().withN(Long.toString(roomId)),
+                        "seq", new AttributeValue().withN(Long.toString(seq)))))
+                .getItem();
+    }
+
+    // 동기화(afterCompletion)만 실행하는 트랜잭션 관리자
+    private static class NoOpTransactionManager extends AbstractPlatformTransactionManager {
+
+        @Override
+        protected Object doGetTransaction() {
+            return new Object();
+        }
+
+        @Override
+        protected void doBegin(Object transaction, TransactionDefinition definition) {
+        }
+
+        @Override
+        protected void doCommit(DefaultTransactionStatus status) {
+        }
+
+        @Override
+        protected void doRollback(DefaultTransactionStatus status) {
+        }
+    }
+
+    private static ChatMessageResponse message(Long roomId, long seq, Long messageId, String content) {
+        return ChatMessageResponse.builder()
+                .messageId(messageId)
+                .roomId(roomId)
+                .seq(seq)
+                .senderId(1L)
+                .senderName("tester")
+                .content(content)
+                .type(MessageType.TEXT)
+                .sentAt(LocalDateTime.of(2025, 1, 1, 0, 0))
+                .build();
+    }
+
+}
@@ -0,0 +1,227 @@
+package com.zzaptalk.backend.service;
+
+import com.zzaptalk.backend.config.JpaBatchConfig;
+import com.zzaptalk.backend.dto.ChatInboxPageResponse;
+import com.zzaptalk.backend.entity.ChatInbox;
+import com.zzaptalk.backend.entity.ChatRoom;
+import com.zzaptalk.backend.entity.ChatRoomType;
+import com.zzaptalk.backend.entity.ChatRoomUser;
+import com.zzaptalk.backend.entity.User;
+import com.zzaptalk.backend.event.UserProfileChangedEvent;
+import com.zzaptalk.backend.repository.ChatInboxRepository;
+import com.zzaptalk.backend.repository.ChatRoomRepository;
+import com.zzaptalk.backend.repository.ChatRoomUserRepository;
+import com.zzaptalk.backend.repository.UserRepository;
+import com.zzaptalk.backend.util.SnowflakeIdGenerator;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.testcontainers.containers.MySQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// -------------------------------------------------------------------------
+// 채팅방 목록 조회 / 닉네임 변경 반영 쿼리 수 테스트 (MySQL 컨테이너, Docker가 없으면 건너뜀)
+// 실제 저장소 / Hibernate로 조회하고 Hibernate Statistics의 JDBC 문장 수로
+// 참여 방 수와 관계없이 실행되는 SQL 수가 일정한지(지연 로딩 N+1 포함) 확인
+// - 목록 행 INSERT가 한 batch로 전송되도록 batch 크기를 방 수보다 크게 설정
+// - 테스트 트랜잭션 없이 실행 (영속성 컨텍스트에 남은 엔티티로 SQL이 감춰지지 않도록)
+// -------------------------------------------------------------------------
+
+@Testcontainers(disabledWithoutDocker = true)
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@Import({ChatInboxService.class, RoomModeRegistry.class, SnowflakeIdGenerator.class, JpaBatchConfig.class})
+class ChatInboxServiceQueryCountTest {
+
+    @Container
+    private static final MySQLContainer<?> MYSQL = new MySQLContainer<>("mysql:8.0.36");
+
+    @DynamicPropertySource
+    static void properties(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", MYSQL::getJdbcUrl);
+        registry.add("spring.datasource.username", MYSQL::getUsername);
+        registry.add("spring.datasource.password", MYSQL::getPassword);
+        registry.add("spring.jpa.hibernate.ddl-auto", () -> "create-drop");
+        registry.add("spring.jpa.properties.hibernate.generate_statistics", () -> "true");
+        registry.add("chat.jpa.batch-size", () -> "1000");
+        // 닉네임 변경 반영은 테스트에서 직접 호출
+        registry.add("chat.inbox.profile-sync-interval-ms", () -> "3600000");
+    }
+
+    @Autowired
+    private ChatInboxService chatInboxService;
+
+    @Autowired
+    private RoomModeRegistry roomModeRegistry;
+
+    @Autowired
+    private ChatInboxRepository chatInboxRepository;
+
+    @Autowired
+    private ChatRoomRepository chatRoomRepository;
+
+    @Autowired
+    private ChatRoomUserRepository chatRoomUserRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @MockitoBean
+    private InboxDeltaPublisher inboxDeltaPublisher;
+
+    @MockitoBean
+    private RoomSummaryUpdater roomSummaryUpdater;
+
+    @AfterEach
+    void tearDown() {
+        chatInboxRepository.deleteAllInBatch();
+        chatRoomUserRepository.deleteAllInBatch();
+        chatRoomRepository.deleteAllInBatch();
+        userRepository.deleteAllInBatch();
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {1, 30, 300})
+    void backfillUsesFixedQueriesRegardlessOfRoomCount(int roomCount) {
+        Long userId = givenRooms(roomCount).userId();
+        Statistics statistics = statistics();
+
+        ChatInboxPageResponse page = chatInboxService.getInbox(userId, null, 100);
+
+        assertThat(page.getRooms()).hasSize(Math.min(roomCount, 100));
+        // 목록 행 없음 -> 참여 방 + 멤버 닉네임(모든 방 한 번에) -> 목록 행 INSERT(batch 1회) -> 다시 조회
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(5);
+        assertThat(statistics.getEntityInsertCount()).isEqualTo(roomCount);
+        assertNoLazyLoading(statistics);
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {1, 30, 300})
+    void listingUsesOneQueryPlusOneForLargeRooms(int roomCount) {
+        Given given = givenRooms(roomCount);
+        Long userId = given.userId();
+        chatInboxService.getInbox(userId, null, 100);
+
+        Statistics statistics = statistics();
+        chatInboxService.getInbox(userId, null, 100);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+        assertNoLazyLoading(statistics);
+
+        // 대형 채팅방이 섞여 있으면 현재 lastSeq 조회 한 번 추가 (방 수와 무관)
+        for (int i = 1; i < given.roomIds().size(); i += 2) {
+            roomModeRegistry.updateMemberCount(given.roomIds().get(i), 5000);
+        }
+        statistics = statistics();
+        chatInboxService.getInbox(userId, null, 100);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(roomCount > 1 ? 2 : 1);
+        assertNoLazyLoading(statistics);
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {1, 30, 300})
+    void profileChangeUpdatesEachRoomWithoutLoadingRows(int roomCount) {
+        Given given = givenRooms(roomCount);
+        chatInboxService.getInbox(given.userId(), null, 100);
+        chatInboxService.getInbox(given.friendIds().get(0), null, 100);
+        transactionTemplate.executeWithoutResult(status ->
+                userRepository.findById(given.userId()).orElseThrow().setNickname("새 닉네임"));
+
+        Statistics statistics = statistics();
+        chatInboxService.onUserProfileChanged(new UserProfileChangedEvent(given.userId()));
+        chatInboxService.applyProfileChanges();
+
+        // 참여 방 조회 1 + 방마다 (앞쪽 닉네임 조회 + 닉네임 목록 UPDATE) + 1:1 채팅방은 표시 이름 UPDATE
+        long singleRooms = roomCount - roomCount / 3;
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1 + 2L * roomCount + singleRooms);
+        assertNoLazyLoading(statistics);
+
+        // 첫 번째 방(1:1): 상대방 목록의 표시 이름, 모든 참여자 목록의 닉네임 목록 갱신
+        List<ChatInbox> rows = chatInboxRepository.findAllByRoomId(given.roomIds().get(0));
+        assertThat(rows).hasSize(2).allSatisfy(row -> assertThat(row.getMemberNicknames()).contains("새 닉네임"));
+        assertThat(rows).filteredOn(row -> !row.getUserId().equals(given.userId()))
+                .singleElement()
+                .extracting(ChatInbox::getDisplayName)
+                .isEqualTo("새 닉네임");
+    }
+
+    // -------------------------------------------------------------------------
+    // 보조 메서드
+    // -------------------------------------------------------------------------
+
+    // 사용자 한 명이 roomCount개 방에 친구와 함께 참여
+    private Given givenRooms(int roomCount) {
+        return transactionTemplate.execute(status -> {
+            User me = userRepository.save(user("나"));
+            List<Long> roomIds = new ArrayList<>();
+            List<Long> friendIds = new ArrayList<>();
+            List<ChatRoomUser> roomUsers = new ArrayList<>();
+            for (int i = 1; i <= roomCount; i++) {
+                ChatRoom chatRoom = chatRoomRepository.save(ChatRoom.builder()
+                        .type(i % 3 == 0 ? ChatRoomType.GROUP : ChatRoomType.SINGLE)
+                        .name("방 " + i)
+                        .createdAt(LocalDateTime.of(2025, 1, 1, 0, 0).plusMinutes(i))
+                        .build());
+                User friend = userRepository.save(user("친구" + i));
+                roomUsers.add(new ChatRoomUser(chatRoom, me, 0));
+                roomUsers.add(new ChatRoomUser(chatRoom, friend, 0));
+                roomIds.add(chatRoom.getId());
+                friendIds.add(friend.getId());
+            }
+            chatRoomUserRepository.saveAll(roomUsers);
+            return new Given(me.getId(), roomIds, friendIds);
+        });
+    }
+
+    // roomIds와 friendIds는 같은 순서 (i번째 방의 친구)
+    private record Given(Long userId, List<Long> roomIds, List<Long> friendIds) {
+    }
+
+    private static User user(String nickname) {
+        return User.builder()
+                .pwd("password")
+                .name(nickname)
+                .nickname(nickname)
+                .build();
+    }
+
+    // 측정 구간 시작 (누적 통계 초기화)
+    private Statistics statistics() {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        return statistics;
+    }
+
+    // 연관 엔티티 / 컬렉션을 하나씩 지연 로딩하지 않았는지
+    private static void assertNoLazyLoading(Statistics statistics) {
+        assertThat(statistics.getEntityFetchCount()).isZero();
+        assertThat(statistics.getCollectionFetchCount()).isZero();
+    }
+
+}
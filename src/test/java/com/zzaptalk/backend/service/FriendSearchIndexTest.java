@@ -0,0 +1,114 @@
+package com.zzaptalk.backend.service;
+
+import com.zzaptalk.backend.dto.FriendSummaryDto;
+import com.zzaptalk.backend.entity.Friendship;
+import com.zzaptalk.backend.entity.User;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// -------------------------------------------------------------------------
+// FriendSearchIndex 테스트 (초성 / 입력 중인 글자 일치, 정렬, 채우는 중 들어온 변경 반영)
+// 색인을 미리 채워 두고 검색하므로 DB 조회 없음
+// -------------------------------------------------------------------------
+
+class FriendSearchIndexTest {
+
+    private final User owner = User.builder().id(1L).nickname("나").name("나").build();
+
+    private FriendSearchIndex index;
+    private long nextId = 100;
+
+    @BeforeEach
+    void setUp() {
+        index = new FriendSearchIndex(null, null, null);
+        ReflectionTestUtils.setField(index, "enabled", true);
+        ReflectionTestUtils.setField(index, "maxUsers", 100);
+        ReflectionTestUtils.setField(index, "idleTimeoutMs", 60_000L);
+    }
+
+    @Test
+    void matchesChosungQuery() {
+        fill(friend("김민수", "김민수"), friend("김민지", "김민지"), friend("고민상", "고민상"));
+
+        assertThat(nicknames("ㄱㅁㅅ")).containsExactly("고민상", "김민수");
+    }
+
+    @Test
+    void matchesMixedSyllableAndChosungQuery() {
+        fill(friend("김민수", "김민수"), friend("고민상", "고민상"));
+
+        assertThat(nicknames("김ㅁ")).containsExactly("김민수");
+    }
+
+    @Test
+    void matchesLastSyllableStillBeingComposed() {
+        fill(friend("김민수", "김민수"), friend("김마루", "김마루"), friend("김미영", "김미영"));
+
+        // "미"는 받침을 입력하기 전 -> "민"과 일치, "마"와는 불일치
+        assertThat(nicknames("김미")).containsExactly("김미영", "김민수");
+        // 마지막 글자가 아니면 정확히 일치해야 함
+        assertThat(nicknames("김미수")).isEmpty();
+    }
+
+    @Test
+    void ranksExactThenPrefixThenNamePrefixThenMiddle() {
+        fill(friend("김민수", "김민수"),
+                friend("qq", "박민수"),
+                friend("민수짱", "이민수"),
+                friend("zz", "민수정"),
+                friend("민수", "최민수"));
+
+        assertThat(nicknames("민수")).containsExactly("민수", "민수짱", "zz", "김민수", "qq");
+    }
+
+    @Test
+    void ignoresCaseAndReturnsAllForEmptyQuery() {
+        fill(friend("Alice", "앨리스"), friend("bob", "밥"));
+
+        assertThat(nicknames("ALI")).containsExactly("Alice");
+        assertThat(nicknames(" ")).containsExactly("Alice", "bob");
+    }
+
+    @Test
+    void replaysChangesMadeWhileFilling() {
+        Friendship kept = friend("김민수", "김민수");
+        Friendship removed = friend("김민지", "김민지");
+        Friendship added = friend("김민호", "김민호");
+
+        // 친구 목록 조회 중에 커밋된 추가/삭제 (조회 결과에는 빠져 있거나 남아 있음)
+        FriendSearchIndex.UserIndex loading = index.beginFill(owner.getId());
+        index.upsert(owner.getId(), added);
+        index.remove(owner.getId(), removed.getFriend().getId());
+        index.fill(loading, List.of(kept, removed));
+
+        assertThat(nicknames("김민")).containsExactly("김민수", "김민호");
+    }
+
+    // -------------------------------------------------------------------------
+    // 보조 메서드
+    // -------------------------------------------------------------------------
+
+    private void fill(Friendship... friendships) {
+        index.fill(index.beginFill(owner.getId()), List.of(friendships));
+    }
+
+    private List<String> nicknames(String query) {
+        List<String> nicknames = new ArrayList<>();
+        for (FriendSummaryDto friend : index.search(owner, query)) {
+            nicknames.add(friend.getNickname());
+        }
+        return nicknames;
+    }
+
+    private Friendship friend(String nickname, String name) {
+        User friend = User.builder().id(nextId++).nickname(nickname).name(name).build();
+        return Friendship.builder().id(nextId++).user(owner).friend(friend).build();
+    }
+
+}
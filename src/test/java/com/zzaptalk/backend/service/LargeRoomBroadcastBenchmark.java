@@ -0,0 +1,254 @@
+package com.zzaptalk.backend.service;
+
+import com.zzaptalk.backend.dto.ChatMessageResponse;
+import com.zzaptalk.backend.entity.MessageType;
+import com.zzaptalk.backend.repository.ChatInboxRepository;
+import com.zzaptalk.backend.repository.ChatRoomRepository;
+import com.zzaptalk.backend.repository.ChatRoomUserRepository;
+import com.zzaptalk.backend.service.ChatMessageDispatcher.DeliveryMode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.mockito.stubbing.Answer;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.converter.MappingJackson2MessageConverter;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.SimpMessageType;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.messaging.simp.broker.SimpleBrokerMessageHandler;
+import org.springframework.messaging.simp.stomp.StompCommand;
+import org.springframework.messaging.simp.stomp.StompEncoder;
+import org.springframework.messaging.simp.stomp.StompHeaderAccessor;
+import org.springframework.messaging.support.ExecutorSubscribableChannel;
+import org.springframework.messaging.support.MessageBuilder;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.withSettings;
+
+// -------------------------------------------------------------------------
+// 대형 채팅방 모드 벤치마크 (main 실행, 테스트 작업에는 포함되지 않음)
+// 참여자 수(10 ~ 10,000)별로 한 채팅방에 일정 속도로 메시지를 보내며 메시지당 비용을 비교
+// - exact: 대형 채팅방 모드를 끈 경우 (기준을 무한대로)
+// - adaptive: 기본 기준 (참여자 1000명 또는 초당 50건 이상이면 LARGE)
+// 참여자 수만큼의 세션이 simple broker에 구독한 상태에서 전송
+// - room: 모든 세션이 기본 경로(/topic/chat/room/{id}) 구독 (기존 클라이언트)
+// - compact: 모든 세션이 축약 경로(/topic/chat/room/{id}/compact) 구독 (축약 형식 지원 클라이언트)
+// 구독자 전달은 Spring 기본 구성과 같이 clientOutbound 채널의 스레드 풀(코어 수 * 2)에서
+// 세션별 STOMP MESSAGE 프레임으로 인코딩하는 데까지 (소켓 쓰기는 제외)
+//
+// 측정 항목
+// - send: 전송 스레드의 broadcast() 시간 (broker 채널은 동기 -> 구독자 조회 및 outbound 대기열 투입까지 포함)
+// - fanout: broadcast() 시작부터 마지막 구독자의 프레임 인코딩까지 (메시지마다 전달이 끝난 뒤 다음 메시지 전송)
+// - frame: 구독자 한 명에게 전달되는 STOMP 프레임 크기 (LARGE + compact 구독은 축약 payload)
+// - inbox rows/msg: 채팅방 요약 반영 시 갱신되는 참여자 채팅방 목록 행 수 / 메시지 수
+//   (RoomSummaryUpdater를 200ms마다 반영, 대형 채팅방은 chat.large-room.summary-interval-ms마다)
+// 안 읽은 수는 어느 모드든 목록 조회 시 계산하므로 전송 경로 비용에 포함되지 않음
+//
+// 실행: IDE에서 main 실행 또는
+//   java -cp <test classpath> com.zzaptalk.backend.service.LargeRoomBroadcastBenchmark [seconds] [messagesPerSecond]
+// -------------------------------------------------------------------------
+
+public class LargeRoomBroadcastBenchmark {
+
+    private static final long ROOM_ID = 1L;
+    private static final String ROOM_TOPIC = "/topic/chat/room/" + ROOM_ID;
+    private static final long FLUSH_INTERVAL_MS = 200;
+    private static final int[] MEMBER_COUNTS = {10, 100, 1_000, 10_000};
+
+    public static void main(String[] args) throws Exception {
+        int seconds = args.length > 0 ? Integer.parseInt(args[0]) : 5;
+        int rate = args.length > 1 ? Integer.parseInt(args[1]) : 20;
+
+        System.out.printf("%d msg/s, %ds per run%n", rate, seconds);
+        System.out.printf("%-9s %-8s %8s %7s %10s %11s %11s %7s %15s%n",
+                "mode", "topic", "members", "room", "send p50", "fanout p50", "fanout p99", "frame", "inbox rows/msg");
+        for (int members : MEMBER_COUNTS) {
+            run("exact", "room", members, Long.MAX_VALUE, Long.MAX_VALUE, seconds, rate);
+            run("adaptive", "room", members, 1_000, 50, seconds, rate);
+            run("adaptive", "compact", members, 1_000, 50, seconds, rate);
+        }
+    }
+
+    private static void run(String name, String topic, int members, long memberThreshold, long rateThreshold,
+                            int seconds, int rate) throws InterruptedException {
+        AtomicLong inboxRows = new AtomicLong();
+
+        RoomModeRegistry roomModeRegistry = new RoomModeRegistry(repository(ChatRoomUserRepository.class,
+                invocation -> (long) members));
+        ReflectionTestUtils.setField(roomModeRegistry, "memberThreshold", memberThreshold);
+        ReflectionTestUtils.setField(roomModeRegistry, "rateThreshold", rateThreshold);
+        ReflectionTestUtils.setField(roomModeRegistry, "idleTimeoutMs", 600_000L);
+
+        // 채팅방 목록 행 갱신: 참여자 수만큼의 행
+        ChatInboxRepository chatInboxRepository = repository(ChatInboxRepository.class, invocation -> {
+            inboxRows.addAndGet(members);
+            return members;
+        });
+        ChatRoomRepository chatRoomRepository = repository(ChatRoomRepository.class, invocation -> 1);
+        // 목록 변경분 푸시는 꺼진 상태 (enabled 기본값 false)
+        InboxDeltaPublisher inboxDeltaPublisher = new InboxDeltaPublisher(null, null, null);
+        RoomSummaryUpdater roomSummaryUpdater = new RoomSummaryUpdater(chatRoomRepository, chatInboxRepository,
+                inboxDeltaPublisher, new TransactionTemplate(mock(PlatformTransactionManager.class)), roomModeRegistry);
+        ReflectionTestUtils.setField(roomSummaryUpdater, "largeRoomIntervalMs", 5_000L);
+
+        // -------------------------------------------------------------------------
+        // simple broker + 구독자 세션 (clientOutbound 채널에서 세션별 프레임 인코딩)
+        // -------------------------------------------------------------------------
+
+        int poolSize = Runtime.getRuntime().availableProcessors() * 2;
+        ThreadPoolTaskExecutor outboundExecutor = new ThreadPoolTaskExecutor();
+        outboundExecutor.setCorePoolSize(poolSize);
+        outboundExecutor.setMaxPoolSize(poolSize);
+        outboundExecutor.setThreadNamePrefix("clientOutboundChannel-");
+        outboundExecutor.initialize();
+
+        AtomicReference<Fanout> current = new AtomicReference<>();
+        StompEncoder encoder = new StompEncoder();
+        ExecutorSubscribableChannel clientOutboundChannel = new ExecutorSubscribableChannel(outboundExecutor);
+        clientOutboundChannel.subscribe(message -> current.get().delivered(encode(encoder, message).length));
+
+        ExecutorSubscribableChannel brokerChannel = new ExecutorSubscribableChannel();
+        SimpleBrokerMessageHandler broker = new SimpleBrokerMessageHandler(
+                new ExecutorSubscribableChannel(), clientOutboundChannel, brokerChannel, List.of("/topic", "/queue"));
+        broker.start();
+        String destination = topic.equals("compact") ? ROOM_TOPIC + "/compact" : ROOM_TOPIC;
+        for (int i = 0; i < members; i++) {
+            broker.handleMessage(subscribe("session-" + i, destination));
+        }
+
+        SimpMessagingTemplate messagingTemplate = new SimpMessagingTemplate(brokerChannel);
+        MappingJackson2MessageConverter converter = new MappingJackson2MessageConverter();
+        converter.setObjectMapper(new ObjectMapper().findAndRegisterModules());
+        messagingTemplate.setMessageConverter(converter);
+        ChatMessageBroadcaster broadcaster = new ChatMessageBroadcaster(messagingTemplate,
+                new RecentMessageCache(), new MessageSearchIndex(), roomSummaryUpdater, roomModeRegistry,
+                new SimpleMeterRegistry());
+
+        // -------------------------------------------------------------------------
+        // 전송
+        // -------------------------------------------------------------------------
+
+        int total = seconds * rate;
+        long[] sendLatencies = new long[total];
+        long[] fanoutLatencies = new long[total];
+        long frameBytes = 0;
+        long intervalNanos = TimeUnit.SECONDS.toNanos(1) / rate;
+        long started = System.nanoTime();
+        long lastFlush = started;
+
+        for (int i = 0; i < total; i++) {
+            long due = started + i * intervalNanos;
+            long wait = due - System.nanoTime();
+            if (wait > 0) {
+                TimeUnit.NANOSECONDS.sleep(wait);
+            }
+
+            ChatMessageResponse message = message(i + 1);
+            Fanout fanout = new Fanout(members);
+            current.set(fanout);
+            broadcaster.broadcast(message, DeliveryMode.DURABLE);
+            sendLatencies[i] = System.nanoTime() - fanout.started;
+            if (!fanout.done.await(30, TimeUnit.SECONDS)) {
+                throw new IllegalStateException("구독자 전달 대기 시간 초과: " + fanout.delivered.get() + "/" + members);
+            }
+            fanoutLatencies[i] = fanout.finished - fanout.started;
+            frameBytes += fanout.bytes.get();
+
+            if (System.nanoTime() - lastFlush >= TimeUnit.MILLISECONDS.toNanos(FLUSH_INTERVAL_MS)) {
+                roomSummaryUpdater.flush();
+                lastFlush = System.nanoTime();
+            }
+        }
+        roomSummaryUpdater.flushOnShutdown();
+        broker.stop();
+        outboundExecutor.shutdown();
+
+        Arrays.sort(sendLatencies);
+        Arrays.sort(fanoutLatencies);
+        System.out.printf("%-9s %-8s %,8d %7s %,8dus %,9dus %,9dus %6dB %,15.1f%n",
+                name, topic, members, roomModeRegistry.getMode(ROOM_ID),
+                TimeUnit.NANOSECONDS.toMicros(percentile(sendLatencies, 0.50)),
+                TimeUnit.NANOSECONDS.toMicros(percentile(fanoutLatencies, 0.50)),
+                TimeUnit.NANOSECONDS.toMicros(percentile(fanoutLatencies, 0.99)),
+                frameBytes / ((long) total * members),
+                (double) inboxRows.get() / total);
+    }
+
+    // 메시지 하나의 구독자 전달 현황
+    private static final class Fanout {
+
+        private final int expected;
+        private final long started = System.nanoTime();
+        private final AtomicInteger delivered = new AtomicInteger();
+        private final AtomicLong bytes = new AtomicLong();
+        private final CountDownLatch done = new CountDownLatch(1);
+        private volatile long finished;
+
+        Fanout(int expected) {
+            this.expected = expected;
+        }
+
+        void delivered(int frameBytes) {
+            bytes.addAndGet(frameBytes);
+            if (delivered.incrementAndGet() == expected) {
+                finished = System.nanoTime();
+                done.countDown();
+            }
+        }
+    }
+
+    private static Message<byte[]> subscribe(String sessionId, String destination) {
+        SimpMessageHeaderAccessor accessor = SimpMessageHeaderAccessor.create(SimpMessageType.SUBSCRIBE);
+        accessor.setSessionId(sessionId);
+        accessor.setSubscriptionId("sub-0");
+        accessor.setDestination(destination);
+        return MessageBuilder.createMessage(new byte[0], accessor.getMessageHeaders());
+    }
+
+    // StompSubProtocolHandler와 같이 세션별 MESSAGE 프레임으로 인코딩
+    private static byte[] encode(StompEncoder encoder, Message<?> message) {
+        SimpMessageHeaderAccessor source = SimpMessageHeaderAccessor.wrap(message);
+        StompHeaderAccessor accessor = StompHeaderAccessor.create(StompCommand.MESSAGE);
+        source.toNativeHeaderMap().forEach((header, values) -> accessor.setNativeHeader(header, values.get(0)));
+        accessor.setDestination(source.getDestination());
+        accessor.setSubscriptionId(source.getSubscriptionId());
+        accessor.setContentType(source.getContentType());
+        return encoder.encode(accessor.getMessageHeaders(), (byte[]) message.getPayload());
+    }
+
+    private static ChatMessageResponse message(long seq) {
+        return ChatMessageResponse.builder()
+                .messageId(1_000_000 + seq)
+                .roomId(ROOM_ID)
+                .seq(seq)
+                .senderId(seq % 50 + 1)
+                .senderName("참여자" + (seq % 50 + 1))
+                .senderProfilePhotoUrl("https://cdn.zzaptalk.com/profile/" + (seq % 50 + 1) + ".jpg")
+                .content("대형 채팅방 메시지 " + seq)
+                .type(MessageType.TEXT)
+                .sentAt(LocalDateTime.now())
+                .build();
+    }
+
+    // 모든 메서드를 같은 응답으로 처리하는 저장소 (호출 기록을 남기지 않는 mock)
+    private static <T> T repository(Class<T> type, Answer<?> answer) {
+        return mock(type, withSettings().stubOnly().defaultAnswer(answer));
+    }
+
+    private static long percentile(long[] sorted, double p) {
+        return sorted[(int) Math.min(sorted.length - 1, Math.floor(sorted.length * p))];
+    }
+
+}
@@ -0,0 +1,179 @@
+package com.zzaptalk.backend.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.zzaptalk.backend.dto.ChatMessageResponse;
+import com.zzaptalk.backend.entity.MessageType;
+import com.zzaptalk.backend.service.ChatMessageDispatcher.PersistenceMode;
+import com.zzaptalk.backend.service.MessageJournal.JournalBatch;
+import com.zzaptalk.backend.service.MessageJournal.JournalPosition;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// -------------------------------------------------------------------------
+// MessageJournal 테스트 (임시 디렉터리, 재기동은 같은 디렉터리로 새 인스턴스를 열어 흉내)
+// - 재기동 후 미반영 레코드 재생 / seq 하한 등록
+// - 쓰다가 죽은 레코드(기록 끝 이후 쓰레기)는 잘라내고 그 위치부터 이어서 기록
+// - 체크포인트 이후만 재생, 이전 세그먼트 삭제
+// -------------------------------------------------------------------------
+
+class MessageJournalTest {
+
+    private static final int SEGMENT_SIZE = 4096;
+
+    @TempDir
+    Path dir;
+
+    private final ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+    private final List<MessageJournal> opened = new ArrayList<>();
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        for (MessageJournal journal : opened) {
+            journal.stop();
+        }
+    }
+
+    @Test
+    void replaysFlushedRecordsAfterRestart() throws Exception {
+        MessageJournal journal = open(new OptimisticSequencer(null, null, null));
+        appendAll(journal, message(1L, 1), message(1L, 2), message(2L, 7));
+        journal.stop();
+
+        OptimisticSequencer sequencer = new OptimisticSequencer(null, null, null);
+        MessageJournal restarted = open(sequencer);
+        JournalBatch batch = restarted.read(restarted.getCheckpoint(), 100);
+
+        assertThat(batch.messages())
+                .extracting(ChatMessageResponse::getSeq)
+                .containsExactly(1L, 2L, 7L);
+        assertThat(floors(sequencer)).containsEntry(1L, 2L).containsEntry(2L, 7L);
+    }
+
+    @Test
+    void truncatesTornTailAndContinuesWriting() throws Exception {
+        MessageJournal journal = open(new OptimisticSequencer(null, null, null));
+        appendAll(journal, message(1L, 1), message(1L, 2));
+        JournalPosition end = journal.read(journal.getCheckpoint(), 100).next();
+        journal.stop();
+
+        // 헤더만 쓰고 payload를 다 쓰기 전에 죽은 레코드 (CRC 불일치)
+        try (FileChannel channel = FileChannel.open(segmentFile(end.segment()), StandardOpenOption.WRITE)) {
+            ByteBuffer torn = ByteBuffer.allocate(16).putInt(200).putInt(12345).putInt(0x7b227365).putInt(0x71223a33);
+            torn.flip();
+            channel.write(torn, end.offset());
+        }
+
+        MessageJournal restarted = open(new OptimisticSequencer(null, null, null));
+        assertThat(restarted.read(restarted.getCheckpoint(), 100).messages())
+                .extracting(ChatMessageResponse::getSeq)
+                .containsExactly(1L, 2L);
+
+        appendAll(restarted, message(1L, 3));
+        JournalBatch batch = restarted.read(restarted.getCheckpoint(), 100);
+
+        assertThat(batch.messages())
+                .extracting(ChatMessageResponse::getSeq)
+                .containsExactly(1L, 2L, 3L);
+        assertThat(batch.next().compareTo(end)).isPositive();
+    }
+
+    @Test
+    void checkpointSkipsAppliedRecordsAndDeletesOldSegments() throws Exception {
+        MessageJournal journal = open(new OptimisticSequencer(null, null, null));
+        // 세그먼트 하나에 다 들어가지 않을 만큼 기록 -> 여러 세그먼트로 전환
+        List<ChatMessageResponse> messages = new ArrayList<>();
+        for (long seq = 1; seq <= 40; seq++) {
+            messages.add(message(1L, seq));
+        }
+        appendAll(journal, messages.toArray(ChatMessageResponse[]::new));
+        assertThat(segmentFiles()).hasSizeGreaterThan(1);
+
+        JournalBatch applied = journal.read(journal.getCheckpoint(), 30);
+        assertThat(applied.messages()).hasSize(30);
+        journal.checkpoint(applied.next());
+
+        assertThat(segmentFiles()).allMatch(path -> segmentIndex(path) >= applied.next().segment());
+        journal.stop();
+
+        MessageJournal restarted = open(new OptimisticSequencer(null, null, null));
+        assertThat(restarted.getCheckpoint()).isEqualTo(applied.next());
+        assertThat(restarted.read(restarted.getCheckpoint(), 100).messages())
+                .extracting(ChatMessageResponse::getSeq)
+                .containsExactly(31L, 32L, 33L, 34L, 35L, 36L, 37L, 38L, 39L, 40L);
+    }
+
+    // -------------------------------------------------------------------------
+    // 보조 메서드
+    // -------------------------------------------------------------------------
+
+    private MessageJournal open(OptimisticSequencer sequencer) throws IOException {
+        MessageJournal journal = new MessageJournal(objectMapper, sequencer);
+        ReflectionTestUtils.setField(journal, "persistenceMode", PersistenceMode.JOURNALED);
+        ReflectionTestUtils.setField(journal, "dir", dir.toString());
+        ReflectionTestUtils.setField(journal, "segmentSize", SEGMENT_SIZE);
+        ReflectionTestUtils.setField(journal, "maxSegments", 64);
+        journal.start();
+        opened.add(journal);
+        return journal;
+    }
+
+    private static void appendAll(MessageJournal journal, ChatMessageResponse... messages) throws Exception {
+        List<CompletableFuture<Void>> futures = new ArrayList<>();
+        for (ChatMessageResponse message : messages) {
+            futures.add(journal.append(message));
+        }
+        CompletableFuture.allOf(futures.toArray(CompletableFuture[]::new)).get(10, TimeUnit.SECONDS);
+    }
+
+    private static ChatMessageResponse message(Long roomId, long seq) {
+        return ChatMessageResponse.builder()
+                .messageId(roomId * 1000 + seq)
+                .roomId(roomId)
+                .seq(seq)
+                .senderId(10L)
+                .senderName("sender")
+                .content("message " + seq)
+                .type(MessageType.TEXT)
+                .sentAt(LocalDateTime.of(2025, 1, 1, 0, 0))
+                .build();
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Map<Long, Long> floors(OptimisticSequencer sequencer) {
+        return (Map<Long, Long>) ReflectionTestUtils.getField(sequencer, "floors");
+    }
+
+    private Path segmentFile(long index) {
+        return dir.resolve(String.format("segment-%020d.log", index));
+    }
+
+    private List<Path> segmentFiles() throws IOException {
+        try (Stream<Path> files = Files.list(dir)) {
+            return files.filter(path -> path.getFileName().toString().startsWith("segment-")).toList();
+        }
+    }
+
+    private static long segmentIndex(Path path) {
+        String name = path.getFileName().toString();
+        return Long.parseLong(name.substring("segment-".length(), name.length() - ".log".length()));
+    }
+
+}
@@ -0,0 +1,131 @@
+package com.zzaptalk.backend.service;
+
+import com.zzaptalk.backend.dto.ChatMessageResponse;
+import com.zzaptalk.backend.dto.MessageSearchHit;
+import com.zzaptalk.backend.dto.MessageSearchHit.Highlight;
+import com.zzaptalk.backend.entity.MessageType;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// -------------------------------------------------------------------------
+// MessageSearchIndex 테스트 (토큰 분리, 검색 결과 / 강조 표시 위치, 보관 한도)
+// -------------------------------------------------------------------------
+
+class MessageSearchIndexTest {
+
+    private static final Long ROOM_ID = 1L;
+
+    private MessageSearchIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new MessageSearchIndex();
+        ReflectionTestUtils.setField(index, "enabled", true);
+        ReflectionTestUtils.setField(index, "maxMessagesPerRoom", 100);
+        ReflectionTestUtils.setField(index, "maxTotalMessages", 1000L);
+        index.beginLoad(ROOM_ID);
+        index.finishLoad(ROOM_ID);
+    }
+
+    @Test
+    void tokenizeIndexesUnigramsAndBigramsPerRun() {
+        assertThat(MessageSearchIndex.tokenize("회의록 ok!", false))
+                .containsExactly("회", "의", "록", "회의", "의록", "o", "k", "ok");
+    }
+
+    @Test
+    void tokenizeQueryUsesBigramsOnlyForLongerTerms() {
+        assertThat(MessageSearchIndex.tokenize("회의록", true)).containsExactly("회의", "의록");
+        assertThat(MessageSearchIndex.tokenize("a", true)).containsExactly("a");
+    }
+
+    @Test
+    void parseLowercasesAndDeduplicatesTerms() {
+        MessageSearchIndex.SearchQuery query = MessageSearchIndex.SearchQuery.parse("  Meeting  회의 meeting ");
+
+        assertThat(query.terms()).containsExactly("meeting", "회의");
+        assertThat(query.tokens()).contains("me", "ng", "회의");
+    }
+
+    @Test
+    void highlightsEveryOccurrenceInContentOffsets() {
+        index.add(message(1L, "내일 회의, 주간회의록 확인"));
+
+        List<MessageSearchHit> hits = index.search(ROOM_ID, "회의", null, 10);
+
+        assertThat(hits).hasSize(1);
+        assertThat(hits.get(0).getHighlights()).containsExactly(new Highlight(3, 5), new Highlight(9, 11));
+    }
+
+    @Test
+    void highlightsAllTermsSortedByOffsetAndIgnoresCase() {
+        index.add(message(1L, "Deploy 후 배포 완료 DEPLOY"));
+
+        List<MessageSearchHit> hits = index.search(ROOM_ID, "배포 deploy", null, 10);
+
+        assertThat(hits).hasSize(1);
+        assertThat(hits.get(0).getHighlights())
+                .containsExactly(new Highlight(0, 6), new Highlight(9, 11), new Highlight(15, 21));
+    }
+
+    @Test
+    void requiresAllTermsAndRejectsBigramFalsePositives() {
+        // "회의" + "의록" bigram은 모두 있지만 "회의록"은 없음
+        index.add(message(1L, "회의 의록"));
+        index.add(message(2L, "점심 메뉴"));
+
+        assertThat(index.search(ROOM_ID, "회의록", null, 10)).isEmpty();
+        assertThat(index.search(ROOM_ID, "회의 메뉴", null, 10)).isEmpty();
+    }
+
+    @Test
+    void returnsNewestFirstAndPagesWithBeforeId() {
+        for (long id = 1; id <= 5; id++) {
+            index.add(message(id, "공지 " + id));
+        }
+
+        assertThat(index.search(ROOM_ID, "공지", null, 2))
+                .extracting(hit -> hit.getMessage().getMessageId())
+                .containsExactly(5L, 4L);
+        assertThat(index.search(ROOM_ID, "공지", 4L, 10))
+                .extracting(hit -> hit.getMessage().getMessageId())
+                .containsExactly(3L, 2L, 1L);
+    }
+
+    @Test
+    void dropsOldestMessagesOverRoomLimitAndRemovedMessages() {
+        ReflectionTestUtils.setField(index, "maxMessagesPerRoom", 3);
+        for (long id = 1; id <= 5; id++) {
+            index.add(message(id, "공지 " + id));
+        }
+        index.remove(ROOM_ID, 4L);
+
+        assertThat(index.search(ROOM_ID, "공지", null, 10))
+                .extracting(hit -> hit.getMessage().getMessageId())
+                .containsExactly(5L, 3L);
+    }
+
+    @Test
+    void ignoresMessagesOfRoomsWithoutIndex() {
+        index.add(ChatMessageResponse.builder()
+                .messageId(1L).roomId(2L).seq(1L).content("공지").type(MessageType.TEXT).build());
+
+        assertThat(index.search(2L, "공지", null, 10)).isEmpty();
+    }
+
+    private static ChatMessageResponse message(Long messageId, String content) {
+        return ChatMessageResponse.builder()
+                .messageId(messageId)
+                .roomId(ROOM_ID)
+                .seq(messageId)
+                .content(content)
+                .type(MessageType.TEXT)
+                .build();
+    }
+
+}
@@ -0,0 +1,156 @@
+package com.zzaptalk.backend.service;
+
+import com.zzaptalk.backend.repository.ChatRoomRepository;
+import com.zzaptalk.backend.util.SnowflakeIdGenerator;
+import org.mockito.stubbing.Answer;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.LongUnaryOperator;
+
+import static org.mockito.Answers.RETURNS_DEFAULTS;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.withSettings;
+
+// -------------------------------------------------------------------------
+// OptimisticSequencer.next 벤치마크 (main 실행, 테스트 작업에는 포함되지 않음)
+// 같은 채팅방들에 여러 스레드가 seq를 발급받을 때
+// - DB 행 잠금 발급 (chat_room.last_seq 갱신, 채팅방별 잠금 + sleep으로 DB 지연을 흉내)
+// - 메모리 발급 (OptimisticSequencer, 임대 획득/연장만 DB 접근)
+// 의 처리량과 지연을 비교하고, 발급된 seq에 중복/누락이 없는지 확인
+//
+// 실행: IDE에서 main 실행 또는
+//   java -cp <test classpath> com.zzaptalk.backend.service.OptimisticSequencerBenchmark [threads] [rooms] [seconds] [dbLatencyMs]
+// -------------------------------------------------------------------------
+
+public class OptimisticSequencerBenchmark {
+
+    public static void main(String[] args) throws Exception {
+        int threads = args.length > 0 ? Integer.parseInt(args[0]) : 16;
+        int roomCount = args.length > 1 ? Integer.parseInt(args[1]) : 8;
+        int seconds = args.length > 2 ? Integer.parseInt(args[2]) : 10;
+        long dbLatencyMs = args.length > 3 ? Long.parseLong(args[3]) : 1;
+
+        // DB 행 잠금 발급: 채팅방별로 한 번에 하나의 갱신만 진행
+        Map<Long, ReentrantLock> rowLocks = new ConcurrentHashMap<>();
+        Map<Long, AtomicLong> lastSeqs = new ConcurrentHashMap<>();
+        AtomicLong dbCalls = new AtomicLong();
+        LongUnaryOperator rowLocked = roomId -> {
+            ReentrantLock lock = rowLocks.computeIfAbsent(roomId, id -> new ReentrantLock());
+            lock.lock();
+            try {
+                sleep(dbLatencyMs);
+                return lastSeqs.computeIfAbsent(roomId, id -> new AtomicLong()).incrementAndGet();
+            } finally {
+                lock.unlock();
+            }
+        };
+        run("db row lock", threads, roomCount, seconds, rowLocked);
+
+        SnowflakeIdGenerator snowflakeIdGenerator = new SnowflakeIdGenerator();
+        ReflectionTestUtils.setField(snowflakeIdGenerator, "nodeId", 0L);
+        OptimisticSequencer sequencer = new OptimisticSequencer(
+                repository(dbLatencyMs, dbCalls), snowflakeIdGenerator,
+                new TransactionTemplate(mock(PlatformTransactionManager.class)));
+        ReflectionTestUtils.setField(sequencer, "leaseMs", 30_000L);
+        ReflectionTestUtils.setField(sequencer, "idleReleaseMs", 600_000L);
+        ReflectionTestUtils.setField(sequencer, "reserveBlock", 100L);
+        run("optimistic", threads, roomCount, seconds, sequencer::next);
+        System.out.printf("optimistic db calls (lease/reserve): %,d%n", dbCalls.get());
+    }
+
+    private static void run(String name, int threads, int roomCount, int seconds, LongUnaryOperator next)
+            throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(seconds);
+        CountDownLatch done = new CountDownLatch(threads);
+        long[][] latencies = new long[threads][];
+        long[] counts = new long[threads];
+        Map<Long, AtomicLong> issued = new ConcurrentHashMap<>();
+        Map<Long, AtomicLong> maxSeqs = new ConcurrentHashMap<>();
+
+        for (int t = 0; t < threads; t++) {
+            int index = t;
+            Thread thread = new Thread(() -> {
+                long[] samples = new long[1 << 20];
+                long count = 0;
+                while (System.nanoTime() < deadline) {
+                    long roomId = (index + count) % roomCount + 1;
+                    long started = System.nanoTime();
+                    long seq = next.applyAsLong(roomId);
+                    samples[(int) (count & (samples.length - 1))] = System.nanoTime() - started;
+                    issued.computeIfAbsent(roomId, id -> new AtomicLong()).incrementAndGet();
+                    maxSeqs.computeIfAbsent(roomId, id -> new AtomicLong()).accumulateAndGet(seq, Math::max);
+                    count++;
+                }
+                latencies[index] = Arrays.copyOf(samples, (int) Math.min(count, samples.length));
+                counts[index] = count;
+                done.countDown();
+            }, name + "-" + t);
+            thread.start();
+        }
+        done.await();
+
+        // 빈 번호 없이 발급되었다면 채팅방별 최대 seq == 발급 횟수
+        boolean contiguous = issued.entrySet().stream()
+                .allMatch(entry -> maxSeqs.get(entry.getKey()).get() == entry.getValue().get());
+
+        long total = Arrays.stream(counts).sum();
+        long[] all = Arrays.stream(latencies).flatMapToLong(Arrays::stream).sorted().toArray();
+        System.out.printf("[%s] threads=%d, rooms=%d, %ds, contiguous=%s%n", name, threads, roomCount, seconds, contiguous);
+        System.out.printf("[%s] %,d seq/s, p50=%,dns p99=%,dns p99.9=%,dns max=%,dns%n",
+                name, total / seconds, percentile(all, 0.50), percentile(all, 0.99), percentile(all, 0.999),
+                all[all.length - 1]);
+    }
+
+    // 모든 호출에 DB 지연을 더하고 호출 수를 세는 저장소 (모든 임대/예약 요청 성공, 초기 lastSeq 0)
+    // 호출 기록을 남기지 않는 mock (수백만 번 호출되어도 메모리가 늘지 않도록)
+    private static ChatRoomRepository repository(long dbLatencyMs, AtomicLong dbCalls) {
+        ChatRoomRepository repository = mock(ChatRoomRepository.class, withSettings().stubOnly()
+                .defaultAnswer(database(dbLatencyMs, dbCalls, RETURNS_DEFAULTS)));
+        doAnswer(database(dbLatencyMs, dbCalls, invocation -> 1))
+                .when(repository).acquireSeqOwnership(anyLong(), anyLong(), anyLong());
+        doAnswer(database(dbLatencyMs, dbCalls, invocation -> 1))
+                .when(repository).reserveSeqs(anyLong(), anyLong(), anyLong());
+        doAnswer(database(dbLatencyMs, dbCalls, invocation -> true))
+                .when(repository).existsById(anyLong());
+        doAnswer(database(dbLatencyMs, dbCalls, invocation -> 0L))
+                .when(repository).findSeqSeedById(anyLong());
+        doAnswer(database(dbLatencyMs, dbCalls, invocation -> List.copyOf((Collection<?>) invocation.getArgument(0))))
+                .when(repository).findSeqOwnedRoomIds(anyCollection(), anyLong());
+        return repository;
+    }
+
+    private static Answer<Object> database(long dbLatencyMs, AtomicLong dbCalls, Answer<?> answer) {
+        return invocation -> {
+            dbCalls.incrementAndGet();
+            sleep(dbLatencyMs);
+            return answer.answer(invocation);
+        };
+    }
+
+    private static void sleep(long ms) {
+        try {
+            Thread.sleep(ms);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static long percentile(long[] sorted, double p) {
+        return sorted[(int) Math.min(sorted.length - 1, Math.floor(sorted.length * p))];
+    }
+
+}
@@ -0,0 +1,120 @@
+package com.zzaptalk.backend.service;
+
+import com.zzaptalk.backend.repository.ChatRoomRepository;
+import com.zzaptalk.backend.util.SnowflakeIdGenerator;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+// -------------------------------------------------------------------------
+// OptimisticSequencer 테스트 (임대 획득 시 시작 seq, 묶음 예약, 임대를 잃은 경우, 유휴 반납)
+// -------------------------------------------------------------------------
+
+class OptimisticSequencerTest {
+
+    private static final long NODE_ID = 3;
+    private static final long ROOM_ID = 1L;
+
+    private ChatRoomRepository chatRoomRepository;
+    private OptimisticSequencer sequencer;
+
+    @BeforeEach
+    void setUp() {
+        chatRoomRepository = mock(ChatRoomRepository.class);
+        SnowflakeIdGenerator snowflakeIdGenerator = mock(SnowflakeIdGenerator.class);
+        when(snowflakeIdGenerator.getNodeId()).thenReturn(NODE_ID);
+
+        sequencer = new OptimisticSequencer(chatRoomRepository, snowflakeIdGenerator,
+                new TransactionTemplate(mock(PlatformTransactionManager.class)));
+        ReflectionTestUtils.setField(sequencer, "leaseMs", 30_000L);
+        ReflectionTestUtils.setField(sequencer, "idleReleaseMs", 600_000L);
+        ReflectionTestUtils.setField(sequencer, "reserveBlock", 10L);
+
+        when(chatRoomRepository.acquireSeqOwnership(eq(ROOM_ID), eq(NODE_ID), anyLong())).thenReturn(1);
+        when(chatRoomRepository.reserveSeqs(eq(ROOM_ID), eq(NODE_ID), anyLong())).thenReturn(1);
+    }
+
+    @Test
+    void takeoverStartsAfterPreviousReservation() {
+        // 이전 임대가 seq 50까지 예약 (DB lastSeq는 저장이 끝난 42까지만 반영된 상태)
+        when(chatRoomRepository.findSeqSeedById(ROOM_ID)).thenReturn(50L);
+
+        assertThat(sequencer.next(ROOM_ID)).isEqualTo(51);
+        assertThat(sequencer.current(ROOM_ID)).isEqualTo(51);
+        verify(chatRoomRepository, never()).findLastSeqById(ROOM_ID);
+    }
+
+    @Test
+    void reservesInBlocksBeforeIssuing() {
+        when(chatRoomRepository.findSeqSeedById(ROOM_ID)).thenReturn(0L);
+
+        for (int i = 1; i <= 10; i++) {
+            assertThat(sequencer.next(ROOM_ID)).isEqualTo(i);
+        }
+        verify(chatRoomRepository).reserveSeqs(ROOM_ID, NODE_ID, 11L);
+
+        // 예약 상한(11)을 넘으면 다음 묶음 예약
+        sequencer.next(ROOM_ID);
+        sequencer.next(ROOM_ID);
+        verify(chatRoomRepository).reserveSeqs(ROOM_ID, NODE_ID, 22L);
+        verify(chatRoomRepository, times(2)).reserveSeqs(eq(ROOM_ID), eq(NODE_ID), anyLong());
+    }
+
+    @Test
+    void lostLeaseIsReacquiredFromDatabase() {
+        when(chatRoomRepository.findSeqSeedById(ROOM_ID)).thenReturn(0L, 30L);
+        when(chatRoomRepository.reserveSeqs(eq(ROOM_ID), eq(NODE_ID), anyLong())).thenReturn(1, 0, 1);
+
+        assertThat(sequencer.next(ROOM_ID)).isEqualTo(1);
+        for (int i = 2; i <= 11; i++) {
+            sequencer.next(ROOM_ID);
+        }
+
+        // 12번째에서 예약 실패 (다른 서버가 임대 후 30까지 예약) → 다시 획득해 31부터 발급
+        assertThat(sequencer.next(ROOM_ID)).isEqualTo(31);
+    }
+
+    @Test
+    void rejectsRoomLeasedByAnotherNode() {
+        when(chatRoomRepository.acquireSeqOwnership(eq(ROOM_ID), eq(NODE_ID), anyLong())).thenReturn(0);
+        when(chatRoomRepository.existsById(ROOM_ID)).thenReturn(true);
+
+        assertThatThrownBy(() -> sequencer.next(ROOM_ID)).isInstanceOf(IllegalStateException.class);
+    }
+
+    @Test
+    void idleReleaseLowersReservationToIssuedSeq() {
+        when(chatRoomRepository.findSeqSeedById(ROOM_ID)).thenReturn(100L);
+        ReflectionTestUtils.setField(sequencer, "idleReleaseMs", 0L);
+
+        sequencer.next(ROOM_ID);
+        sequencer.next(ROOM_ID);
+        sequencer.renew();
+
+        verify(chatRoomRepository).releaseSeqOwnership(ROOM_ID, NODE_ID, 111L, 102L);
+        assertThat(sequencer.current(ROOM_ID)).isZero();
+    }
+
+    @Test
+    void observedJournalSeqIsNotReissued() {
+        when(chatRoomRepository.findSeqSeedById(ROOM_ID)).thenReturn(5L);
+        sequencer.observe(ROOM_ID, 40);
+
+        assertThat(sequencer.next(ROOM_ID)).isEqualTo(41);
+        verify(chatRoomRepository).reserveSeqs(ROOM_ID, NODE_ID, 51L);
+        assertThat(sequencer.current(ROOM_ID)).isEqualTo(41);
+    }
+
+}
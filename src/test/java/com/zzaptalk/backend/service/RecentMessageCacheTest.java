@@ -0,0 +1,157 @@
+package com.zzaptalk.backend.service;
+
+import com.zzaptalk.backend.dto.ChatMessagePageResponse;
+import com.zzaptalk.backend.dto.ChatMessageResponse;
+import com.zzaptalk.backend.entity.MessageType;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// -------------------------------------------------------------------------
+// RecentMessageCache 테스트 (seq 연속 구간 병합, 첫 페이지 적중 조건)
+// -------------------------------------------------------------------------
+
+class RecentMessageCacheTest {
+
+    private static final Long ROOM_ID = 1L;
+
+    private RecentMessageCache cache;
+
+    @BeforeEach
+    void setUp() {
+        cache = new RecentMessageCache();
+        ReflectionTestUtils.setField(cache, "enabled", true);
+        ReflectionTestUtils.setField(cache, "capacity", 50);
+        ReflectionTestUtils.setField(cache, "maxRooms", 100);
+        ReflectionTestUtils.setField(cache, "idleTimeoutMs", 60_000L);
+    }
+
+    @Test
+    void servesLatestPageFromContiguousMessages() {
+        for (long seq = 1; seq <= 5; seq++) {
+            cache.append(message(seq));
+        }
+
+        ChatMessagePageResponse page = cache.getLatestPage(ROOM_ID, 3).orElseThrow();
+
+        assertThat(seqs(page)).containsExactly(5L, 4L, 3L);
+        assertThat(page.isHasNext()).isTrue();
+        assertThat(page.getNextCursor()).isEqualTo(messageId(3));
+    }
+
+    @Test
+    void keepsOnlyNewestContiguousRunAfterGap() {
+        cache.append(message(1));
+        cache.append(message(2));
+        // 다른 서버에서 전송된 3번이 빠짐
+        cache.append(message(4));
+        cache.append(message(5));
+
+        assertThat(cache.getLatestPage(ROOM_ID, 1).map(RecentMessageCacheTest::seqs))
+                .contains(List.of(5L));
+        assertThat(cache.getLatestPage(ROOM_ID, 2)).isEmpty();
+    }
+
+    @Test
+    void seedFillsGapAndMarksRoomStart() {
+        cache.append(message(4));
+        cache.append(message(5));
+
+        cache.seed(ROOM_ID, List.of(message(4), message(3), message(2), message(1)), true);
+        ChatMessagePageResponse page = cache.getLatestPage(ROOM_ID, 10).orElseThrow();
+
+        // 첫 메시지부터 보관 중이면 요청 개수보다 적어도 적중, 다음 페이지 없음
+        assertThat(seqs(page)).containsExactly(5L, 4L, 3L, 2L, 1L);
+        assertThat(page.isHasNext()).isFalse();
+        assertThat(page.getNextCursor()).isNull();
+    }
+
+    @Test
+    void mergesOutOfOrderAndDuplicateMessages() {
+        cache.append(message(2));
+        cache.append(message(1));
+        cache.append(message(3));
+        cache.append(message(2));
+
+        assertThat(cache.getLatestPage(ROOM_ID, 2).map(RecentMessageCacheTest::seqs))
+                .contains(List.of(3L, 2L));
+    }
+
+    @Test
+    void keepsAtMostCapacityNewestMessages() {
+        ReflectionTestUtils.setField(cache, "capacity", 3);
+        for (long seq = 1; seq <= 5; seq++) {
+            cache.append(message(seq));
+        }
+
+        assertThat(cache.getLatestPage(ROOM_ID, 2).map(RecentMessageCacheTest::seqs))
+                .contains(List.of(5L, 4L));
+        // 보관 중인 메시지가 모두 한 페이지면 커서 뒤의 ID를 확인할 수 없어 미스
+        assertThat(cache.getLatestPage(ROOM_ID, 3)).isEmpty();
+    }
+
+    @Test
+    void missesWhenFewerMessagesThanRequestedAndStartUnknown() {
+        cache.append(message(7));
+        cache.append(message(8));
+
+        assertThat(cache.getLatestPage(ROOM_ID, 3)).isEmpty();
+        assertThat(cache.getLatestPage(2L, 1)).isEmpty();
+    }
+
+    @Test
+    void missesWhenMessageIdOrderDiffersFromSeqOrder() {
+        // 선전송 / 저널 모드: ID를 먼저 발급받은 메시지가 seq는 나중에 받음
+        cache.append(message(1));
+        cache.append(message(2, messageId(3)));
+        cache.append(message(3, messageId(2)));
+        cache.append(message(4));
+
+        assertThat(cache.getLatestPage(ROOM_ID, 1)).isEmpty();
+        assertThat(cache.getLatestPage(ROOM_ID, 2)).isEmpty();
+
+        // 뒤바뀐 메시지가 버퍼에서 밀려나면 다시 적중
+        ReflectionTestUtils.setField(cache, "capacity", 2);
+        cache.append(message(5));
+        cache.append(message(6));
+        ChatMessagePageResponse page = cache.getLatestPage(ROOM_ID, 1).orElseThrow();
+        assertThat(seqs(page)).containsExactly(6L);
+        assertThat(page.getNextCursor()).isEqualTo(messageId(6));
+    }
+
+    @Test
+    void disabledCacheNeverHits() {
+        ReflectionTestUtils.setField(cache, "enabled", false);
+        cache.append(message(1));
+
+        assertThat(cache.getLatestPage(ROOM_ID, 1)).isEqualTo(Optional.empty());
+    }
+
+    private static ChatMessageResponse message(long seq) {
+        return message(seq, messageId(seq));
+    }
+
+    private static ChatMessageResponse message(long seq, long messageId) {
+        return ChatMessageResponse.builder()
+                .messageId(messageId)
+                .roomId(ROOM_ID)
+                .seq(seq)
+                .content("message " + seq)
+                .type(MessageType.TEXT)
+                .build();
+    }
+
+    private static long messageId(long seq) {
+        return 1000 + seq;
+    }
+
+    private static List<Long> seqs(ChatMessagePageResponse page) {
+        return page.getMessages().stream().map(ChatMessageResponse::getSeq).toList();
+    }
+
+}
@@ -0,0 +1,109 @@
+package com.zzaptalk.backend.service;
+
+import com.zzaptalk.backend.repository.ChatRoomUserRepository;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Arrays;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.mockito.Mockito.withSettings;
+
+// -------------------------------------------------------------------------
+// RoomModeRegistry.recordMessage 벤치마크 (main 실행, 테스트 작업에는 포함되지 않음)
+// 이미 상태가 있는 방(hot)에 메시지를 보내는 스레드와, 처음 보는 방(cold)에 메시지를 보내
+// 참여자 수 조회(DB 지연을 sleep으로 흉내)를 일으키는 스레드를 함께 돌려
+// cold 방 조회가 hot 방 처리 지연에 영향을 주는지 측정
+//
+// 실행: IDE에서 main 실행 또는
+//   java -cp <test classpath> com.zzaptalk.backend.service.RoomModeRegistryBenchmark [hotThreads] [coldThreads] [seconds] [dbLatencyMs]
+// -------------------------------------------------------------------------
+
+public class RoomModeRegistryBenchmark {
+
+    private static final int HOT_ROOMS = 64;
+
+    public static void main(String[] args) throws Exception {
+        int hotThreads = args.length > 0 ? Integer.parseInt(args[0]) : 8;
+        int coldThreads = args.length > 1 ? Integer.parseInt(args[1]) : 4;
+        int seconds = args.length > 2 ? Integer.parseInt(args[2]) : 10;
+        long dbLatencyMs = args.length > 3 ? Long.parseLong(args[3]) : 5;
+
+        AtomicLong memberQueries = new AtomicLong();
+        // 호출 기록을 남기지 않는 mock (수백만 번 호출되어도 메모리가 늘지 않도록)
+        ChatRoomUserRepository repository = mock(ChatRoomUserRepository.class, withSettings().stubOnly());
+        when(repository.countMembers(anyLong())).thenAnswer(invocation -> {
+            memberQueries.incrementAndGet();
+            Thread.sleep(dbLatencyMs);
+            return 10L;
+        });
+
+        RoomModeRegistry registry = new RoomModeRegistry(repository);
+        ReflectionTestUtils.setField(registry, "memberThreshold", 1000L);
+        ReflectionTestUtils.setField(registry, "rateThreshold", 50L);
+        ReflectionTestUtils.setField(registry, "idleTimeoutMs", 600_000L);
+
+        // hot 방 상태 미리 생성
+        for (long roomId = 1; roomId <= HOT_ROOMS; roomId++) {
+            registry.recordMessage(roomId);
+        }
+
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(seconds);
+        CountDownLatch done = new CountDownLatch(hotThreads + coldThreads);
+        AtomicLong nextColdRoom = new AtomicLong(1_000_000);
+        long[][] hotLatencies = new long[hotThreads][];
+        long[] hotCounts = new long[hotThreads];
+
+        for (int t = 0; t < hotThreads; t++) {
+            int index = t;
+            Thread thread = new Thread(() -> {
+                long[] samples = new long[1 << 20];
+                long count = 0;
+                long roomId = index;
+                while (System.nanoTime() < deadline) {
+                    long started = System.nanoTime();
+                    registry.recordMessage(roomId % HOT_ROOMS + 1);
+                    long elapsed = System.nanoTime() - started;
+                    samples[(int) (count & (samples.length - 1))] = elapsed;
+                    count++;
+                    roomId++;
+                }
+                hotLatencies[index] = Arrays.copyOf(samples, (int) Math.min(count, samples.length));
+                hotCounts[index] = count;
+                done.countDown();
+            }, "hot-" + t);
+            thread.start();
+        }
+
+        for (int t = 0; t < coldThreads; t++) {
+            Thread thread = new Thread(() -> {
+                while (System.nanoTime() < deadline) {
+                    registry.recordMessage(nextColdRoom.incrementAndGet());
+                }
+                done.countDown();
+            }, "cold-" + t);
+            thread.start();
+        }
+
+        done.await();
+
+        long total = Arrays.stream(hotCounts).sum();
+        long[] all = Arrays.stream(hotLatencies).flatMapToLong(Arrays::stream).sorted().toArray();
+        System.out.printf("hot threads=%d, cold threads=%d, db latency=%dms, %ds%n",
+                hotThreads, coldThreads, dbLatencyMs, seconds);
+        System.out.printf("hot recordMessage: %,d ops/s%n", total / seconds);
+        System.out.printf("hot latency p50=%,dns p99=%,dns p99.9=%,dns max=%,dns%n",
+                percentile(all, 0.50), percentile(all, 0.99), percentile(all, 0.999), all[all.length - 1]);
+        System.out.printf("cold rooms loaded: %,d (member count queries %,d)%n",
+                nextColdRoom.get() - 1_000_000, memberQueries.get());
+    }
+
+    private static long percentile(long[] sorted, double p) {
+        return sorted[(int) Math.min(sorted.length - 1, Math.floor(sorted.length * p))];
+    }
+
+}
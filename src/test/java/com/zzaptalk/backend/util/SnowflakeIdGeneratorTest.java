@@ -0,0 +1,144 @@
+package com.zzaptalk.backend.util;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Instant;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+// -------------------------------------------------------------------------
+// SnowflakeIdGenerator 테스트 (비트 구성, 단조 증가, 동시 발급 중복 여부)
+// -------------------------------------------------------------------------
+
+class SnowflakeIdGeneratorTest {
+
+    private static final long EPOCH_MS = Instant.parse("2025-01-01T00:00:00Z").toEpochMilli();
+
+    @Test
+    void idContainsTimestampNodeAndSequence() {
+        SnowflakeIdGenerator generator = generator(5);
+
+        long before = System.currentTimeMillis();
+        long id = generator.nextId();
+        long after = System.currentTimeMillis();
+
+        long timestamp = (id >>> 12) + EPOCH_MS;
+        assertThat(timestamp).isBetween(before, after);
+        assertThat((id >>> 8) & 0xF).isEqualTo(5);
+        assertThat(id & 0xFF).isLessThan(256);
+        // JavaScript Number로 정확히 표현 가능한 범위
+        assertThat(id).isLessThan(1L << 53);
+    }
+
+    @Test
+    void sequenceIncreasesWithinSameMillisecond() {
+        SnowflakeIdGenerator generator = generator(0);
+
+        long first = generator.nextId();
+        long second = generator.nextId();
+
+        if ((first >>> 12) == (second >>> 12)) {
+            assertThat(second & 0xFF).isEqualTo((first & 0xFF) + 1);
+        } else {
+            assertThat(second & 0xFF).isZero();
+        }
+    }
+
+    @Test
+    void idsAreStrictlyIncreasing() {
+        SnowflakeIdGenerator generator = generator(1);
+
+        // ms당 256개를 넘겨 순번이 넘치는 경우(다음 ms 대기)까지 포함
+        long previous = generator.nextId();
+        for (int i = 0; i < 100_000; i++) {
+            long id = generator.nextId();
+            assertThat(id).isGreaterThan(previous);
+            previous = id;
+        }
+    }
+
+    @Test
+    void concurrentIdsAreUnique() throws InterruptedException {
+        SnowflakeIdGenerator generator = generator(2);
+        int threads = 8;
+        int perThread = 20_000;
+        Set<Long> ids = ConcurrentHashMap.newKeySet();
+        CountDownLatch done = new CountDownLatch(threads);
+
+        for (int t = 0; t < threads; t++) {
+            Thread thread = new Thread(() -> {
+                for (int i = 0; i < perThread; i++) {
+                    ids.add(generator.nextId());
+                }
+                done.countDown();
+            });
+            thread.start();
+        }
+        done.await();
+
+        assertThat(ids).hasSize(threads * perThread);
+    }
+
+    @Test
+    void differentNodesNeverCollide() {
+        SnowflakeIdGenerator first = generator(3);
+        SnowflakeIdGenerator second = generator(4);
+
+        Set<Long> ids = new HashSet<>();
+        for (int i = 0; i < 10_000; i++) {
+            ids.add(first.nextId());
+            ids.add(second.nextId());
+        }
+
+        assertThat(ids).hasSize(20_000);
+    }
+
+    @Test
+    void rejectsNodeIdOutOfRange() {
+        SnowflakeIdGenerator generator = new SnowflakeIdGenerator();
+        ReflectionTestUtils.setField(generator, "nodeId", 16L);
+
+        assertThatThrownBy(generator::init).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void requiresNodeIdUnderBrokerRelay() {
+        SnowflakeIdGenerator generator = new SnowflakeIdGenerator();
+        ReflectionTestUtils.setField(generator, "relayEnabled", true);
+        ReflectionTestUtils.setField(generator, "persistenceMode", "DIRECT");
+
+        assertThatThrownBy(generator::init).isInstanceOf(IllegalStateException.class);
+    }
+
+    @Test
+    void requiresNodeIdWhenNotDirect() {
+        SnowflakeIdGenerator generator = new SnowflakeIdGenerator();
+        ReflectionTestUtils.setField(generator, "persistenceMode", "OPTIMISTIC");
+
+        assertThatThrownBy(generator::init).isInstanceOf(IllegalStateException.class);
+    }
+
+    @Test
+    void singleDirectNodeDefaultsToZero() {
+        SnowflakeIdGenerator generator = new SnowflakeIdGenerator();
+        ReflectionTestUtils.setField(generator, "persistenceMode", "DIRECT");
+        generator.init();
+
+        assertThat(generator.getNodeId()).isZero();
+    }
+
+    private static SnowflakeIdGenerator generator(long nodeId) {
+        SnowflakeIdGenerator generator = new SnowflakeIdGenerator();
+        ReflectionTestUtils.setField(generator, "nodeId", nodeId);
+        ReflectionTestUtils.setField(generator, "persistenceMode", "DIRECT");
+        generator.init();
+        return generator;
+    }
+
+}